@@ -2,4 +2,4 @@
 echo "Setting env variables"
 export DB_USERNAME=root
 export DB_PASSWORD=root
-export DB_CONNECTION_STRING=jdbc:mysql://localhost:3306/expense_db?createDatabaseIfNotExist=true&useSSL=false&serverTimezone=UTC
\ No newline at end of file
+export DB_CONNECTION_STRING=jdbc:mysql://localhost:3306/expense_db?createDatabaseIfNotExist=true&useSSL=false&serverTimezone=UTC&useCursorFetch=true&rewriteBatchedStatements=true
\ No newline at end of file
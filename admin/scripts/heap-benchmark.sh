@@ -0,0 +1,61 @@
+#!/bin/sh
+# Compares the heap cost of an account's transaction listing as a JSON array (the whole list is loaded
+# and serialized at once) and as an NDJSON stream (rows read through a cursor and detached one by one).
+# For each variant it runs the requests, then reports the bytes allocated per request
+# (jvm.gc.memory.allocated) and the peak heap in use while they ran, both read from the actuator.
+#
+# Usage: ACCOUNT_ID=1 scripts/heap-benchmark.sh [requests] [concurrency]
+#   defaults: 200 requests, 8 at a time
+# Examples:
+#   ACCOUNT_ID=1 scripts/heap-benchmark.sh
+#   ACCOUNT_ID=1 TOKEN=$(scripts/tenant-token.sh household-42) scripts/heap-benchmark.sh 1000 32
+# Pick an account with many transactions (scripts/import-benchmark.sh fills one) and keep other load off
+# the application: the allocation counter covers every thread and only advances at garbage collections,
+# so run enough requests for several young collections.
+
+REQUESTS=${1:-200}
+CONCURRENCY=${2:-8}
+BASE=${BASE:-http://localhost:8080}
+SAMPLE_S=${SAMPLE_S:-0.2}
+# Signed tenant token (scripts/tenant-token.sh); without one the requests run as the anonymous tenant
+TOKEN=${TOKEN:-}
+AUTH_HEADER=${TOKEN:+"Authorization: Bearer $TOKEN"}
+AUTH_HEADER=${AUTH_HEADER:-"X-Load-Test: 1"}
+URL=$BASE/api/transactions/account/$ACCOUNT_ID
+
+[ -n "$ACCOUNT_ID" ] || { echo "ACCOUNT_ID is required" >&2; exit 1; }
+
+metric() {
+    curl -fsS "$BASE/actuator/metrics/$1" | sed -n 's/.*"value":\([-0-9.Ee+]*\).*/\1/p'
+}
+
+run() {
+    ACCEPT=$1
+    SAMPLES=target/heap-benchmark-samples.txt
+    : > "$SAMPLES"
+    (while :; do metric "jvm.memory.used?tag=area:heap" >> "$SAMPLES"; sleep "$SAMPLE_S"; done) &
+    SAMPLER=$!
+
+    BEFORE=$(metric jvm.gc.memory.allocated)
+    seq "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} \
+        curl -fsS -o /dev/null -H "$AUTH_HEADER" -H "Accept: $ACCEPT" "$URL" || echo "Some requests failed" >&2
+    AFTER=$(metric jvm.gc.memory.allocated)
+
+    kill "$SAMPLER" 2>/dev/null
+    wait "$SAMPLER" 2>/dev/null
+    awk -v accept="$ACCEPT" -v before="$BEFORE" -v after="$AFTER" -v requests="$REQUESTS" '
+        $1 > peak { peak = $1 }
+        END {
+            printf "%-22s %10.1f KB allocated/request   peak heap %8.1f MB\n",
+                accept, (after - before) / requests / 1024, peak / 1048576
+        }' "$SAMPLES"
+}
+
+mkdir -p target
+curl -fsS -H "$AUTH_HEADER" -H "Accept: application/x-ndjson" -o target/heap-benchmark-rows.ndjson "$URL" \
+    || { echo "Listing failed" >&2; exit 1; }
+ROWS=$(wc -l < target/heap-benchmark-rows.ndjson)
+echo "Account $ACCOUNT_ID: $ROWS transactions, $REQUESTS requests, $CONCURRENCY at a time"
+
+run application/json
+run application/x-ndjson
@@ -0,0 +1,70 @@
+#!/bin/sh
+# Measures a statement import end to end: generates a CSV statement of the given size, uploads it to
+# /api/imports and polls the job until it finishes, then reports the elapsed time and throughput.
+# Row descriptions carry a per-run tag, so every run imports new rows; RUN_TAG=<tag of an earlier run>
+# re-imports the same statement and measures the duplicate check instead.
+#
+# Usage: ACCOUNT_ID=1 CATEGORY_ID=1 scripts/import-benchmark.sh [size-mb]
+#   default size: 1024 (1 GB, about 20 million rows)
+# Examples:
+#   ACCOUNT_ID=1 CATEGORY_ID=1 scripts/import-benchmark.sh
+#   ACCOUNT_ID=1 CATEGORY_ID=1 TOKEN=$(scripts/tenant-token.sh household-42) scripts/import-benchmark.sh 256
+# Run against a database sized like production; compare expensetracker.import.workers, chunk-size-mb and
+# batch-size settings by restarting the application between runs.
+
+SIZE_MB=${1:-1024}
+BASE=${BASE:-http://localhost:8080}
+RUN_TAG=${RUN_TAG:-$(date +%s)}
+POLL_S=${POLL_S:-2}
+# Signed tenant token (scripts/tenant-token.sh); without one the import runs as the anonymous tenant
+TOKEN=${TOKEN:-}
+AUTH_HEADER=${TOKEN:+"Authorization: Bearer $TOKEN"}
+AUTH_HEADER=${AUTH_HEADER:-"X-Load-Test: 1"}
+FILE=target/import-benchmark-$SIZE_MB.csv
+
+[ -n "$ACCOUNT_ID" ] && [ -n "$CATEGORY_ID" ] || { echo "ACCOUNT_ID and CATEGORY_ID are required" >&2; exit 1; }
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+field() {
+    sed -n "s/.*\"$1\":\"\{0,1\}\([^\",]*\).*/\1/p"
+}
+
+mkdir -p target
+echo "Generating $FILE ($SIZE_MB MB, tag $RUN_TAG)"
+awk -v bytes=$((SIZE_MB * 1024 * 1024)) -v tag="$RUN_TAG" 'BEGIN {
+    srand(42)
+    print "Date,Amount,Description,Type"
+    written = 0
+    for (i = 0; written < bytes; i++) {
+        line = sprintf("2024-%02d-%02d,-%d.%02d,Benchmark %s merchant %d,EXPENSE", 1 + i % 12, 1 + i % 28,
+            1 + int(rand() * 500), int(rand() * 100), tag, i % 5000)
+        print line
+        written += length(line) + 1
+    }
+}' > "$FILE"
+ROWS=$(($(wc -l < "$FILE") - 1))
+
+START=$(now_ms)
+RESPONSE=$(curl -fsS -H "$AUTH_HEADER" -F "file=@$FILE" -F "accountId=$ACCOUNT_ID" -F "categoryId=$CATEGORY_ID" \
+    "$BASE/api/imports") || { echo "Upload failed" >&2; exit 1; }
+UPLOADED=$(now_ms)
+JOB=$(echo "$RESPONSE" | field id)
+echo "Uploaded $ROWS rows in $((UPLOADED - START)) ms, job $JOB"
+
+while :; do
+    sleep "$POLL_S"
+    JOB_JSON=$(curl -fsS -H "$AUTH_HEADER" "$BASE/api/imports/$JOB") || { echo "Polling failed" >&2; exit 1; }
+    STATUS=$(echo "$JOB_JSON" | field status)
+    [ "$STATUS" = "COMPLETED" ] || [ "$STATUS" = "FAILED" ] && break
+done
+END=$(now_ms)
+
+ELAPSED=$((END - START))
+[ "$ELAPSED" -gt 0 ] || ELAPSED=1
+echo "Status:      $STATUS"
+echo "Imported:    $(echo "$JOB_JSON" | field rowsImported) rows ($(echo "$JOB_JSON" | field rowsDuplicate) already imported, $(echo "$JOB_JSON" | field rowsFailed) failed)"
+echo "Elapsed:     $ELAPSED ms (upload $((UPLOADED - START)) ms, processing at most $((END - UPLOADED)) ms)"
+echo "Throughput:  $((ROWS * 1000 / ELAPSED)) rows/s, $((SIZE_MB * 1000 / ELAPSED)) MB/s"
@@ -0,0 +1,69 @@
+#!/bin/sh
+# Measures time from process start to readiness (/actuator/health/readiness answering UP), and the
+# resident memory of the started process at that point (meaningless for `docker run`: use docker stats).
+#
+# Usage: scripts/startup-benchmark.sh [runs] [command...]
+#   default command: the fast-start jar from `mvn package -Pfast-start`, with the AppCDS archive when present
+# Examples:
+#   scripts/startup-benchmark.sh 10
+#   scripts/startup-benchmark.sh 10 java -jar target/expensetracker-0.0.1-SNAPSHOT.jar
+#   scripts/startup-benchmark.sh 10 target/expensetracker -Dspring.profiles.active=fast-start
+#   scripts/startup-benchmark.sh 10 docker run --rm -p 8080:8080 --env-file db.env expensetracker:fast-start
+# Needs the DB_* variables (see env.sh) unless the command sets them itself.
+
+RUNS=${1:-5}
+[ $# -gt 0 ] && shift
+PORT=${PORT:-8080}
+# Optional: fail when the median exceeds this many milliseconds
+TARGET_MS=${TARGET_MS:-}
+TIMEOUT_S=${TIMEOUT_S:-60}
+URL="http://localhost:$PORT/actuator/health/readiness"
+
+if [ $# -eq 0 ]; then
+    JAR=target/expensetracker-0.0.1-SNAPSHOT.jar
+    CDS=""
+    [ -f application.jsa ] && CDS="-XX:SharedArchiveFile=application.jsa"
+    set -- java $CDS -Dspring.aot.enabled=true -Dspring.profiles.active=fast-start -Dserver.port="$PORT" -jar "$JAR"
+fi
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+mkdir -p target
+RESULTS=""
+RSS_RESULTS=""
+i=1
+while [ "$i" -le "$RUNS" ]; do
+    START=$(now_ms)
+    "$@" > "target/startup-run-$i.log" 2>&1 &
+    PID=$!
+    READY=""
+    while [ $(($(now_ms) - START)) -lt $((TIMEOUT_S * 1000)) ]; do
+        if curl -fs "$URL" 2>/dev/null | grep -q '"UP"'; then
+            READY=$(($(now_ms) - START))
+            RSS_KB=$(ps -o rss= -p "$PID" 2>/dev/null | tr -d ' ')
+            break
+        fi
+        kill -0 "$PID" 2>/dev/null || break
+        sleep 0.02
+    done
+    kill "$PID" 2>/dev/null
+    wait "$PID" 2>/dev/null
+    if [ -z "$READY" ]; then
+        echo "run $i: not ready, see target/startup-run-$i.log"
+        exit 1
+    fi
+    echo "run $i: ready in ${READY} ms, rss ${RSS_KB:-?} KB"
+    RESULTS="$RESULTS $READY"
+    RSS_RESULTS="$RSS_RESULTS ${RSS_KB:-0}"
+    i=$((i + 1))
+done
+
+# The first run warms the OS page cache; report the median of all runs
+median() {
+    echo "$@" | tr ' ' '\n' | sort -n | awk '{ a[NR] = $1 } END { print a[int((NR + 1) / 2)] }'
+}
+MEDIAN=$(median $RESULTS)
+echo "median: ${MEDIAN} ms, rss $(median $RSS_RESULTS) KB"
+[ -z "$TARGET_MS" ] || [ "$MEDIAN" -le "$TARGET_MS" ]
@@ -0,0 +1,17 @@
+#!/bin/sh
+# Issues a tenant token for the Authorization: Bearer header (see TenantTokenVerifier): the tenant id,
+# its expiry in epoch seconds and an HMAC-SHA256 signature under TENANT_SIGNING_KEY. Needs openssl.
+#
+# Usage: TENANT_SIGNING_KEY=... scripts/tenant-token.sh <tenant> [valid-days]
+#   tenant "*" issues a root token (all tenants, exchange rate changes)
+# Example:
+#   curl -H "Authorization: Bearer $(scripts/tenant-token.sh household-42 30)" http://localhost:8080/api/accounts
+
+TENANT=$1
+DAYS=${2:-30}
+[ -n "$TENANT" ] || { echo "Usage: scripts/tenant-token.sh <tenant> [valid-days]" >&2; exit 1; }
+[ -n "$TENANT_SIGNING_KEY" ] || { echo "TENANT_SIGNING_KEY is not set" >&2; exit 1; }
+
+PAYLOAD="$TENANT.$(($(date +%s) + DAYS * 86400))"
+SIGNATURE=$(printf '%s' "$PAYLOAD" | openssl dgst -sha256 -hmac "$TENANT_SIGNING_KEY" -binary | openssl base64 -A | tr '+/' '-_' | tr -d '=')
+echo "$PAYLOAD.$SIGNATURE"
@@ -0,0 +1,66 @@
+#!/bin/sh
+# Compares each v1 list endpoint (entities) with its /api/v2 counterpart (DTO projections): response size
+# per row, plain and gzip-compressed, and latency under the same load. Needs `hey`
+# (https://github.com/rakyll/hey) and the application running against a populated database.
+#
+# Usage: scripts/v2-payload-benchmark.sh [requests] [concurrency]
+#   defaults: 1000 requests, 20 at a time; transactions of the current year
+# Examples:
+#   scripts/v2-payload-benchmark.sh
+#   ACCOUNT_ID=1 TOKEN=$(scripts/tenant-token.sh household-42) scripts/v2-payload-benchmark.sh 5000 50
+# Set ACCOUNT_ID to include an account's transaction listing. Responses below 2 KB are not compressed
+# (server.compression.min-response-size), so small lists show the same plain and gzip sizes.
+
+REQUESTS=${1:-1000}
+CONCURRENCY=${2:-20}
+BASE=${BASE:-http://localhost:8080}
+YEAR=$(date +%Y)
+# Signed tenant token (scripts/tenant-token.sh); without one the requests run as the anonymous tenant
+TOKEN=${TOKEN:-}
+AUTH_HEADER=${TOKEN:+"Authorization: Bearer $TOKEN"}
+AUTH_HEADER=${AUTH_HEADER:-"X-Load-Test: 1"}
+
+size() {
+    curl -fsS -o /dev/null -w '%{size_download}' -H "$AUTH_HEADER" -H "Accept: application/json" "$@"
+}
+
+measure() {
+    NAME=$1
+    PATH_QUERY=$2
+    curl -fsS -H "$AUTH_HEADER" -H "Accept: application/json" -o "target/payload-$NAME.json" "$BASE$PATH_QUERY" \
+        || { echo "$NAME: $PATH_QUERY failed" >&2; return; }
+    ROWS=$(grep -o '"id":' "target/payload-$NAME.json" | wc -l)
+    [ "$ROWS" -gt 0 ] || ROWS=1
+    PLAIN=$(size "$BASE$PATH_QUERY")
+    GZIP=$(size -H "Accept-Encoding: gzip" "$BASE$PATH_QUERY")
+
+    hey -n "$CONCURRENCY" -c "$CONCURRENCY" -H "Accept: application/json" -H "$AUTH_HEADER" \
+        "$BASE$PATH_QUERY" > /dev/null
+    hey -n "$REQUESTS" -c "$CONCURRENCY" -H "Accept: application/json" -H "$AUTH_HEADER" \
+        "$BASE$PATH_QUERY" > "target/hey-$NAME.txt"
+    AVERAGE=$(sed -n 's/^ *Average:[[:space:]]*\([0-9.]*\).*/\1/p' "target/hey-$NAME.txt")
+    P95=$(sed -n 's/^ *95% in \([0-9.]*\).*/\1/p' "target/hey-$NAME.txt")
+    RPS=$(sed -n 's/^ *Requests\/sec:[[:space:]]*\([0-9.]*\).*/\1/p' "target/hey-$NAME.txt")
+
+    awk -v name="$NAME" -v rows="$ROWS" -v plain="$PLAIN" -v gzip="$GZIP" -v avg="$AVERAGE" -v p95="$P95" \
+        -v rps="$RPS" 'BEGIN {
+        printf "%-22s %7d rows %9d B %6.0f B/row %9d B gzip %8.1f ms avg %8.1f ms p95 %8.0f req/s\n",
+            name, rows, plain, plain / rows, gzip, avg * 1000, p95 * 1000, rps
+    }'
+}
+
+compare() {
+    NAME=$1
+    PATH_QUERY=$2
+    measure "$NAME-v1" "/api$PATH_QUERY"
+    measure "$NAME-v2" "/api/v2$PATH_QUERY"
+}
+
+command -v hey > /dev/null || { echo "hey is not installed"; exit 1; }
+mkdir -p target
+echo "$REQUESTS requests, $CONCURRENCY concurrent, $BASE"
+compare transactions "/transactions/date-range?startDate=$YEAR-01-01&endDate=$YEAR-12-31"
+[ -n "$ACCOUNT_ID" ] && compare account-transactions "/transactions/account/$ACCOUNT_ID"
+compare accounts "/accounts"
+compare categories "/categories"
+compare budget-allocations "/budget-allocations"
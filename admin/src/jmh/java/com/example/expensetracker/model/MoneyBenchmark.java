@@ -0,0 +1,113 @@
+package com.example.expensetracker.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money against the BigDecimal paths it replaced: the total balance and total budget reductions, the
+ * budget comparison math, and the column round trip MoneyConverter adds to every load and flush.
+ * Run with -prof gc to compare allocation rates as well (gc.alloc.rate.norm, bytes per operation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MoneyBenchmark {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    // Amounts per reduction: a household's accounts up to a large tenant's budget allocations
+    @Param({"16", "1024"})
+    private int size;
+
+    private BigDecimal[] amounts;
+    private BigDecimal[] budgets;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        amounts = new BigDecimal[size];
+        budgets = new BigDecimal[size];
+        for (int i = 0; i < size; i++) {
+            // As loaded from DECIMAL(15, 2) columns
+            amounts[i] = BigDecimal.valueOf(random.nextLong(1, 10_000_000), 2);
+            budgets[i] = BigDecimal.valueOf(random.nextLong(1, 20_000_000), 2);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal totalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal totalMoney() {
+        Money total = Money.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.plus(Money.of(amount));
+        }
+        return total.toBigDecimal();
+    }
+
+    /**
+     * Remaining and percentage used per category, as getBudgetComparison computed them before Money
+     */
+    @Benchmark
+    public void comparisonBigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            BigDecimal actualSpent = amounts[i];
+            BigDecimal budgetedAmount = budgets[i];
+            blackhole.consume(budgetedAmount.subtract(actualSpent));
+            double percentageUsed = 0.0;
+            if (budgetedAmount.compareTo(BigDecimal.ZERO) > 0) {
+                percentageUsed = actualSpent
+                    .divide(budgetedAmount, 4, RoundingMode.HALF_UP)
+                    .multiply(HUNDRED)
+                    .doubleValue();
+            }
+            blackhole.consume(percentageUsed);
+        }
+    }
+
+    @Benchmark
+    public void comparisonMoney(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            Money actualSpent = Money.of(amounts[i]);
+            Money budgetedAmount = Money.of(budgets[i]);
+            blackhole.consume(budgetedAmount.minus(actualSpent).toBigDecimal());
+            blackhole.consume(actualSpent.percentageOf(budgetedAmount));
+        }
+    }
+
+    /**
+     * Load and flush of a converted column, the overhead of holding an entity attribute as Money
+     */
+    @Benchmark
+    public void converterRoundTrip(Blackhole blackhole) {
+        MoneyConverter converter = new MoneyConverter();
+        for (BigDecimal amount : amounts) {
+            blackhole.consume(converter.convertToDatabaseColumn(converter.convertToEntityAttribute(amount)));
+        }
+    }
+}
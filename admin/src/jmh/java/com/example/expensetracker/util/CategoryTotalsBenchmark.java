@@ -0,0 +1,100 @@
+package com.example.expensetracker.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-category totals as the services build them from aggregate rows: the primitive maps against the
+ * HashMap&lt;Long, BigDecimal&gt; (and HashMap&lt;Long, V&gt; lookups) they replaced.
+ * Run with -prof gc to compare allocation per operation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CategoryTotalsBenchmark {
+
+    @Param({"50", "5000"})
+    private int categories;
+
+    // Aggregate rows per category, e.g. one per day of a month
+    @Param({"30"})
+    private int rowsPerCategory;
+
+    private long[] categoryIds;
+    private long[] minorAmounts;
+    private BigDecimal[] amounts;
+    private LongObjectHashMap<String> namesById;
+    private Map<Long, String> namesByBoxedId;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int rows = categories * rowsPerCategory;
+        categoryIds = new long[rows];
+        minorAmounts = new long[rows];
+        amounts = new BigDecimal[rows];
+        for (int i = 0; i < rows; i++) {
+            // IDs from a sequence, rows in no particular order
+            categoryIds[i] = 1 + random.nextInt(categories);
+            minorAmounts[i] = random.nextLong(1, 1_000_000);
+            amounts[i] = BigDecimal.valueOf(minorAmounts[i], 2);
+        }
+        namesById = new LongObjectHashMap<>(categories);
+        namesByBoxedId = new HashMap<>();
+        for (long id = 1; id <= categories; id++) {
+            namesById.put(id, "Category " + id);
+            namesByBoxedId.put(id, "Category " + id);
+        }
+    }
+
+    @Benchmark
+    public Map<Long, BigDecimal> totalsHashMap() {
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        for (int i = 0; i < categoryIds.length; i++) {
+            totals.merge(categoryIds[i], amounts[i], BigDecimal::add);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public LongLongHashMap totalsLongLongHashMap() {
+        LongLongHashMap totals = new LongLongHashMap(categories);
+        for (int i = 0; i < categoryIds.length; i++) {
+            totals.addTo(categoryIds[i], minorAmounts[i]);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public void lookupHashMap(Blackhole blackhole) {
+        for (long categoryId : categoryIds) {
+            blackhole.consume(namesByBoxedId.get(categoryId));
+        }
+    }
+
+    @Benchmark
+    public void lookupLongObjectHashMap(Blackhole blackhole) {
+        for (long categoryId : categoryIds) {
+            blackhole.consume(namesById.get(categoryId));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.expensetracker.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limit on concurrently served requests that adapts to latency (additive increase, multiplicative decrease).
+ *
+ * Requests record their latency; adjust() is called periodically from one thread. It compares the
+ * window's mean latency with a slowly drifting baseline: well above the baseline, or when told the
+ * connection pool is backing up, the limit shrinks; when the window came close to the limit without
+ * slowing down, it grows by one. Requests beyond the limit are rejected instead of queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF = 0.9;
+    private static final double POOL_BACKOFF = 0.75;
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private volatile int limit;
+    // Only touched by adjust()
+    private double baselineNanos = Double.NaN;
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, double latencyTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Take a slot, or return false when the limit is reached
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back a slot taken with tryAcquire and record how long the request took
+     */
+    public void release(long elapsedNanos) {
+        inFlight.decrementAndGet();
+        latencyNanos.add(elapsedNanos);
+        samples.increment();
+    }
+
+    /**
+     * Move the limit based on the requests completed since the last call
+     *
+     * @param poolBackedUp whether requests are waiting for database connections
+     */
+    public synchronized void adjust(boolean poolBackedUp) {
+        long count = samples.sumThenReset();
+        long total = latencyNanos.sumThenReset();
+        int peak = peakInFlight.getAndSet(inFlight.get());
+
+        if (poolBackedUp) {
+            limit = Math.max(minLimit, (int) (limit * POOL_BACKOFF));
+            return;
+        }
+        if (count == 0) {
+            return;
+        }
+
+        double mean = (double) total / count;
+        if (Double.isNaN(baselineNanos) || mean < baselineNanos) {
+            baselineNanos = mean;
+        } else {
+            baselineNanos += (mean - baselineNanos) * BASELINE_DRIFT;
+        }
+
+        if (mean > baselineNanos * latencyTolerance) {
+            limit = Math.max(minLimit, (int) (limit * BACKOFF));
+        } else if (peak >= limit - 1) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
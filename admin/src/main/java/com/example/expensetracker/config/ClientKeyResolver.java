@@ -0,0 +1,30 @@
+package com.example.expensetracker.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves a stable key identifying the calling client: its API key when sent, otherwise its IP address.
+ * The API key header is not authenticated, so limits that must hold against a misbehaving client also
+ * apply per address (resolveAddress).
+ */
+@Component
+public class ClientKeyResolver {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    public String resolve(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank()) {
+            return "key:" + apiKey;
+        }
+        return resolveAddress(request);
+    }
+
+    /**
+     * Key of the client's IP address, whatever API key it sends
+     */
+    public String resolveAddress(HttpServletRequest request) {
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.expensetracker.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+/**
+ * Jackson configuration. Blackbird replaces reflective getter/setter calls with generated
+ * lambda accessors, which cuts per-row serialization cost on list endpoints. A native image cannot
+ * define classes at runtime, so it keeps Jackson's reflective accessors.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        if (NativeDetector.inNativeImage()) {
+            return new SimpleModule("blackbird-unavailable");
+        }
+        return new BlackbirdModule();
+    }
+}
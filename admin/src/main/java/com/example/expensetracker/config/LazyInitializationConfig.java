@@ -0,0 +1,41 @@
+package com.example.expensetracker.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps beans with scheduled jobs eager when spring.main.lazy-initialization is on (fast-start profile):
+ * @Scheduled methods are only registered when their bean is created. The same holds for loaders that run
+ * before the web server starts (SmartInitializingSingleton, e.g. the exchange rate cache). Event listeners
+ * need no exclusion, their beans are created by the first event they receive (ApplicationReadyEvent).
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> hasScheduledMethods(beanType) || isStartupLoader(beanType);
+    }
+
+    private static boolean isStartupLoader(Class<?> beanType) {
+        return beanType != null && beanType.getName().startsWith("com.example.expensetracker")
+            && SmartInitializingSingleton.class.isAssignableFrom(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        if (beanType == null || !beanType.getName().startsWith("com.example.expensetracker")) {
+            return false;
+        }
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType, method -> found.set(true),
+            method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return found.get();
+    }
+}
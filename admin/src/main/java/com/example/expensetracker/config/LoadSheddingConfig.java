@@ -0,0 +1,83 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.enums.TrafficGroup;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-client rate limiting and adaptive load shedding of write requests, enabled unless
+ * expensetracker.load-shedding.enabled is false. Rates are set per controller group under
+ * expensetracker.rate-limit.{group}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expensetracker.load-shedding.enabled", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Value("${expensetracker.load-shedding.min-concurrency:2}")
+    private int minConcurrency;
+
+    @Value("${expensetracker.load-shedding.max-concurrency:64}")
+    private int maxConcurrency;
+
+    @Value("${expensetracker.load-shedding.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    /**
+     * Concurrency limit of the imports group, shared by upload requests and the import workers' batch writes
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter importConcurrencyLimiter() {
+        return new AdaptiveConcurrencyLimiter(minConcurrency, maxConcurrency, latencyTolerance);
+    }
+
+    @Bean
+    public LoadSheddingFilter loadSheddingFilter(
+        Environment environment,
+        ClientKeyResolver clientKeyResolver,
+        MeterRegistry meterRegistry,
+        ObjectProvider<HikariDataSource> hikariDataSources,
+        ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource,
+        AdaptiveConcurrencyLimiter importConcurrencyLimiter
+    ) {
+        Map<TrafficGroup, TokenBucketRateLimiter> rateLimiters = new EnumMap<>(TrafficGroup.class);
+        Map<TrafficGroup, AdaptiveConcurrencyLimiter> concurrencyLimiters = new EnumMap<>(TrafficGroup.class);
+        for (TrafficGroup group : TrafficGroup.values()) {
+            String prefix = "expensetracker.rate-limit." + group.key();
+            rateLimiters.put(group, new TokenBucketRateLimiter(
+                environment.getProperty(prefix + ".requests-per-second", Double.class, 10.0),
+                environment.getProperty(prefix + ".burst", Integer.class, 20)
+            ));
+            concurrencyLimiters.put(group, group == TrafficGroup.IMPORTS
+                ? importConcurrencyLimiter
+                : new AdaptiveConcurrencyLimiter(minConcurrency, maxConcurrency, latencyTolerance));
+        }
+
+        // Pools are looked up on each use: the sharded pools are not beans of their own
+        return new LoadSheddingFilter(clientKeyResolver, rateLimiters, concurrencyLimiters, () -> {
+            List<HikariDataSource> pools = new ArrayList<>(hikariDataSources.stream().toList());
+            shardRoutingDataSource.ifAvailable(routing -> pools.addAll(routing.getShards()));
+            return pools;
+        }, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilterRegistration(LoadSheddingFilter loadSheddingFilter) {
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(loadSheddingFilter);
+        // Right after the tenant is bound, before any work is done for the request
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
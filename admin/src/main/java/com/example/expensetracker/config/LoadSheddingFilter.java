@@ -0,0 +1,144 @@
+package com.example.expensetracker.config;
+
+import com.example.expensetracker.enums.TrafficGroup;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Rate limits and load sheds write requests per controller group.
+ *
+ * Each client IP, and each API key sent from it, has a token bucket per group; over the rate it gets
+ * 429 with Retry-After. The address bucket comes first, so rotating API keys neither escapes the limit
+ * nor creates buckets faster than the address rate. Admitted requests then need a slot from the group's
+ * adaptive concurrency limit, or get 503. Bulk groups (imports, reports) also shrink their limit while
+ * requests wait for database connections, so an import storm backs off before it starves interactive
+ * writes of the pool; import workers take their batch writes through the same limit.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final ClientKeyResolver clientKeyResolver;
+    private final Map<TrafficGroup, TokenBucketRateLimiter> rateLimiters;
+    private final Map<TrafficGroup, AdaptiveConcurrencyLimiter> concurrencyLimiters;
+    private final Supplier<List<HikariDataSource>> connectionPools;
+    private final Map<TrafficGroup, Counter> rateLimited = new EnumMap<>(TrafficGroup.class);
+    private final Map<TrafficGroup, Counter> shed = new EnumMap<>(TrafficGroup.class);
+
+    public LoadSheddingFilter(ClientKeyResolver clientKeyResolver,
+                              Map<TrafficGroup, TokenBucketRateLimiter> rateLimiters,
+                              Map<TrafficGroup, AdaptiveConcurrencyLimiter> concurrencyLimiters,
+                              Supplier<List<HikariDataSource>> connectionPools,
+                              MeterRegistry meterRegistry) {
+        this.clientKeyResolver = clientKeyResolver;
+        this.rateLimiters = rateLimiters;
+        this.concurrencyLimiters = concurrencyLimiters;
+        this.connectionPools = connectionPools;
+
+        for (TrafficGroup group : TrafficGroup.values()) {
+            rateLimited.put(group, rejections(meterRegistry, group, "rate_limit"));
+            shed.put(group, rejections(meterRegistry, group, "concurrency"));
+            AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.get(group);
+            Tags tags = Tags.of("group", group.key());
+            meterRegistry.gauge("expensetracker.load.concurrency.limit", tags, limiter,
+                AdaptiveConcurrencyLimiter::getLimit);
+            meterRegistry.gauge("expensetracker.load.concurrency.in-flight", tags, limiter,
+                AdaptiveConcurrencyLimiter::getInFlight);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !WRITE_METHODS.contains(request.getMethod()) || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        TrafficGroup group = TrafficGroup.fromPath(request.getRequestURI());
+
+        TokenBucketRateLimiter rateLimiter = rateLimiters.get(group);
+        String address = clientKeyResolver.resolveAddress(request);
+        long waitNanos = rateLimiter.tryAcquire(address);
+        String clientKey = clientKeyResolver.resolve(request);
+        if (waitNanos == 0 && !clientKey.equals(address)) {
+            waitNanos = rateLimiter.tryAcquire(clientKey);
+        }
+        if (waitNanos > 0) {
+            rateLimited.get(group).increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded");
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.get(group);
+        if (!limiter.tryAcquire()) {
+            shed.get(group).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy, retry shortly");
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Move every group's concurrency limit based on the latency since the last run and the pool backlog
+     */
+    @Scheduled(fixedDelayString = "${expensetracker.load-shedding.adjust-interval-ms:250}")
+    public void adjustLimits() {
+        boolean poolBackedUp = threadsAwaitingConnection() > 0;
+        concurrencyLimiters.forEach((group, limiter) -> limiter.adjust(poolBackedUp && !group.isInteractive()));
+    }
+
+    /**
+     * Forget clients that have not written recently
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void pruneBuckets() {
+        rateLimiters.values().forEach(TokenBucketRateLimiter::prune);
+    }
+
+    private int threadsAwaitingConnection() {
+        int waiting = 0;
+        for (HikariDataSource pool : connectionPools.get()) {
+            HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+            if (poolBean != null) {
+                waiting += poolBean.getThreadsAwaitingConnection();
+            }
+        }
+        return waiting;
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, TrafficGroup group, String reason) {
+        return Counter.builder("expensetracker.load.rejected")
+            .description("Write requests rejected by rate limiting or load shedding")
+            .tag("group", group.key())
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
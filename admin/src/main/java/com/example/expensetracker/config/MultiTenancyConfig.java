@@ -0,0 +1,42 @@
+package com.example.expensetracker.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Discriminator-based multi-tenancy: tenant-owned entities carry a @TenantId column that Hibernate
+ * populates on insert and adds to every query, resolved from the request's signed tenant token
+ */
+@Configuration
+public class MultiTenancyConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer tenantIdentifierResolverCustomizer() {
+        return properties -> properties.put(
+            AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new TenantIdentifierResolver()
+        );
+    }
+
+    @Bean
+    public TenantTokenVerifier tenantTokenVerifier(@Value("${expensetracker.tenancy.signing-key:}") String signingKey) {
+        return new TenantTokenVerifier(signingKey);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(
+        TenantTokenVerifier tenantTokenVerifier,
+        @Value("${expensetracker.tenancy.anonymous-tenant:}") String anonymousTenant
+    ) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(
+            new TenantFilter(tenantTokenVerifier, anonymousTenant)
+        );
+        // Ahead of everything that touches the database
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
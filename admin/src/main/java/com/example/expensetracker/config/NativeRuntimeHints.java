@@ -0,0 +1,49 @@
+package com.example.expensetracker.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Reachability metadata for the native image (mvn -Pnative native:compile), registered while the build
+ * runs AOT processing.
+ *
+ * Spring derives hints for entities and for types named in controller signatures, but not for DTOs
+ * only sent over SSE, nested in generic containers or converted by Hibernate. Every class under model/,
+ * dto/ and enums/ is therefore registered for reflection and JSON binding, which includes the
+ * Lombok-generated accessors.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String BASE_PACKAGE = "com.example.expensetracker";
+    private static final List<String> BOUND_PACKAGES = List.of("model", "dto", "enums");
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+
+        for (String subPackage : BOUND_PACKAGES) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE + "." + subPackage)) {
+                Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader);
+                // Hibernate reads and writes fields and instantiates entities, embeddables and converters
+                hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+                bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+            }
+        }
+
+        // Caffeine cache regions for the Hibernate second-level cache
+        hints.resources().registerPattern("application.conf");
+    }
+}
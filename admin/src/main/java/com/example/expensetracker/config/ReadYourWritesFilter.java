@@ -0,0 +1,31 @@
+package com.example.expensetracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the calling client to the request thread for read-your-writes routing
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ClientKeyResolver clientKeyResolver;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        readYourWritesTracker.bind(clientKeyResolver.resolve(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            readYourWritesTracker.clear();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.expensetracker.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each client last wrote, so its reads stay on the primary until the replica has
+ * had time to catch up (read-your-writes). The current client is bound per request by ReadYourWritesFilter.
+ */
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+    private final long stickyAfterWriteMillis;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(long stickyAfterWriteMillis) {
+        this(stickyAfterWriteMillis, Clock.systemUTC());
+    }
+
+    ReadYourWritesTracker(long stickyAfterWriteMillis, Clock clock) {
+        this.stickyAfterWriteMillis = stickyAfterWriteMillis;
+        this.clock = clock;
+    }
+
+    public void bind(String clientKey) {
+        CURRENT_CLIENT.set(clientKey);
+    }
+
+    public void clear() {
+        CURRENT_CLIENT.remove();
+    }
+
+    /**
+     * Record that the current client is writing
+     */
+    public void markWrite() {
+        String clientKey = CURRENT_CLIENT.get();
+        if (clientKey != null) {
+            lastWriteMillis.put(clientKey, clock.millis());
+        }
+    }
+
+    /**
+     * Whether the current client wrote recently enough that it must read from the primary
+     */
+    public boolean mustReadPrimary() {
+        String clientKey = CURRENT_CLIENT.get();
+        if (clientKey == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteMillis.get(clientKey);
+        return lastWrite != null && clock.millis() - lastWrite < stickyAfterWriteMillis;
+    }
+
+    /**
+     * Forget clients whose stickiness window has passed
+     */
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.sticky-after-write-ms:5000}")
+    public void prune() {
+        long cutoff = clock.millis() - stickyAfterWriteMillis;
+        lastWriteMillis.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+}
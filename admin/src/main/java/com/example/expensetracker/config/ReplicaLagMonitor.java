@@ -0,0 +1,59 @@
+package com.example.expensetracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Periodically checks replication lag on the replica. While the replica is unreachable or lags
+ * more than the allowed number of seconds, read-only traffic falls back to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replicaDataSource;
+
+    @Value("${spring.datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${spring.datasource.replica.lag-query:SHOW REPLICA STATUS}")
+    private String lagQuery;
+
+    private volatile boolean replicaAvailable = false;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource) {
+        this.replicaDataSource = replicaDataSource;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        boolean available;
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            // No status row means the server is not replicating (e.g. a local test instance): no lag
+            if (!resultSet.next()) {
+                available = true;
+            } else {
+                long lag = resultSet.getLong("Seconds_Behind_Source");
+                available = !resultSet.wasNull() && lag <= maxLagSeconds;
+            }
+        } catch (Exception e) {
+            available = false;
+        }
+
+        if (available != replicaAvailable) {
+            log.info("Read replica {}", available ? "available, routing reads to it" : "unavailable or lagging, reading from primary");
+        }
+        replicaAvailable = available;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.expensetracker.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs (recurring transaction materialization, etc.)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,50 @@
+package com.example.expensetracker.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard the current thread's next database connection is taken from.
+ *
+ * Threads without a bound shard use the home shard, which also holds the reference tables
+ * (categories, budget allocations, exchange rates) and everything that is not split by account.
+ * The shard is only read when a transaction takes its first connection, so it must be bound
+ * before the first statement of that transaction.
+ */
+public final class ShardContext {
+
+    public static final int HOME_SHARD = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Shard bound to this thread, or the home shard
+     */
+    public static int getShard() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : HOME_SHARD;
+    }
+
+    public static void runOn(int shard, Runnable task) {
+        callOn(shard, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> task) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.expensetracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Account sharding, enabled when expensetracker.sharding.shard-urls lists the databases beyond
+ * spring.datasource.url (which stays the home shard).
+ *
+ * Every shard has the full schema. Accounts, their transactions and the per-category monthly totals
+ * they feed are split across shards; reference tables are written on the home shard and replicated
+ * to the others. Each shard hands out ids congruent to its index (auto_increment_offset), so the
+ * shard of an account or transaction follows from its id alone; other databases (the H2 shards of the
+ * tests) need identity columns that start at the shard's index and step by the shard count. As with
+ * the replica setup, the LazyConnectionDataSourceProxy defers routing to the first statement of a
+ * transaction.
+ *
+ * Every shard pool takes its settings from spring.datasource.hikari. Sharding replaces the read replica
+ * setup (ReadReplicaConfig is off while shard-urls is set).
+ */
+@Configuration
+@ConditionalOnProperty(name = "expensetracker.sharding.shard-urls")
+public class ShardingConfig {
+
+    private static final String MYSQL_URL_PREFIX = "jdbc:mysql:";
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource(
+        DataSourceProperties properties,
+        Environment environment,
+        @Value("${expensetracker.sharding.shard-urls}") List<String> shardUrls
+    ) {
+        Binder binder = Binder.get(environment);
+        List<String> urls = new ArrayList<>();
+        urls.add(properties.determineUrl());
+        urls.addAll(shardUrls);
+
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (int shard = 0; shard < urls.size(); shard++) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(urls.get(shard))
+                .username(properties.determineUsername())
+                .password(properties.determinePassword())
+                .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("shard-" + shard);
+            if (urls.get(shard).startsWith(MYSQL_URL_PREFIX)) {
+                dataSource.setConnectionInitSql(
+                    "SET SESSION auto_increment_increment = " + urls.size() + ", auto_increment_offset = " + (shard + 1)
+                );
+            }
+            shards.add(dataSource);
+        }
+
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shards);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    /**
+     * Cached query results are keyed by query and tenant but not by shard, so they would leak
+     * one shard's rows into another's reads. Entity caching stays on: ids are unique across shards.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardQueryCacheCustomizer() {
+        return properties -> properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.expensetracker.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Tenant (household) the current thread works for.
+ *
+ * Requests are bound by TenantFilter. Threads without a bound tenant act as NO_TENANT and see no rows:
+ * work done on behalf of a tenant on another thread (async response bodies, workers) must be wrapped
+ * with runAs / callAs, and background jobs that work across tenants must run as ROOT_TENANT explicitly.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+    public static final String ROOT_TENANT = "*";
+    // Not a valid tenant id (see TenantTokenVerifier), so no row belongs to it
+    public static final String NO_TENANT = "!unbound";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Tenant bound to this thread, or NO_TENANT
+     */
+    public static String getTenantId() {
+        String tenantId = CURRENT.get();
+        return tenantId != null ? tenantId : NO_TENANT;
+    }
+
+    public static boolean isRoot() {
+        return ROOT_TENANT.equals(getTenantId());
+    }
+
+    /**
+     * True when the current tenant may see data of the given tenant
+     */
+    public static boolean canAccess(String tenantId) {
+        return canAccess(getTenantId(), tenantId);
+    }
+
+    /**
+     * True when a viewer tenant (e.g. recorded for a subscriber) may see data of the owning tenant
+     */
+    public static boolean canAccess(String viewerTenantId, String ownerTenantId) {
+        return ROOT_TENANT.equals(viewerTenantId) || viewerTenantId.equals(ownerTenantId);
+    }
+
+    static void set(String tenantId) {
+        CURRENT.set(tenantId);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void runAs(String tenantId, Runnable task) {
+        callAs(tenantId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> T callAs(String tenantId, Supplier<T> task) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenantId);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
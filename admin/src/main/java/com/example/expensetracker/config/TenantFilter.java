@@ -0,0 +1,69 @@
+package com.example.expensetracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the tenant of the request's signed token (Authorization: Bearer, see TenantTokenVerifier) to the
+ * request thread. Requests without a token belong to the anonymous tenant when one is configured
+ * (single-household deployments), and are rejected otherwise.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    // Used to name the tenant unauthenticated; rejected so such a client cannot silently act as another tenant
+    public static final String LEGACY_TENANT_HEADER = "X-Tenant-Id";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TenantTokenVerifier tokenVerifier;
+    private final String anonymousTenant;
+
+    public TenantFilter(TenantTokenVerifier tokenVerifier, String anonymousTenant) {
+        this.tokenVerifier = tokenVerifier;
+        this.anonymousTenant = anonymousTenant == null || anonymousTenant.isBlank() ? null : anonymousTenant;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String tenantId;
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            tenantId = tokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+            if (tenantId == null) {
+                response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired tenant token");
+                return;
+            }
+        } else if (request.getHeader(LEGACY_TENANT_HEADER) != null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED,
+                LEGACY_TENANT_HEADER + " is not accepted, send a signed tenant token");
+            return;
+        } else if (anonymousTenant != null) {
+            tenantId = anonymousTenant;
+        } else {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Tenant token required");
+            return;
+        }
+
+        TenantContext.set(tenantId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * Health probes and CORS preflight requests carry no token and touch no tenant data
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator/") || "OPTIONS".equals(request.getMethod());
+    }
+}
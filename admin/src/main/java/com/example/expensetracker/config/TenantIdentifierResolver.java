@@ -0,0 +1,27 @@
+package com.example.expensetracker.config;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Supplies the current tenant to Hibernate, which fills and filters every @TenantId column with it
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.getTenantId();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return true;
+    }
+
+    /**
+     * The root tenant reads across tenants and keeps the tenant already set on entities it saves
+     */
+    @Override
+    public boolean isRoot(String tenantId) {
+        return TenantContext.ROOT_TENANT.equals(tenantId);
+    }
+}
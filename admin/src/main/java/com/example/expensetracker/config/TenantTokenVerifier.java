@@ -0,0 +1,103 @@
+package com.example.expensetracker.config;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Verifies the signed tenant tokens that bind a request to a tenant (household).
+ *
+ * A token is "tenant.expires.signature": expires in epoch seconds, signature the unpadded base64url
+ * HMAC-SHA256 of "tenant.expires" under the signing key. Tokens are issued by the operator
+ * (scripts/tenant-token.sh); a token for the root tenant "*" administers shared data such as exchange rates.
+ * Without a signing key no token verifies.
+ */
+public class TenantTokenVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Pattern TENANT_ID = Pattern.compile("^[A-Za-z0-9_-]{1,64}$");
+
+    private final SecretKeySpec signingKey;
+    private final Clock clock;
+
+    public TenantTokenVerifier(String signingKey) {
+        this(signingKey, Clock.systemUTC());
+    }
+
+    TenantTokenVerifier(String signingKey, Clock clock) {
+        this.signingKey = signingKey == null || signingKey.isBlank()
+            ? null
+            : new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.clock = clock;
+    }
+
+    /**
+     * True for a tenant id a token may name: a household id or the root tenant
+     */
+    public static boolean isValidTenantId(String tenantId) {
+        return TenantContext.ROOT_TENANT.equals(tenantId) || TENANT_ID.matcher(tenantId).matches();
+    }
+
+    /**
+     * Tenant named by the token, or null when the token is malformed, wrongly signed or expired
+     */
+    public String verify(String token) {
+        if (signingKey == null || token == null) {
+            return null;
+        }
+        int tenantEnd = token.indexOf('.');
+        int signatureStart = token.lastIndexOf('.');
+        if (tenantEnd <= 0 || signatureStart == tenantEnd) {
+            return null;
+        }
+
+        String tenantId = token.substring(0, tenantEnd);
+        if (!isValidTenantId(tenantId)) {
+            return null;
+        }
+        long expiresAt;
+        byte[] signature;
+        try {
+            expiresAt = Long.parseLong(token.substring(tenantEnd + 1, signatureStart));
+            signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        if (!MessageDigest.isEqual(sign(token.substring(0, signatureStart)), signature)) {
+            return null;
+        }
+        return clock.instant().getEpochSecond() < expiresAt ? tenantId : null;
+    }
+
+    /**
+     * Issue a token for a tenant, valid until the given instant
+     */
+    public String issue(String tenantId, Instant expiresAt) {
+        if (signingKey == null) {
+            throw new IllegalStateException("No tenant token signing key is configured");
+        }
+        if (!isValidTenantId(tenantId)) {
+            throw new IllegalArgumentException("Invalid tenant id: " + tenantId);
+        }
+        String payload = tenantId + "." + expiresAt.getEpochSecond();
+        return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(payload));
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            // Mac instances are not thread-safe
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign tenant token", e);
+        }
+    }
+}
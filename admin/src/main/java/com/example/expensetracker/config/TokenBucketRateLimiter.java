@@ -0,0 +1,63 @@
+package com.example.expensetracker.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets, kept lock-free.
+ *
+ * Each bucket is a single timestamp (the generic cell rate algorithm form of a token bucket): the time
+ * at which the bucket would be full again. A request is admitted when that time is no more than the
+ * burst allowance ahead of now, and pushes it one emission interval further with a compare-and-set.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+    }
+
+    /**
+     * Take a token for the client
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String clientKey) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(clientKey, key -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Forget clients whose bucket has refilled completely (a new bucket starts full)
+     */
+    public void prune() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now < 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
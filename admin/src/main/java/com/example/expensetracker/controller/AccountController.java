@@ -113,8 +113,8 @@ public class AccountController {
      * GET /api/accounts/total-balance - Get total balance across all active accounts
      */
     @GetMapping("/total-balance")
-    public ResponseEntity<BigDecimal> getTotalBalance() {
-        BigDecimal totalBalance = accountService.calculateTotalBalance();
+    public ResponseEntity<BigDecimal> getTotalBalance(@RequestParam(required = false) String currency) {
+        BigDecimal totalBalance = accountService.calculateTotalBalance(currency);
         return ResponseEntity.ok(totalBalance);
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.AccountViewDTO;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.service.AccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for Account list views (v2); single reads and writes stay on /api/accounts
+ */
+@RestController
+@RequestMapping("/api/v2/accounts")
+@RequiredArgsConstructor
+public class AccountV2Controller {
+
+    private final AccountService accountService;
+
+    /**
+     * GET /api/v2/accounts - Get all accounts
+     */
+    @GetMapping
+    public ResponseEntity<List<AccountViewDTO>> getAllAccounts() {
+        return ResponseEntity.ok(accountService.getAllAccountViews());
+    }
+
+    /**
+     * GET /api/v2/accounts/active - Get active accounts
+     */
+    @GetMapping("/active")
+    public ResponseEntity<List<AccountViewDTO>> getActiveAccounts() {
+        return ResponseEntity.ok(accountService.getActiveAccountViews());
+    }
+
+    /**
+     * GET /api/v2/accounts/type/{accountType} - Get accounts by type
+     */
+    @GetMapping("/type/{accountType}")
+    public ResponseEntity<List<AccountViewDTO>> getAccountsByType(@PathVariable AccountType accountType) {
+        return ResponseEntity.ok(accountService.getAccountViewsByType(accountType));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.SpendingQueryDTO;
+import com.example.expensetracker.dto.SpendingQueryResultDTO;
+import com.example.expensetracker.service.SpendingAnalyticsService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST Controller for ad-hoc spending analytics
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@ConditionalOnProperty(name = "expensetracker.analytics.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final SpendingAnalyticsService spendingAnalyticsService;
+
+    /**
+     * POST /api/analytics/spending - Filter, group and sum transaction amounts in the base currency
+     */
+    @PostMapping("/spending")
+    public ResponseEntity<SpendingQueryResultDTO> querySpending(@Valid @RequestBody SpendingQueryDTO query) {
+        return ResponseEntity.ok(spendingAnalyticsService.query(query));
+    }
+
+    /**
+     * GET /api/analytics/status - Get analytics store size and load state
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(spendingAnalyticsService.getStatus());
+    }
+}
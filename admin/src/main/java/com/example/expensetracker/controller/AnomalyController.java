@@ -0,0 +1,36 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.model.TransactionAnomaly;
+import com.example.expensetracker.service.AnomalyDetectionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for transactions flagged as anomalous
+ */
+@RestController
+@RequestMapping("/api/anomalies")
+@RequiredArgsConstructor
+public class AnomalyController {
+
+    private final AnomalyDetectionService anomalyDetectionService;
+
+    /**
+     * GET /api/anomalies - Get the most recently flagged transactions
+     */
+    @GetMapping
+    public ResponseEntity<List<TransactionAnomaly>> getRecentAnomalies() {
+        return ResponseEntity.ok(anomalyDetectionService.getRecentAnomalies());
+    }
+
+    /**
+     * GET /api/anomalies/account/{accountId} - Get flagged transactions of an account
+     */
+    @GetMapping("/account/{accountId}")
+    public ResponseEntity<List<TransactionAnomaly>> getAnomaliesByAccount(@PathVariable Long accountId) {
+        return ResponseEntity.ok(anomalyDetectionService.getAnomaliesByAccountId(accountId));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.BudgetAlertDTO;
+import com.example.expensetracker.service.BudgetAlertService;
+import com.example.expensetracker.service.SseBudgetAlertSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * REST Controller for budget threshold alerts
+ */
+@RestController
+@RequestMapping("/api/budget-alerts")
+@RequiredArgsConstructor
+public class BudgetAlertController {
+
+    private final BudgetAlertService budgetAlertService;
+    private final SseBudgetAlertSink sseBudgetAlertSink;
+
+    /**
+     * GET /api/budget-alerts - Get the most recent alerts
+     */
+    @GetMapping
+    public ResponseEntity<List<BudgetAlertDTO>> getRecentAlerts() {
+        List<BudgetAlertDTO> alerts = budgetAlertService.getRecentAlerts();
+        return ResponseEntity.ok(alerts);
+    }
+
+    /**
+     * GET /api/budget-alerts/stream - Subscribe to alerts as Server-Sent Events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        return sseBudgetAlertSink.subscribe();
+    }
+}
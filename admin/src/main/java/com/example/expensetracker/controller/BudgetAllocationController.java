@@ -1,6 +1,7 @@
 package com.example.expensetracker.controller;
 
 import com.example.expensetracker.dto.BudgetComparisonDTO;
+import com.example.expensetracker.dto.BudgetStatusDTO;
 import com.example.expensetracker.model.BudgetAllocation;
 import com.example.expensetracker.service.BudgetAllocationService;
 import jakarta.validation.Valid;
@@ -101,8 +102,10 @@ public class BudgetAllocationController {
      * GET /api/budget-allocations/comparison - Get budget vs actual for current month
      */
     @GetMapping("/comparison")
-    public ResponseEntity<List<BudgetComparisonDTO>> getBudgetComparison() {
-        List<BudgetComparisonDTO> comparison = budgetAllocationService.getBudgetComparison();
+    public ResponseEntity<List<BudgetComparisonDTO>> getBudgetComparison(
+        @RequestParam(required = false) String currency
+    ) {
+        List<BudgetComparisonDTO> comparison = budgetAllocationService.getBudgetComparison(currency);
         return ResponseEntity.ok(comparison);
     }
 
@@ -112,12 +115,37 @@ public class BudgetAllocationController {
     @GetMapping("/comparison/date-range")
     public ResponseEntity<List<BudgetComparisonDTO>> getBudgetComparisonByDateRange(
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(required = false) String currency
     ) {
-        List<BudgetComparisonDTO> comparison = budgetAllocationService.getBudgetComparison(startDate, endDate);
+        List<BudgetComparisonDTO> comparison = budgetAllocationService.getBudgetComparison(
+            startDate, endDate, currency
+        );
         return ResponseEntity.ok(comparison);
     }
 
+    /**
+     * GET /api/budget-allocations/status - Get budget status of all categories for their current period
+     */
+    @GetMapping("/status")
+    public ResponseEntity<List<BudgetStatusDTO>> getBudgetStatus(
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        List<BudgetStatusDTO> status = date != null
+            ? budgetAllocationService.getBudgetStatus(date)
+            : budgetAllocationService.getBudgetStatus();
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * POST /api/budget-allocations/actuals/rebuild - Recompute budget actuals from all transactions
+     */
+    @PostMapping("/actuals/rebuild")
+    public ResponseEntity<Void> rebuildBudgetActuals() {
+        budgetAllocationService.rebuildBudgetActuals();
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * GET /api/budget-allocations/total - Get total budget amount
      */
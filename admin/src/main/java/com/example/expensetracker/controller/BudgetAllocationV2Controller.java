@@ -0,0 +1,30 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.BudgetAllocationViewDTO;
+import com.example.expensetracker.service.BudgetAllocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for BudgetAllocation list views (v2); single reads, writes and reports stay on /api/budget-allocations
+ */
+@RestController
+@RequestMapping("/api/v2/budget-allocations")
+@RequiredArgsConstructor
+public class BudgetAllocationV2Controller {
+
+    private final BudgetAllocationService budgetAllocationService;
+
+    /**
+     * GET /api/v2/budget-allocations - Get all budget allocations
+     */
+    @GetMapping
+    public ResponseEntity<List<BudgetAllocationViewDTO>> getAllBudgetAllocations() {
+        return ResponseEntity.ok(budgetAllocationService.getAllBudgetAllocationViews());
+    }
+}
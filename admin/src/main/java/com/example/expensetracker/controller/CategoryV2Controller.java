@@ -0,0 +1,53 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.CategoryViewDTO;
+import com.example.expensetracker.enums.CategoryType;
+import com.example.expensetracker.service.CategoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for Category list views (v2); single reads and writes stay on /api/categories
+ */
+@RestController
+@RequestMapping("/api/v2/categories")
+@RequiredArgsConstructor
+public class CategoryV2Controller {
+
+    private final CategoryService categoryService;
+
+    /**
+     * GET /api/v2/categories - Get all categories
+     */
+    @GetMapping
+    public ResponseEntity<List<CategoryViewDTO>> getAllCategories() {
+        return ResponseEntity.ok(categoryService.getAllCategoryViews());
+    }
+
+    /**
+     * GET /api/v2/categories/type/{type} - Get categories by type
+     */
+    @GetMapping("/type/{type}")
+    public ResponseEntity<List<CategoryViewDTO>> getCategoriesByType(@PathVariable CategoryType type) {
+        return ResponseEntity.ok(categoryService.getCategoryViewsByType(type));
+    }
+
+    /**
+     * GET /api/v2/categories/top-level - Get top-level categories
+     */
+    @GetMapping("/top-level")
+    public ResponseEntity<List<CategoryViewDTO>> getTopLevelCategories() {
+        return ResponseEntity.ok(categoryService.getTopLevelCategoryViews());
+    }
+
+    /**
+     * GET /api/v2/categories/{id}/subcategories - Get subcategories
+     */
+    @GetMapping("/{id}/subcategories")
+    public ResponseEntity<List<CategoryViewDTO>> getSubcategories(@PathVariable Long id) {
+        return ResponseEntity.ok(categoryService.getSubcategoryViews(id));
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.model.ExchangeRate;
+import com.example.expensetracker.service.ExchangeRateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for ExchangeRate operations
+ * Rates are shared by all tenants, so only the root tenant may change them.
+ */
+@RestController
+@RequestMapping("/api/exchange-rates")
+@RequiredArgsConstructor
+public class ExchangeRateController {
+
+    private final ExchangeRateService exchangeRateService;
+
+    /**
+     * GET /api/exchange-rates - Get all exchange rates
+     */
+    @GetMapping
+    public ResponseEntity<List<ExchangeRate>> getAllExchangeRates() {
+        List<ExchangeRate> exchangeRates = exchangeRateService.getAllExchangeRates();
+        return ResponseEntity.ok(exchangeRates);
+    }
+
+    /**
+     * GET /api/exchange-rates/{baseCurrency}/{quoteCurrency} - Get rate history for a currency pair
+     */
+    @GetMapping("/{baseCurrency}/{quoteCurrency}")
+    public ResponseEntity<List<ExchangeRate>> getExchangeRates(
+        @PathVariable String baseCurrency,
+        @PathVariable String quoteCurrency
+    ) {
+        List<ExchangeRate> exchangeRates = exchangeRateService.getExchangeRates(baseCurrency, quoteCurrency);
+        return ResponseEntity.ok(exchangeRates);
+    }
+
+    /**
+     * GET /api/exchange-rates/convert - Convert an amount between currencies on a date
+     */
+    @GetMapping("/convert")
+    public ResponseEntity<BigDecimal> convert(
+        @RequestParam BigDecimal amount,
+        @RequestParam String from,
+        @RequestParam String to,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        BigDecimal converted = exchangeRateService.convert(amount, from, to, date != null ? date : LocalDate.now());
+        return ResponseEntity.ok(converted);
+    }
+
+    /**
+     * POST /api/exchange-rates - Create or replace the rate for a currency pair and date
+     */
+    @PostMapping
+    public ResponseEntity<ExchangeRate> saveExchangeRate(@Valid @RequestBody ExchangeRate exchangeRate) {
+        if (!TenantContext.isRoot()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        ExchangeRate savedExchangeRate = exchangeRateService.saveExchangeRate(exchangeRate);
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedExchangeRate);
+    }
+
+    /**
+     * DELETE /api/exchange-rates/{id} - Delete exchange rate
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteExchangeRate(@PathVariable Long id) {
+        if (!TenantContext.isRoot()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        exchangeRateService.deleteExchangeRate(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.SpendingForecastDTO;
+import com.example.expensetracker.service.SpendingForecastService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for month-end spending forecasts
+ */
+@RestController
+@RequestMapping("/api/forecast")
+@RequiredArgsConstructor
+public class ForecastController {
+
+    private final SpendingForecastService spendingForecastService;
+
+    /**
+     * GET /api/forecast - Get projected month-end spending of every category
+     */
+    @GetMapping
+    public ResponseEntity<List<SpendingForecastDTO>> getForecasts() {
+        return ResponseEntity.ok(spendingForecastService.getForecasts());
+    }
+
+    /**
+     * GET /api/forecast/category/{categoryId} - Get projected month-end spending of a category
+     */
+    @GetMapping("/category/{categoryId}")
+    public ResponseEntity<SpendingForecastDTO> getForecast(@PathVariable Long categoryId) {
+        return ResponseEntity.ok(spendingForecastService.getForecast(categoryId));
+    }
+
+    /**
+     * POST /api/forecast/backfill - Reseed forecast statistics from transaction history
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Object>> backfill() {
+        boolean started = spendingForecastService.backfill();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("started", started));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.service.LiveUpdateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for live account balance and category spending updates
+ */
+@RestController
+@RequestMapping("/api/live-updates")
+@RequiredArgsConstructor
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    /**
+     * GET /api/live-updates/stream - Subscribe to balance and spending changes as Server-Sent Events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUpdates() {
+        return liveUpdateService.subscribe();
+    }
+}
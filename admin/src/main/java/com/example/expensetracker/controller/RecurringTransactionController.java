@@ -0,0 +1,84 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.model.RecurringTransaction;
+import com.example.expensetracker.service.RecurringTransactionScheduler;
+import com.example.expensetracker.service.RecurringTransactionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for RecurringTransaction operations
+ */
+@RestController
+@RequestMapping("/api/recurring-transactions")
+@RequiredArgsConstructor
+public class RecurringTransactionController {
+
+    private final RecurringTransactionService recurringTransactionService;
+    private final RecurringTransactionScheduler recurringTransactionScheduler;
+
+    /**
+     * GET /api/recurring-transactions - Get all recurring transactions
+     */
+    @GetMapping
+    public ResponseEntity<List<RecurringTransaction>> getAllRecurringTransactions() {
+        List<RecurringTransaction> recurringTransactions = recurringTransactionService.getAllRecurringTransactions();
+        return ResponseEntity.ok(recurringTransactions);
+    }
+
+    /**
+     * GET /api/recurring-transactions/{id} - Get recurring transaction by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringTransaction> getRecurringTransactionById(@PathVariable Long id) {
+        RecurringTransaction recurringTransaction = recurringTransactionService.getRecurringTransactionById(id);
+        return ResponseEntity.ok(recurringTransaction);
+    }
+
+    /**
+     * POST /api/recurring-transactions - Create new recurring transaction
+     */
+    @PostMapping
+    public ResponseEntity<RecurringTransaction> createRecurringTransaction(
+        @Valid @RequestBody RecurringTransaction recurringTransaction
+    ) {
+        RecurringTransaction created = recurringTransactionService.createRecurringTransaction(recurringTransaction);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    /**
+     * PUT /api/recurring-transactions/{id} - Update recurring transaction
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<RecurringTransaction> updateRecurringTransaction(
+        @PathVariable Long id,
+        @Valid @RequestBody RecurringTransaction recurringTransaction
+    ) {
+        RecurringTransaction updated = recurringTransactionService.updateRecurringTransaction(id, recurringTransaction);
+        return ResponseEntity.ok(updated);
+    }
+
+    /**
+     * DELETE /api/recurring-transactions/{id} - Delete recurring transaction
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRecurringTransaction(@PathVariable Long id) {
+        recurringTransactionService.deleteRecurringTransaction(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * POST /api/recurring-transactions/run - Materialize all occurrences due up to today
+     */
+    @PostMapping("/run")
+    public ResponseEntity<Integer> runDueRecurringTransactions() {
+        int created = recurringTransactionScheduler.runUntil(LocalDate.now());
+        return ResponseEntity.ok(created);
+    }
+}
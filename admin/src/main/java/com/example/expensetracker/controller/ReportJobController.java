@@ -0,0 +1,72 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.config.ClientKeyResolver;
+import com.example.expensetracker.dto.ReportJobDTO;
+import com.example.expensetracker.dto.ReportResultDTO;
+import com.example.expensetracker.dto.ReportSpecDTO;
+import com.example.expensetracker.service.ReportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for asynchronous report jobs
+ */
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+    private final ClientKeyResolver clientKeyResolver;
+
+    /**
+     * POST /api/reports - Submit a report job
+     */
+    @PostMapping
+    public ResponseEntity<ReportJobDTO> submitReport(@Valid @RequestBody ReportSpecDTO spec, HttpServletRequest request) {
+        ReportJobDTO job = reportJobService.submit(spec, clientKeyResolver.resolve(request));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * GET /api/reports/{id} - Get report job status
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobDTO> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(reportJobService.getJob(id));
+    }
+
+    /**
+     * GET /api/reports/{id}/result - Get the report result (202 with the job status while it is still running)
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> getResult(@PathVariable String id) {
+        ReportResultDTO result = reportJobService.getResult(id);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.getJob(id));
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * GET /api/reports/{id}/stream - Stream month partitions as they complete, then the final job status
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String id) {
+        return reportJobService.stream(id);
+    }
+
+    /**
+     * DELETE /api/reports/{id} - Cancel a queued report job
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ReportJobDTO> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(reportJobService.cancel(id));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.ImportJobDTO;
+import com.example.expensetracker.enums.ImportFormat;
+import com.example.expensetracker.service.StatementImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * REST Controller for CSV and OFX/QFX statement imports
+ */
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class StatementImportController {
+
+    private final StatementImportService statementImportService;
+
+    /**
+     * POST /api/imports - Upload a statement and start importing it; poll the returned job for progress
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> startImport(
+        @RequestParam MultipartFile file,
+        @RequestParam(required = false) Long accountId,
+        @RequestParam(required = false) Long categoryId,
+        @RequestParam(required = false) ImportFormat format,
+        @RequestParam(required = false) String dateFormat
+    ) {
+        ImportJobDTO job = statementImportService.startImport(file, accountId, categoryId, format, dateFormat);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * GET /api/imports - Get recent import jobs
+     */
+    @GetMapping
+    public ResponseEntity<List<ImportJobDTO>> getJobs() {
+        return ResponseEntity.ok(statementImportService.getJobs());
+    }
+
+    /**
+     * GET /api/imports/{id} - Get import job progress
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(statementImportService.getJob(id));
+    }
+}
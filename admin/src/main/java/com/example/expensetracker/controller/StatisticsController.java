@@ -0,0 +1,58 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.CategoryStatisticsDTO;
+import com.example.expensetracker.dto.MonthlyStatisticsDTO;
+import com.example.expensetracker.service.TransactionSketchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for approximate transaction statistics served from per-month sketches.
+ * Ranges are widened to whole months; quantiles are within 1% relative error and distinct
+ * description counts within about 1.6% standard error.
+ */
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+public class StatisticsController {
+
+    private final TransactionSketchService transactionSketchService;
+
+    /**
+     * GET /api/statistics/categories - Get amount quantiles and distinct descriptions per category
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategoryStatisticsDTO>> getCategoryStatistics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) double[] quantiles) {
+        return ResponseEntity.ok(transactionSketchService.getCategoryStatistics(startDate, endDate, quantiles));
+    }
+
+    /**
+     * GET /api/statistics/monthly - Get amount quantiles and distinct descriptions per month
+     */
+    @GetMapping("/monthly")
+    public ResponseEntity<List<MonthlyStatisticsDTO>> getMonthlyStatistics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) double[] quantiles) {
+        return ResponseEntity.ok(transactionSketchService.getMonthlyStatistics(startDate, endDate, quantiles));
+    }
+
+    /**
+     * POST /api/statistics/rebuild - Recompute all sketches from the transactions table
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        boolean started = transactionSketchService.rebuild();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("started", started));
+    }
+}
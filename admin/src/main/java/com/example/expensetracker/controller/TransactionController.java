@@ -1,28 +1,66 @@
 package com.example.expensetracker.controller;
 
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.DuplicateClusterDTO;
 import com.example.expensetracker.dto.MonthlySpendingDTO;
+import com.example.expensetracker.dto.TransactionCompactDTO;
 import com.example.expensetracker.dto.TransferRequest;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.model.Money;
 import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.service.DuplicateTransactionService;
 import com.example.expensetracker.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller for Transaction operations
  */
 @RestController
 @RequestMapping("/api/transactions")
-@RequiredArgsConstructor
 public class TransactionController {
 
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final String AMOUNT_SCALE_HEADER = "X-Amount-Scale";
+    public static final String TRANSACTION_TYPES_HEADER = "X-Transaction-Types";
+
     private final TransactionService transactionService;
+    private final DuplicateTransactionService duplicateTransactionService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+
+    /**
+     * The binary mappers come from Boot's builder, so they share the JSON mapper's modules and settings
+     */
+    public TransactionController(TransactionService transactionService,
+                                 DuplicateTransactionService duplicateTransactionService,
+                                 ObjectMapper objectMapper,
+                                 Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.transactionService = transactionService;
+        this.duplicateTransactionService = duplicateTransactionService;
+        this.objectMapper = objectMapper;
+        this.smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+    }
 
     /**
      * GET /api/transactions - Get all transactions
@@ -33,6 +71,19 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    /**
+     * GET /api/transactions (Accept: application/x-ndjson) - Stream all transactions as newline-delimited JSON
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTransactions() {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = ndjsonWriter(out)) {
+                transactionService.streamAllTransactions(transaction -> write(writer, transaction));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(asRequestTenant(body));
+    }
+
     /**
      * GET /api/transactions/{id} - Get transaction by ID
      */
@@ -51,6 +102,20 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    /**
+     * GET /api/transactions/account/{accountId} (Accept: application/x-ndjson) - Stream transactions by account
+     * as newline-delimited JSON
+     */
+    @GetMapping(value = "/account/{accountId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByAccount(@PathVariable Long accountId) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = ndjsonWriter(out)) {
+                transactionService.streamTransactionsByAccount(accountId, transaction -> write(writer, transaction));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(asRequestTenant(body));
+    }
+
     /**
      * GET /api/transactions/category/{categoryId} - Get transactions by category
      */
@@ -60,6 +125,20 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    /**
+     * GET /api/transactions/category/{categoryId} (Accept: application/x-ndjson) - Stream transactions by category
+     * as newline-delimited JSON
+     */
+    @GetMapping(value = "/category/{categoryId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByCategory(@PathVariable Long categoryId) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = ndjsonWriter(out)) {
+                transactionService.streamTransactionsByCategory(categoryId, transaction -> write(writer, transaction));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(asRequestTenant(body));
+    }
+
     /**
      * GET /api/transactions/date-range - Get transactions within date range
      */
@@ -73,11 +152,57 @@ public class TransactionController {
     }
 
     /**
-     * POST /api/transactions - Create new transaction
+     * GET /api/transactions/date-range (Accept: application/x-ndjson) - Stream transactions within date range
+     * as newline-delimited JSON
+     */
+    @GetMapping(value = "/date-range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByDateRange(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = ndjsonWriter(out)) {
+                transactionService.streamTransactionsByDateRange(
+                    startDate, endDate, transaction -> write(writer, transaction)
+                );
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(asRequestTenant(body));
+    }
+
+    /**
+     * GET /api/transactions/date-range (Accept: application/x-jackson-smile) - Stream transactions within date range
+     * as a compact Smile array (see TransactionCompactDTO)
+     */
+    @GetMapping(value = "/date-range", produces = APPLICATION_SMILE_VALUE)
+    public ResponseEntity<StreamingResponseBody> getCompactTransactionsByDateRangeSmile(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return compactResponse(smileMapper, MediaType.parseMediaType(APPLICATION_SMILE_VALUE), startDate, endDate);
+    }
+
+    /**
+     * GET /api/transactions/date-range (Accept: application/cbor) - Stream transactions within date range
+     * as a compact CBOR array (see TransactionCompactDTO)
+     */
+    @GetMapping(value = "/date-range", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public ResponseEntity<StreamingResponseBody> getCompactTransactionsByDateRangeCbor(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return compactResponse(cborMapper, MediaType.APPLICATION_CBOR, startDate, endDate);
+    }
+
+    /**
+     * POST /api/transactions - Create new transaction (with rejectDuplicates=true, fail on an exact duplicate)
      */
     @PostMapping
-    public ResponseEntity<Transaction> createTransaction(@Valid @RequestBody Transaction transaction) {
-        Transaction createdTransaction = transactionService.createTransaction(transaction);
+    public ResponseEntity<Transaction> createTransaction(
+        @Valid @RequestBody Transaction transaction,
+        @RequestParam(defaultValue = "false") boolean rejectDuplicates
+    ) {
+        Transaction createdTransaction = transactionService.createTransaction(transaction, rejectDuplicates);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTransaction);
     }
 
@@ -115,8 +240,10 @@ public class TransactionController {
      * GET /api/transactions/monthly-spending - Get monthly spending by category for current month
      */
     @GetMapping("/monthly-spending")
-    public ResponseEntity<List<MonthlySpendingDTO>> getMonthlySpending() {
-        List<MonthlySpendingDTO> monthlySpending = transactionService.getMonthlySpendingByCategory();
+    public ResponseEntity<List<MonthlySpendingDTO>> getMonthlySpending(
+        @RequestParam(required = false) String currency
+    ) {
+        List<MonthlySpendingDTO> monthlySpending = transactionService.getMonthlySpendingByCategory(currency);
         return ResponseEntity.ok(monthlySpending);
     }
 
@@ -126,9 +253,82 @@ public class TransactionController {
     @GetMapping("/monthly-spending/date-range")
     public ResponseEntity<List<MonthlySpendingDTO>> getMonthlySpendingByDateRange(
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(required = false) String currency
     ) {
-        List<MonthlySpendingDTO> monthlySpending = transactionService.getMonthlySpendingByCategory(startDate, endDate);
+        List<MonthlySpendingDTO> monthlySpending = transactionService.getMonthlySpendingByCategory(
+            startDate, endDate, currency
+        );
         return ResponseEntity.ok(monthlySpending);
     }
-}
\ No newline at end of file
+
+    /**
+     * GET /api/transactions/duplicates - Find clusters of near-duplicate transactions within date range
+     */
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicateClusterDTO>> getDuplicateClusters(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(defaultValue = "0.8") double threshold
+    ) {
+        List<DuplicateClusterDTO> clusters = duplicateTransactionService.findNearDuplicateClusters(
+            startDate, endDate, threshold
+        );
+        return ResponseEntity.ok(clusters);
+    }
+
+    private SequenceWriter ndjsonWriter(OutputStream out) throws IOException {
+        return objectMapper.writerFor(Transaction.class)
+            .withRootValueSeparator("\n")
+            .writeValues(out);
+    }
+
+    private ResponseEntity<StreamingResponseBody> compactResponse(
+        ObjectMapper mapper, MediaType mediaType, LocalDate startDate, LocalDate endDate
+    ) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = mapper.writerFor(TransactionCompactDTO.class).writeValuesAsArray(out)) {
+                transactionService.streamTransactionsByDateRange(
+                    startDate, endDate, transaction -> write(writer, TransactionCompactDTO.from(transaction))
+                );
+            }
+        };
+        // The enum dictionary: position i in the header is TransactionType ordinal i
+        String transactionTypes = Arrays.stream(TransactionType.values())
+            .map(Enum::name)
+            .collect(Collectors.joining(","));
+        return ResponseEntity.ok()
+            .contentType(mediaType)
+            .header(AMOUNT_SCALE_HEADER, String.valueOf(Money.SCALE))
+            .header(TRANSACTION_TYPES_HEADER, transactionTypes)
+            .body(asRequestTenant(body));
+    }
+
+    /**
+     * Streaming bodies are written on the MVC async executor, where TenantFilter has not bound the tenant
+     */
+    private static StreamingResponseBody asRequestTenant(StreamingResponseBody body) {
+        String tenantId = TenantContext.getTenantId();
+        return out -> {
+            try {
+                TenantContext.runAs(tenantId, () -> {
+                    try {
+                        body.writeTo(out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void write(SequenceWriter writer, Object value) {
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.expensetracker.controller;
+
+import com.example.expensetracker.dto.TransactionViewDTO;
+import com.example.expensetracker.service.TransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for Transaction list views (v2); single reads and writes stay on /api/transactions
+ */
+@RestController
+@RequestMapping("/api/v2/transactions")
+@RequiredArgsConstructor
+public class TransactionV2Controller {
+
+    private final TransactionService transactionService;
+
+    /**
+     * GET /api/v2/transactions - Get all transactions
+     */
+    @GetMapping
+    public ResponseEntity<List<TransactionViewDTO>> getAllTransactions() {
+        return ResponseEntity.ok(transactionService.getAllTransactionViews());
+    }
+
+    /**
+     * GET /api/v2/transactions/account/{accountId} - Get transactions by account
+     */
+    @GetMapping("/account/{accountId}")
+    public ResponseEntity<List<TransactionViewDTO>> getTransactionsByAccount(@PathVariable Long accountId) {
+        return ResponseEntity.ok(transactionService.getTransactionViewsByAccount(accountId));
+    }
+
+    /**
+     * GET /api/v2/transactions/category/{categoryId} - Get transactions by category
+     */
+    @GetMapping("/category/{categoryId}")
+    public ResponseEntity<List<TransactionViewDTO>> getTransactionsByCategory(@PathVariable Long categoryId) {
+        return ResponseEntity.ok(transactionService.getTransactionViewsByCategory(categoryId));
+    }
+
+    /**
+     * GET /api/v2/transactions/date-range - Get transactions within date range
+     */
+    @GetMapping("/date-range")
+    public ResponseEntity<List<TransactionViewDTO>> getTransactionsByDateRange(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return ResponseEntity.ok(transactionService.getTransactionViewsByDateRange(startDate, endDate));
+    }
+}
@@ -19,6 +19,7 @@ public class AccountSummaryDTO {
     private String accountName;
     private AccountType accountType;
     private BigDecimal currentBalance;
+    private String currency;
     private Boolean isActive;
     private Long transactionCount;
 }
\ No newline at end of file
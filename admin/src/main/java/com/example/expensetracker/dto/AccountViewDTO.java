@@ -0,0 +1,24 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.AccountType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for account list endpoints (v2)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountViewDTO {
+
+    private Long id;
+    private String accountName;
+    private AccountType accountType;
+    private BigDecimal currentBalance;
+    private String currency;
+    private Boolean isActive;
+}
@@ -0,0 +1,29 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for an alert raised when a category's spending crosses a budget threshold
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlertDTO {
+
+    private Long categoryId;
+    private String categoryName;
+    private Integer threshold;
+    private Double percentageUsed;
+    private BigDecimal actualSpent;
+    private BigDecimal availableAmount;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private String currency;
+    private LocalDateTime triggeredAt;
+}
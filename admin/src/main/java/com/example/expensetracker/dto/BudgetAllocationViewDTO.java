@@ -0,0 +1,23 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.BudgetPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for budget allocation list endpoints (v2)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAllocationViewDTO {
+
+    private Long id;
+    private Long categoryId;
+    private BigDecimal allocatedAmount;
+    private BudgetPeriod period;
+    private Boolean rolloverEnabled;
+}
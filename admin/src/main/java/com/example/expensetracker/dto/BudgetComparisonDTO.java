@@ -20,4 +20,5 @@ public class BudgetComparisonDTO {
     private BigDecimal actualSpent;
     private BigDecimal remaining;
     private Double percentageUsed;
+    private String currency;
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.BudgetPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for budget status of a category in its current budget period
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatusDTO {
+
+    private Long categoryId;
+    private String categoryName;
+    private BudgetPeriod period;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal allocatedAmount;
+    private BigDecimal rolloverAmount;
+    private BigDecimal availableAmount;
+    private BigDecimal actualSpent;
+    private BigDecimal remaining;
+    private Double percentageUsed;
+    private String currency;
+}
@@ -0,0 +1,25 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * DTO for approximate transaction statistics of a category over a date range
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStatisticsDTO {
+
+    private Long categoryId;
+    private String categoryName;
+    private Long transactionCount;
+    // Quantile (e.g. "0.5") -> amount, within the sketch's relative error
+    private Map<String, BigDecimal> amountQuantiles;
+    private Long distinctDescriptions;
+    private String currency;
+}
@@ -0,0 +1,21 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.CategoryType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for category list endpoints (v2)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryViewDTO {
+
+    private Long id;
+    private String name;
+    private CategoryType type;
+    private Long parentCategoryId;
+    private String colorCode;
+}
@@ -0,0 +1,24 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.model.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for a group of transactions that look like duplicates of each other
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterDTO {
+
+    private Long accountId;
+    private BigDecimal amount;
+    private LocalDate transactionDate;
+    private List<Transaction> transactions;
+}
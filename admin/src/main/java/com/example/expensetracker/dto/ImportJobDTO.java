@@ -0,0 +1,40 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.ImportFormat;
+import com.example.expensetracker.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the progress of a statement import job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+
+    private String id;
+    private String fileName;
+    private ImportFormat format;
+    private ImportJobStatus status;
+    private long bytesTotal;
+    private long bytesProcessed;
+    private int chunksTotal;
+    private int chunksCompleted;
+    private long rowsParsed;
+    private long rowsImported;
+    // rows of a statement imported before, skipped
+    private long rowsDuplicate;
+    // rows imported although an equal transaction existed, e.g. one entered by hand
+    private long rowsSuspectedDuplicate;
+    // ids of the first suspected duplicates, to review
+    private List<Long> suspectedDuplicateIds;
+    private long rowsFailed;
+    private List<String> errors;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
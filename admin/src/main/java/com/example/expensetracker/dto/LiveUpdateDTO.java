@@ -0,0 +1,25 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for a change pushed to live update subscribers: an account balance or a category's monthly spending
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveUpdateDTO {
+
+    // "account-balance" or "category-spending"
+    private String type;
+    private Long accountId;
+    private Long categoryId;
+    private LocalDate monthStart;
+    private BigDecimal amount;
+    private String currency;
+}
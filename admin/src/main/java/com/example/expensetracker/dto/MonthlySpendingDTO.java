@@ -17,4 +17,5 @@ public class MonthlySpendingDTO {
     private Long categoryId;
     private String categoryName;
     private BigDecimal totalSpent;
+    private String currency;
 }
\ No newline at end of file
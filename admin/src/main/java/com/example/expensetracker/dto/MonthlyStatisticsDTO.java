@@ -0,0 +1,25 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * DTO for approximate transaction statistics of one month across categories
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyStatisticsDTO {
+
+    private LocalDate monthStart;
+    private Long transactionCount;
+    // Quantile (e.g. "0.5") -> amount, within the sketch's relative error
+    private Map<String, BigDecimal> amountQuantiles;
+    private Long distinctDescriptions;
+    private String currency;
+}
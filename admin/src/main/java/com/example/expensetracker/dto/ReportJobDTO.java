@@ -0,0 +1,29 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.ReportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the state of a report job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDTO {
+
+    private String id;
+    private ReportSpecDTO spec;
+    private ReportJobStatus status;
+    private int partitionsTotal;
+    private int partitionsCompleted;
+    // Partitions served from the result cache
+    private int partitionsCached;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for one month partition of a report
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportMonthDTO {
+
+    private LocalDate monthStart;
+    private List<MonthlySpendingDTO> spending;
+}
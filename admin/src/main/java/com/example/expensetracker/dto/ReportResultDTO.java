@@ -0,0 +1,23 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a completed report job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportResultDTO {
+
+    private String jobId;
+    private ReportSpecDTO spec;
+    private String currency;
+    // Per-month breakdown; only for MONTHLY_SPENDING_BY_CATEGORY
+    private List<ReportMonthDTO> months;
+    private List<MonthlySpendingDTO> totals;
+}
@@ -0,0 +1,33 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.ReportPriority;
+import com.example.expensetracker.enums.ReportType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO describing a report to run asynchronously
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSpecDTO {
+
+    @NotNull(message = "Report type is required")
+    private ReportType type;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    // Report currency; the base currency when null
+    private String currency;
+
+    private ReportPriority priority = ReportPriority.NORMAL;
+}
@@ -0,0 +1,27 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for a category's projected month-end spending
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingForecastDTO {
+
+    private Long categoryId;
+    private String categoryName;
+    private LocalDate monthStart;
+    private LocalDate asOf;
+    private BigDecimal spentToDate;
+    private BigDecimal projectedTotal;
+    private BigDecimal averageMonthlySpend;
+    private Integer historyMonths;
+    private String currency;
+}
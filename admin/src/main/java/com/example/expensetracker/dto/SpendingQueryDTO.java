@@ -0,0 +1,32 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.SpendingDimension;
+import com.example.expensetracker.enums.TransactionType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for an analytics query: filter transactions, group by dimensions and sum amounts.
+ * Empty or null filter lists match everything.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingQueryDTO {
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    private List<Long> accountIds;
+    private List<Long> categoryIds;
+    private List<TransactionType> transactionTypes;
+    private List<SpendingDimension> groupBy;
+}
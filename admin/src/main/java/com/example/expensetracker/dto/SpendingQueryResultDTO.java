@@ -0,0 +1,21 @@
+package com.example.expensetracker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for an analytics query result; totals are in the reporting base currency
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingQueryResultDTO {
+
+    private String currency;
+    private long rowsScanned;
+    private long elapsedMicros;
+    private List<SpendingQueryRowDTO> rows;
+}
@@ -0,0 +1,26 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one group of an analytics query result; dimensions that were not grouped by are null
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingQueryRowDTO {
+
+    private Long accountId;
+    private Long categoryId;
+    private TransactionType transactionType;
+    // First day of the DAY/WEEK/MONTH/YEAR period
+    private LocalDate periodStart;
+    private BigDecimal total;
+    private long count;
+}
@@ -0,0 +1,46 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.model.Money;
+import com.example.expensetracker.model.Transaction;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the compact binary (Smile/CBOR) transaction feed. Serialized as a positional array with
+ * no field names: the amount is a long of minor units (scale 2), the type is the TransactionType
+ * ordinal and the date is days since the epoch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({
+    "id", "accountId", "categoryId", "amountMinor", "type", "epochDay", "description", "transferReferenceId"
+})
+public class TransactionCompactDTO {
+
+    private long id;
+    private long accountId;
+    private Long categoryId;
+    private long amountMinor;
+    private int type;
+    private long epochDay;
+    private String description;
+    private String transferReferenceId;
+
+    public static TransactionCompactDTO from(Transaction transaction) {
+        return new TransactionCompactDTO(
+            transaction.getId(),
+            transaction.getAccountId(),
+            transaction.getCategoryId(),
+            Money.of(transaction.getAmount()).minorUnits(),
+            transaction.getTransactionType().ordinal(),
+            transaction.getTransactionDate().toEpochDay(),
+            transaction.getDescription(),
+            transaction.getTransferReferenceId()
+        );
+    }
+}
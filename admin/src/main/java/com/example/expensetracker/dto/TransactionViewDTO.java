@@ -0,0 +1,27 @@
+package com.example.expensetracker.dto;
+
+import com.example.expensetracker.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for transaction list endpoints (v2), selected by a constructor-expression query instead of loading entities
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionViewDTO {
+
+    private Long id;
+    private Long accountId;
+    private Long categoryId;
+    private BigDecimal amount;
+    private TransactionType transactionType;
+    private LocalDate transactionDate;
+    private String description;
+    private String transferReferenceId;
+}
@@ -0,0 +1,10 @@
+package com.example.expensetracker.enums;
+
+/**
+ * Enum representing the model an anomaly was scored against: the account and category pair,
+ * or the whole account when the pair has too little history
+ */
+public enum AnomalyScope {
+    ACCOUNT_CATEGORY,
+    ACCOUNT
+}
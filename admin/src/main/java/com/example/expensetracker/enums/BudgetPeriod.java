@@ -0,0 +1,37 @@
+package com.example.expensetracker.enums;
+
+import java.time.LocalDate;
+
+/**
+ * Enum representing the period a budget allocation applies to
+ */
+public enum BudgetPeriod {
+    MONTHLY(1),
+    QUARTERLY(3),
+    YEARLY(12);
+
+    private final int months;
+
+    BudgetPeriod(int months) {
+        this.months = months;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    /**
+     * First day of the period containing the given date
+     */
+    public LocalDate startOf(LocalDate date) {
+        int firstMonth = (date.getMonthValue() - 1) / months * months + 1;
+        return LocalDate.of(date.getYear(), firstMonth, 1);
+    }
+
+    /**
+     * Last day of the period starting on the given date
+     */
+    public LocalDate endOf(LocalDate periodStart) {
+        return periodStart.plusMonths(months).minusDays(1);
+    }
+}
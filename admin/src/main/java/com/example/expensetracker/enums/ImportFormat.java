@@ -0,0 +1,22 @@
+package com.example.expensetracker.enums;
+
+/**
+ * Enum representing supported statement file formats
+ */
+public enum ImportFormat {
+    CSV,
+    OFX;
+
+    /**
+     * Guess the format from a file name (.ofx and .qfx are OFX, everything else CSV)
+     */
+    public static ImportFormat fromFileName(String fileName) {
+        if (fileName != null) {
+            String lower = fileName.toLowerCase();
+            if (lower.endsWith(".ofx") || lower.endsWith(".qfx")) {
+                return OFX;
+            }
+        }
+        return CSV;
+    }
+}
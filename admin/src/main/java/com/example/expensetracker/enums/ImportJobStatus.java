@@ -0,0 +1,11 @@
+package com.example.expensetracker.enums;
+
+/**
+ * Enum representing the lifecycle of a statement import job
+ */
+public enum ImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.example.expensetracker.enums;
+
+/**
+ * Enum representing how often a recurring transaction repeats
+ */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY
+}
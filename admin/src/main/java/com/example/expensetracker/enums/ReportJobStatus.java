@@ -0,0 +1,12 @@
+package com.example.expensetracker.enums;
+
+/**
+ * Enum representing the lifecycle of a report job
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,10 @@
+package com.example.expensetracker.enums;
+
+/**
+ * Enum representing report job priorities, highest first
+ */
+public enum ReportPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,11 @@
+package com.example.expensetracker.enums;
+
+/**
+ * Enum representing the reports available as asynchronous jobs
+ */
+public enum ReportType {
+    // Expense totals per category for every month in the range
+    MONTHLY_SPENDING_BY_CATEGORY,
+    // Expense totals per category over the whole range
+    SPENDING_BY_CATEGORY
+}
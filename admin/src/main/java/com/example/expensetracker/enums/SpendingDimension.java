@@ -0,0 +1,15 @@
+package com.example.expensetracker.enums;
+
+/**
+ * Enum representing the dimensions an analytics query can group by
+ */
+public enum SpendingDimension {
+    ACCOUNT,
+    CATEGORY,
+    TYPE,
+    DAY,
+    // ISO weeks, starting Monday
+    WEEK,
+    MONTH,
+    YEAR
+}
@@ -0,0 +1,47 @@
+package com.example.expensetracker.enums;
+
+import java.util.List;
+
+/**
+ * Enum representing controller groups that are rate limited and load shed separately.
+ * Interactive groups keep their capacity when the connection pool backs up; bulk groups give it up first.
+ */
+public enum TrafficGroup {
+    TRANSACTIONS(true, "/api/transactions", "/api/v2/transactions"),
+    IMPORTS(false, "/api/imports"),
+    REPORTS(false, "/api/reports", "/api/analytics", "/api/statistics", "/api/forecast"),
+    DEFAULT(true);
+
+    private final boolean interactive;
+    private final List<String> pathPrefixes;
+
+    TrafficGroup(boolean interactive, String... pathPrefixes) {
+        this.interactive = interactive;
+        this.pathPrefixes = List.of(pathPrefixes);
+    }
+
+    public boolean isInteractive() {
+        return interactive;
+    }
+
+    /**
+     * Name used in property keys and metric tags
+     */
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Group of the controller serving a request path
+     */
+    public static TrafficGroup fromPath(String path) {
+        for (TrafficGroup group : values()) {
+            for (String prefix : group.pathPrefixes) {
+                if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                    return group;
+                }
+            }
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.expensetracker.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published by AccountService whenever an account's balance is written
+ */
+public record AccountBalanceChangedEvent(Long accountId, BigDecimal currentBalance, String currency) {
+}
@@ -0,0 +1,7 @@
+package com.example.expensetracker.event;
+
+/**
+ * Published by BudgetAllocationService when a budget allocation is created, updated or deleted
+ */
+public record BudgetAllocationChangedEvent(Long categoryId) {
+}
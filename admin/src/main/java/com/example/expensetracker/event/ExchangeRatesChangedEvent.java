@@ -0,0 +1,34 @@
+package com.example.expensetracker.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published by ExchangeRateService after the rate of a currency pair on a date was created, replaced or
+ * deleted. Conversions between the two currencies change for dates from fromDate up to, but excluding,
+ * untilDate: the pair's next rate date, or null when it has no later rate.
+ */
+public record ExchangeRatesChangedEvent(
+    String baseCurrency,
+    String quoteCurrency,
+    LocalDate fromDate,
+    LocalDate untilDate
+) {
+
+    /**
+     * The currency whose conversions into (or out of) the given currency changed, or null when the
+     * changed pair does not involve that currency
+     */
+    public String counterCurrencyOf(String currency) {
+        if (currency.equals(baseCurrency)) {
+            return quoteCurrency;
+        }
+        return currency.equals(quoteCurrency) ? baseCurrency : null;
+    }
+
+    /**
+     * Whether conversions on the date changed
+     */
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(fromDate) && (untilDate == null || date.isBefore(untilDate));
+    }
+}
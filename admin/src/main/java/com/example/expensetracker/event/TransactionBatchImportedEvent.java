@@ -0,0 +1,10 @@
+package com.example.expensetracker.event;
+
+import java.util.List;
+
+/**
+ * Published by StatementImportService after each committed import batch, with the transactions it created.
+ * Bulk inserts bypass the per-row TransactionChangedEvent, so listeners apply these as creates.
+ */
+public record TransactionBatchImportedEvent(String jobId, List<TransactionSnapshot> transactions) {
+}
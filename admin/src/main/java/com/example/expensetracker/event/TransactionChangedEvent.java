@@ -0,0 +1,20 @@
+package com.example.expensetracker.event;
+
+/**
+ * Published by TransactionService for every transaction write.
+ * previous is null for a create, current is null for a delete; both are set for an update.
+ */
+public record TransactionChangedEvent(TransactionSnapshot previous, TransactionSnapshot current) {
+
+    public static TransactionChangedEvent created(TransactionSnapshot current) {
+        return new TransactionChangedEvent(null, current);
+    }
+
+    public static TransactionChangedEvent updated(TransactionSnapshot previous, TransactionSnapshot current) {
+        return new TransactionChangedEvent(previous, current);
+    }
+
+    public static TransactionChangedEvent deleted(TransactionSnapshot previous) {
+        return new TransactionChangedEvent(previous, null);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.expensetracker.event;
+
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of a transaction's state, together with the currency of its account
+ */
+public record TransactionSnapshot(
+    Long id,
+    Long accountId,
+    Long categoryId,
+    BigDecimal amount,
+    TransactionType transactionType,
+    LocalDate transactionDate,
+    String description,
+    String currency
+) {
+
+    public static TransactionSnapshot of(Transaction transaction, String currency) {
+        return new TransactionSnapshot(
+            transaction.getId(),
+            transaction.getAccountId(),
+            transaction.getCategoryId(),
+            transaction.getAmount(),
+            transaction.getTransactionType(),
+            transaction.getTransactionDate(),
+            transaction.getDescription(),
+            currency
+        );
+    }
+}
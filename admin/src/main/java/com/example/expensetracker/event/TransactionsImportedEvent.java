@@ -0,0 +1,10 @@
+package com.example.expensetracker.event;
+
+import java.util.Set;
+
+/**
+ * Published by StatementImportService once an import finished, with the accounts it wrote to. The rows
+ * themselves were announced batch by batch in TransactionBatchImportedEvent.
+ */
+public record TransactionsImportedEvent(String jobId, Set<Long> accountIds) {
+}
@@ -4,11 +4,14 @@ import com.example.expensetracker.enums.AccountType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -16,9 +19,13 @@ import java.time.LocalDateTime;
 
 /**
  * Entity representing a financial account (savings, checking, credit card, etc.)
+ * Not second-level cached: the balance changes with every transaction, and is always changed by
+ * adding a delta in the database (AccountRepository.addToBalance), never from a possibly stale copy.
  */
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = {
+    @Index(name = "idx_account_tenant_active", columnList = "tenant_id, is_active")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,6 +35,12 @@ public class Account {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owning tenant (household); filled in and filtered on by Hibernate
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
     @NotBlank(message = "Account name is required")
     @Size(max = 100, message = "Account name cannot exceed 100 characters")
     @Column(name = "account_name", nullable = false, length = 100)
@@ -42,6 +55,12 @@ public class Account {
     @Column(name = "current_balance", nullable = false, precision = 15, scale = 2)
     private BigDecimal currentBalance = BigDecimal.ZERO;
 
+    // ISO 4217 code; balances and transactions of this account are in this currency
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Currency must be a 3-letter ISO code (e.g., USD)")
+    @ColumnDefault("'USD'")
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
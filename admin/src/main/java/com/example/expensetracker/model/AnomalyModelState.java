@@ -0,0 +1,45 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding a snapshot of one anomaly model's running statistics (Welford count, mean and sum of
+ * squared deviations of log amounts), so models survive restarts without retraining.
+ * A null category ID marks the account-wide model.
+ */
+@Entity
+@Table(name = "anomaly_model_states", indexes = {
+    @Index(name = "idx_anomaly_model_account_category", columnList = "account_id, category_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnomalyModelState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;
+
+    @Column(name = "mean", nullable = false)
+    private Double mean;
+
+    @Column(name = "m2", nullable = false)
+    private Double m2;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,5 +1,6 @@
 package com.example.expensetracker.model;
 
+import com.example.expensetracker.enums.BudgetPeriod;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -7,17 +8,25 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
- * Entity representing budget allocation per category
+ * Entity representing budget allocation per category, in the reporting base currency
  */
 @Entity
-@Table(name = "budget_allocations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "budget-allocation")
+@Table(name = "budget_allocations", indexes = {
+    @Index(name = "idx_budget_allocation_tenant", columnList = "tenant_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,6 +36,12 @@ public class BudgetAllocation {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owning tenant (household); filled in and filtered on by Hibernate
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
     @NotNull(message = "Category ID is required")
     @Column(name = "category_id", nullable = false, unique = true)
     private Long categoryId;
@@ -36,6 +51,16 @@ public class BudgetAllocation {
     @Column(name = "allocated_amount", nullable = false, precision = 15, scale = 2)
     private BigDecimal allocatedAmount;
 
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'MONTHLY'")
+    @Column(name = "period", nullable = false)
+    private BudgetPeriod period = BudgetPeriod.MONTHLY;
+
+    // Carry the unused amount of the previous period into the current one
+    @ColumnDefault("0")
+    @Column(name = "rollover_enabled", nullable = false)
+    private Boolean rolloverEnabled = false;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -9,7 +9,11 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDateTime;
 
@@ -17,7 +21,14 @@ import java.time.LocalDateTime;
  * Entity representing expense or income categories with support for hierarchical structure
  */
 @Entity
-@Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "category")
+@Table(name = "categories", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_category_tenant_name", columnNames = {"tenant_id", "name"})
+}, indexes = {
+    @Index(name = "idx_category_tenant_type", columnList = "tenant_id, type"),
+    @Index(name = "idx_category_tenant_parent", columnList = "tenant_id, parent_category_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -27,9 +38,15 @@ public class Category {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owning tenant (household); filled in and filtered on by Hibernate
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
     @NotBlank(message = "Category name is required")
     @Size(max = 100, message = "Category name cannot exceed 100 characters")
-    @Column(name = "name", nullable = false, unique = true, length = 100)
+    @Column(name = "name", nullable = false, length = 100)
     private String name;
 
     @NotNull(message = "Category type is required")
@@ -0,0 +1,50 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding mergeable sketches of a category's transactions in one month: a quantile sketch of
+ * amounts in base-currency minor units and a HyperLogLog of normalized descriptions
+ */
+@Entity
+@Table(name = "category_monthly_sketches", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_sketch_category_month", columnNames = {"category_id", "month_start"})
+}, indexes = {
+    @Index(name = "idx_sketch_month", columnList = "month_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthlySketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // First day of the month
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @Lob
+    @Column(name = "amount_sketch", nullable = false, length = 1_000_000)
+    private byte[] amountSketch;
+
+    @Lob
+    @Column(name = "description_sketch", nullable = false, length = 1_000_000)
+    private byte[] descriptionSketch;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,46 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Entity holding the running total of transactions per category and month, in the reporting base currency.
+ * Kept current as transactions are written so budget status does not aggregate raw transactions.
+ * Totals are split by the currency the transactions were held in, so a rate change recomputes only the
+ * rows of that currency; readers add the currencies up.
+ */
+@Entity
+@Table(name = "category_monthly_spending", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_category_month_currency", columnNames = {"category_id", "month_start", "currency"})
+}, indexes = {
+    @Index(name = "idx_category_spending_month", columnList = "month_start"),
+    @Index(name = "idx_category_spending_currency_month", columnList = "currency, month_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthlySpending {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // First day of the month
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    // Currency of the accounts the transactions were held in
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "spent_amount", nullable = false, precision = 15, scale = 2)
+    private Money spentAmount = Money.ZERO;
+}
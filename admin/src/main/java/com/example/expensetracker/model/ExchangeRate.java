@@ -0,0 +1,54 @@
+package com.example.expensetracker.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a daily exchange rate: 1 unit of base currency = rate units of quote currency
+ */
+@Entity
+@Table(name = "exchange_rates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_exchange_rate_pair_date", columnNames = {"base_currency", "quote_currency", "rate_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Base currency is required")
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Currency must be a 3-letter ISO code (e.g., USD)")
+    @Column(name = "base_currency", nullable = false, length = 3)
+    private String baseCurrency;
+
+    @NotNull(message = "Quote currency is required")
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Currency must be a 3-letter ISO code (e.g., EUR)")
+    @Column(name = "quote_currency", nullable = false, length = 3)
+    private String quoteCurrency;
+
+    @NotNull(message = "Rate date is required")
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    @NotNull(message = "Rate is required")
+    @Positive(message = "Rate must be positive")
+    @Column(name = "rate", nullable = false, precision = 19, scale = 8)
+    private BigDecimal rate;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,106 @@
+package com.example.expensetracker.model;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * All exchange rates indexed by currency pair and date, with the conversion rules shared by the admin
+ * ExchangeRateService and the reactive read API: the latest rate on or before a date (none before the
+ * first), the inverse pair, or a cross rate through the base currency.
+ *
+ * Filled while loading, then only read; a reload builds a new table and replaces the old one as a whole.
+ */
+public final class ExchangeRateTable {
+
+    private final String baseCurrency;
+    // "BASE/QUOTE" -> rate date -> rate
+    private final Map<String, NavigableMap<LocalDate, BigDecimal>> rates = new HashMap<>();
+
+    public ExchangeRateTable(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
+
+    /**
+     * Add the rate of a currency pair from the given date on
+     */
+    public ExchangeRateTable add(String baseCurrency, String quoteCurrency, LocalDate rateDate, BigDecimal rate) {
+        rates.computeIfAbsent(pairKey(baseCurrency, quoteCurrency), key -> new TreeMap<>()).put(rateDate, rate);
+        return this;
+    }
+
+    /**
+     * Date of the pair's next rate after the given date, or null when none follows
+     */
+    public LocalDate nextRateDate(String baseCurrency, String quoteCurrency, LocalDate rateDate) {
+        NavigableMap<LocalDate, BigDecimal> pairRates = rates.get(pairKey(baseCurrency, quoteCurrency));
+        return pairRates != null ? pairRates.higherKey(rateDate) : null;
+    }
+
+    /**
+     * Get the rate to convert one unit of fromCurrency into toCurrency.
+     * Fails when no rate is known for the pair on that date (also before its first rate).
+     */
+    public BigDecimal getRate(String fromCurrency, String toCurrency, LocalDate date) {
+        BigDecimal rate = resolveRate(fromCurrency, toCurrency, date);
+        if (rate == null) {
+            throw new RuntimeException("No exchange rate available from " + fromCurrency + " to " + toCurrency);
+        }
+        return rate;
+    }
+
+    /**
+     * Get the rate like getRate, or null when no rate is known for the pair
+     */
+    public BigDecimal resolveRate(String fromCurrency, String toCurrency, LocalDate date) {
+        if (fromCurrency.equals(toCurrency)) {
+            return BigDecimal.ONE;
+        }
+        BigDecimal rate = findRate(fromCurrency, toCurrency, date);
+        if (rate != null) {
+            return rate;
+        }
+
+        if (!fromCurrency.equals(baseCurrency) && !toCurrency.equals(baseCurrency)) {
+            BigDecimal toBase = findRate(fromCurrency, baseCurrency, date);
+            BigDecimal fromBase = findRate(baseCurrency, toCurrency, date);
+            if (toBase != null && fromBase != null) {
+                return toBase.multiply(fromBase, MathContext.DECIMAL64);
+            }
+        }
+        return null;
+    }
+
+    private BigDecimal findRate(String fromCurrency, String toCurrency, LocalDate date) {
+        BigDecimal direct = lookup(pairKey(fromCurrency, toCurrency), date);
+        if (direct != null) {
+            return direct;
+        }
+
+        BigDecimal inverse = lookup(pairKey(toCurrency, fromCurrency), date);
+        if (inverse != null) {
+            return BigDecimal.ONE.divide(inverse, MathContext.DECIMAL64);
+        }
+        return null;
+    }
+
+    /**
+     * Latest rate on or before the date; none before the first known rate, rather than a rate from the future
+     */
+    private BigDecimal lookup(String pairKey, LocalDate date) {
+        NavigableMap<LocalDate, BigDecimal> pairRates = rates.get(pairKey);
+        if (pairRates == null) {
+            return null;
+        }
+        Map.Entry<LocalDate, BigDecimal> entry = pairRates.floorEntry(date);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    private static String pairKey(String baseCurrency, String quoteCurrency) {
+        return baseCurrency + "/" + quoteCurrency;
+    }
+}
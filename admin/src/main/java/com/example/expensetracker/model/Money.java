@@ -0,0 +1,83 @@
+package com.example.expensetracker.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Value type for money amounts held as a long count of minor units (cents), matching the
+ * precision = 15, scale = 2 money columns. Arithmetic is overflow checked. It pays off in reductions
+ * and ratio math over many amounts; converting from and back to BigDecimal for a single add costs
+ * more than the BigDecimal operation it replaces.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Create from a BigDecimal amount, rounding half up to two decimals
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Create from a count of minor units (cents)
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits));
+    }
+
+    public Money times(long factor) {
+        return ofMinor(Math.multiplyExact(minorUnits, factor));
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    /**
+     * Percentage of total this amount represents, rounded half up to two decimals (e.g. 12.35).
+     * Returns 0.0 when total is not positive.
+     */
+    public double percentageOf(Money total) {
+        if (total.minorUnits <= 0) {
+            return 0.0;
+        }
+        return Math.round(minorUnits * 10000.0 / total.minorUnits) / 100.0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
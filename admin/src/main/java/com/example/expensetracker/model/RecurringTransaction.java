@@ -0,0 +1,110 @@
+package com.example.expensetracker.model;
+
+import com.example.expensetracker.enums.RecurrenceFrequency;
+import com.example.expensetracker.enums.TransactionType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a recurring transaction definition (rent, subscriptions, etc.)
+ * Holds the template transaction fields and the schedule used to materialize occurrences.
+ */
+@Entity
+@Table(name = "recurring_transactions", indexes = {
+    @Index(name = "idx_recurring_next_occurrence", columnList = "is_active, next_occurrence_date"),
+    @Index(name = "idx_recurring_tenant_active", columnList = "tenant_id, is_active")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owning tenant (household); filled in and filtered on by Hibernate
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @NotNull(message = "Account ID is required")
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @NotNull(message = "Category ID is required")
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @Column(name = "amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @NotNull(message = "Transaction type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @Size(max = 255, message = "Description cannot exceed 255 characters")
+    @Column(name = "description", length = 255)
+    private String description;
+
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+
+    @NotNull(message = "Frequency is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false)
+    private RecurrenceFrequency frequency;
+
+    // Repeat every N frequency units (e.g. every 2 weeks)
+    @Positive(message = "Interval must be positive")
+    @Column(name = "interval_count", nullable = false)
+    private Integer intervalCount = 1;
+
+    @NotNull(message = "Start date is required")
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    // Number of occurrences materialized so far; the next occurrence is derived from it
+    @Column(name = "occurrence_count", nullable = false)
+    private Integer occurrenceCount = 0;
+
+    // Null once the schedule has passed its end date
+    @Column(name = "next_occurrence_date")
+    private LocalDate nextOccurrenceDate;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    // Guards against two schedulers materializing the same occurrence
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -9,7 +9,9 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -21,8 +23,12 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "transactions", indexes = {
-    @Index(name = "idx_transaction_date", columnList = "transaction_date"),
-    @Index(name = "idx_transfer_reference", columnList = "transfer_reference_id")
+    @Index(name = "idx_transaction_tenant_date", columnList = "tenant_id, transaction_date"),
+    @Index(name = "idx_transfer_reference", columnList = "transfer_reference_id"),
+    @Index(name = "idx_transaction_fingerprint", columnList = "fingerprint"),
+    @Index(name = "idx_transaction_account_date_amount", columnList = "account_id, transaction_date, amount")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_transaction_import_key", columnNames = "import_key")
 })
 @Data
 @NoArgsConstructor
@@ -33,6 +39,12 @@ public class Transaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owning tenant (household); filled in and filtered on by Hibernate
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
     @NotNull(message = "Account ID is required")
     @Column(name = "account_id", nullable = false)
     private Long accountId;
@@ -67,6 +79,19 @@ public class Transaction {
     @Column(name = "transfer_reference_id", length = 36)
     private String transferReferenceId;
 
+    // Hash of (account, amount, date, normalized description) used to detect duplicate imports
+    @JsonIgnore
+    @Size(max = 32)
+    @Column(name = "fingerprint", length = 32)
+    private String fingerprint;
+
+    // Key of the statement row or recurring occurrence the transaction was created from (null for manual
+    // entries); unique, so of two concurrent imports of the same statement only one can insert a row
+    @JsonIgnore
+    @Size(max = 32)
+    @Column(name = "import_key", length = 32)
+    private String importKey;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
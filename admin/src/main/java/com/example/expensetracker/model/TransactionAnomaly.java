@@ -0,0 +1,66 @@
+package com.example.expensetracker.model;
+
+import com.example.expensetracker.enums.AnomalyScope;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording a transaction flagged as unusually large for its account and category
+ */
+@Entity
+@Table(name = "transaction_anomalies", indexes = {
+    @Index(name = "idx_anomaly_tenant_flagged_at", columnList = "tenant_id, flagged_at"),
+    @Index(name = "idx_anomaly_account", columnList = "account_id, flagged_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionAnomaly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owning tenant (household); filled in and filtered on by Hibernate
+    @TenantId
+    @ColumnDefault("'default'")
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    // Typical amount of the model at scoring time, in the account currency
+    @Column(name = "expected_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal expectedAmount;
+
+    // Standard deviations above the mean, on a log scale
+    @Column(name = "score", nullable = false)
+    private Double score;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 20)
+    private AnomalyScope scope;
+
+    @Column(name = "flagged_at", nullable = false)
+    private LocalDateTime flaggedAt;
+}
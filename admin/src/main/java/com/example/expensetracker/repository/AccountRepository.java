@@ -1,11 +1,19 @@
 package com.example.expensetracker.repository;
 
+import com.example.expensetracker.dto.AccountViewDTO;
 import com.example.expensetracker.enums.AccountType;
 import com.example.expensetracker.model.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Account entity
@@ -27,4 +35,50 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      * Find active accounts by type
      */
     List<Account> findByAccountTypeAndIsActiveTrue(AccountType accountType);
+
+    /**
+     * List views of all accounts
+     */
+    @Query("SELECT new com.example.expensetracker.dto.AccountViewDTO(a.id, a.accountName, a.accountType, a.currentBalance, a.currency, a.isActive) FROM Account a")
+    List<AccountViewDTO> findAllViews();
+
+    /**
+     * List the ids of all accounts visible to the current tenant
+     */
+    @Query("SELECT a.id FROM Account a")
+    List<Long> findAllIds();
+
+    /**
+     * List the distinct currencies of all accounts visible to the current tenant
+     */
+    @Query("SELECT DISTINCT a.currency FROM Account a")
+    List<String> findAllCurrencies();
+
+    /**
+     * List views of active accounts
+     */
+    @Query("SELECT new com.example.expensetracker.dto.AccountViewDTO(a.id, a.accountName, a.accountType, a.currentBalance, a.currency, a.isActive) FROM Account a WHERE a.isActive = true")
+    List<AccountViewDTO> findActiveViews();
+
+    /**
+     * List views of accounts by type
+     */
+    @Query("SELECT new com.example.expensetracker.dto.AccountViewDTO(a.id, a.accountName, a.accountType, a.currentBalance, a.currency, a.isActive) FROM Account a WHERE a.accountType = :accountType")
+    List<AccountViewDTO> findViewsByAccountType(@Param("accountType") AccountType accountType);
+
+    /**
+     * Find an account and lock its row until the end of the transaction, for checks on the current balance
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Atomically add a signed amount to an account balance; returns the number of rows changed.
+     * Pending changes are flushed first so they are not overwritten by a later flush.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.currentBalance = a.currentBalance + :delta, a.updatedAt = LOCAL DATETIME " +
+           "WHERE a.id = :id")
+    int addToBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
 }
\ No newline at end of file
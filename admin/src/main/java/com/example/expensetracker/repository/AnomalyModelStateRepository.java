@@ -0,0 +1,12 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.AnomalyModelState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for AnomalyModelState entity
+ */
+@Repository
+public interface AnomalyModelStateRepository extends JpaRepository<AnomalyModelState, Long> {
+}
@@ -1,11 +1,18 @@
 package com.example.expensetracker.repository;
 
+import com.example.expensetracker.dto.BudgetAllocationViewDTO;
 import com.example.expensetracker.model.BudgetAllocation;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 /**
  * Repository interface for BudgetAllocation entity
  */
@@ -15,6 +22,7 @@ public interface BudgetAllocationRepository extends JpaRepository<BudgetAllocati
     /**
      * Find budget allocation by category ID
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<BudgetAllocation> findByCategoryId(Long categoryId);
 
     /**
@@ -26,4 +34,17 @@ public interface BudgetAllocationRepository extends JpaRepository<BudgetAllocati
      * Delete budget allocation by category ID
      */
     void deleteByCategoryId(Long categoryId);
+
+    /**
+     * List views of all budget allocations
+     */
+    @Query("SELECT new com.example.expensetracker.dto.BudgetAllocationViewDTO(b.id, b.categoryId, b.allocatedAmount, b.period, b.rolloverEnabled) FROM BudgetAllocation b")
+    List<BudgetAllocationViewDTO> findAllViews();
+
+    /**
+     * Find all budget allocations (query cached)
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<BudgetAllocation> findAll();
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.CategoryMonthlySketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for CategoryMonthlySketch entity
+ */
+@Repository
+public interface CategoryMonthlySketchRepository extends JpaRepository<CategoryMonthlySketch, Long> {
+
+    /**
+     * Find sketches of all categories for months within a range
+     */
+    List<CategoryMonthlySketch> findByMonthStartBetween(LocalDate startMonth, LocalDate endMonth);
+
+    /**
+     * Find sketches of the given months
+     */
+    List<CategoryMonthlySketch> findByMonthStartIn(Collection<LocalDate> monthStarts);
+
+    /**
+     * Remove the sketches of months from fromMonth up to, but excluding, untilMonth
+     */
+    @Modifying
+    @Query("DELETE FROM CategoryMonthlySketch s WHERE s.monthStart >= :fromMonth AND s.monthStart < :untilMonth")
+    void deleteMonths(@Param("fromMonth") LocalDate fromMonth, @Param("untilMonth") LocalDate untilMonth);
+}
@@ -0,0 +1,84 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.CategoryMonthlySpending;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+/**
+ * Repository interface for CategoryMonthlySpending entity
+ */
+@Repository
+public interface CategoryMonthlySpendingRepository extends JpaRepository<CategoryMonthlySpending, Long> {
+
+    /**
+     * Atomically add an amount to the running total of a category, month and source currency, creating the
+     * row if needed. The native-spaces hint limits second-level cache invalidation to this table.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "category_monthly_spending"))
+    @Query(value = "INSERT INTO category_monthly_spending (category_id, month_start, currency, spent_amount) " +
+                   "VALUES (:categoryId, :monthStart, :currency, :amount) " +
+                   "ON DUPLICATE KEY UPDATE spent_amount = spent_amount + :amount",
+           nativeQuery = true)
+    void addSpending(
+        @Param("categoryId") Long categoryId,
+        @Param("monthStart") LocalDate monthStart,
+        @Param("currency") String currency,
+        @Param("amount") BigDecimal amount
+    );
+
+    /**
+     * Find running totals for all categories for months within a range
+     */
+    List<CategoryMonthlySpending> findByMonthStartBetween(LocalDate startMonth, LocalDate endMonth);
+
+    /**
+     * Find running totals of the given categories for one month
+     */
+    List<CategoryMonthlySpending> findByMonthStartAndCategoryIdIn(LocalDate monthStart, Collection<Long> categoryIds);
+
+    /**
+     * Get total per category for months within a range
+     */
+    @Query("SELECT s.categoryId, SUM(s.spentAmount) FROM CategoryMonthlySpending s " +
+           "WHERE s.monthStart BETWEEN :startMonth AND :endMonth " +
+           "GROUP BY s.categoryId")
+    List<Object[]> sumByCategoryAndMonthRange(
+        @Param("startMonth") LocalDate startMonth,
+        @Param("endMonth") LocalDate endMonth
+    );
+
+    /**
+     * Find the running totals of one source currency for months from fromMonth up to, but excluding,
+     * untilMonth, and lock them (and the index range between them) until the end of the transaction, so
+     * concurrent addSpending calls for those months wait for a recomputation to commit
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CategoryMonthlySpending s " +
+           "WHERE s.currency = :currency AND s.monthStart >= :fromMonth AND s.monthStart < :untilMonth")
+    List<CategoryMonthlySpending> findForUpdate(
+        @Param("currency") String currency,
+        @Param("fromMonth") LocalDate fromMonth,
+        @Param("untilMonth") LocalDate untilMonth
+    );
+
+    /**
+     * List the distinct source currencies of the running totals
+     */
+    @Query("SELECT DISTINCT s.currency FROM CategoryMonthlySpending s")
+    List<String> findAllCurrencies();
+}
@@ -1,13 +1,20 @@
 package com.example.expensetracker.repository;
 
+import com.example.expensetracker.dto.CategoryViewDTO;
 import com.example.expensetracker.enums.CategoryType;
 import com.example.expensetracker.model.Category;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 /**
  * Repository interface for Category entity
  */
@@ -17,25 +24,60 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     /**
      * Find categories by type (EXPENSE or INCOME)
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Category> findByType(CategoryType type);
 
     /**
      * Find subcategories by parent category ID
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Category> findByParentCategoryId(Long parentCategoryId);
 
     /**
      * Find top-level categories (no parent)
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Category> findByParentCategoryIdIsNull();
 
     /**
      * Find category by name
      */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Category> findByName(String name);
 
     /**
      * Check if category name exists
      */
     boolean existsByName(String name);
+
+    /**
+     * List views of all categories
+     */
+    @Query("SELECT new com.example.expensetracker.dto.CategoryViewDTO(c.id, c.name, c.type, c.parentCategoryId, c.colorCode) FROM Category c")
+    List<CategoryViewDTO> findAllViews();
+
+    /**
+     * List views of categories by type
+     */
+    @Query("SELECT new com.example.expensetracker.dto.CategoryViewDTO(c.id, c.name, c.type, c.parentCategoryId, c.colorCode) FROM Category c WHERE c.type = :type")
+    List<CategoryViewDTO> findViewsByType(@Param("type") CategoryType type);
+
+    /**
+     * List views of top-level categories
+     */
+    @Query("SELECT new com.example.expensetracker.dto.CategoryViewDTO(c.id, c.name, c.type, c.parentCategoryId, c.colorCode) FROM Category c WHERE c.parentCategoryId IS NULL")
+    List<CategoryViewDTO> findTopLevelViews();
+
+    /**
+     * List views of subcategories by parent category ID
+     */
+    @Query("SELECT new com.example.expensetracker.dto.CategoryViewDTO(c.id, c.name, c.type, c.parentCategoryId, c.colorCode) FROM Category c WHERE c.parentCategoryId = :parentCategoryId")
+    List<CategoryViewDTO> findViewsByParentCategoryId(@Param("parentCategoryId") Long parentCategoryId);
+
+    /**
+     * Find all categories (query cached)
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
 }
\ No newline at end of file
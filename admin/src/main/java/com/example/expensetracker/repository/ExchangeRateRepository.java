@@ -0,0 +1,28 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.ExchangeRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ExchangeRate entity
+ */
+@Repository
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
+
+    /**
+     * Find the rate for a currency pair on a date
+     */
+    Optional<ExchangeRate> findByBaseCurrencyAndQuoteCurrencyAndRateDate(
+        String baseCurrency, String quoteCurrency, LocalDate rateDate
+    );
+
+    /**
+     * Find all rates for a currency pair
+     */
+    List<ExchangeRate> findByBaseCurrencyAndQuoteCurrencyOrderByRateDateAsc(String baseCurrency, String quoteCurrency);
+}
@@ -0,0 +1,28 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.RecurringTransaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for RecurringTransaction entity
+ */
+@Repository
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    /**
+     * Find all active recurring transactions
+     */
+    List<RecurringTransaction> findByIsActiveTrue();
+
+    /**
+     * Find active recurring transactions due on or before a date, earliest first
+     */
+    List<RecurringTransaction> findByIsActiveTrueAndNextOccurrenceDateLessThanEqualOrderByNextOccurrenceDateAsc(
+        LocalDate date, Pageable pageable
+    );
+}
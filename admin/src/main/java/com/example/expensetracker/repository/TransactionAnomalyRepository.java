@@ -0,0 +1,24 @@
+package com.example.expensetracker.repository;
+
+import com.example.expensetracker.model.TransactionAnomaly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for TransactionAnomaly entity
+ */
+@Repository
+public interface TransactionAnomalyRepository extends JpaRepository<TransactionAnomaly, Long> {
+
+    /**
+     * Find the most recently flagged anomalies
+     */
+    List<TransactionAnomaly> findTop100ByOrderByFlaggedAtDesc();
+
+    /**
+     * Find anomalies of an account, newest first
+     */
+    List<TransactionAnomaly> findByAccountIdOrderByFlaggedAtDesc(Long accountId);
+}
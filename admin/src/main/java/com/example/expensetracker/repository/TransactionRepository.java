@@ -1,15 +1,23 @@
 package com.example.expensetracker.repository;
 
+import com.example.expensetracker.dto.TransactionViewDTO;
 import com.example.expensetracker.enums.TransactionType;
 import com.example.expensetracker.model.Transaction;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for Transaction entity
@@ -17,6 +25,48 @@ import java.util.List;
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    /**
+     * Rows fetched per round trip when streaming (needs useCursorFetch=true on the MySQL URL)
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Stream all transactions, read-only
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t")
+    Stream<Transaction> streamAll();
+
+    /**
+     * Stream transactions within a date range, read-only
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Transaction> streamByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Stream transactions by account ID, read-only
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Transaction> streamByAccountId(Long accountId);
+
+    /**
+     * Stream transactions by category ID, read-only
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<Transaction> streamByCategoryId(Long categoryId);
+
     /**
      * Find transactions by account ID
      */
@@ -80,4 +130,171 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
+
+    /**
+     * Get spending by category for accounts held in the given currency
+     */
+    @Query("SELECT t.categoryId, SUM(t.amount) FROM Transaction t JOIN t.account a " +
+           "WHERE t.transactionType = :transactionType " +
+           "AND a.currency = :currency " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.categoryId")
+    List<Object[]> getSpendingByCategoryInCurrency(
+        @Param("transactionType") TransactionType transactionType,
+        @Param("currency") String currency,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Get daily spending by category and currency for accounts not held in the given currency
+     */
+    @Query("SELECT t.categoryId, a.currency, t.transactionDate, SUM(t.amount) FROM Transaction t JOIN t.account a " +
+           "WHERE t.transactionType = :transactionType " +
+           "AND a.currency <> :currency " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.categoryId, a.currency, t.transactionDate")
+    List<Object[]> getDailySpendingByCategoryNotInCurrency(
+        @Param("transactionType") TransactionType transactionType,
+        @Param("currency") String currency,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Get daily spending by category and account currency
+     */
+    @Query("SELECT t.categoryId, a.currency, t.transactionDate, SUM(t.amount) FROM Transaction t JOIN t.account a " +
+           "WHERE t.transactionType = :transactionType " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.categoryId, a.currency, t.transactionDate")
+    List<Object[]> getDailySpendingByCategory(
+        @Param("transactionType") TransactionType transactionType,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Get total amount by category (all transaction types) for accounts held in the given currency
+     */
+    @Query("SELECT t.categoryId, SUM(t.amount) FROM Transaction t JOIN t.account a " +
+           "WHERE a.currency = :currency " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.categoryId")
+    List<Object[]> sumAmountByCategoryInCurrency(
+        @Param("currency") String currency,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Get daily total amount by category and currency (all transaction types) for accounts not held in the given currency
+     */
+    @Query("SELECT t.categoryId, a.currency, t.transactionDate, SUM(t.amount) FROM Transaction t JOIN t.account a " +
+           "WHERE a.currency <> :currency " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.categoryId, a.currency, t.transactionDate")
+    List<Object[]> sumDailyAmountByCategoryNotInCurrency(
+        @Param("currency") String currency,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Get monthly total amount by category (all transaction types) for accounts held in the given currency,
+     * over dates from fromDate up to, but excluding, untilDate
+     */
+    @Query("SELECT t.categoryId, YEAR(t.transactionDate), MONTH(t.transactionDate), SUM(t.amount) " +
+           "FROM Transaction t JOIN t.account a " +
+           "WHERE a.currency = :currency " +
+           "AND t.transactionDate >= :fromDate AND t.transactionDate < :untilDate " +
+           "GROUP BY t.categoryId, YEAR(t.transactionDate), MONTH(t.transactionDate)")
+    List<Object[]> sumMonthlyAmountByCategoryInCurrency(
+        @Param("currency") String currency,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("untilDate") LocalDate untilDate
+    );
+
+    /**
+     * Get daily total amount by category (all transaction types) for accounts held in the given currency,
+     * over dates from fromDate up to, but excluding, untilDate
+     */
+    @Query("SELECT t.categoryId, t.transactionDate, SUM(t.amount) FROM Transaction t JOIN t.account a " +
+           "WHERE a.currency = :currency " +
+           "AND t.transactionDate >= :fromDate AND t.transactionDate < :untilDate " +
+           "GROUP BY t.categoryId, t.transactionDate")
+    List<Object[]> sumDailyAmountByCategoryInCurrency(
+        @Param("currency") String currency,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("untilDate") LocalDate untilDate
+    );
+
+    /**
+     * Check if a transaction with the given fingerprint exists
+     */
+    boolean existsByFingerprint(String fingerprint);
+
+    /**
+     * Count the transactions per fingerprint for the given fingerprints, as rows of [fingerprint, count]
+     */
+    @Query("SELECT t.fingerprint, COUNT(t) FROM Transaction t WHERE t.fingerprint IN :fingerprints " +
+           "GROUP BY t.fingerprint")
+    List<Object[]> countByFingerprints(@Param("fingerprints") Collection<String> fingerprints);
+
+    /**
+     * Check if a transaction with the given import key exists
+     */
+    boolean existsByImportKey(String importKey);
+
+    /**
+     * Find which of the given import keys already exist (rows imported before and edited since)
+     */
+    @Query("SELECT t.importKey FROM Transaction t WHERE t.importKey IN :importKeys")
+    List<String> findExistingImportKeys(@Param("importKeys") Collection<String> importKeys);
+
+    /**
+     * Find (account, amount, date) groups holding more than one transaction within a date range
+     */
+    @Query("SELECT t.accountId, t.amount, t.transactionDate FROM Transaction t " +
+           "WHERE t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.accountId, t.amount, t.transactionDate " +
+           "HAVING COUNT(t) > 1")
+    List<Object[]> findDuplicateCandidateGroups(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Find transactions by account, amount and date
+     */
+    List<Transaction> findByAccountIdAndAmountAndTransactionDate(
+        Long accountId, BigDecimal amount, LocalDate transactionDate
+    );
+
+    /**
+     * List views of all transactions
+     */
+    @Query("SELECT new com.example.expensetracker.dto.TransactionViewDTO(t.id, t.accountId, t.categoryId, t.amount, t.transactionType, t.transactionDate, t.description, t.transferReferenceId) FROM Transaction t")
+    List<TransactionViewDTO> findAllViews();
+
+    /**
+     * List views of transactions by account ID
+     */
+    @Query("SELECT new com.example.expensetracker.dto.TransactionViewDTO(t.id, t.accountId, t.categoryId, t.amount, t.transactionType, t.transactionDate, t.description, t.transferReferenceId) FROM Transaction t WHERE t.accountId = :accountId")
+    List<TransactionViewDTO> findViewsByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * List views of transactions by category ID
+     */
+    @Query("SELECT new com.example.expensetracker.dto.TransactionViewDTO(t.id, t.accountId, t.categoryId, t.amount, t.transactionType, t.transactionDate, t.description, t.transferReferenceId) FROM Transaction t WHERE t.categoryId = :categoryId")
+    List<TransactionViewDTO> findViewsByCategoryId(@Param("categoryId") Long categoryId);
+
+    /**
+     * List views of transactions within a date range
+     */
+    @Query("SELECT new com.example.expensetracker.dto.TransactionViewDTO(t.id, t.accountId, t.categoryId, t.amount, t.transactionType, t.transactionDate, t.description, t.transferReferenceId) FROM Transaction t WHERE t.transactionDate BETWEEN :startDate AND :endDate")
+    List<TransactionViewDTO> findViewsByTransactionDateBetween(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
 }
\ No newline at end of file
@@ -1,13 +1,19 @@
 package com.example.expensetracker.service;
 
+import com.example.expensetracker.dto.AccountViewDTO;
 import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.event.AccountBalanceChangedEvent;
 import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Money;
 import com.example.expensetracker.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -18,34 +24,52 @@ import java.util.List;
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final ExchangeRateService exchangeRateService;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     /**
      * Get all accounts
      */
+    @Transactional(readOnly = true)
     public List<Account> getAllAccounts() {
-        return accountRepository.findAll();
+        return shardRouter.fanOutList(accountRepository::findAll);
     }
 
     /**
      * Get all active accounts
      */
+    @Transactional(readOnly = true)
     public List<Account> getActiveAccounts() {
-        return accountRepository.findByIsActiveTrue();
+        return shardRouter.fanOutList(accountRepository::findByIsActiveTrue);
     }
 
     /**
      * Get account by ID
      */
+    @Transactional(readOnly = true)
     public Account getAccountById(Long id) {
-        return accountRepository.findById(id)
+        return shardRouter.onShardOf(id, () -> accountRepository.findById(id))
+            .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
+    }
+
+    /**
+     * Get account by ID and lock it until the end of the current transaction, so its balance can be
+     * checked before a change without another write slipping in between
+     */
+    @Transactional
+    public Account getAccountForUpdate(Long id) {
+        return shardRouter.onShardOf(id, () -> accountRepository.findByIdForUpdate(id))
             .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
     }
 
     /**
      * Get accounts by type
      */
+    @Transactional(readOnly = true)
     public List<Account> getAccountsByType(AccountType accountType) {
-        return accountRepository.findByAccountType(accountType);
+        return shardRouter.fanOutList(() -> accountRepository.findByAccountType(accountType));
     }
 
     /**
@@ -59,7 +83,10 @@ public class AccountService {
         if (account.getIsActive() == null) {
             account.setIsActive(true);
         }
-        return accountRepository.save(account);
+        if (account.getCurrency() == null) {
+            account.setCurrency(exchangeRateService.getBaseCurrency());
+        }
+        return shardRouter.onShard(shardRouter.nextAccountShard(), () -> accountRepository.save(account));
     }
 
     /**
@@ -67,24 +94,52 @@ public class AccountService {
      */
     @Transactional
     public Account updateAccount(Long id, Account accountDetails) {
-        Account account = getAccountById(id);
-
-        account.setAccountName(accountDetails.getAccountName());
-        account.setAccountType(accountDetails.getAccountType());
-        account.setCurrentBalance(accountDetails.getCurrentBalance());
-        account.setIsActive(accountDetails.getIsActive());
-
-        return accountRepository.save(account);
+        return shardRouter.onShardOf(id, () -> {
+            Account account = getAccountById(id);
+
+            account.setAccountName(accountDetails.getAccountName());
+            account.setAccountType(accountDetails.getAccountType());
+            account.setCurrentBalance(accountDetails.getCurrentBalance());
+            account.setIsActive(accountDetails.getIsActive());
+            if (accountDetails.getCurrency() != null) {
+                account.setCurrency(accountDetails.getCurrency());
+            }
+
+            Account savedAccount = accountRepository.save(account);
+            publishBalanceChanged(savedAccount);
+            return savedAccount;
+        });
     }
 
     /**
-     * Update account balance
+     * Set account balance (manual correction); transactions change the balance with adjustAccountBalance
      */
     @Transactional
     public Account updateAccountBalance(Long id, BigDecimal newBalance) {
-        Account account = getAccountById(id);
-        account.setCurrentBalance(newBalance);
-        return accountRepository.save(account);
+        return shardRouter.onShardOf(id, () -> {
+            Account account = getAccountById(id);
+            account.setCurrentBalance(newBalance);
+            Account savedAccount = accountRepository.save(account);
+            publishBalanceChanged(savedAccount);
+            return savedAccount;
+        });
+    }
+
+    /**
+     * Add a signed amount to an account balance. The addition is done by the database on the current
+     * row, so concurrent changes (other requests, statement imports, other instances) are not lost.
+     */
+    @Transactional
+    public Account adjustAccountBalance(Long id, BigDecimal delta) {
+        return shardRouter.onShardOf(id, () -> {
+            if (accountRepository.addToBalance(id, delta) == 0) {
+                throw new RuntimeException("Account not found with id: " + id);
+            }
+            Account account = getAccountById(id);
+            entityManager.refresh(account);
+            publishBalanceChanged(account);
+            return account;
+        });
     }
 
     /**
@@ -92,9 +147,11 @@ public class AccountService {
      */
     @Transactional
     public void deactivateAccount(Long id) {
-        Account account = getAccountById(id);
-        account.setIsActive(false);
-        accountRepository.save(account);
+        shardRouter.onShardOf(id, () -> {
+            Account account = getAccountById(id);
+            account.setIsActive(false);
+            return accountRepository.save(account);
+        });
     }
 
     /**
@@ -102,18 +159,68 @@ public class AccountService {
      */
     @Transactional
     public void deleteAccount(Long id) {
-        if (!accountRepository.existsById(id)) {
-            throw new RuntimeException("Account not found with id: " + id);
-        }
-        accountRepository.deleteById(id);
+        shardRouter.onShardOf(id, () -> {
+            if (!accountRepository.existsById(id)) {
+                throw new RuntimeException("Account not found with id: " + id);
+            }
+            accountRepository.deleteById(id);
+            return null;
+        });
     }
 
     /**
      * Calculate total balance across all active accounts
      */
+    @Transactional(readOnly = true)
     public BigDecimal calculateTotalBalance() {
-        return accountRepository.findByIsActiveTrue().stream()
-            .map(Account::getCurrentBalance)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return calculateTotalBalance(null);
+    }
+
+    /**
+     * Calculate total balance across all active accounts, converted into the given currency at today's rates
+     * (defaults to the reporting base currency). Active accounts are read from all shards in parallel.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal calculateTotalBalance(String currency) {
+        String reportCurrency = exchangeRateService.resolveCurrency(currency);
+        LocalDate today = LocalDate.now();
+
+        Money total = Money.ZERO;
+        for (Account account : shardRouter.fanOutList(accountRepository::findByIsActiveTrue)) {
+            total = total.plus(exchangeRateService.convert(
+                Money.of(account.getCurrentBalance()), account.getCurrency(), reportCurrency, today
+            ));
+        }
+        return total.toBigDecimal();
+    }
+
+    private void publishBalanceChanged(Account account) {
+        eventPublisher.publishEvent(new AccountBalanceChangedEvent(
+            account.getId(), account.getCurrentBalance(), account.getCurrency()
+        ));
+    }
+
+    /**
+     * Get list views of all accounts
+     */
+    @Transactional(readOnly = true)
+    public List<AccountViewDTO> getAllAccountViews() {
+        return shardRouter.fanOutList(accountRepository::findAllViews);
+    }
+
+    /**
+     * Get list views of active accounts
+     */
+    @Transactional(readOnly = true)
+    public List<AccountViewDTO> getActiveAccountViews() {
+        return shardRouter.fanOutList(accountRepository::findActiveViews);
+    }
+
+    /**
+     * Get list views of accounts by type
+     */
+    @Transactional(readOnly = true)
+    public List<AccountViewDTO> getAccountViewsByType(AccountType accountType) {
+        return shardRouter.fanOutList(() -> accountRepository.findViewsByAccountType(accountType));
     }
 }
\ No newline at end of file
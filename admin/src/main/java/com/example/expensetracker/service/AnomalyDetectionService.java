@@ -0,0 +1,356 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.enums.AnomalyScope;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionBatchImportedEvent;
+import com.example.expensetracker.event.TransactionSnapshot;
+import com.example.expensetracker.model.AnomalyModelState;
+import com.example.expensetracker.model.TransactionAnomaly;
+import com.example.expensetracker.repository.AnomalyModelStateRepository;
+import com.example.expensetracker.repository.TransactionAnomalyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service flagging newly created transactions whose amount is unusually large.
+ *
+ * Every account and category pair, and every account as a whole, has an online model: Welford's running
+ * count, mean and variance of log(1 + amount). Amounts within one account share its currency, so no
+ * conversion is needed. A new transaction is scored against its pair model (or the account model while
+ * the pair has little history) with a few arithmetic operations and no database access; only a flagged
+ * transaction is written, on a separate executor. Updates and deletes are removed from the models again.
+ * Statement imports announce their rows batch by batch; those are learned like creates but not scored,
+ * as imported history would flag its own outliers.
+ *
+ * Models are snapshotted to the database periodically and restored at startup; with no snapshots they
+ * are trained once from the transactions table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnomalyDetectionService {
+
+    private static final String TRAIN_SQL = "SELECT account_id, category_id, amount FROM transactions";
+    private static final int TRAIN_FETCH_SIZE = 10_000;
+
+    private final AnomalyModelStateRepository anomalyModelStateRepository;
+    private final TransactionAnomalyRepository transactionAnomalyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    @Value("${expensetracker.anomaly.threshold:3.5}")
+    private double threshold;
+
+    @Value("${expensetracker.anomaly.min-samples:10}")
+    private long minSamples;
+
+    // Floor on the standard deviation so near-constant amounts (subscriptions) do not flag small changes
+    @Value("${expensetracker.anomaly.min-deviation:0.1}")
+    private double minDeviation;
+
+    private final Map<ModelKey, RunningStats> models = new ConcurrentHashMap<>();
+    private final ExecutorService recordExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread.ofVirtual().name("anomaly-model-load").start(this::load);
+    }
+
+    /**
+     * Score a created transaction, then learn from every committed write
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (event.previous() != null) {
+            apply(event.previous(), false);
+        }
+        TransactionSnapshot current = event.current();
+        if (current == null) {
+            return;
+        }
+        if (event.previous() == null && ready) {
+            score(current);
+        }
+        apply(current, true);
+    }
+
+    /**
+     * Learn the rows of an imported batch; while models are still loading they are combined with the loaded ones
+     */
+    @EventListener
+    public void onTransactionBatchImported(TransactionBatchImportedEvent event) {
+        for (TransactionSnapshot transaction : event.transactions()) {
+            apply(transaction, true);
+        }
+    }
+
+    /**
+     * Get the most recently flagged transactions
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionAnomaly> getRecentAnomalies() {
+        return transactionAnomalyRepository.findTop100ByOrderByFlaggedAtDesc();
+    }
+
+    /**
+     * Get flagged transactions of an account
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionAnomaly> getAnomaliesByAccountId(Long accountId) {
+        return transactionAnomalyRepository.findByAccountIdOrderByFlaggedAtDesc(accountId);
+    }
+
+    /**
+     * Save models changed since their last successful save (a failed save is retried on the next run)
+     */
+    @Scheduled(fixedDelayString = "${expensetracker.anomaly.persist-interval-ms:60000}")
+    public void persist() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AnomalyModelState> changed = new ArrayList<>();
+        List<RunningStats> owners = new ArrayList<>();
+        models.forEach((key, stats) -> {
+            AnomalyModelState state = stats.snapshotIfChanged(key, now);
+            if (state != null) {
+                changed.add(state);
+                owners.add(stats);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<AnomalyModelState> saved = anomalyModelStateRepository.saveAll(changed);
+        for (int i = 0; i < saved.size(); i++) {
+            owners.get(i).persisted(saved.get(i).getId());
+        }
+        log.debug("Persisted {} anomaly models", changed.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recordExecutor.shutdown();
+        try {
+            persist();
+        } catch (RuntimeException e) {
+            log.warn("Could not persist anomaly models on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void load() {
+        try {
+            Map<ModelKey, RunningStats> loaded = new HashMap<>();
+            List<AnomalyModelState> states = anomalyModelStateRepository.findAll();
+            if (states.isEmpty()) {
+                train(loaded);
+            } else {
+                for (AnomalyModelState state : states) {
+                    loaded.put(new ModelKey(state.getAccountId(), state.getCategoryId()), RunningStats.restore(state));
+                }
+            }
+            // Writes learned while loading are combined rather than overwritten
+            loaded.forEach((key, stats) -> models.merge(key, stats, RunningStats::combine));
+            ready = true;
+            log.info("Anomaly detection ready with {} models", models.size());
+        } catch (RuntimeException e) {
+            log.error("Anomaly model load failed", e);
+        }
+    }
+
+    private void train(Map<ModelKey, RunningStats> target) {
+        shardRouter.forEachShard(shard -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                TRAIN_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+            );
+            statement.setFetchSize(TRAIN_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> learn(target, resultSet)));
+    }
+
+    private void learn(Map<ModelKey, RunningStats> target, ResultSet resultSet) throws SQLException {
+        long accountId = resultSet.getLong(1);
+        long categoryId = resultSet.getLong(2);
+        double value = logAmount(resultSet.getBigDecimal(3));
+        target.computeIfAbsent(new ModelKey(accountId, categoryId), key -> new RunningStats()).add(value);
+        target.computeIfAbsent(new ModelKey(accountId, null), key -> new RunningStats()).add(value);
+    }
+
+    private void apply(TransactionSnapshot transaction, boolean add) {
+        double value = logAmount(transaction.amount());
+        for (ModelKey key : new ModelKey[] {
+            new ModelKey(transaction.accountId(), transaction.categoryId()),
+            new ModelKey(transaction.accountId(), null)
+        }) {
+            RunningStats stats = models.computeIfAbsent(key, k -> new RunningStats());
+            if (add) {
+                stats.add(value);
+            } else {
+                stats.remove(value);
+            }
+        }
+    }
+
+    private void score(TransactionSnapshot transaction) {
+        AnomalyScope scope = AnomalyScope.ACCOUNT_CATEGORY;
+        Moments moments = moments(new ModelKey(transaction.accountId(), transaction.categoryId()));
+        if (moments == null || moments.count() < minSamples) {
+            scope = AnomalyScope.ACCOUNT;
+            moments = moments(new ModelKey(transaction.accountId(), null));
+        }
+        if (moments == null || moments.count() < minSamples) {
+            return;
+        }
+
+        double deviation = Math.max(Math.sqrt(moments.m2() / (moments.count() - 1)), minDeviation);
+        double score = (logAmount(transaction.amount()) - moments.mean()) / deviation;
+        if (score < threshold) {
+            return;
+        }
+
+        TransactionAnomaly anomaly = new TransactionAnomaly();
+        anomaly.setTransactionId(transaction.id());
+        anomaly.setAccountId(transaction.accountId());
+        anomaly.setCategoryId(transaction.categoryId());
+        anomaly.setAmount(transaction.amount());
+        anomaly.setExpectedAmount(BigDecimal.valueOf(Math.expm1(moments.mean())).setScale(2, RoundingMode.HALF_UP));
+        anomaly.setScore(score);
+        anomaly.setSampleCount(moments.count());
+        anomaly.setScope(scope);
+        anomaly.setFlaggedAt(LocalDateTime.now());
+        String tenantId = TenantContext.getTenantId();
+        anomaly.setTenantId(tenantId);
+        recordExecutor.execute(() -> {
+            try {
+                TenantContext.runAs(tenantId, () -> transactionAnomalyRepository.save(anomaly));
+            } catch (RuntimeException e) {
+                log.warn("Could not record anomaly for transaction {}: {}", anomaly.getTransactionId(), e.getMessage());
+            }
+        });
+    }
+
+    private Moments moments(ModelKey key) {
+        RunningStats stats = models.get(key);
+        return stats != null ? stats.moments() : null;
+    }
+
+    private static double logAmount(BigDecimal amount) {
+        return Math.log1p(Math.max(0, amount.doubleValue()));
+    }
+
+    /**
+     * Account-wide model when categoryId is null
+     */
+    private record ModelKey(Long accountId, Long categoryId) {
+    }
+
+    private record Moments(long count, double mean, double m2) {
+    }
+
+    /**
+     * Welford running statistics, with removal and Chan's pairwise combine
+     */
+    private static final class RunningStats {
+
+        private long count;
+        private double mean;
+        private double m2;
+        private Long stateId;
+        private long version;
+        private long persistedVersion;
+        // Version in the snapshot being saved; becomes persistedVersion only once the save succeeded
+        private long snapshotVersion;
+
+        static RunningStats restore(AnomalyModelState state) {
+            RunningStats stats = new RunningStats();
+            stats.count = state.getSampleCount();
+            stats.mean = state.getMean();
+            stats.m2 = state.getM2();
+            stats.stateId = state.getId();
+            return stats;
+        }
+
+        synchronized void add(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+            version++;
+        }
+
+        synchronized void remove(double value) {
+            if (count <= 1) {
+                count = 0;
+                mean = 0;
+                m2 = 0;
+            } else {
+                double previousMean = (count * mean - value) / (count - 1);
+                m2 = Math.max(0, m2 - (value - mean) * (value - previousMean));
+                mean = previousMean;
+                count--;
+            }
+            version++;
+        }
+
+        synchronized Moments moments() {
+            return new Moments(count, mean, m2);
+        }
+
+        static RunningStats combine(RunningStats current, RunningStats loaded) {
+            synchronized (current) {
+                long total = current.count + loaded.count;
+                if (total > 0) {
+                    double delta = loaded.mean - current.mean;
+                    current.m2 += loaded.m2 + delta * delta * current.count * loaded.count / total;
+                    current.mean += delta * loaded.count / total;
+                    current.count = total;
+                }
+                if (current.stateId == null) {
+                    current.stateId = loaded.stateId;
+                }
+                current.version++;
+                return current;
+            }
+        }
+
+        synchronized AnomalyModelState snapshotIfChanged(ModelKey key, LocalDateTime now) {
+            if (version == persistedVersion && stateId != null) {
+                return null;
+            }
+            snapshotVersion = version;
+            return new AnomalyModelState(stateId, key.accountId(), key.categoryId(), count, mean, m2, now);
+        }
+
+        synchronized void persisted(Long id) {
+            stateId = id;
+            persistedVersion = snapshotVersion;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.event.ExchangeRatesChangedEvent;
+import com.example.expensetracker.model.CategoryMonthlySpending;
+import com.example.expensetracker.model.Money;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryMonthlySpendingRepository;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.util.LongLongHashMap;
+import com.example.expensetracker.util.LongObjectHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service maintaining per-category monthly spending totals (budget actuals) in the reporting base currency.
+ *
+ * Totals are adjusted incrementally in the same database transaction as each transaction write,
+ * so budget status for a period is read from a handful of indexed rows instead of aggregating
+ * the transactions table. With account sharding each shard holds the totals of its own accounts and
+ * reads add the shards up.
+ *
+ * Totals are kept per source currency. A rate change recomputes only the rows of the currency it
+ * converts and the months its rate applies to, with those rows locked so concurrent writes wait instead
+ * of being overwritten. A write whose currency has no rate yet is left out instead of failing; adding the
+ * rate recomputes its months and brings such rows in.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BudgetActualsService {
+
+    // Bounds of the MySQL DATE range, for recomputations over all months
+    private static final LocalDate FIRST_MONTH = LocalDate.of(1000, 1, 1);
+    private static final LocalDate END_OF_MONTHS = LocalDate.of(9999, 12, 1);
+    private static final int MAX_RECOMPUTE_ATTEMPTS = 3;
+
+    private final CategoryMonthlySpendingRepository categoryMonthlySpendingRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final ExchangeRateService exchangeRateService;
+    private final ShardRouter shardRouter;
+
+    private final Queue<MonthRange> pendingRecomputations = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean recomputeRunning = new AtomicBoolean();
+
+    /**
+     * Build the totals on first start against an existing database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    // Right after ExchangeRateService has loaded the rates it converts with
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void initialize() {
+        TenantContext.runAs(TenantContext.ROOT_TENANT, () -> shardRouter.forEachShardInTransaction(shard -> {
+            if (categoryMonthlySpendingRepository.count() == 0 && transactionRepository.count() > 0) {
+                rebuildShard();
+            }
+        }));
+    }
+
+    /**
+     * Add a written transaction to the totals of its category and month
+     *
+     * @param accountCurrency currency of the transaction's account
+     */
+    @Transactional
+    public void recordTransaction(Transaction transaction, String accountCurrency) {
+        applyTransaction(transaction, accountCurrency, false);
+    }
+
+    /**
+     * Remove a transaction (deleted, or the old state of an update) from the totals of its category and month
+     *
+     * @param accountCurrency currency of the transaction's account
+     */
+    @Transactional
+    public void reverseTransaction(Transaction transaction, String accountCurrency) {
+        applyTransaction(transaction, accountCurrency, true);
+    }
+
+    /**
+     * Get monthly totals per category for months within a range, keyed by category then month start
+     */
+    public LongObjectHashMap<NavigableMap<LocalDate, Money>> getMonthlySpending(LocalDate startDate, LocalDate endDate) {
+        LongObjectHashMap<NavigableMap<LocalDate, Money>> spending = new LongObjectHashMap<>();
+        List<CategoryMonthlySpending> rows = shardRouter.fanOutList(() -> categoryMonthlySpendingRepository.findByMonthStartBetween(
+            startDate.withDayOfMonth(1), endDate
+        ));
+        for (CategoryMonthlySpending row : rows) {
+            NavigableMap<LocalDate, Money> months = spending.get(row.getCategoryId());
+            if (months == null) {
+                months = new TreeMap<>();
+                spending.put(row.getCategoryId(), months);
+            }
+            months.merge(row.getMonthStart(), row.getSpentAmount(), Money::plus);
+        }
+        return spending;
+    }
+
+    /**
+     * Get the totals of the given categories for one month
+     */
+    public Map<Long, Money> getMonthlySpending(Collection<Long> categoryIds, LocalDate monthStart) {
+        Map<Long, Money> spending = new HashMap<>();
+        for (CategoryMonthlySpending row : shardRouter.fanOutList(() ->
+            categoryMonthlySpendingRepository.findByMonthStartAndCategoryIdIn(monthStart, categoryIds))) {
+            spending.merge(row.getCategoryId(), row.getSpentAmount(), Money::plus);
+        }
+        return spending;
+    }
+
+    /**
+     * Get total per category for whole months within a range
+     */
+    public LongLongHashMap getSpendingByCategory(LocalDate startDate, LocalDate endDate) {
+        List<Object[]> rows = shardRouter.fanOutList(() -> categoryMonthlySpendingRepository.sumByCategoryAndMonthRange(
+            startDate.withDayOfMonth(1), endDate
+        ));
+        LongLongHashMap spending = new LongLongHashMap(rows.size());
+        for (Object[] row : rows) {
+            spending.addTo((Long) row[0], Money.of((BigDecimal) row[1]).minorUnits());
+        }
+        return spending;
+    }
+
+    /**
+     * Rates changed: recompute, in the background, the totals of the currency the changed pair converts into
+     * the base currency, for the months its rate applies to
+     */
+    @EventListener
+    public void onExchangeRatesChanged(ExchangeRatesChangedEvent event) {
+        String currency = event.counterCurrencyOf(exchangeRateService.getBaseCurrency());
+        if (currency == null) {
+            // Totals convert into the base currency only, through a rate to or from it
+            return;
+        }
+        LocalDate untilMonth = event.untilDate() == null
+            ? END_OF_MONTHS
+            : event.untilDate().minusDays(1).withDayOfMonth(1).plusMonths(1);
+        pendingRecomputations.add(new MonthRange(currency, event.fromDate().withDayOfMonth(1), untilMonth));
+        startRecomputations();
+    }
+
+    /**
+     * Convert an amount to the base currency for the totals, or return null when no rate is known
+     */
+    public Money toBaseCurrency(Money amount, String currency, LocalDate date) {
+        return exchangeRateService.convertOrNull(amount, currency, exchangeRateService.getBaseCurrency(), date);
+    }
+
+    /**
+     * Recompute all totals from the transactions table (e.g. after exchange rates were corrected)
+     */
+    public void rebuild() {
+        // The totals cover every tenant, whichever tenant asked for the rebuild
+        TenantContext.runAs(TenantContext.ROOT_TENANT, () -> shardRouter.forEachShardInTransaction(shard -> rebuildShard()));
+    }
+
+    /**
+     * Each shard keeps the totals of its own accounts; readers add them up
+     */
+    private void rebuildShard() {
+        Set<String> currencies = new TreeSet<>(accountRepository.findAllCurrencies());
+        // Also currencies no account is held in any more, so their stale rows are removed
+        currencies.addAll(categoryMonthlySpendingRepository.findAllCurrencies());
+        for (String currency : currencies) {
+            recomputeShard(new MonthRange(currency, FIRST_MONTH, END_OF_MONTHS));
+        }
+    }
+
+    private void startRecomputations() {
+        if (!recomputeRunning.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofVirtual().name("budget-actuals-recompute").start(() -> {
+            try {
+                MonthRange range;
+                while ((range = pendingRecomputations.poll()) != null) {
+                    recompute(range);
+                }
+            } finally {
+                recomputeRunning.set(false);
+            }
+            // A range queued after the last poll but before the flag was cleared
+            if (!pendingRecomputations.isEmpty()) {
+                startRecomputations();
+            }
+        });
+    }
+
+    /**
+     * Recompute one range on every shard. Retried when the database picks it as a deadlock victim against
+     * a concurrent write; the recomputation sets the totals, so repeating it on a shard is harmless.
+     */
+    private void recompute(MonthRange range) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                TenantContext.runAs(TenantContext.ROOT_TENANT,
+                    () -> shardRouter.forEachShardInTransaction(shard -> recomputeShard(range)));
+                return;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt == MAX_RECOMPUTE_ATTEMPTS) {
+                    log.error("Budget actuals of {} from {} could not be recomputed, rebuild them to catch up",
+                        range.currency(), range.fromMonth(), e);
+                    return;
+                }
+                log.debug("Budget actuals recomputation of {} lost a lock race, retrying", range.currency());
+            } catch (RuntimeException e) {
+                log.error("Budget actuals of {} from {} could not be recomputed, rebuild them to catch up",
+                    range.currency(), range.fromMonth(), e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Set the totals of one currency and range of months from the transactions table. The rows are locked
+     * before the transactions are read: writers holding them commit first and are read, writers arriving
+     * later wait and add their amounts on top of the recomputed totals.
+     */
+    private void recomputeShard(MonthRange range) {
+        String baseCurrency = exchangeRateService.getBaseCurrency();
+        Map<CellKey, CategoryMonthlySpending> stored = new HashMap<>();
+        for (CategoryMonthlySpending row : categoryMonthlySpendingRepository.findForUpdate(
+            range.currency(), range.fromMonth(), range.untilMonth())) {
+            stored.put(new CellKey(row.getCategoryId(), row.getMonthStart()), row);
+        }
+
+        Map<CellKey, Money> totals = new HashMap<>();
+        int unconverted = 0;
+        if (range.currency().equals(baseCurrency)) {
+            for (Object[] row : transactionRepository.sumMonthlyAmountByCategoryInCurrency(
+                range.currency(), range.fromMonth(), range.untilMonth())) {
+                LocalDate monthStart = LocalDate.of((Integer) row[1], (Integer) row[2], 1);
+                totals.merge(new CellKey((Long) row[0], monthStart), Money.of((BigDecimal) row[3]), Money::plus);
+            }
+        } else {
+            for (Object[] row : transactionRepository.sumDailyAmountByCategoryInCurrency(
+                range.currency(), range.fromMonth(), range.untilMonth())) {
+                LocalDate date = (LocalDate) row[1];
+                Money converted = exchangeRateService.convertOrNull(
+                    Money.of((BigDecimal) row[2]), range.currency(), baseCurrency, date
+                );
+                if (converted == null) {
+                    unconverted++;
+                    continue;
+                }
+                totals.merge(new CellKey((Long) row[0], date.withDayOfMonth(1)), converted, Money::plus);
+            }
+        }
+
+        if (unconverted > 0) {
+            log.warn("Budget actuals leave out {} daily category totals without an exchange rate from {} to {}",
+                unconverted, range.currency(), baseCurrency);
+        }
+
+        List<CategoryMonthlySpending> changed = new ArrayList<>();
+        for (Map.Entry<CellKey, Money> total : totals.entrySet()) {
+            CategoryMonthlySpending row = stored.remove(total.getKey());
+            if (row == null) {
+                row = new CategoryMonthlySpending(
+                    null, total.getKey().categoryId(), total.getKey().monthStart(), range.currency(), Money.ZERO
+                );
+            }
+            row.setSpentAmount(total.getValue());
+            changed.add(row);
+        }
+        categoryMonthlySpendingRepository.saveAll(changed);
+        // Rows whose transactions are all gone (or all without a rate)
+        categoryMonthlySpendingRepository.deleteAll(stored.values());
+    }
+
+    private void applyTransaction(Transaction transaction, String accountCurrency, boolean reverse) {
+        Money amount = toBaseCurrency(Money.of(transaction.getAmount()), accountCurrency, transaction.getTransactionDate());
+        if (amount == null) {
+            // The recomputation that follows the rate being added brings this row in
+            log.warn("No exchange rate from {} on {}, transaction {} is left out of budget actuals until rates change",
+                accountCurrency, transaction.getTransactionDate(), transaction.getId());
+            return;
+        }
+        if (reverse) {
+            amount = amount.negate();
+        }
+
+        categoryMonthlySpendingRepository.addSpending(
+            transaction.getCategoryId(), transaction.getTransactionDate().withDayOfMonth(1), accountCurrency,
+            amount.toBigDecimal()
+        );
+    }
+
+    /**
+     * Months from fromMonth up to, but excluding, untilMonth of the totals held in one currency
+     */
+    private record MonthRange(String currency, LocalDate fromMonth, LocalDate untilMonth) {
+    }
+
+    private record CellKey(Long categoryId, LocalDate monthStart) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.BudgetAlertDTO;
+import com.example.expensetracker.dto.BudgetStatusDTO;
+import com.example.expensetracker.event.BudgetAllocationChangedEvent;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionSnapshot;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import com.example.expensetracker.model.Money;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service raising alerts when a category's spending crosses a configured percentage of its budget.
+ *
+ * Running spend per budgeted category for its current period is held in memory, seeded from the
+ * budget status at startup (and at midnight, and whenever allocations change), and adjusted after
+ * each committed transaction write. No polling or re-aggregation is involved. Alerts are handed to
+ * every BudgetAlertSink on a separate executor so slow sinks never delay the write path.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BudgetAlertService {
+
+    private static final int RECENT_ALERT_LIMIT = 100;
+
+    private final BudgetAllocationService budgetAllocationService;
+    private final ExchangeRateService exchangeRateService;
+    private final List<BudgetAlertSink> sinks;
+
+    @Value("${expensetracker.budget.alert-thresholds:80,100}")
+    private int[] thresholds;
+
+    private final Deque<TenantAlert> recentAlerts = new ConcurrentLinkedDeque<>();
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // categoryId -> running state for its current budget period; replaced as a whole on reload
+    private volatile Map<Long, CategoryBudgetState> states = Map.of();
+
+    /**
+     * Seed running spend from the budget actuals
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Start new budget periods at midnight
+     */
+    @Scheduled(cron = "${expensetracker.budget.alert-reload-cron:0 0 0 * * *}")
+    public void reload() {
+        // Allocation changes trigger this from a tenant's request; the state covers every tenant
+        List<BudgetStatusDTO> statuses = TenantContext.callAs(
+            TenantContext.ROOT_TENANT, budgetAllocationService::getBudgetStatus
+        );
+        Map<Long, CategoryBudgetState> loaded = new HashMap<>();
+        for (BudgetStatusDTO status : statuses) {
+            loaded.put(status.getCategoryId(), new CategoryBudgetState(
+                status.getCategoryName(),
+                status.getPeriodStart(),
+                status.getPeriodEnd(),
+                Money.of(status.getAvailableAmount()).minorUnits(),
+                new AtomicLong(Money.of(status.getActualSpent()).minorUnits())
+            ));
+        }
+        states = loaded;
+    }
+
+    /**
+     * Pick up created, changed or removed budget allocations
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBudgetAllocationChanged(BudgetAllocationChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * Bulk imports bypass the per-row events: rebuild the running spend from the updated actuals
+     */
+    @EventListener
+    public void onTransactionsImported(TransactionsImportedEvent event) {
+        reload();
+    }
+
+    /**
+     * Apply a committed transaction write to the running spend and raise alerts for crossed thresholds
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (event.previous() != null) {
+            apply(event.previous(), true);
+        }
+        if (event.current() != null) {
+            apply(event.current(), false);
+        }
+    }
+
+    /**
+     * Get the most recent alerts of the current tenant, newest first
+     */
+    public List<BudgetAlertDTO> getRecentAlerts() {
+        List<BudgetAlertDTO> alerts = new ArrayList<>();
+        for (TenantAlert recent : recentAlerts) {
+            if (TenantContext.canAccess(recent.tenantId())) {
+                alerts.add(recent.alert());
+            }
+        }
+        return alerts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deliveryExecutor.shutdown();
+    }
+
+    private void apply(TransactionSnapshot transaction, boolean reverse) {
+        CategoryBudgetState state = states.get(transaction.categoryId());
+        if (state == null || !state.contains(transaction.transactionDate())) {
+            return;
+        }
+
+        Money converted = exchangeRateService.convertOrNull(
+            Money.of(transaction.amount()), transaction.currency(),
+            exchangeRateService.getBaseCurrency(), transaction.transactionDate()
+        );
+        if (converted == null) {
+            // Budget actuals leave such a row out as well, so the state stays consistent with them
+            log.warn("No exchange rate from {} on {}, transaction {} is left out of budget alerts until rates change",
+                transaction.currency(), transaction.transactionDate(), transaction.id());
+            return;
+        }
+        long delta = converted.minorUnits();
+        if (reverse) {
+            delta = -delta;
+        }
+
+        long after = state.spent().addAndGet(delta);
+        long before = after - delta;
+        if (delta <= 0 || state.available() <= 0) {
+            return;
+        }
+
+        for (int threshold : thresholds) {
+            double limit = state.available() * (threshold / 100.0);
+            if (before < limit && after >= limit) {
+                raise(transaction.categoryId(), state, threshold, after);
+            }
+        }
+    }
+
+    private void raise(Long categoryId, CategoryBudgetState state, int threshold, long spent) {
+        Money actualSpent = Money.ofMinor(spent);
+        Money available = Money.ofMinor(state.available());
+
+        BudgetAlertDTO alert = new BudgetAlertDTO();
+        alert.setCategoryId(categoryId);
+        alert.setCategoryName(state.categoryName());
+        alert.setThreshold(threshold);
+        alert.setPercentageUsed(actualSpent.percentageOf(available));
+        alert.setActualSpent(actualSpent.toBigDecimal());
+        alert.setAvailableAmount(available.toBigDecimal());
+        alert.setPeriodStart(state.periodStart());
+        alert.setPeriodEnd(state.periodEnd());
+        alert.setCurrency(exchangeRateService.getBaseCurrency());
+        alert.setTriggeredAt(LocalDateTime.now());
+
+        // Raised on the writing request's thread, so the current tenant owns the category
+        String tenantId = TenantContext.getTenantId();
+        recentAlerts.addFirst(new TenantAlert(tenantId, alert));
+        while (recentAlerts.size() > RECENT_ALERT_LIMIT) {
+            recentAlerts.pollLast();
+        }
+
+        for (BudgetAlertSink sink : sinks) {
+            deliveryExecutor.execute(() -> {
+                try {
+                    // Sinks see the alert's tenant, e.g. to deliver it only to that tenant's subscribers
+                    TenantContext.runAs(tenantId, () -> sink.send(alert));
+                } catch (RuntimeException e) {
+                    log.warn("Budget alert sink {} failed: {}", sink.getClass().getSimpleName(), e.getMessage());
+                }
+            });
+        }
+    }
+
+    private record TenantAlert(String tenantId, BudgetAlertDTO alert) {
+    }
+
+    private record CategoryBudgetState(
+        String categoryName,
+        LocalDate periodStart,
+        LocalDate periodEnd,
+        long available,
+        AtomicLong spent
+    ) {
+
+        boolean contains(LocalDate date) {
+            return !date.isBefore(periodStart) && !date.isAfter(periodEnd);
+        }
+    }
+}
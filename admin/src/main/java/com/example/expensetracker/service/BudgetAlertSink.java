@@ -0,0 +1,14 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.BudgetAlertDTO;
+
+/**
+ * Destination for budget threshold alerts. Every sink bean receives every alert.
+ */
+public interface BudgetAlertSink {
+
+    /**
+     * Deliver an alert; called off the request thread, as the tenant that owns the alert
+     */
+    void send(BudgetAlertDTO alert);
+}
@@ -1,20 +1,28 @@
 package com.example.expensetracker.service;
 
+import com.example.expensetracker.dto.BudgetAllocationViewDTO;
 import com.example.expensetracker.dto.BudgetComparisonDTO;
+import com.example.expensetracker.dto.BudgetStatusDTO;
+import com.example.expensetracker.enums.BudgetPeriod;
+import com.example.expensetracker.event.BudgetAllocationChangedEvent;
 import com.example.expensetracker.model.BudgetAllocation;
 import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Money;
 import com.example.expensetracker.repository.BudgetAllocationRepository;
 import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.util.LongLongHashMap;
+import com.example.expensetracker.util.LongObjectHashMap;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableMap;
 
 /**
  * Service layer for BudgetAllocation operations
@@ -26,10 +34,15 @@ public class BudgetAllocationService {
     private final BudgetAllocationRepository budgetAllocationRepository;
     private final TransactionRepository transactionRepository;
     private final CategoryService categoryService;
+    private final ExchangeRateService exchangeRateService;
+    private final BudgetActualsService budgetActualsService;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all budget allocations
      */
+    @Transactional(readOnly = true)
     public List<BudgetAllocation> getAllBudgetAllocations() {
         return budgetAllocationRepository.findAll();
     }
@@ -37,6 +50,7 @@ public class BudgetAllocationService {
     /**
      * Get budget allocation by ID
      */
+    @Transactional(readOnly = true)
     public BudgetAllocation getBudgetAllocationById(Long id) {
         return budgetAllocationRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Budget allocation not found with id: " + id));
@@ -45,6 +59,7 @@ public class BudgetAllocationService {
     /**
      * Get budget allocation by category ID
      */
+    @Transactional(readOnly = true)
     public BudgetAllocation getBudgetAllocationByCategory(Long categoryId) {
         return budgetAllocationRepository.findByCategoryId(categoryId)
             .orElseThrow(() -> new RuntimeException("Budget allocation not found for category id: " + categoryId));
@@ -66,7 +81,16 @@ public class BudgetAllocationService {
                 budgetAllocation.getCategoryId());
         }
 
-        return budgetAllocationRepository.save(budgetAllocation);
+        if (budgetAllocation.getPeriod() == null) {
+            budgetAllocation.setPeriod(BudgetPeriod.MONTHLY);
+        }
+        if (budgetAllocation.getRolloverEnabled() == null) {
+            budgetAllocation.setRolloverEnabled(false);
+        }
+
+        BudgetAllocation savedBudgetAllocation = budgetAllocationRepository.save(budgetAllocation);
+        eventPublisher.publishEvent(new BudgetAllocationChangedEvent(savedBudgetAllocation.getCategoryId()));
+        return savedBudgetAllocation;
     }
 
     /**
@@ -78,8 +102,16 @@ public class BudgetAllocationService {
 
         budgetAllocation.setCategoryId(budgetDetails.getCategoryId());
         budgetAllocation.setAllocatedAmount(budgetDetails.getAllocatedAmount());
+        if (budgetDetails.getPeriod() != null) {
+            budgetAllocation.setPeriod(budgetDetails.getPeriod());
+        }
+        if (budgetDetails.getRolloverEnabled() != null) {
+            budgetAllocation.setRolloverEnabled(budgetDetails.getRolloverEnabled());
+        }
 
-        return budgetAllocationRepository.save(budgetAllocation);
+        BudgetAllocation savedBudgetAllocation = budgetAllocationRepository.save(budgetAllocation);
+        eventPublisher.publishEvent(new BudgetAllocationChangedEvent(savedBudgetAllocation.getCategoryId()));
+        return savedBudgetAllocation;
     }
 
     /**
@@ -93,7 +125,9 @@ public class BudgetAllocationService {
         budgetAllocation.setCategoryId(categoryId);
         budgetAllocation.setAllocatedAmount(allocatedAmount);
 
-        return budgetAllocationRepository.save(budgetAllocation);
+        BudgetAllocation savedBudgetAllocation = budgetAllocationRepository.save(budgetAllocation);
+        eventPublisher.publishEvent(new BudgetAllocationChangedEvent(savedBudgetAllocation.getCategoryId()));
+        return savedBudgetAllocation;
     }
 
     /**
@@ -101,61 +135,93 @@ public class BudgetAllocationService {
      */
     @Transactional
     public void deleteBudgetAllocation(Long id) {
-        if (!budgetAllocationRepository.existsById(id)) {
-            throw new RuntimeException("Budget allocation not found with id: " + id);
-        }
+        BudgetAllocation budgetAllocation = getBudgetAllocationById(id);
         budgetAllocationRepository.deleteById(id);
+        eventPublisher.publishEvent(new BudgetAllocationChangedEvent(budgetAllocation.getCategoryId()));
     }
 
     /**
      * Get budget vs actual spending comparison for current month
      */
+    @Transactional(readOnly = true)
     public List<BudgetComparisonDTO> getBudgetComparison() {
+        return getBudgetComparison(null);
+    }
+
+    /**
+     * Get budget vs actual spending comparison for current month in the given currency
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetComparisonDTO> getBudgetComparison(String currency) {
         YearMonth currentMonth = YearMonth.now();
         LocalDate startDate = currentMonth.atDay(1);
         LocalDate endDate = currentMonth.atEndOfMonth();
 
-        return getBudgetComparison(startDate, endDate);
+        return getBudgetComparison(startDate, endDate, currency);
     }
 
     /**
      * Get budget vs actual spending comparison for specified date range
      */
+    @Transactional(readOnly = true)
     public List<BudgetComparisonDTO> getBudgetComparison(LocalDate startDate, LocalDate endDate) {
+        return getBudgetComparison(startDate, endDate, null);
+    }
+
+    /**
+     * Get budget vs actual spending comparison for specified date range.
+     * Budgets are in the reporting base currency; spending is converted into the given currency
+     * (defaults to the base currency) and budgets with it.
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetComparisonDTO> getBudgetComparison(LocalDate startDate, LocalDate endDate, String currency) {
+        String reportCurrency = exchangeRateService.resolveCurrency(currency);
+        String budgetCurrency = exchangeRateService.getBaseCurrency();
+
+        // Actual spending for all categories in one pass instead of one query per allocation.
+        // Whole-month ranges in the base currency are served from the maintained monthly totals.
+        LongLongHashMap actualByCategory;
+        if (reportCurrency.equals(budgetCurrency) && isWholeMonths(startDate, endDate)) {
+            actualByCategory = budgetActualsService.getSpendingByCategory(startDate, endDate);
+        } else {
+            actualByCategory = exchangeRateService.mergeCategoryTotals(
+                shardRouter.fanOutList(() ->
+                    transactionRepository.sumAmountByCategoryInCurrency(reportCurrency, startDate, endDate)),
+                shardRouter.fanOutList(() ->
+                    transactionRepository.sumDailyAmountByCategoryNotInCurrency(reportCurrency, startDate, endDate)),
+                reportCurrency
+            );
+        }
+
         List<BudgetAllocation> budgetAllocations = budgetAllocationRepository.findAll();
+        LongObjectHashMap<Category> categories = categoryService.getCategoryIndex();
         List<BudgetComparisonDTO> comparisonList = new ArrayList<>();
 
         for (BudgetAllocation allocation : budgetAllocations) {
-            Category category = categoryService.getCategoryById(allocation.getCategoryId());
+            Category category = categories.get(allocation.getCategoryId());
+            if (category == null) {
+                throw new RuntimeException("Category not found with id: " + allocation.getCategoryId());
+            }
 
-            // Calculate actual spending for this category
-            BigDecimal actualSpent = transactionRepository.sumAmountByCategoryIdAndDateRange(
-                allocation.getCategoryId(), startDate, endDate
+            Money actualSpent = Money.ofMinor(actualByCategory.get(allocation.getCategoryId(), 0));
+            Money budgetedAmount = exchangeRateService.convert(
+                Money.of(allocation.getAllocatedAmount()), budgetCurrency, reportCurrency, endDate
             );
 
-            if (actualSpent == null) {
-                actualSpent = BigDecimal.ZERO;
-            }
-
             // Calculate remaining budget
-            BigDecimal remaining = allocation.getAllocatedAmount().subtract(actualSpent);
+            Money remaining = budgetedAmount.minus(actualSpent);
 
             // Calculate percentage used
-            Double percentageUsed = 0.0;
-            if (allocation.getAllocatedAmount().compareTo(BigDecimal.ZERO) > 0) {
-                percentageUsed = actualSpent
-                    .divide(allocation.getAllocatedAmount(), 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-                    .doubleValue();
-            }
+            Double percentageUsed = actualSpent.percentageOf(budgetedAmount);
 
             BudgetComparisonDTO dto = new BudgetComparisonDTO();
             dto.setCategoryId(allocation.getCategoryId());
             dto.setCategoryName(category.getName());
-            dto.setBudgetedAmount(allocation.getAllocatedAmount());
-            dto.setActualSpent(actualSpent);
-            dto.setRemaining(remaining);
+            dto.setBudgetedAmount(budgetedAmount.toBigDecimal());
+            dto.setActualSpent(actualSpent.toBigDecimal());
+            dto.setRemaining(remaining.toBigDecimal());
             dto.setPercentageUsed(percentageUsed);
+            dto.setCurrency(reportCurrency);
 
             comparisonList.add(dto);
         }
@@ -163,12 +229,120 @@ public class BudgetAllocationService {
         return comparisonList;
     }
 
+    /**
+     * Get budget status of every category for its current period (today)
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetStatusDTO> getBudgetStatus() {
+        return getBudgetStatus(LocalDate.now());
+    }
+
+    /**
+     * Get budget status of every category for the period containing the given date.
+     * Actuals come from the maintained monthly totals, read in a single query covering all periods
+     * (including the previous period when rollover is enabled). Amounts are in the base currency.
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetStatusDTO> getBudgetStatus(LocalDate date) {
+        List<BudgetAllocation> budgetAllocations = budgetAllocationRepository.findAll();
+        if (budgetAllocations.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Widest range needed: previous yearly period start up to the end of the current yearly period
+        LocalDate rangeStart = BudgetPeriod.YEARLY.startOf(date).minusYears(1);
+        LocalDate rangeEnd = BudgetPeriod.YEARLY.endOf(BudgetPeriod.YEARLY.startOf(date));
+        LongObjectHashMap<NavigableMap<LocalDate, Money>> monthlySpending =
+            budgetActualsService.getMonthlySpending(rangeStart, rangeEnd);
+
+        LongObjectHashMap<Category> categories = categoryService.getCategoryIndex();
+        List<BudgetStatusDTO> statusList = new ArrayList<>();
+        for (BudgetAllocation allocation : budgetAllocations) {
+            Category category = categories.get(allocation.getCategoryId());
+            if (category == null) {
+                throw new RuntimeException("Category not found with id: " + allocation.getCategoryId());
+            }
+            BudgetPeriod period = allocation.getPeriod() != null ? allocation.getPeriod() : BudgetPeriod.MONTHLY;
+            LocalDate periodStart = period.startOf(date);
+            LocalDate periodEnd = period.endOf(periodStart);
+
+            NavigableMap<LocalDate, Money> spending = monthlySpending.get(allocation.getCategoryId());
+            Money allocated = Money.of(allocation.getAllocatedAmount());
+            Money actualSpent = sumMonths(spending, periodStart, periodEnd);
+
+            // Unused amount of the previous period, if rollover is enabled
+            Money rollover = Money.ZERO;
+            if (Boolean.TRUE.equals(allocation.getRolloverEnabled())) {
+                LocalDate previousStart = periodStart.minusMonths(period.getMonths());
+                Money previousSpent = sumMonths(spending, previousStart, period.endOf(previousStart));
+                Money unused = allocated.minus(previousSpent);
+                if (unused.isPositive()) {
+                    rollover = unused;
+                }
+            }
+
+            Money available = allocated.plus(rollover);
+
+            BudgetStatusDTO dto = new BudgetStatusDTO();
+            dto.setCategoryId(allocation.getCategoryId());
+            dto.setCategoryName(category.getName());
+            dto.setPeriod(period);
+            dto.setPeriodStart(periodStart);
+            dto.setPeriodEnd(periodEnd);
+            dto.setAllocatedAmount(allocated.toBigDecimal());
+            dto.setRolloverAmount(rollover.toBigDecimal());
+            dto.setAvailableAmount(available.toBigDecimal());
+            dto.setActualSpent(actualSpent.toBigDecimal());
+            dto.setRemaining(available.minus(actualSpent).toBigDecimal());
+            dto.setPercentageUsed(actualSpent.percentageOf(available));
+            dto.setCurrency(exchangeRateService.getBaseCurrency());
+
+            statusList.add(dto);
+        }
+
+        return statusList;
+    }
+
+    /**
+     * Recompute the maintained monthly totals from the transactions table
+     */
+    @Transactional
+    public void rebuildBudgetActuals() {
+        budgetActualsService.rebuild();
+    }
+
+    private Money sumMonths(NavigableMap<LocalDate, Money> spending, LocalDate startDate, LocalDate endDate) {
+        Money total = Money.ZERO;
+        if (spending != null) {
+            for (Money month : spending.subMap(startDate, true, endDate, true).values()) {
+                total = total.plus(month);
+            }
+        }
+        return total;
+    }
+
+    private boolean isWholeMonths(LocalDate startDate, LocalDate endDate) {
+        return startDate.getDayOfMonth() == 1
+            && endDate.equals(endDate.withDayOfMonth(endDate.lengthOfMonth()));
+    }
+
     /**
      * Calculate total budget across all categories
      */
+    @Transactional(readOnly = true)
     public BigDecimal calculateTotalBudget() {
-        return budgetAllocationRepository.findAll().stream()
-            .map(BudgetAllocation::getAllocatedAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Money total = Money.ZERO;
+        for (BudgetAllocation allocation : budgetAllocationRepository.findAll()) {
+            total = total.plus(Money.of(allocation.getAllocatedAmount()));
+        }
+        return total.toBigDecimal();
+    }
+
+    /**
+     * Get list views of all budget allocations
+     */
+    @Transactional(readOnly = true)
+    public List<BudgetAllocationViewDTO> getAllBudgetAllocationViews() {
+        return budgetAllocationRepository.findAllViews();
     }
 }
\ No newline at end of file
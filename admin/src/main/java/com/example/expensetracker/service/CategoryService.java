@@ -1,8 +1,10 @@
 package com.example.expensetracker.service;
 
+import com.example.expensetracker.dto.CategoryViewDTO;
 import com.example.expensetracker.enums.CategoryType;
 import com.example.expensetracker.model.Category;
 import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.util.LongObjectHashMap;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +23,7 @@ public class CategoryService {
     /**
      * Get all categories
      */
+    @Transactional(readOnly = true)
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
@@ -28,14 +31,29 @@ public class CategoryService {
     /**
      * Get category by ID
      */
+    @Transactional(readOnly = true)
     public Category getCategoryById(Long id) {
         return categoryRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
     }
 
+    /**
+     * Get all categories keyed by ID, for resolving names and parents of many IDs at once
+     */
+    @Transactional(readOnly = true)
+    public LongObjectHashMap<Category> getCategoryIndex() {
+        List<Category> categories = categoryRepository.findAll();
+        LongObjectHashMap<Category> index = new LongObjectHashMap<>(categories.size());
+        for (Category category : categories) {
+            index.put(category.getId(), category);
+        }
+        return index;
+    }
+
     /**
      * Get categories by type (EXPENSE or INCOME)
      */
+    @Transactional(readOnly = true)
     public List<Category> getCategoriesByType(CategoryType type) {
         return categoryRepository.findByType(type);
     }
@@ -43,6 +61,7 @@ public class CategoryService {
     /**
      * Get top-level categories (no parent)
      */
+    @Transactional(readOnly = true)
     public List<Category> getTopLevelCategories() {
         return categoryRepository.findByParentCategoryIdIsNull();
     }
@@ -50,6 +69,7 @@ public class CategoryService {
     /**
      * Get subcategories of a parent category
      */
+    @Transactional(readOnly = true)
     public List<Category> getSubcategories(Long parentCategoryId) {
         return categoryRepository.findByParentCategoryId(parentCategoryId);
     }
@@ -116,7 +136,40 @@ public class CategoryService {
     /**
      * Check if category exists
      */
+    @Transactional(readOnly = true)
     public boolean categoryExists(Long id) {
         return categoryRepository.existsById(id);
     }
+
+    /**
+     * Get list views of all categories
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryViewDTO> getAllCategoryViews() {
+        return categoryRepository.findAllViews();
+    }
+
+    /**
+     * Get list views of categories by type
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryViewDTO> getCategoryViewsByType(CategoryType type) {
+        return categoryRepository.findViewsByType(type);
+    }
+
+    /**
+     * Get list views of top-level categories
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryViewDTO> getTopLevelCategoryViews() {
+        return categoryRepository.findTopLevelViews();
+    }
+
+    /**
+     * Get list views of subcategories
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryViewDTO> getSubcategoryViews(Long parentCategoryId) {
+        return categoryRepository.findViewsByParentCategoryId(parentCategoryId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.example.expensetracker.service;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * CSV statement parser. Columns are located by header name; only mapped columns are decoded into strings,
+ * the others are skipped in place. Quoted fields may contain commas and escaped quotes but not line breaks,
+ * since chunks are split at line boundaries.
+ */
+final class CsvStatementParser implements StatementParser {
+
+    private static final int DATE = 0;
+    private static final int AMOUNT = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int TYPE = 3;
+    private static final int CATEGORY = 4;
+    private static final int ACCOUNT = 5;
+    private static final int NOTES = 6;
+    private static final int EXTERNAL_ID = 7;
+    private static final int SLOTS = 8;
+
+    // column index -> slot, or -1 for columns we do not read
+    private final int[] columnSlots;
+    private final DateTimeFormatter dateFormatter;
+
+    private CsvStatementParser(int[] columnSlots, DateTimeFormatter dateFormatter) {
+        this.columnSlots = columnSlots;
+        this.dateFormatter = dateFormatter;
+    }
+
+    /**
+     * Build a parser from the header line. Requires a date and an amount column.
+     */
+    static CsvStatementParser fromHeader(String headerLine, DateTimeFormatter dateFormatter) {
+        String[] names = headerLine.split(",");
+        int[] columnSlots = new int[names.length];
+        boolean[] found = new boolean[SLOTS];
+        for (int i = 0; i < names.length; i++) {
+            int slot = slotFor(names[i].replace("\"", "").trim().toLowerCase());
+            if (slot >= 0 && found[slot]) {
+                slot = -1;
+            }
+            columnSlots[i] = slot;
+            if (slot >= 0) {
+                found[slot] = true;
+            }
+        }
+        if (!found[DATE] || !found[AMOUNT]) {
+            throw new RuntimeException("CSV header must contain date and amount columns: " + headerLine);
+        }
+        return new CsvStatementParser(columnSlots, dateFormatter);
+    }
+
+    private static int slotFor(String name) {
+        return switch (name) {
+            case "date", "transaction date", "transaction_date", "posted date", "posting date" -> DATE;
+            case "amount" -> AMOUNT;
+            case "description", "payee", "name" -> DESCRIPTION;
+            case "type", "transaction type", "transaction_type" -> TYPE;
+            case "category" -> CATEGORY;
+            case "account" -> ACCOUNT;
+            case "notes", "memo" -> NOTES;
+            case "id", "transaction id", "transaction_id", "reference", "fitid" -> EXTERNAL_ID;
+            default -> -1;
+        };
+    }
+
+    @Override
+    public int nextRecordOffset(ByteBuffer window) {
+        for (int i = window.position(); i < window.limit(); i++) {
+            if (window.get(i) == '\n') {
+                return i + 1 - window.position();
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void parse(ByteBuffer chunk, long fileOffset, Consumer<StatementRow> rows, Consumer<String> errors) {
+        int base = chunk.position();
+        int limit = chunk.limit();
+        int pos = base;
+        String[] values = new String[SLOTS];
+        byte[] scratch = new byte[256];
+
+        while (pos < limit) {
+            int recordStart = pos;
+            Arrays.fill(values, null);
+            int column = 0;
+
+            while (true) {
+                int slot = column < columnSlots.length ? columnSlots[column] : -1;
+                int length = 0;
+                boolean quoted = pos < limit && chunk.get(pos) == '"';
+                if (quoted) {
+                    pos++;
+                }
+                while (pos < limit) {
+                    byte b = chunk.get(pos);
+                    if (quoted) {
+                        if (b == '"') {
+                            if (pos + 1 < limit && chunk.get(pos + 1) == '"') {
+                                pos++;
+                            } else {
+                                quoted = false;
+                                pos++;
+                                continue;
+                            }
+                        }
+                    } else if (b == ',' || b == '\n' || b == '\r') {
+                        break;
+                    }
+                    if (slot >= 0) {
+                        if (length == scratch.length) {
+                            scratch = Arrays.copyOf(scratch, length * 2);
+                        }
+                        scratch[length++] = b;
+                    }
+                    pos++;
+                }
+                if (slot >= 0) {
+                    values[slot] = new String(scratch, 0, length, StandardCharsets.UTF_8).trim();
+                }
+                if (pos < limit && chunk.get(pos) == ',') {
+                    pos++;
+                    column++;
+                    continue;
+                }
+                while (pos < limit && (chunk.get(pos) == '\r' || chunk.get(pos) == '\n')) {
+                    pos++;
+                }
+                break;
+            }
+
+            if (isBlank(values[DATE]) && isBlank(values[AMOUNT])) {
+                continue;
+            }
+            long offset = fileOffset + (recordStart - base);
+            try {
+                rows.accept(new StatementRow(
+                    offset,
+                    parseDate(values[DATE]),
+                    parseAmount(values[AMOUNT]),
+                    values[DESCRIPTION],
+                    blankToNull(values[TYPE]),
+                    blankToNull(values[CATEGORY]),
+                    blankToNull(values[ACCOUNT]),
+                    blankToNull(values[NOTES]),
+                    blankToNull(values[EXTERNAL_ID])
+                ));
+            } catch (RuntimeException e) {
+                errors.accept("Row at byte " + offset + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private LocalDate parseDate(String value) {
+        if (isBlank(value)) {
+            throw new IllegalArgumentException("date is missing");
+        }
+        return LocalDate.parse(value, dateFormatter);
+    }
+
+    /**
+     * Parse amounts like "-1234.50", "$1,234.50" or "(1234.50)"
+     */
+    private BigDecimal parseAmount(String value) {
+        if (isBlank(value)) {
+            throw new IllegalArgumentException("amount is missing");
+        }
+        String cleaned = value.replaceAll("[^0-9.()\\-]", "");
+        boolean negative = cleaned.startsWith("(") && cleaned.endsWith(")");
+        BigDecimal amount = new BigDecimal(cleaned.replace("(", "").replace(")", ""));
+        return negative ? amount.negate() : amount;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static String blankToNull(String value) {
+        return isBlank(value) ? null : value;
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.DuplicateClusterDTO;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service for detecting duplicate transactions, e.g. when the same statement is imported twice.
+ *
+ * Exact duplicates are found through a fingerprint of (account, amount, date, normalized description)
+ * stored on each transaction and backed by an index, so checking an incoming row is a single index probe.
+ * Identical entries can be legitimate, so imports and recurring schedules recognise rows they wrote before
+ * by a unique key of the source row (statement row or schedule occurrence) instead of the fingerprint.
+ * Near-duplicates (same account, amount and date but slightly different descriptions) are clustered by
+ * comparing descriptions only within those (account, amount, date) groups.
+ * Rows written before fingerprints existed are backfilled in the background after startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DuplicateTransactionService {
+
+    private static final int FINGERPRINT_BYTES = 16;
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private static final String SELECT_UNFINGERPRINTED_SQL =
+        "SELECT id, account_id, amount, transaction_date, description FROM transactions " +
+        "WHERE fingerprint IS NULL AND id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_FINGERPRINT_SQL =
+        "UPDATE transactions SET fingerprint = ? WHERE id = ?";
+
+    private final TransactionRepository transactionRepository;
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Fingerprint rows stored before fingerprints were introduced, so they are found as duplicates
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillFingerprints() {
+        Thread.ofVirtual().name("fingerprint-backfill").start(() -> {
+            try {
+                shardRouter.forEachShard(shard -> {
+                    long updated = backfillShard();
+                    if (updated > 0) {
+                        log.info("Backfilled fingerprints of {} transactions on shard {}", updated, shard);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Fingerprint backfill failed", e);
+            }
+        });
+    }
+
+    private long backfillShard() {
+        long updated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Transaction> rows = jdbcTemplate.query(SELECT_UNFINGERPRINTED_SQL, (resultSet, rowNum) -> {
+                Transaction transaction = new Transaction();
+                transaction.setId(resultSet.getLong("id"));
+                transaction.setAccountId(resultSet.getLong("account_id"));
+                transaction.setAmount(resultSet.getBigDecimal("amount"));
+                Date transactionDate = resultSet.getDate("transaction_date");
+                transaction.setTransactionDate(transactionDate.toLocalDate());
+                transaction.setDescription(resultSet.getString("description"));
+                return transaction;
+            }, lastId, BACKFILL_BATCH_SIZE);
+            if (rows.isEmpty()) {
+                return updated;
+            }
+
+            jdbcTemplate.batchUpdate(UPDATE_FINGERPRINT_SQL, rows, rows.size(), (statement, transaction) -> {
+                statement.setString(1, fingerprint(transaction));
+                statement.setLong(2, transaction.getId());
+            });
+            updated += rows.size();
+            lastId = rows.get(rows.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Compute the fingerprint of a transaction
+     */
+    public String fingerprint(Transaction transaction) {
+        String key = transaction.getAccountId() + "|" +
+            transaction.getAmount().setScale(2, RoundingMode.HALF_UP).toPlainString() + "|" +
+            transaction.getTransactionDate() + "|" +
+            normalizeDescription(transaction.getDescription());
+
+        return digest(key);
+    }
+
+    /**
+     * Compute the import key of a statement row: derived from the statement's own transaction id when it
+     * has one (e.g. the OFX FITID), else from the fingerprint and the row's ordinal among identical rows of
+     * the statement, so re-importing a statement matches every row again while two equal purchases on one
+     * day stay two rows. The first of identical rows keys on the bare fingerprint, like rows imported
+     * before ordinals existed.
+     *
+     * @param fingerprint fingerprint of the row
+     * @param externalId  transaction id from the statement, or null
+     * @param ordinal     0-based position of the row among the statement's rows with this fingerprint
+     */
+    public String importKey(Long accountId, String fingerprint, String externalId, int ordinal) {
+        if (externalId != null && !externalId.isBlank()) {
+            return digest(accountId + "|id|" + externalId.trim());
+        }
+        return ordinal == 0 ? fingerprint : digest(fingerprint + "|" + ordinal);
+    }
+
+    /**
+     * Compute the key marking the n-th (0-based) occurrence of a recurring transaction once materialized
+     */
+    public String occurrenceKey(Long recurringTransactionId, int occurrence) {
+        return digest("recurring|" + recurringTransactionId + "|" + occurrence);
+    }
+
+    private String digest(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, FINGERPRINT_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Normalize a description for comparison: lower case, alphanumerics only, single spaces
+     */
+    public String normalizeDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        return description.toLowerCase()
+            .replaceAll("[^a-z0-9]+", " ")
+            .trim();
+    }
+
+    /**
+     * Check if a transaction with the same fingerprint already exists
+     */
+    public boolean isDuplicate(Transaction transaction) {
+        return transactionRepository.existsByFingerprint(fingerprint(transaction));
+    }
+
+    /**
+     * Check if a transaction with the given import or occurrence key exists
+     */
+    public boolean importKeyExists(String importKey) {
+        return transactionRepository.existsByImportKey(importKey);
+    }
+
+    /**
+     * Find which of the given import keys already exist, i.e. rows of a statement imported before
+     * (imported rows keep their import key when edited)
+     */
+    public Set<String> findExistingImportKeys(Collection<String> importKeys) {
+        if (importKeys.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(transactionRepository.findExistingImportKeys(importKeys));
+    }
+
+    /**
+     * Count the existing transactions per fingerprint, leaving out fingerprints without any
+     */
+    public Map<String, Long> countByFingerprint(Collection<String> fingerprints) {
+        Map<String, Long> counts = new HashMap<>();
+        if (fingerprints.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : transactionRepository.countByFingerprints(fingerprints)) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Cluster near-duplicate transactions within a date range.
+     * Two transactions belong to the same cluster when they share account, amount and date and their
+     * descriptions have a trigram similarity of at least the given threshold (0.0 - 1.0).
+     */
+    public List<DuplicateClusterDTO> findNearDuplicateClusters(LocalDate startDate, LocalDate endDate,
+                                                               double threshold) {
+        // Candidates share an account, so every cluster lies within one shard
+        return shardRouter.fanOutList(() -> findNearDuplicateClustersOnShard(startDate, endDate, threshold));
+    }
+
+    private List<DuplicateClusterDTO> findNearDuplicateClustersOnShard(LocalDate startDate, LocalDate endDate,
+                                                                       double threshold) {
+        List<DuplicateClusterDTO> clusters = new ArrayList<>();
+
+        for (Object[] group : transactionRepository.findDuplicateCandidateGroups(startDate, endDate)) {
+            Long accountId = (Long) group[0];
+            BigDecimal amount = (BigDecimal) group[1];
+            LocalDate transactionDate = (LocalDate) group[2];
+
+            List<Transaction> candidates = transactionRepository.findByAccountIdAndAmountAndTransactionDate(
+                accountId, amount, transactionDate
+            );
+
+            for (List<Transaction> cluster : clusterBySimilarity(candidates, threshold)) {
+                clusters.add(new DuplicateClusterDTO(accountId, amount, transactionDate, cluster));
+            }
+        }
+
+        return clusters;
+    }
+
+    /**
+     * Group candidates whose descriptions are similar (single-link), keeping groups of two or more
+     */
+    private List<List<Transaction>> clusterBySimilarity(List<Transaction> candidates, double threshold) {
+        int size = candidates.size();
+        int[] parent = new int[size];
+        List<Set<String>> trigrams = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+            trigrams.add(trigrams(normalizeDescription(candidates.get(i).getDescription())));
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                if (similarity(trigrams.get(i), trigrams.get(j)) >= threshold) {
+                    parent[find(parent, i)] = find(parent, j);
+                }
+            }
+        }
+
+        Map<Integer, List<Transaction>> groups = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            groups.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(candidates.get(i));
+        }
+
+        List<List<Transaction>> clusters = new ArrayList<>();
+        for (List<Transaction> group : groups.values()) {
+            if (group.size() > 1) {
+                clusters.add(group);
+            }
+        }
+        return clusters;
+    }
+
+    private int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private Set<String> trigrams(String text) {
+        Set<String> result = new HashSet<>();
+        String padded = "  " + text + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * Jaccard similarity of two trigram sets
+     */
+    private double similarity(Set<String> a, Set<String> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1.0;
+        }
+        int intersection = 0;
+        for (String trigram : a) {
+            if (b.contains(trigram)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+}
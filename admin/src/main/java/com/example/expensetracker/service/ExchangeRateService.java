@@ -0,0 +1,204 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.event.ExchangeRatesChangedEvent;
+import com.example.expensetracker.model.ExchangeRate;
+import com.example.expensetracker.model.ExchangeRateTable;
+import com.example.expensetracker.model.Money;
+import com.example.expensetracker.repository.ExchangeRateRepository;
+import com.example.expensetracker.util.LongLongHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service layer for ExchangeRate operations and currency conversion.
+ *
+ * All rates are held in an in-memory cache indexed by currency pair and date, so converting an
+ * aggregate row never queries the database. The cache is loaded while the context starts, before the
+ * web server takes requests, and rebuilt whenever rates change.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExchangeRateService implements SmartInitializingSingleton {
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${expensetracker.reporting.base-currency:USD}")
+    private String baseCurrency;
+
+    // Replaced as a whole on reload; empty until the first load
+    private volatile ExchangeRateTable rateTable = new ExchangeRateTable(null);
+
+    /**
+     * Load the rates once all singletons exist, before the web server starts and before the
+     * ApplicationReadyEvent loaders that convert amounts
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        loadRates();
+    }
+
+    /**
+     * Load all rates into the cache
+     */
+    public void loadRates() {
+        ExchangeRateTable table = new ExchangeRateTable(baseCurrency);
+        for (ExchangeRate rate : exchangeRateRepository.findAll()) {
+            table.add(rate.getBaseCurrency(), rate.getQuoteCurrency(), rate.getRateDate(), rate.getRate());
+        }
+        rateTable = table;
+    }
+
+    /**
+     * Get the default reporting currency
+     */
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * Resolve a requested reporting currency, falling back to the default one
+     */
+    public String resolveCurrency(String currency) {
+        return currency == null || currency.isBlank() ? baseCurrency : currency.toUpperCase();
+    }
+
+    /**
+     * Get all exchange rates
+     */
+    public List<ExchangeRate> getAllExchangeRates() {
+        return exchangeRateRepository.findAll();
+    }
+
+    /**
+     * Get exchange rates for a currency pair
+     */
+    public List<ExchangeRate> getExchangeRates(String baseCurrency, String quoteCurrency) {
+        return exchangeRateRepository.findByBaseCurrencyAndQuoteCurrencyOrderByRateDateAsc(baseCurrency, quoteCurrency);
+    }
+
+    /**
+     * Create or replace the rate for a currency pair on a date
+     */
+    @Transactional
+    public ExchangeRate saveExchangeRate(ExchangeRate exchangeRate) {
+        ExchangeRate rate = exchangeRateRepository.findByBaseCurrencyAndQuoteCurrencyAndRateDate(
+            exchangeRate.getBaseCurrency(), exchangeRate.getQuoteCurrency(), exchangeRate.getRateDate()
+        ).orElse(exchangeRate);
+        rate.setRate(exchangeRate.getRate());
+
+        ExchangeRate savedRate = exchangeRateRepository.save(rate);
+        reloadAfterCommit(savedRate.getBaseCurrency(), savedRate.getQuoteCurrency(), savedRate.getRateDate());
+        return savedRate;
+    }
+
+    /**
+     * Delete exchange rate
+     */
+    @Transactional
+    public void deleteExchangeRate(Long id) {
+        ExchangeRate rate = exchangeRateRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Exchange rate not found with id: " + id));
+        exchangeRateRepository.delete(rate);
+        reloadAfterCommit(rate.getBaseCurrency(), rate.getQuoteCurrency(), rate.getRateDate());
+    }
+
+    /**
+     * Reload the cache and announce the change once the caller's transaction commits, so neither the
+     * cache nor the listeners' recomputations see a change that may still roll back
+     */
+    private void reloadAfterCommit(String baseCurrency, String quoteCurrency, LocalDate rateDate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ratesChanged(baseCurrency, quoteCurrency, rateDate);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ratesChanged(baseCurrency, quoteCurrency, rateDate);
+            }
+        });
+    }
+
+    /**
+     * A rate on rateDate applies until the pair's next rate, so only conversions in between change
+     */
+    private void ratesChanged(String baseCurrency, String quoteCurrency, LocalDate rateDate) {
+        loadRates();
+        LocalDate untilDate = rateTable.nextRateDate(baseCurrency, quoteCurrency, rateDate);
+        eventPublisher.publishEvent(new ExchangeRatesChangedEvent(baseCurrency, quoteCurrency, rateDate, untilDate));
+    }
+
+    /**
+     * Convert an amount between currencies using the latest rate on or before the given date.
+     * Fails when no rate is known for the pair on that date (also before its first rate).
+     */
+    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency, LocalDate date) {
+        if (fromCurrency.equals(toCurrency)) {
+            return amount;
+        }
+        return amount.multiply(getRate(fromCurrency, toCurrency, date)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Convert a Money amount between currencies using the latest rate on or before the given date
+     */
+    public Money convert(Money amount, String fromCurrency, String toCurrency, LocalDate date) {
+        if (fromCurrency.equals(toCurrency)) {
+            return amount;
+        }
+        return Money.of(amount.toBigDecimal().multiply(getRate(fromCurrency, toCurrency, date)));
+    }
+
+    /**
+     * Convert a Money amount like convert, or return null when no rate is known for the pair
+     */
+    public Money convertOrNull(Money amount, String fromCurrency, String toCurrency, LocalDate date) {
+        if (fromCurrency.equals(toCurrency)) {
+            return amount;
+        }
+        BigDecimal rate = rateTable.resolveRate(fromCurrency, toCurrency, date);
+        return rate != null ? Money.of(amount.toBigDecimal().multiply(rate)) : null;
+    }
+
+    /**
+     * Merge per-category totals already in the target currency with daily per-category totals held in
+     * other currencies, converting each daily row at that day's rate.
+     *
+     * @param totalsInCurrency rows of [categoryId, total]
+     * @param dailyTotalsInOtherCurrencies rows of [categoryId, currency, date, total]
+     */
+    public LongLongHashMap mergeCategoryTotals(List<Object[]> totalsInCurrency,
+                                               List<Object[]> dailyTotalsInOtherCurrencies,
+                                               String currency) {
+        LongLongHashMap totals = new LongLongHashMap(totalsInCurrency.size());
+        for (Object[] row : totalsInCurrency) {
+            totals.addTo((Long) row[0], Money.of((BigDecimal) row[1]).minorUnits());
+        }
+        for (Object[] row : dailyTotalsInOtherCurrencies) {
+            Money converted = convert(Money.of((BigDecimal) row[3]), (String) row[1], currency, (LocalDate) row[2]);
+            totals.addTo((Long) row[0], converted.minorUnits());
+        }
+        return totals;
+    }
+
+
+    /**
+     * Get the rate to convert one unit of fromCurrency into toCurrency.
+     * Uses the direct pair, its inverse, or a cross rate through the base currency.
+     */
+    public BigDecimal getRate(String fromCurrency, String toCurrency, LocalDate date) {
+        return rateTable.getRate(fromCurrency, toCurrency, date);
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.LiveUpdateDTO;
+import com.example.expensetracker.event.AccountBalanceChangedEvent;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionSnapshot;
+import com.example.expensetracker.model.Money;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service pushing account balance and category spending changes to subscribed clients over
+ * Server-Sent Events, so the UI does not need to poll.
+ *
+ * Changes are coalesced: within a flush interval only the latest balance per account is kept, and
+ * category spending is read once per changed (category, month) from the budget actuals. Each client
+ * then has its own pending map keyed the same way, drained on a virtual thread, so a slow client only
+ * ever receives the newest value per key and never blocks others. Clients whose backlog exceeds the
+ * configured limit are disconnected. Idle connections hold no thread.
+ */
+@Service
+@RequiredArgsConstructor
+public class LiveUpdateService {
+
+    private static final String ACCOUNT_BALANCE = "account-balance";
+    private static final String CATEGORY_SPENDING = "category-spending";
+
+    private final BudgetActualsService budgetActualsService;
+    private final ExchangeRateService exchangeRateService;
+
+    @Value("${expensetracker.live-updates.max-pending-per-client:10000}")
+    private int maxPendingPerClient;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, TenantUpdate> pendingBalances = new ConcurrentHashMap<>();
+    private final Set<CategoryMonth> changedSpending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Register a new subscriber
+     */
+    public SseEmitter subscribe() {
+        Subscriber subscriber = new Subscriber(new SseEmitter(0L), TenantContext.getTenantId());
+        subscribers.add(subscriber);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        return subscriber.emitter;
+    }
+
+    /**
+     * Number of connected subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountBalanceChanged(AccountBalanceChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        pendingBalances.put(event.accountId(), new TenantUpdate(TenantContext.getTenantId(), new LiveUpdateDTO(
+            ACCOUNT_BALANCE, event.accountId(), null, null, event.currentBalance(), event.currency()
+        )));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        markChanged(event.previous());
+        markChanged(event.current());
+    }
+
+    /**
+     * Send everything that changed since the last flush to all subscribers
+     */
+    @Scheduled(fixedDelayString = "${expensetracker.live-updates.flush-interval-ms:250}")
+    public void flush() {
+        List<TenantUpdate> updates = new ArrayList<>();
+
+        for (Long accountId : pendingBalances.keySet()) {
+            TenantUpdate update = pendingBalances.remove(accountId);
+            if (update != null) {
+                updates.add(update);
+            }
+        }
+
+        Map<LocalDate, List<CategoryMonth>> categoriesByMonth = new HashMap<>();
+        for (CategoryMonth changed : changedSpending) {
+            if (changedSpending.remove(changed)) {
+                categoriesByMonth.computeIfAbsent(changed.monthStart(), month -> new ArrayList<>()).add(changed);
+            }
+        }
+        for (Map.Entry<LocalDate, List<CategoryMonth>> month : categoriesByMonth.entrySet()) {
+            Map<Long, Money> spending = budgetActualsService.getMonthlySpending(
+                month.getValue().stream().map(CategoryMonth::categoryId).toList(), month.getKey()
+            );
+            for (CategoryMonth changed : month.getValue()) {
+                updates.add(new TenantUpdate(changed.tenantId(), new LiveUpdateDTO(
+                    CATEGORY_SPENDING, null, changed.categoryId(), month.getKey(),
+                    spending.getOrDefault(changed.categoryId(), Money.ZERO).toBigDecimal(),
+                    exchangeRateService.getBaseCurrency()
+                )));
+            }
+        }
+
+        if (updates.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(updates);
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect closed clients
+     */
+    @Scheduled(fixedRateString = "${expensetracker.live-updates.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.scheduleDrain();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdown();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void markChanged(TransactionSnapshot transaction) {
+        if (transaction != null) {
+            changedSpending.add(new CategoryMonth(
+                TenantContext.getTenantId(), transaction.categoryId(), transaction.transactionDate().withDayOfMonth(1)
+            ));
+        }
+    }
+
+    // Events arrive on the writing thread, so the current tenant owns the account or category
+    private record CategoryMonth(String tenantId, Long categoryId, LocalDate monthStart) {
+    }
+
+    private record TenantUpdate(String tenantId, LiveUpdateDTO update) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String tenantId;
+        private final Map<String, LiveUpdateDTO> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, String tenantId) {
+            this.emitter = emitter;
+            this.tenantId = tenantId;
+        }
+
+        void offer(List<TenantUpdate> updates) {
+            for (TenantUpdate update : updates) {
+                if (TenantContext.canAccess(tenantId, update.tenantId())) {
+                    pending.put(key(update.update()), update.update());
+                }
+            }
+            if (pending.size() > maxPendingPerClient) {
+                disconnect();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    for (String key : pending.keySet()) {
+                        LiveUpdateDTO update = pending.remove(key);
+                        if (update != null) {
+                            emitter.send(SseEmitter.event().name(update.getType()).data(update));
+                        }
+                    }
+                    if (heartbeatDue) {
+                        heartbeatDue = false;
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    }
+
+                    draining.set(false);
+                    // Stop unless something arrived meanwhile and no other drain picked it up
+                    if ((pending.isEmpty() && !heartbeatDue) || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                disconnect();
+            }
+        }
+
+        private void disconnect() {
+            subscribers.remove(this);
+            pending.clear();
+            emitter.complete();
+        }
+
+        private String key(LiveUpdateDTO update) {
+            return ACCOUNT_BALANCE.equals(update.getType())
+                ? "a:" + update.getAccountId()
+                : "c:" + update.getCategoryId() + ":" + update.getMonthStart();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.BudgetAlertDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Budget alert sink writing alerts to the application log
+ */
+@Slf4j
+@Component
+public class LoggingBudgetAlertSink implements BudgetAlertSink {
+
+    @Override
+    public void send(BudgetAlertDTO alert) {
+        log.info("Budget alert: category '{}' reached {}% of its budget ({} of {} {})",
+            alert.getCategoryName(), alert.getThreshold(), alert.getActualSpent(),
+            alert.getAvailableAmount(), alert.getCurrency());
+    }
+}
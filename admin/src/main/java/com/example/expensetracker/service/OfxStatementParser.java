@@ -0,0 +1,148 @@
+package com.example.expensetracker.service;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * OFX/QFX statement parser for both the SGML (1.x, unclosed leaf tags) and XML (2.x) dialects.
+ * Only the STMTTRN aggregates are read; chunks are split at their start tags.
+ */
+final class OfxStatementParser implements StatementParser {
+
+    private static final byte[] START_TAG = "<STMTTRN>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END_TAG = "</STMTTRN>".getBytes(StandardCharsets.US_ASCII);
+
+    @Override
+    public int nextRecordOffset(ByteBuffer window) {
+        int index = indexOf(window, START_TAG, window.position(), window.limit());
+        return index < 0 ? -1 : index - window.position();
+    }
+
+    @Override
+    public void parse(ByteBuffer chunk, long fileOffset, Consumer<StatementRow> rows, Consumer<String> errors) {
+        int base = chunk.position();
+        int limit = chunk.limit();
+        int pos = base;
+
+        while (true) {
+            int start = indexOf(chunk, START_TAG, pos, limit);
+            if (start < 0) {
+                return;
+            }
+            int bodyStart = start + START_TAG.length;
+            int end = indexOf(chunk, END_TAG, bodyStart, limit);
+            int nextStart = indexOf(chunk, START_TAG, bodyStart, limit);
+            if (end < 0 || (nextStart >= 0 && nextStart < end)) {
+                end = nextStart < 0 ? limit : nextStart;
+                pos = end;
+            } else {
+                pos = end + END_TAG.length;
+            }
+
+            long offset = fileOffset + (start - base);
+            try {
+                rows.accept(toRow(offset, readElements(chunk, bodyStart, end)));
+            } catch (RuntimeException e) {
+                errors.accept("Transaction at byte " + offset + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private StatementRow toRow(long offset, Map<String, String> elements) {
+        String posted = elements.get("DTPOSTED");
+        if (posted == null || posted.length() < 8) {
+            throw new IllegalArgumentException("DTPOSTED is missing");
+        }
+        String amount = elements.get("TRNAMT");
+        if (amount == null) {
+            throw new IllegalArgumentException("TRNAMT is missing");
+        }
+        String name = elements.get("NAME");
+        String memo = elements.get("MEMO");
+
+        return new StatementRow(
+            offset,
+            LocalDate.parse(posted.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE),
+            new BigDecimal(amount.replace(',', '.')),
+            name != null ? name : memo,
+            elements.get("TRNTYPE"),
+            null,
+            null,
+            name != null ? memo : null,
+            elements.get("FITID")
+        );
+    }
+
+    /**
+     * Read the leaf elements of one aggregate: the text after each start tag up to the next tag
+     */
+    private Map<String, String> readElements(ByteBuffer chunk, int from, int to) {
+        Map<String, String> elements = new HashMap<>();
+        int pos = from;
+        while (pos < to) {
+            int open = indexOf(chunk, (byte) '<', pos, to);
+            if (open < 0) {
+                break;
+            }
+            int close = indexOf(chunk, (byte) '>', open, to);
+            if (close < 0) {
+                break;
+            }
+            int valueEnd = indexOf(chunk, (byte) '<', close + 1, to);
+            if (valueEnd < 0) {
+                valueEnd = to;
+            }
+            if (chunk.get(open + 1) != '/') {
+                String tag = decode(chunk, open + 1, close);
+                String value = decode(chunk, close + 1, valueEnd).trim();
+                if (!value.isEmpty()) {
+                    elements.put(tag, unescape(value));
+                }
+            }
+            pos = valueEnd;
+        }
+        return elements;
+    }
+
+    private static String decode(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&amp;", "&");
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte[] pattern, int from, int to) {
+        int last = to - pattern.length;
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (buffer.get(i + j) != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.model.RecurringTransaction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Background job that materializes due recurring transactions.
+ *
+ * Due definitions are read in batches from the (is_active, next_occurrence_date) index, earliest first,
+ * so only definitions that are actually due are touched. Each definition is materialized in its own
+ * database transaction, which also catches up all occurrences missed during downtime.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecurringTransactionScheduler {
+
+    private final RecurringTransactionService recurringTransactionService;
+
+    @Value("${expensetracker.recurring.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Materialize everything due up to today
+     */
+    @Scheduled(fixedDelayString = "${expensetracker.recurring.poll-interval-ms:60000}")
+    public void materializeDueOccurrences() {
+        int created = runUntil(LocalDate.now());
+        if (created > 0) {
+            log.info("Materialized {} recurring transactions", created);
+        }
+    }
+
+    /**
+     * Process due definitions batch by batch until none are left (or a whole batch fails)
+     *
+     * @return number of transactions created
+     */
+    public int runUntil(LocalDate asOf) {
+        int created = 0;
+
+        while (true) {
+            List<RecurringTransaction> due = TenantContext.callAs(TenantContext.ROOT_TENANT,
+                () -> recurringTransactionService.getDueRecurringTransactions(asOf, batchSize));
+            if (due.isEmpty()) {
+                return created;
+            }
+
+            int failures = 0;
+            for (RecurringTransaction recurringTransaction : due) {
+                try {
+                    // Occurrences are created as the definition's tenant
+                    created += TenantContext.callAs(recurringTransaction.getTenantId(),
+                        () -> recurringTransactionService.materializeDueOccurrences(recurringTransaction.getId(), asOf));
+                } catch (RuntimeException e) {
+                    failures++;
+                    log.warn("Failed to materialize recurring transaction {}: {}",
+                        recurringTransaction.getId(), e.getMessage());
+                }
+            }
+
+            // Failed definitions stay due; stop instead of retrying them in a loop
+            if (failures == due.size() || failures > 0 && due.size() < batchSize) {
+                return created;
+            }
+        }
+    }
+}
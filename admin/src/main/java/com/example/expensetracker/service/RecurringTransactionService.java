@@ -0,0 +1,230 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.model.RecurringTransaction;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.RecurringTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service layer for RecurringTransaction operations
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurringTransactionService {
+
+    private final RecurringTransactionRepository recurringTransactionRepository;
+    private final TransactionService transactionService;
+    private final DuplicateTransactionService duplicateTransactionService;
+    private final AccountService accountService;
+    private final CategoryService categoryService;
+    private final ShardRouter shardRouter;
+
+    /**
+     * Get all recurring transactions
+     */
+    public List<RecurringTransaction> getAllRecurringTransactions() {
+        return shardRouter.fanOutList(recurringTransactionRepository::findAll);
+    }
+
+    /**
+     * Get recurring transaction by ID
+     */
+    public RecurringTransaction getRecurringTransactionById(Long id) {
+        return shardRouter.onShardOf(id, () -> recurringTransactionRepository.findById(id))
+            .orElseThrow(() -> new RuntimeException("Recurring transaction not found with id: " + id));
+    }
+
+    /**
+     * Get active recurring transactions due on or before a date, earliest first (across all shards)
+     */
+    public List<RecurringTransaction> getDueRecurringTransactions(LocalDate date, int limit) {
+        List<RecurringTransaction> due = shardRouter.fanOutList(() -> recurringTransactionRepository
+            .findByIsActiveTrueAndNextOccurrenceDateLessThanEqualOrderByNextOccurrenceDateAsc(
+                date, PageRequest.of(0, limit)
+            ));
+        if (!shardRouter.isSharded()) {
+            return due;
+        }
+        due.sort(Comparator.comparing(RecurringTransaction::getNextOccurrenceDate));
+        return due.size() > limit ? due.subList(0, limit) : due;
+    }
+
+    /**
+     * Create new recurring transaction, scheduled from its start date.
+     * Stored on the shard of its account, next to the transactions it creates.
+     */
+    @Transactional
+    public RecurringTransaction createRecurringTransaction(RecurringTransaction recurringTransaction) {
+        return shardRouter.onShardOf(recurringTransaction.getAccountId(), () -> createOnAccountShard(recurringTransaction));
+    }
+
+    private RecurringTransaction createOnAccountShard(RecurringTransaction recurringTransaction) {
+        validateReferences(recurringTransaction);
+
+        if (recurringTransaction.getIntervalCount() == null) {
+            recurringTransaction.setIntervalCount(1);
+        }
+        if (recurringTransaction.getIsActive() == null) {
+            recurringTransaction.setIsActive(true);
+        }
+        recurringTransaction.setOccurrenceCount(0);
+        recurringTransaction.setNextOccurrenceDate(occurrenceDate(recurringTransaction, 0));
+
+        return recurringTransactionRepository.save(recurringTransaction);
+    }
+
+    /**
+     * Update existing recurring transaction.
+     * A changed schedule restarts from the first occurrence that has not been materialized yet.
+     */
+    @Transactional
+    public RecurringTransaction updateRecurringTransaction(Long id, RecurringTransaction details) {
+        if (shardRouter.shardOf(id) != shardRouter.shardOf(details.getAccountId())) {
+            throw new RuntimeException("Cannot move recurring transaction " + id + " to account id: " +
+                details.getAccountId() + " on another shard");
+        }
+        return shardRouter.onShardOf(id, () -> updateOnAccountShard(id, details));
+    }
+
+    private RecurringTransaction updateOnAccountShard(Long id, RecurringTransaction details) {
+        RecurringTransaction recurringTransaction = getRecurringTransactionById(id);
+        validateReferences(details);
+
+        LocalDate resumeFrom = recurringTransaction.getNextOccurrenceDate();
+        int materialized = recurringTransaction.getOccurrenceCount() == null ? 0 : recurringTransaction.getOccurrenceCount();
+
+        recurringTransaction.setAccountId(details.getAccountId());
+        recurringTransaction.setCategoryId(details.getCategoryId());
+        recurringTransaction.setAmount(details.getAmount());
+        recurringTransaction.setTransactionType(details.getTransactionType());
+        recurringTransaction.setDescription(details.getDescription());
+        recurringTransaction.setNotes(details.getNotes());
+        recurringTransaction.setFrequency(details.getFrequency());
+        recurringTransaction.setIntervalCount(details.getIntervalCount() == null ? 1 : details.getIntervalCount());
+        recurringTransaction.setStartDate(details.getStartDate());
+        recurringTransaction.setEndDate(details.getEndDate());
+        if (details.getIsActive() != null) {
+            recurringTransaction.setIsActive(details.getIsActive());
+        }
+
+        // Skip occurrences before the point the old schedule had reached. A finished schedule has no next
+        // date; it resumes after the occurrences it already went through (e.g. when the end date is extended).
+        int count = 0;
+        if (resumeFrom != null) {
+            LocalDate date = occurrenceDate(recurringTransaction, count);
+            // Null once past a shortened end date: the schedule is finished
+            while (date != null && date.isBefore(resumeFrom)) {
+                count++;
+                date = occurrenceDate(recurringTransaction, count);
+            }
+        } else {
+            count = materialized;
+        }
+        recurringTransaction.setOccurrenceCount(count);
+        recurringTransaction.setNextOccurrenceDate(occurrenceDate(recurringTransaction, count));
+
+        return recurringTransactionRepository.save(recurringTransaction);
+    }
+
+    /**
+     * Delete recurring transaction (already materialized transactions are kept)
+     */
+    @Transactional
+    public void deleteRecurringTransaction(Long id) {
+        shardRouter.onShardOf(id, () -> {
+            if (!recurringTransactionRepository.existsById(id)) {
+                throw new RuntimeException("Recurring transaction not found with id: " + id);
+            }
+            recurringTransactionRepository.deleteById(id);
+            return null;
+        });
+    }
+
+    /**
+     * Create transactions for every occurrence due on or before the given date.
+     * Runs in one database transaction together with advancing the schedule, and the version check on
+     * the definition rejects a concurrent run, so each occurrence is materialized exactly once.
+     * Occurrences materialized before (marked by their occurrence key) are skipped.
+     *
+     * @return number of transactions created
+     */
+    @Transactional
+    public int materializeDueOccurrences(Long id, LocalDate asOf) {
+        return shardRouter.onShardOf(id, () -> materializeOnAccountShard(id, asOf));
+    }
+
+    private int materializeOnAccountShard(Long id, LocalDate asOf) {
+        RecurringTransaction recurringTransaction = getRecurringTransactionById(id);
+        int created = 0;
+
+        while (Boolean.TRUE.equals(recurringTransaction.getIsActive())
+            && recurringTransaction.getNextOccurrenceDate() != null
+            && !recurringTransaction.getNextOccurrenceDate().isAfter(asOf)) {
+
+            Transaction transaction = toTransaction(recurringTransaction, recurringTransaction.getNextOccurrenceDate());
+            // A manual entry with the same amount, date and description is not this occurrence
+            transaction.setImportKey(duplicateTransactionService.occurrenceKey(
+                recurringTransaction.getId(), recurringTransaction.getOccurrenceCount()
+            ));
+            if (!duplicateTransactionService.importKeyExists(transaction.getImportKey())) {
+                transactionService.createTransaction(transaction);
+                created++;
+            }
+
+            int count = recurringTransaction.getOccurrenceCount() + 1;
+            recurringTransaction.setOccurrenceCount(count);
+            recurringTransaction.setNextOccurrenceDate(occurrenceDate(recurringTransaction, count));
+        }
+
+        recurringTransactionRepository.save(recurringTransaction);
+        return created;
+    }
+
+    /**
+     * Date of the n-th occurrence (0-based), or null if it falls after the end date.
+     * Computed from the start date so month-end schedules do not drift (Jan 31, Feb 28, Mar 31, ...).
+     */
+    private LocalDate occurrenceDate(RecurringTransaction recurringTransaction, int n) {
+        long steps = (long) n * recurringTransaction.getIntervalCount();
+        LocalDate start = recurringTransaction.getStartDate();
+
+        LocalDate date = switch (recurringTransaction.getFrequency()) {
+            case DAILY -> start.plusDays(steps);
+            case WEEKLY -> start.plusWeeks(steps);
+            case MONTHLY -> start.plusMonths(steps);
+            case YEARLY -> start.plusYears(steps);
+        };
+
+        if (recurringTransaction.getEndDate() != null && date.isAfter(recurringTransaction.getEndDate())) {
+            return null;
+        }
+        return date;
+    }
+
+    private Transaction toTransaction(RecurringTransaction recurringTransaction, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setAccountId(recurringTransaction.getAccountId());
+        transaction.setCategoryId(recurringTransaction.getCategoryId());
+        transaction.setAmount(recurringTransaction.getAmount());
+        transaction.setTransactionType(recurringTransaction.getTransactionType());
+        transaction.setTransactionDate(date);
+        transaction.setDescription(recurringTransaction.getDescription());
+        transaction.setNotes(recurringTransaction.getNotes());
+        return transaction;
+    }
+
+    private void validateReferences(RecurringTransaction recurringTransaction) {
+        accountService.getAccountById(recurringTransaction.getAccountId());
+
+        if (!categoryService.categoryExists(recurringTransaction.getCategoryId())) {
+            throw new RuntimeException("Category not found with id: " + recurringTransaction.getCategoryId());
+        }
+    }
+}
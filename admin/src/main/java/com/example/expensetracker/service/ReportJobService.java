@@ -0,0 +1,433 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.MonthlySpendingDTO;
+import com.example.expensetracker.dto.ReportJobDTO;
+import com.example.expensetracker.dto.ReportMonthDTO;
+import com.example.expensetracker.dto.ReportResultDTO;
+import com.example.expensetracker.dto.ReportSpecDTO;
+import com.example.expensetracker.enums.ReportJobStatus;
+import com.example.expensetracker.enums.ReportPriority;
+import com.example.expensetracker.enums.ReportType;
+import com.example.expensetracker.event.ExchangeRatesChangedEvent;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionSnapshot;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for long-running reports, executed as background jobs.
+ *
+ * Jobs are queued per client. The dispatcher always starts the highest-priority queued job, taking clients
+ * in round-robin order on ties, and runs at most max-concurrent-jobs at once. A job is split into one
+ * partition per calendar month. Partitions run in parallel on a small pool, each in its own short
+ * transaction on the primary, and are cached by tenant, month, currency and that month's data version.
+ * A write only invalidates the months it touched. Partitions do not read from a replica: a lagging
+ * replica's result would be cached under the new data version.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportJobService {
+
+    private static final int MAX_FINISHED_JOBS = 200;
+    private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private static final Comparator<ReportJob> QUEUE_ORDER = Comparator
+        .comparing((ReportJob job) -> job.spec.getPriority())
+        .thenComparingLong(job -> job.sequence);
+
+    private final TransactionService transactionService;
+    private final ExchangeRateService exchangeRateService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${expensetracker.reports.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${expensetracker.reports.partition-parallelism:4}")
+    private int partitionParallelism;
+
+    @Value("${expensetracker.reports.max-months:600}")
+    private int maxMonths;
+
+    @Value("${expensetracker.reports.cache-size:20000}")
+    private long cacheSize;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Scheduler state, guarded by this
+    private final Map<String, PriorityQueue<ReportJob>> queuesByClient = new HashMap<>();
+    private final Deque<String> clientRotation = new ArrayDeque<>();
+    private int runningJobs;
+
+    // Data versions: bumped per month on transaction writes, globally on bulk imports and rate changes
+    private final Map<YearMonth, Long> monthVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private Cache<PartitionKey, List<MonthlySpendingDTO>> partitionCache;
+    private final ExecutorService jobExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private ExecutorService partitionExecutor;
+
+    @PostConstruct
+    public void start() {
+        partitionExecutor = Executors.newFixedThreadPool(partitionParallelism);
+        partitionCache = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            // Category names are part of the cached rows and are not versioned
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        partitionExecutor.shutdownNow();
+    }
+
+    /**
+     * Queue a report for the given client
+     */
+    public ReportJobDTO submit(ReportSpecDTO spec, String clientKey) {
+        if (spec.getEndDate().isBefore(spec.getStartDate())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        long months = YearMonth.from(spec.getStartDate()).until(YearMonth.from(spec.getEndDate()), ChronoUnit.MONTHS) + 1;
+        if (months > maxMonths) {
+            throw new RuntimeException("Report range cannot exceed " + maxMonths + " months");
+        }
+        if (spec.getPriority() == null) {
+            spec.setPriority(ReportPriority.NORMAL);
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), spec, clientKey, sequence.incrementAndGet());
+        pruneFinishedJobs();
+        jobs.put(job.id, job);
+        synchronized (this) {
+            PriorityQueue<ReportJob> queue = queuesByClient.computeIfAbsent(clientKey, key -> {
+                clientRotation.addLast(key);
+                return new PriorityQueue<>(QUEUE_ORDER);
+            });
+            queue.add(job);
+            dispatch();
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Get report job by ID
+     */
+    public ReportJobDTO getJob(String id) {
+        return findJob(id).toDTO();
+    }
+
+    /**
+     * Get the result of a completed report job, or null while it is still queued or running
+     */
+    public ReportResultDTO getResult(String id) {
+        ReportJob job = findJob(id);
+        if (job.status == ReportJobStatus.FAILED || job.status == ReportJobStatus.CANCELLED) {
+            throw new RuntimeException("Report job " + id + " did not complete: " + job.status);
+        }
+        return job.result;
+    }
+
+    /**
+     * Cancel a queued report job; running jobs finish normally
+     */
+    public ReportJobDTO cancel(String id) {
+        ReportJob job = findJob(id);
+        synchronized (this) {
+            PriorityQueue<ReportJob> queue = queuesByClient.get(job.clientKey);
+            if (job.status == ReportJobStatus.QUEUED && queue != null && queue.remove(job)) {
+                if (queue.isEmpty()) {
+                    queuesByClient.remove(job.clientKey);
+                    clientRotation.remove(job.clientKey);
+                }
+                job.finish(ReportJobStatus.CANCELLED, null);
+            }
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Stream partition results as they complete ("partition" events), then the final job state
+     * ("completed", "failed" or "cancelled")
+     */
+    public SseEmitter stream(String id) {
+        ReportJob job = findJob(id);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        job.subscribers.add(emitter);
+        emitter.onCompletion(() -> job.subscribers.remove(emitter));
+        emitter.onTimeout(() -> job.subscribers.remove(emitter));
+        if (job.finishedAt != null) {
+            job.notifyFinished();
+        }
+        return emitter;
+    }
+
+    /**
+     * A committed transaction write invalidates the cached partitions of its month(s)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        bumpMonth(event.previous());
+        bumpMonth(event.current());
+    }
+
+    @EventListener
+    public void onTransactionsImported(TransactionsImportedEvent event) {
+        globalVersion.incrementAndGet();
+    }
+
+    @EventListener
+    public void onExchangeRatesChanged(ExchangeRatesChangedEvent event) {
+        globalVersion.incrementAndGet();
+    }
+
+    private void bumpMonth(TransactionSnapshot snapshot) {
+        if (snapshot != null) {
+            monthVersions.merge(YearMonth.from(snapshot.transactionDate()), 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Start queued jobs while there is capacity. Must hold the lock.
+     */
+    private void dispatch() {
+        while (runningJobs < maxConcurrentJobs && !clientRotation.isEmpty()) {
+            // Highest-priority head wins; among equals, the client that waited longest in the rotation
+            String chosen = null;
+            ReportPriority best = null;
+            for (String client : clientRotation) {
+                ReportPriority priority = queuesByClient.get(client).peek().spec.getPriority();
+                if (best == null || priority.compareTo(best) < 0) {
+                    best = priority;
+                    chosen = client;
+                }
+            }
+            clientRotation.remove(chosen);
+            PriorityQueue<ReportJob> queue = queuesByClient.get(chosen);
+            ReportJob job = queue.poll();
+            if (queue.isEmpty()) {
+                queuesByClient.remove(chosen);
+            } else {
+                clientRotation.addLast(chosen);
+            }
+
+            runningJobs++;
+            job.status = ReportJobStatus.RUNNING;
+            job.startedAt = LocalDateTime.now();
+            jobExecutor.execute(() -> {
+                try {
+                    TenantContext.runAs(job.tenantId, () -> run(job));
+                } finally {
+                    synchronized (this) {
+                        runningJobs--;
+                        dispatch();
+                    }
+                }
+            });
+        }
+    }
+
+    private void run(ReportJob job) {
+        try {
+            ReportSpecDTO spec = job.spec;
+            String currency = exchangeRateService.resolveCurrency(spec.getCurrency());
+            List<LocalDate[]> partitions = partitions(spec.getStartDate(), spec.getEndDate());
+            job.partitionsTotal = partitions.size();
+
+            List<CompletableFuture<ReportMonthDTO>> futures = new ArrayList<>();
+            for (LocalDate[] partition : partitions) {
+                futures.add(CompletableFuture.supplyAsync(
+                    () -> TenantContext.callAs(job.tenantId, () -> runPartition(job, partition[0], partition[1], currency)),
+                    partitionExecutor
+                ));
+            }
+            List<ReportMonthDTO> months = new ArrayList<>();
+            for (CompletableFuture<ReportMonthDTO> future : futures) {
+                months.add(future.join());
+            }
+
+            job.result = new ReportResultDTO(
+                job.id, spec, currency,
+                spec.getType() == ReportType.MONTHLY_SPENDING_BY_CATEGORY ? months : null,
+                mergeTotals(months, currency)
+            );
+            job.finish(ReportJobStatus.COMPLETED, null);
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Report job {} failed", job.id, cause);
+            job.finish(ReportJobStatus.FAILED, cause.getMessage());
+        }
+    }
+
+    private ReportMonthDTO runPartition(ReportJob job, LocalDate start, LocalDate end, String currency) {
+        YearMonth month = YearMonth.from(start);
+        PartitionKey key = new PartitionKey(
+            job.tenantId, start, end, currency, monthVersions.getOrDefault(month, 0L), globalVersion.get()
+        );
+
+        List<MonthlySpendingDTO> spending = partitionCache.getIfPresent(key);
+        if (spending != null) {
+            job.partitionsCached.incrementAndGet();
+        } else {
+            // A read-write transaction, which the read-only query joins, keeps it on the primary
+            spending = transactionTemplate.execute(status ->
+                List.copyOf(transactionService.getMonthlySpendingByCategory(start, end, currency)));
+            partitionCache.put(key, spending);
+        }
+
+        ReportMonthDTO result = new ReportMonthDTO(month.atDay(1), spending);
+        job.partitionsCompleted.incrementAndGet();
+        job.send("partition", result);
+        return result;
+    }
+
+    /**
+     * One [start, end] range per calendar month, clipped to the requested range
+     */
+    private List<LocalDate[]> partitions(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate[]> partitions = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate));
+             month = month.plusMonths(1)) {
+            LocalDate start = month.atDay(1).isBefore(startDate) ? startDate : month.atDay(1);
+            LocalDate end = month.atEndOfMonth().isAfter(endDate) ? endDate : month.atEndOfMonth();
+            partitions.add(new LocalDate[]{start, end});
+        }
+        return partitions;
+    }
+
+    private List<MonthlySpendingDTO> mergeTotals(List<ReportMonthDTO> months, String currency) {
+        Map<Long, MonthlySpendingDTO> totals = new LinkedHashMap<>();
+        for (ReportMonthDTO month : months) {
+            for (MonthlySpendingDTO spending : month.getSpending()) {
+                MonthlySpendingDTO total = totals.computeIfAbsent(spending.getCategoryId(), categoryId ->
+                    new MonthlySpendingDTO(categoryId, spending.getCategoryName(), BigDecimal.ZERO, currency)
+                );
+                total.setTotalSpent(total.getTotalSpent().add(spending.getTotalSpent()));
+            }
+        }
+        return new ArrayList<>(totals.values());
+    }
+
+    private ReportJob findJob(String id) {
+        ReportJob job = jobs.get(id);
+        if (job == null || !TenantContext.canAccess(job.tenantId)) {
+            throw new RuntimeException("Report job not found with id: " + id);
+        }
+        return job;
+    }
+
+    private void pruneFinishedJobs() {
+        List<ReportJob> finished = jobs.values().stream()
+            .filter(job -> job.finishedAt != null)
+            .sorted(Comparator.comparing((ReportJob job) -> job.finishedAt))
+            .toList();
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS + 1; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private record PartitionKey(String tenantId, LocalDate start, LocalDate end, String currency,
+                                long monthVersion, long globalVersion) {
+    }
+
+    /**
+     * State of one report job, updated by the dispatcher and the partition workers
+     */
+    private static final class ReportJob {
+
+        private final String id;
+        private final ReportSpecDTO spec;
+        private final String clientKey;
+        private final long sequence;
+        private final String tenantId = TenantContext.getTenantId();
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicInteger partitionsCompleted = new AtomicInteger();
+        private final AtomicInteger partitionsCached = new AtomicInteger();
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        private volatile int partitionsTotal;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        private volatile ReportResultDTO result;
+
+        private ReportJob(String id, ReportSpecDTO spec, String clientKey, long sequence) {
+            this.id = id;
+            this.spec = spec;
+            this.clientKey = clientKey;
+            this.sequence = sequence;
+        }
+
+        private void finish(ReportJobStatus finalStatus, String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+            notifyFinished();
+        }
+
+        private void notifyFinished() {
+            send(status.name().toLowerCase(), toDTO());
+            for (SseEmitter emitter : subscribers) {
+                emitter.complete();
+            }
+        }
+
+        private void send(String name, Object data) {
+            for (SseEmitter emitter : subscribers) {
+                try {
+                    emitter.send(SseEmitter.event().name(name).data(data));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(emitter);
+                }
+            }
+        }
+
+        private ReportJobDTO toDTO() {
+            return new ReportJobDTO(
+                id, spec, status, partitionsTotal, partitionsCompleted.get(), partitionsCached.get(),
+                submittedAt, startedAt, finishedAt, error
+            );
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.ShardContext;
+import com.example.expensetracker.config.TenantContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Maps accounts and transactions to shards and runs work on them.
+ *
+ * Each shard hands out ids congruent to its index modulo the shard count, so an account's shard is
+ * a hash of its id and a transaction lives on the shard of its account with an id that maps to the
+ * same shard. New accounts are spread round-robin. Without expensetracker.sharding.shard-urls there
+ * is a single shard and every method runs its work inline.
+ */
+@Service
+public class ShardRouter {
+
+    private final int shardCount;
+    private final PlatformTransactionManager transactionManager;
+    private final AtomicInteger nextAccountShard = new AtomicInteger();
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardRouter(@Value("${expensetracker.sharding.shard-urls:}") List<String> shardUrls,
+                       PlatformTransactionManager transactionManager) {
+        this.shardCount = 1 + shardUrls.size();
+        this.transactionManager = transactionManager;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * Shard holding the account or transaction with the given id (the home shard for a missing id,
+     * so the lookup fails there as it would unsharded)
+     */
+    public int shardOf(Long id) {
+        if (id == null) {
+            return ShardContext.HOME_SHARD;
+        }
+        return (int) Math.floorMod(id - 1, (long) shardCount);
+    }
+
+    /**
+     * Shard a new account is created on
+     */
+    public int nextAccountShard() {
+        return Math.floorMod(nextAccountShard.getAndIncrement(), shardCount);
+    }
+
+    /**
+     * Run work on the shard of the given account or transaction id.
+     * Must be entered before the surrounding transaction issues its first statement.
+     */
+    public <T> T onShardOf(Long id, Supplier<T> work) {
+        return ShardContext.callOn(shardOf(id), work);
+    }
+
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return ShardContext.callOn(shard, work);
+    }
+
+    /**
+     * Run work on every shard in parallel, each in its own transaction, and return the per-shard results
+     */
+    public <T> List<T> fanOut(Supplier<T> work) {
+        if (!isSharded()) {
+            return Collections.singletonList(work.get());
+        }
+        String tenantId = TenantContext.getTenantId();
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(fanOutExecutor.submit(() ->
+                TenantContext.callAs(tenantId, () -> ShardContext.callOn(target, work))));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        for (Future<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    /**
+     * Run a list query on every shard in parallel and concatenate the results
+     */
+    public <T> List<T> fanOutList(Supplier<? extends List<T>> work) {
+        List<T> merged = new ArrayList<>();
+        for (List<T> shardResult : fanOut(work)) {
+            merged.addAll(shardResult);
+        }
+        return merged;
+    }
+
+    /**
+     * Run work on each shard in turn on the calling thread (streaming reads and background loaders)
+     */
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            ShardContext.runOn(target, () -> work.accept(target));
+        }
+    }
+
+    /**
+     * Run work on each shard in turn, each in its own database transaction
+     * (joining the caller's transaction when there is only one shard)
+     */
+    public void forEachShardInTransaction(IntConsumer work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        if (isSharded()) {
+            transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        forEachShard(shard -> transaction.executeWithoutResult(status -> work.accept(shard)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while querying shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Shard query failed", e.getCause());
+        }
+    }
+}
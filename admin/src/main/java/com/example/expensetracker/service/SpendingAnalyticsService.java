@@ -0,0 +1,819 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.SpendingQueryDTO;
+import com.example.expensetracker.dto.SpendingQueryResultDTO;
+import com.example.expensetracker.dto.SpendingQueryRowDTO;
+import com.example.expensetracker.enums.SpendingDimension;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.ExchangeRatesChangedEvent;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionBatchImportedEvent;
+import com.example.expensetracker.event.TransactionSnapshot;
+import com.example.expensetracker.model.Money;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.util.LongLongHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory columnar store of transaction facts for ad-hoc filter / group-by / sum queries.
+ *
+ * Facts are held in fixed-size segments of primitive columns: epoch day, dictionary-encoded account,
+ * category and currency, type ordinal, and the amount both in the account's currency and converted to
+ * base-currency minor units. Queries scan the segments in parallel
+ * with tight loops and aggregate into open-addressing maps keyed by a packed long, so a scan does not
+ * allocate per row. Segments outside the queried date range are skipped via their min/max day.
+ *
+ * The store is loaded at startup and kept current from TransactionChangedEvent and the batches of
+ * TransactionBatchImportedEvent; writes arriving during a load are replayed onto the new table before it
+ * is swapped in. An exchange rate change reconverts, in memory, only the rows of the currency and dates
+ * the rate applies to.
+ *
+ * A row whose currency has no rate to the base currency on its date is kept but left out of queries and
+ * counted, instead of failing the load or the write; the rate change that adds the rate brings it in.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "expensetracker.analytics.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SpendingAnalyticsService {
+
+    private static final int SEGMENT_CAPACITY = 1 << 16;
+    // toBaseMinor result for an amount without an exchange rate
+    private static final long NO_RATE = Long.MIN_VALUE;
+    private static final int LOAD_FETCH_SIZE = 10_000;
+    private static final String LOAD_SQL =
+        "SELECT t.id, t.account_id, t.category_id, t.transaction_type, t.transaction_date, t.amount, a.currency " +
+        "FROM transactions t JOIN accounts a ON a.id = t.account_id";
+
+    // Group key layout: account code | category code << 20 | type << 36 | (period + offset) << 38
+    private static final int ACCOUNT_BITS = 20;
+    private static final int CATEGORY_BITS = 16;
+    private static final int TYPE_SHIFT = ACCOUNT_BITS + CATEGORY_BITS;
+    private static final int PERIOD_SHIFT = TYPE_SHIFT + 2;
+    private static final int PERIOD_OFFSET = 1 << 24;
+    private static final long PERIOD_MASK = (1L << 25) - 1;
+
+    private static final Set<SpendingDimension> PERIODS = EnumSet.of(
+        SpendingDimension.DAY, SpendingDimension.WEEK, SpendingDimension.MONTH, SpendingDimension.YEAR
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExchangeRateService exchangeRateService;
+    private final AccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+
+    private final Object writeLock = new Object();
+    private volatile FactTable table = new FactTable();
+    private volatile boolean loaded;
+    // Writes seen while a reload is running, guarded by writeLock
+    private List<TransactionChangedEvent> pendingDuringReload;
+
+    private final AtomicBoolean reloadRunning = new AtomicBoolean();
+    private final AtomicBoolean reloadAgain = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Rebuild the store from the transactions table in the background
+     */
+    public void reload() {
+        if (!reloadRunning.compareAndSet(false, true)) {
+            reloadAgain.set(true);
+            return;
+        }
+        Thread.ofVirtual().name("spending-analytics-load").start(() -> {
+            try {
+                do {
+                    reloadAgain.set(false);
+                    load();
+                } while (reloadAgain.get());
+            } finally {
+                reloadRunning.set(false);
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        synchronized (writeLock) {
+            if (!record(event)) {
+                TransactionSnapshot current = event.current();
+                log.warn("No exchange rate from {} on {}, transaction {} is left out of spending analytics until rates change",
+                    current.currency(), current.transactionDate(), current.id());
+            }
+        }
+    }
+
+    /**
+     * Imported rows are appended like created ones
+     */
+    @EventListener
+    public void onTransactionBatchImported(TransactionBatchImportedEvent event) {
+        int unconverted = 0;
+        synchronized (writeLock) {
+            for (TransactionSnapshot transaction : event.transactions()) {
+                if (!record(TransactionChangedEvent.created(transaction))) {
+                    unconverted++;
+                }
+            }
+        }
+        if (unconverted > 0) {
+            log.warn("Import {}: {} rows have no exchange rate to {} and are left out of spending analytics until rates change",
+                event.jobId(), unconverted, exchangeRateService.getBaseCurrency());
+        }
+    }
+
+    /**
+     * Reconvert the rows whose conversion the changed rate affects. A running load may have converted
+     * some of its rows at the old rate, so it runs again instead.
+     */
+    @EventListener
+    public void onExchangeRatesChanged(ExchangeRatesChangedEvent event) {
+        String baseCurrency = exchangeRateService.getBaseCurrency();
+        String currency = event.counterCurrencyOf(baseCurrency);
+        if (currency == null) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        int reconverted;
+        synchronized (writeLock) {
+            if (pendingDuringReload != null) {
+                reload();
+                return;
+            }
+            reconverted = table.reconvert(currency, event, (amount, date) -> toBaseMinor(
+                Money.ofMinor(amount).toBigDecimal(), currency, date, baseCurrency
+            ));
+        }
+        log.info("Spending analytics reconverted {} {} rows from {} in {} ms",
+            reconverted, currency, event.fromDate(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Filter, group and sum transaction amounts
+     */
+    public SpendingQueryResultDTO query(SpendingQueryDTO query) {
+        if (!loaded) {
+            throw new RuntimeException("Spending analytics are still loading");
+        }
+        if (query.getEndDate().isBefore(query.getStartDate())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        long startNanos = System.nanoTime();
+
+        Set<SpendingDimension> groupBy = query.getGroupBy() == null || query.getGroupBy().isEmpty()
+            ? EnumSet.noneOf(SpendingDimension.class)
+            : EnumSet.copyOf(query.getGroupBy());
+        Set<SpendingDimension> periods = EnumSet.copyOf(groupBy);
+        periods.retainAll(PERIODS);
+        if (periods.size() > 1) {
+            throw new RuntimeException("Group by at most one of DAY, WEEK, MONTH, YEAR");
+        }
+        SpendingDimension period = periods.isEmpty() ? null : periods.iterator().next();
+
+        FactTable snapshot = table;
+        int startDay = (int) Math.max(query.getStartDate().toEpochDay(), snapshot.minDay);
+        int endDay = (int) Math.min(query.getEndDate().toEpochDay(), snapshot.maxDay);
+
+        ScanPlan plan = new ScanPlan(
+            startDay,
+            endDay,
+            accountFilter(query.getAccountIds(), snapshot.accounts),
+            codeFilter(query.getCategoryIds(), snapshot.categories),
+            typeFilter(query.getTransactionTypes()),
+            groupBy.contains(SpendingDimension.ACCOUNT),
+            groupBy.contains(SpendingDimension.CATEGORY),
+            groupBy.contains(SpendingDimension.TYPE),
+            period == null || startDay > endDay ? null : periodTable(period, startDay, endDay)
+        );
+
+        LongAdder scanned = new LongAdder();
+        GroupAccumulator totals = startDay > endDay
+            ? new GroupAccumulator()
+            : Arrays.stream(snapshot.segments)
+                .parallel()
+                .map(segment -> scan(segment, plan, scanned))
+                .reduce(new GroupAccumulator(), GroupAccumulator::mergeInto);
+
+        List<SpendingQueryRowDTO> rows = new ArrayList<>(totals.size);
+        for (int slot = 0; slot < totals.used.length; slot++) {
+            if (totals.used[slot]) {
+                rows.add(toRow(totals.keys[slot], totals.sums[slot], totals.counts[slot], plan, period, snapshot));
+            }
+        }
+        rows.sort(Comparator
+            .comparing(SpendingQueryRowDTO::getPeriodStart, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SpendingQueryRowDTO::getAccountId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SpendingQueryRowDTO::getCategoryId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SpendingQueryRowDTO::getTransactionType, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        return new SpendingQueryResultDTO(
+            exchangeRateService.getBaseCurrency(), scanned.sum(), (System.nanoTime() - startNanos) / 1000, rows
+        );
+    }
+
+    /**
+     * Get store size information
+     */
+    public Map<String, Object> getStatus() {
+        FactTable snapshot = table;
+        long rows = 0;
+        long deleted = 0;
+        long unconverted = 0;
+        for (Segment segment : snapshot.segments) {
+            rows += segment.size;
+            deleted += segment.deletedCount;
+            unconverted += segment.unconvertedCount();
+        }
+        Map<String, Object> status = new HashMap<>();
+        status.put("loaded", loaded);
+        status.put("segments", snapshot.segments.length);
+        status.put("rows", rows - deleted);
+        status.put("deletedRows", deleted);
+        status.put("unconvertedRows", unconverted);
+        return status;
+    }
+
+    private void load() {
+        synchronized (writeLock) {
+            pendingDuringReload = new ArrayList<>();
+        }
+        try {
+            long startNanos = System.nanoTime();
+            FactTable fresh = new FactTable();
+            String baseCurrency = exchangeRateService.getBaseCurrency();
+            shardRouter.forEachShard(shard -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    LOAD_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+                );
+                statement.setFetchSize(LOAD_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                LocalDate date = resultSet.getObject(5, LocalDate.class);
+                BigDecimal amount = resultSet.getBigDecimal(6);
+                String currency = resultSet.getString(7);
+                fresh.append(
+                    resultSet.getLong(1),
+                    resultSet.getLong(2),
+                    resultSet.getLong(3),
+                    TransactionType.valueOf(resultSet.getString(4)),
+                    date,
+                    currency != null ? currency : baseCurrency,
+                    Money.of(amount).minorUnits(),
+                    toBaseMinor(amount, currency, date, baseCurrency)
+                );
+            }));
+
+            synchronized (writeLock) {
+                for (TransactionChangedEvent event : pendingDuringReload) {
+                    apply(fresh, event, true);
+                }
+                table = fresh;
+                loaded = true;
+            }
+            log.info("Spending analytics loaded {} segments in {} ms",
+                fresh.segments.length, (System.nanoTime() - startNanos) / 1_000_000);
+            long unconverted = Arrays.stream(fresh.segments).mapToLong(Segment::unconvertedCount).sum();
+            if (unconverted > 0) {
+                log.warn("Spending analytics leave out {} transactions without an exchange rate to {}",
+                    unconverted, baseCurrency);
+            }
+        } catch (RuntimeException e) {
+            log.error("Spending analytics load failed", e);
+        } finally {
+            synchronized (writeLock) {
+                pendingDuringReload = null;
+            }
+        }
+    }
+
+    /**
+     * Apply a write to the live table and keep it for replay if a load is running. Must hold writeLock.
+     *
+     * @return false when the new state has no exchange rate and is left out of queries
+     */
+    private boolean record(TransactionChangedEvent event) {
+        boolean converted = apply(table, event, false);
+        if (pendingDuringReload != null) {
+            pendingDuringReload.add(event);
+        }
+        return converted;
+    }
+
+    /**
+     * Apply a write as delete-then-insert. A replayed create may already be in the freshly loaded
+     * table, so replays also remove the new id; a live create cannot be there yet. The new state is
+     * converted before anything is removed.
+     *
+     * @return false when the new state has no exchange rate and is left out of queries
+     */
+    private boolean apply(FactTable target, TransactionChangedEvent event, boolean replay) {
+        String baseCurrency = exchangeRateService.getBaseCurrency();
+        TransactionSnapshot current = event.current();
+        long amountMinor = current == null
+            ? 0
+            : toBaseMinor(current.amount(), current.currency(), current.transactionDate(), baseCurrency);
+
+        if (event.previous() != null) {
+            target.remove(event.previous().id());
+        }
+        if (current == null) {
+            return true;
+        }
+        if (replay && event.previous() == null) {
+            target.remove(current.id());
+        }
+        target.append(
+            current.id(), current.accountId(), current.categoryId(), current.transactionType(),
+            current.transactionDate(), current.currency() != null ? current.currency() : baseCurrency,
+            Money.of(current.amount()).minorUnits(), amountMinor
+        );
+        return amountMinor != NO_RATE;
+    }
+
+    /**
+     * Amount in base-currency minor units, or NO_RATE when no rate is known for the currency on that date
+     */
+    private long toBaseMinor(BigDecimal amount, String currency, LocalDate date, String baseCurrency) {
+        Money money = Money.of(amount);
+        if (currency == null || currency.equals(baseCurrency)) {
+            return money.minorUnits();
+        }
+        Money converted = exchangeRateService.convertOrNull(money, currency, baseCurrency, date);
+        return converted != null ? converted.minorUnits() : NO_RATE;
+    }
+
+    private GroupAccumulator scan(Segment segment, ScanPlan plan, LongAdder scanned) {
+        GroupAccumulator accumulator = new GroupAccumulator();
+        // Volatile read first: publishes the rows and tombstones written before it
+        int size = segment.size;
+        if (size == 0 || segment.maxDay < plan.startDay || segment.minDay > plan.endDay) {
+            return accumulator;
+        }
+
+        int[] days = segment.days;
+        int[] accounts = segment.accounts;
+        int[] categories = segment.categories;
+        byte[] types = segment.types;
+        long[] amounts = segment.amounts;
+        long[] deleted = segment.deleted;
+        long[] unconverted = segment.unconverted;
+        boolean[] accountFilter = plan.accountFilter;
+        boolean[] categoryFilter = plan.categoryFilter;
+        boolean[] typeFilter = plan.typeFilter;
+        int[] periodOfDay = plan.periodOfDay;
+        int startDay = plan.startDay;
+        int endDay = plan.endDay;
+        long matched = 0;
+
+        for (int i = 0; i < size; i++) {
+            int day = days[i];
+            if (day < startDay || day > endDay || ((deleted[i >>> 6] | unconverted[i >>> 6]) & (1L << i)) != 0) {
+                continue;
+            }
+            int account = accounts[i];
+            if (accountFilter != null && (account >= accountFilter.length || !accountFilter[account])) {
+                continue;
+            }
+            int category = categories[i];
+            if (categoryFilter != null && (category >= categoryFilter.length || !categoryFilter[category])) {
+                continue;
+            }
+            int type = types[i];
+            if (typeFilter != null && !typeFilter[type]) {
+                continue;
+            }
+
+            long key = 0;
+            if (plan.groupAccount) {
+                key |= account;
+            }
+            if (plan.groupCategory) {
+                key |= (long) category << ACCOUNT_BITS;
+            }
+            if (plan.groupType) {
+                key |= (long) type << TYPE_SHIFT;
+            }
+            if (periodOfDay != null) {
+                key |= (long) (periodOfDay[day - startDay] + PERIOD_OFFSET) << PERIOD_SHIFT;
+            }
+            accumulator.add(key, amounts[i]);
+            matched++;
+        }
+        scanned.add(matched);
+        return accumulator;
+    }
+
+    private SpendingQueryRowDTO toRow(long key, long sum, long count, ScanPlan plan, SpendingDimension period,
+                                      FactTable snapshot) {
+        Long accountId = plan.groupAccount
+            ? snapshot.accounts.decode((int) (key & ((1 << ACCOUNT_BITS) - 1)))
+            : null;
+        Long categoryId = plan.groupCategory
+            ? snapshot.categories.decode((int) ((key >>> ACCOUNT_BITS) & ((1 << CATEGORY_BITS) - 1)))
+            : null;
+        TransactionType type = plan.groupType
+            ? TransactionType.values()[(int) ((key >>> TYPE_SHIFT) & 3)]
+            : null;
+        LocalDate periodStart = null;
+        if (period != null) {
+            int value = (int) ((key >>> PERIOD_SHIFT) & PERIOD_MASK) - PERIOD_OFFSET;
+            periodStart = switch (period) {
+                case DAY -> LocalDate.ofEpochDay(value);
+                case WEEK -> LocalDate.ofEpochDay(value * 7L - 3);
+                case MONTH -> LocalDate.of(Math.floorDiv(value, 12), Math.floorMod(value, 12) + 1, 1);
+                default -> LocalDate.of(value, 1, 1);
+            };
+        }
+        return new SpendingQueryRowDTO(accountId, categoryId, type, periodStart, Money.ofMinor(sum).toBigDecimal(), count);
+    }
+
+    /**
+     * Period index of every day in [startDay, endDay], so the scan never converts dates
+     */
+    private int[] periodTable(SpendingDimension period, int startDay, int endDay) {
+        int[] periodOfDay = new int[endDay - startDay + 1];
+        for (int day = startDay; day <= endDay; day++) {
+            int value;
+            if (period == SpendingDimension.DAY) {
+                value = day;
+            } else if (period == SpendingDimension.WEEK) {
+                // 1970-01-01 was a Thursday; weeks start on Monday
+                value = Math.floorDiv(day + 3, 7);
+            } else {
+                LocalDate date = LocalDate.ofEpochDay(day);
+                value = period == SpendingDimension.MONTH
+                    ? date.getYear() * 12 + date.getMonthValue() - 1
+                    : date.getYear();
+            }
+            periodOfDay[day - startDay] = value;
+        }
+        return periodOfDay;
+    }
+
+    // The store holds every tenant's rows; anyone but the root tenant only scans their own accounts
+    private boolean[] accountFilter(List<Long> ids, Dictionary dictionary) {
+        if (TenantContext.isRoot()) {
+            return codeFilter(ids, dictionary);
+        }
+        List<Long> visible = shardRouter.fanOutList(accountRepository::findAllIds);
+        if (ids != null && !ids.isEmpty()) {
+            Set<Long> requested = new HashSet<>(ids);
+            visible = visible.stream().filter(requested::contains).toList();
+        }
+        boolean[] filter = new boolean[dictionary.size()];
+        for (Long id : visible) {
+            int code = dictionary.find(id);
+            if (code >= 0 && code < filter.length) {
+                filter[code] = true;
+            }
+        }
+        return filter;
+    }
+
+    private boolean[] codeFilter(List<Long> ids, Dictionary dictionary) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        boolean[] filter = new boolean[dictionary.size()];
+        for (Long id : ids) {
+            int code = dictionary.find(id);
+            if (code >= 0 && code < filter.length) {
+                filter[code] = true;
+            }
+        }
+        return filter;
+    }
+
+    private boolean[] typeFilter(List<TransactionType> types) {
+        if (types == null || types.isEmpty()) {
+            return null;
+        }
+        boolean[] filter = new boolean[TransactionType.values().length];
+        for (TransactionType type : types) {
+            filter[type.ordinal()] = true;
+        }
+        return filter;
+    }
+
+    private record ScanPlan(
+        int startDay,
+        int endDay,
+        boolean[] accountFilter,
+        boolean[] categoryFilter,
+        boolean[] typeFilter,
+        boolean groupAccount,
+        boolean groupCategory,
+        boolean groupType,
+        int[] periodOfDay
+    ) {
+    }
+
+    /**
+     * Segments plus the account and category dictionaries. Mutated only under the write lock;
+     * readers take the segment array reference and each segment's size without locking.
+     */
+    private static final class FactTable {
+
+        private volatile Segment[] segments = new Segment[0];
+        private final Dictionary accounts = new Dictionary(1 << ACCOUNT_BITS);
+        private final Dictionary categories = new Dictionary(1 << CATEGORY_BITS);
+        // Currency code -> dense code; few entries, only used under the write lock
+        private final Map<String, Short> currencies = new HashMap<>();
+        private volatile long minDay = Long.MAX_VALUE;
+        private volatile long maxDay = Long.MIN_VALUE;
+        // Live row of each transaction id as segment index * SEGMENT_CAPACITY + row, -1 once removed
+        private final LongLongHashMap rowsById = new LongLongHashMap();
+
+        /**
+         * @param sourceMinor amount in minor units of the account's currency
+         * @param amountMinor amount in base-currency minor units, or NO_RATE
+         */
+        private void append(long id, long accountId, long categoryId, TransactionType type, LocalDate date,
+                            String currency, long sourceMinor, long amountMinor) {
+            Segment[] current = segments;
+            Segment tail = current.length == 0 ? null : current[current.length - 1];
+            if (tail == null || tail.size == SEGMENT_CAPACITY) {
+                tail = new Segment();
+                Segment[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = tail;
+                segments = grown;
+            }
+            int day = (int) date.toEpochDay();
+            minDay = Math.min(minDay, day);
+            maxDay = Math.max(maxDay, day);
+            short currencyCode = currencies.computeIfAbsent(currency, code -> (short) currencies.size());
+            int row = tail.append(day, accounts.encode(accountId), categories.encode(categoryId), type,
+                currencyCode, sourceMinor, amountMinor);
+            rowsById.put(id, (long) (segments.length - 1) * SEGMENT_CAPACITY + row);
+        }
+
+        /**
+         * Convert again the live rows held in a currency on the dates of a changed rate
+         *
+         * @return number of rows converted again
+         */
+        private int reconvert(String currency, ExchangeRatesChangedEvent change, Converter converter) {
+            Short code = currencies.get(currency);
+            if (code == null) {
+                return 0;
+            }
+            long fromDay = change.fromDate().toEpochDay();
+            long untilDay = change.untilDate() != null ? change.untilDate().toEpochDay() : Long.MAX_VALUE;
+            int reconverted = 0;
+            for (Segment segment : segments) {
+                if (segment.size == 0 || segment.maxDay < fromDay || segment.minDay >= untilDay) {
+                    continue;
+                }
+                reconverted += segment.reconvert(code, fromDay, untilDay, converter);
+            }
+            return reconverted;
+        }
+
+        /**
+         * Tombstone the live row of a transaction, if there is one
+         */
+        private void remove(long id) {
+            long location = rowsById.get(id, -1);
+            if (location < 0) {
+                return;
+            }
+            rowsById.put(id, -1);
+            segments[(int) (location / SEGMENT_CAPACITY)].remove((int) (location % SEGMENT_CAPACITY));
+        }
+    }
+
+    /**
+     * Fixed-capacity block of primitive columns
+     */
+    private static final class Segment {
+
+        private final int[] days = new int[SEGMENT_CAPACITY];
+        private final int[] accounts = new int[SEGMENT_CAPACITY];
+        private final int[] categories = new int[SEGMENT_CAPACITY];
+        private final byte[] types = new byte[SEGMENT_CAPACITY];
+        private final short[] currencies = new short[SEGMENT_CAPACITY];
+        private final long[] sourceAmounts = new long[SEGMENT_CAPACITY];
+        private final long[] amounts = new long[SEGMENT_CAPACITY];
+        private final long[] deleted = new long[SEGMENT_CAPACITY / 64];
+        // Rows without an exchange rate to the base currency, skipped by scans until reconverted
+        private final long[] unconverted = new long[SEGMENT_CAPACITY / 64];
+        private int minDay = Integer.MAX_VALUE;
+        private int maxDay = Integer.MIN_VALUE;
+        private int deletedCount;
+        // Written last, after the row or tombstone it publishes
+        private volatile int size;
+
+        private int append(int day, int account, int category, TransactionType type, short currency,
+                           long sourceAmount, long amount) {
+            int row = size;
+            days[row] = day;
+            accounts[row] = account;
+            categories[row] = category;
+            types[row] = (byte) type.ordinal();
+            currencies[row] = currency;
+            sourceAmounts[row] = sourceAmount;
+            setAmount(row, amount);
+            minDay = Math.min(minDay, day);
+            maxDay = Math.max(maxDay, day);
+            size = row + 1;
+            return row;
+        }
+
+        private void remove(int row) {
+            int rows = size;
+            deleted[row >>> 6] |= 1L << row;
+            deletedCount++;
+            // Volatile write publishes the tombstone
+            size = rows;
+        }
+
+        private int reconvert(short currency, long fromDay, long untilDay, Converter converter) {
+            int rows = size;
+            int reconverted = 0;
+            for (int row = 0; row < rows; row++) {
+                int day = days[row];
+                if (currencies[row] != currency || day < fromDay || day >= untilDay
+                    || (deleted[row >>> 6] & (1L << row)) != 0) {
+                    continue;
+                }
+                setAmount(row, converter.toBaseMinor(sourceAmounts[row], LocalDate.ofEpochDay(day)));
+                reconverted++;
+            }
+            // Volatile write publishes the new amounts
+            size = rows;
+            return reconverted;
+        }
+
+        private void setAmount(int row, long amount) {
+            if (amount == NO_RATE) {
+                amounts[row] = 0;
+                unconverted[row >>> 6] |= 1L << row;
+            } else {
+                amounts[row] = amount;
+                unconverted[row >>> 6] &= ~(1L << row);
+            }
+        }
+
+        private long unconvertedCount() {
+            int words = (size + 63) >>> 6;
+            long count = 0;
+            for (int word = 0; word < words; word++) {
+                count += Long.bitCount(unconverted[word] & ~deleted[word]);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Converts an amount in a row's currency to base-currency minor units, or NO_RATE
+     */
+    @FunctionalInterface
+    private interface Converter {
+        long toBaseMinor(long sourceMinor, LocalDate date);
+    }
+
+    /**
+     * Dense int codes for ids, so group keys can be packed and filters can be arrays
+     */
+    private static final class Dictionary {
+
+        private final int maxCodes;
+        // Written under the write lock only; queries resolve ids through the concurrent published map
+        private final LongLongHashMap codes = new LongLongHashMap();
+        private final Map<Long, Integer> published = new ConcurrentHashMap<>();
+        private volatile long[] ids = new long[64];
+        private volatile int size;
+
+        private Dictionary(int maxCodes) {
+            this.maxCodes = maxCodes;
+        }
+
+        private int encode(long id) {
+            long code = codes.get(id, -1);
+            if (code >= 0) {
+                return (int) code;
+            }
+            int next = size;
+            if (next == maxCodes) {
+                throw new IllegalStateException("Spending analytics supports at most " + maxCodes + " distinct ids");
+            }
+            long[] current = ids;
+            if (next == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[next] = id;
+            ids = current;
+            codes.put(id, next);
+            size = next + 1;
+            published.put(id, next);
+            return next;
+        }
+
+        private int find(long id) {
+            return published.getOrDefault(id, -1);
+        }
+
+        private long decode(int code) {
+            return ids[code];
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Open-addressing map from packed group key to (sum, count)
+     */
+    private static final class GroupAccumulator {
+
+        private long[] keys = new long[64];
+        private long[] sums = new long[64];
+        private long[] counts = new long[64];
+        private boolean[] used = new boolean[64];
+        private int size;
+
+        private void add(long key, long amount) {
+            add(key, amount, 1);
+        }
+
+        private void add(long key, long amount, long count) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                if (++size * 2 > keys.length) {
+                    sums[slot] = amount;
+                    counts[slot] = count;
+                    grow();
+                    return;
+                }
+            }
+            sums[slot] += amount;
+            counts[slot] += count;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldSums = sums;
+            long[] oldCounts = counts;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            sums = new long[oldKeys.length * 2];
+            counts = new long[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldUsed[slot]) {
+                    add(oldKeys[slot], oldSums[slot], oldCounts[slot]);
+                }
+            }
+        }
+
+        private static GroupAccumulator mergeInto(GroupAccumulator target, GroupAccumulator source) {
+            GroupAccumulator larger = target.size >= source.size ? target : source;
+            GroupAccumulator smaller = larger == target ? source : target;
+            for (int slot = 0; slot < smaller.used.length; slot++) {
+                if (smaller.used[slot]) {
+                    larger.add(smaller.keys[slot], smaller.sums[slot], smaller.counts[slot]);
+                }
+            }
+            return larger;
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.SpendingForecastDTO;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.ExchangeRatesChangedEvent;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionBatchImportedEvent;
+import com.example.expensetracker.event.TransactionSnapshot;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Money;
+import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.util.LongObjectHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service projecting month-end spending per expense category.
+ *
+ * Each category keeps daily totals (base currency, minor units) for a bounded window of recent months.
+ * From the closed months it fits an exponentially weighted moving average of the monthly total and
+ * of the cumulative share of a month's spending reached by each day of the month. The fit is redone
+ * only when a new month starts or a closed month changes, so a forecast costs a fixed amount of work
+ * per category. Daily totals are seeded by a backfill from the transactions table and then adjusted
+ * from committed transaction writes and imported batches.
+ *
+ * Spending held in other currencies is also kept per currency and day in that currency, so a rate change
+ * reconverts only the days it applies to. A day without an exchange rate to the base currency is left out
+ * until the rate change that adds the rate.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpendingForecastService {
+
+    private static final int MAX_DAYS = 31;
+    // toBaseMinor result for an amount without an exchange rate
+    private static final long NO_RATE = Long.MIN_VALUE;
+
+    private final TransactionRepository transactionRepository;
+    private final ExchangeRateService exchangeRateService;
+    private final CategoryService categoryService;
+    private final ShardRouter shardRouter;
+
+    @Value("${expensetracker.forecast.history-months:24}")
+    private int historyMonths;
+
+    @Value("${expensetracker.forecast.smoothing:0.3}")
+    private double smoothing;
+
+    private final Object writeLock = new Object();
+    private volatile Map<Long, CategoryStats> stats = new ConcurrentHashMap<>();
+    // Writes seen while a backfill is running, guarded by writeLock
+    private List<TransactionChangedEvent> pendingDuringBackfill;
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+    private final AtomicBoolean backfillAgain = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        backfill();
+    }
+
+    /**
+     * Reseed the statistics from transaction history in the background.
+     * Returns false if a backfill was already running (it will run once more when done).
+     */
+    public boolean backfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            backfillAgain.set(true);
+            return false;
+        }
+        Thread.ofVirtual().name("spending-forecast-backfill").start(() -> {
+            try {
+                do {
+                    backfillAgain.set(false);
+                    TenantContext.runAs(TenantContext.ROOT_TENANT, this::load);
+                } while (backfillAgain.get());
+            } finally {
+                backfillRunning.set(false);
+            }
+        });
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        synchronized (writeLock) {
+            apply(stats, event);
+            if (pendingDuringBackfill != null) {
+                pendingDuringBackfill.add(event);
+            }
+        }
+    }
+
+    /**
+     * Imported rows are added like created ones
+     */
+    @EventListener
+    public void onTransactionBatchImported(TransactionBatchImportedEvent event) {
+        synchronized (writeLock) {
+            for (TransactionSnapshot transaction : event.transactions()) {
+                TransactionChangedEvent created = TransactionChangedEvent.created(transaction);
+                apply(stats, created);
+                if (pendingDuringBackfill != null) {
+                    pendingDuringBackfill.add(created);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reconvert the days the changed rate applies to. A running backfill may have converted some days at
+     * the old rate, so it runs again instead.
+     */
+    @EventListener
+    public void onExchangeRatesChanged(ExchangeRatesChangedEvent event) {
+        String currency = event.counterCurrencyOf(exchangeRateService.getBaseCurrency());
+        if (currency == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            if (pendingDuringBackfill != null) {
+                backfill();
+                return;
+            }
+            Converter converter = converter();
+            for (CategoryStats categoryStats : stats.values()) {
+                categoryStats.reconvert(currency, event, converter);
+            }
+        }
+    }
+
+    /**
+     * Get the month-end forecast of every category with spending history
+     */
+    public List<SpendingForecastDTO> getForecasts() {
+        LocalDate today = LocalDate.now();
+        LongObjectHashMap<Category> categories = categoryService.getCategoryIndex();
+        List<SpendingForecastDTO> forecasts = new ArrayList<>();
+        for (Map.Entry<Long, CategoryStats> entry : stats.entrySet()) {
+            Category category = categories.get(entry.getKey());
+            if (category != null) {
+                forecasts.add(toDTO(category, entry.getValue(), today));
+            }
+        }
+        return forecasts;
+    }
+
+    /**
+     * Get the month-end forecast of one category
+     */
+    public SpendingForecastDTO getForecast(Long categoryId) {
+        Category category = categoryService.getCategoryById(categoryId);
+        CategoryStats categoryStats = stats.get(categoryId);
+        return toDTO(category, categoryStats != null ? categoryStats : new CategoryStats(), LocalDate.now());
+    }
+
+    private SpendingForecastDTO toDTO(Category category, CategoryStats categoryStats, LocalDate today) {
+        Forecast forecast = categoryStats.forecast(today, oldestMonth(today), smoothing);
+        return new SpendingForecastDTO(
+            category.getId(),
+            category.getName(),
+            today.withDayOfMonth(1),
+            today,
+            Money.ofMinor(forecast.spentToDate()).toBigDecimal(),
+            Money.ofMinor(forecast.projectedTotal()).toBigDecimal(),
+            Money.ofMinor(Math.round(forecast.averageMonthly())).toBigDecimal(),
+            forecast.historyMonths(),
+            exchangeRateService.getBaseCurrency()
+        );
+    }
+
+    private void load() {
+        synchronized (writeLock) {
+            pendingDuringBackfill = new ArrayList<>();
+        }
+        try {
+            LocalDate today = LocalDate.now();
+            YearMonth oldest = oldestMonth(today);
+            Map<Long, CategoryStats> fresh = new ConcurrentHashMap<>();
+            Converter converter = converter();
+            int unconverted = 0;
+
+            for (Object[] row : shardRouter.fanOutList(() -> transactionRepository.getDailySpendingByCategory(
+                TransactionType.EXPENSE, oldest.atDay(1), today
+            ))) {
+                boolean converted = fresh.computeIfAbsent((Long) row[0], categoryId -> new CategoryStats())
+                    .add((LocalDate) row[2], (String) row[1], Money.of((BigDecimal) row[3]).minorUnits(), oldest, converter);
+                if (!converted) {
+                    unconverted++;
+                }
+            }
+            if (unconverted > 0) {
+                log.warn("Spending forecasts leave out {} daily category totals without an exchange rate to {}",
+                    unconverted, exchangeRateService.getBaseCurrency());
+            }
+
+            // Replayed writes may already be part of the query result; the small overlap is tolerated
+            // because forecasts are estimates and the next backfill corrects it
+            synchronized (writeLock) {
+                for (TransactionChangedEvent event : pendingDuringBackfill) {
+                    apply(fresh, event);
+                }
+                stats = fresh;
+            }
+            log.info("Spending forecast statistics seeded for {} categories", fresh.size());
+        } catch (RuntimeException e) {
+            log.error("Spending forecast backfill failed", e);
+        } finally {
+            synchronized (writeLock) {
+                pendingDuringBackfill = null;
+            }
+        }
+    }
+
+    /**
+     * Move a write's amount between daily totals
+     */
+    private void apply(Map<Long, CategoryStats> target, TransactionChangedEvent event) {
+        YearMonth oldest = oldestMonth(LocalDate.now());
+        Converter converter = converter();
+        if (isExpense(event.previous())) {
+            add(target, event.previous(), -1, oldest, converter);
+        }
+        if (isExpense(event.current())) {
+            add(target, event.current(), 1, oldest, converter);
+        }
+    }
+
+    private void add(Map<Long, CategoryStats> target, TransactionSnapshot transaction, int sign, YearMonth oldest,
+                     Converter converter) {
+        boolean converted = target.computeIfAbsent(transaction.categoryId(), categoryId -> new CategoryStats()).add(
+            transaction.transactionDate(), transaction.currency(), sign * Money.of(transaction.amount()).minorUnits(),
+            oldest, converter
+        );
+        if (!converted) {
+            log.warn("No exchange rate from {} on {}, transaction {} is left out of spending forecasts until rates change",
+                transaction.currency(), transaction.transactionDate(), transaction.id());
+        }
+    }
+
+    private boolean isExpense(TransactionSnapshot transaction) {
+        return transaction != null && transaction.transactionType() == TransactionType.EXPENSE;
+    }
+
+    /**
+     * Converts into the current base currency, giving null for amounts already in it
+     */
+    private Converter converter() {
+        String baseCurrency = exchangeRateService.getBaseCurrency();
+        return new Converter(baseCurrency, (sourceMinor, currency, date) -> {
+            Money converted = exchangeRateService.convertOrNull(Money.ofMinor(sourceMinor), currency, baseCurrency, date);
+            return converted != null ? converted.minorUnits() : NO_RATE;
+        });
+    }
+
+    private YearMonth oldestMonth(LocalDate today) {
+        return YearMonth.from(today).minusMonths(historyMonths);
+    }
+
+    private record Forecast(long spentToDate, long projectedTotal, double averageMonthly, int historyMonths) {
+    }
+
+    @FunctionalInterface
+    private interface Conversion {
+        /**
+         * Amount in base-currency minor units, or NO_RATE when no rate is known for the currency on that date
+         */
+        long toBaseMinor(long sourceMinor, String currency, LocalDate date);
+    }
+
+    private record Converter(String baseCurrency, Conversion conversion) {
+
+        private boolean isForeign(String currency) {
+            return currency != null && !currency.equals(baseCurrency);
+        }
+    }
+
+    /**
+     * One month of a category's spending held in another currency: per day the total in that currency and
+     * the part of the base-currency daily total it contributes
+     */
+    private static final class ForeignMonth {
+
+        private final long[] source = new long[MAX_DAYS];
+        private final long[] converted = new long[MAX_DAYS];
+    }
+
+    /**
+     * Daily totals of one category plus the model fitted from its closed months
+     */
+    private static final class CategoryStats {
+
+        private final TreeMap<YearMonth, long[]> dailyTotals = new TreeMap<>();
+        // Currency -> month -> days, for spending not held in the base currency
+        private final Map<String, TreeMap<YearMonth, ForeignMonth>> foreign = new HashMap<>();
+        // Month the model was fitted for (from the months before it); null when a refit is due
+        private YearMonth fittedFor;
+        private double averageMonthly;
+        // cumulativeShare[d] = smoothed share of a month's spending reached by the end of day d + 1
+        private final double[] cumulativeShare = new double[MAX_DAYS];
+        private int fittedMonths;
+
+        /**
+         * Add an amount in its account's currency to a day. Spending in another currency is added to that
+         * currency's day and the day is converted again as a whole.
+         *
+         * @return false when the day has no exchange rate and is left out
+         */
+        private synchronized boolean add(LocalDate date, String currency, long sourceMinor, YearMonth oldest,
+                                         Converter converter) {
+            YearMonth month = YearMonth.from(date);
+            if (month.isBefore(oldest)) {
+                return true;
+            }
+            int day = date.getDayOfMonth() - 1;
+            if (!converter.isForeign(currency)) {
+                addToDay(month, day, sourceMinor);
+                return true;
+            }
+            ForeignMonth foreignMonth = foreign.computeIfAbsent(currency, key -> new TreeMap<>())
+                .computeIfAbsent(month, key -> new ForeignMonth());
+            foreignMonth.source[day] += sourceMinor;
+            return convert(foreignMonth, month, day, date, currency, converter);
+        }
+
+        /**
+         * Convert again a currency's days on the dates of a changed rate
+         */
+        private synchronized void reconvert(String currency, ExchangeRatesChangedEvent change, Converter converter) {
+            TreeMap<YearMonth, ForeignMonth> months = foreign.get(currency);
+            if (months == null) {
+                return;
+            }
+            YearMonth fromMonth = YearMonth.from(change.fromDate());
+            Map<YearMonth, ForeignMonth> affected = change.untilDate() == null
+                ? months.tailMap(fromMonth, true)
+                : months.subMap(fromMonth, true, YearMonth.from(change.untilDate()), true);
+            affected.forEach((month, foreignMonth) -> {
+                for (int day = 0; day < month.lengthOfMonth(); day++) {
+                    LocalDate date = month.atDay(day + 1);
+                    if (change.covers(date)) {
+                        convert(foreignMonth, month, day, date, currency, converter);
+                    }
+                }
+            });
+        }
+
+        private boolean convert(ForeignMonth foreignMonth, YearMonth month, int day, LocalDate date, String currency,
+                                Converter converter) {
+            long source = foreignMonth.source[day];
+            long converted = source == 0 ? 0 : converter.conversion().toBaseMinor(source, currency, date);
+            boolean hasRate = converted != NO_RATE;
+            if (!hasRate) {
+                converted = 0;
+            }
+            addToDay(month, day, converted - foreignMonth.converted[day]);
+            foreignMonth.converted[day] = converted;
+            return hasRate;
+        }
+
+        private void addToDay(YearMonth month, int day, long amount) {
+            if (amount == 0) {
+                return;
+            }
+            dailyTotals.computeIfAbsent(month, key -> new long[MAX_DAYS])[day] += amount;
+            if (fittedFor != null && month.isBefore(fittedFor)) {
+                fittedFor = null;
+            }
+        }
+
+        private synchronized Forecast forecast(LocalDate today, YearMonth oldest, double alpha) {
+            YearMonth month = YearMonth.from(today);
+            if (!month.equals(fittedFor)) {
+                fit(month, oldest, alpha);
+            }
+
+            int day = today.getDayOfMonth();
+            int length = month.lengthOfMonth();
+            long spent = 0;
+            long[] current = dailyTotals.get(month);
+            if (current != null) {
+                for (int d = 0; d < day; d++) {
+                    spent += current[d];
+                }
+            }
+
+            double remaining;
+            if (fittedMonths == 0) {
+                // No history yet: extend the run rate of the month so far
+                remaining = (double) spent / day * (length - day);
+            } else {
+                // Shares past this month's last day were spent in longer months; rescale to this month
+                double monthEnd = cumulativeShare[length - 1];
+                remaining = monthEnd > 0
+                    ? averageMonthly * (monthEnd - cumulativeShare[day - 1]) / monthEnd
+                    : averageMonthly * (length - day) / length;
+            }
+            return new Forecast(spent, spent + Math.max(0, Math.round(remaining)), averageMonthly, fittedMonths);
+        }
+
+        private void fit(YearMonth month, YearMonth oldest, double alpha) {
+            dailyTotals.headMap(oldest).clear();
+            foreign.values().forEach(months -> months.headMap(oldest).clear());
+            double average = 0;
+            int months = 0;
+            boolean shareSeeded = false;
+            double[] share = new double[MAX_DAYS];
+
+            if (!dailyTotals.isEmpty()) {
+                for (YearMonth closed = dailyTotals.firstKey(); closed.isBefore(month); closed = closed.plusMonths(1)) {
+                    long[] daily = dailyTotals.get(closed);
+                    long total = 0;
+                    if (daily != null) {
+                        for (long amount : daily) {
+                            total += amount;
+                        }
+                    }
+                    average = months == 0 ? total : alpha * total + (1 - alpha) * average;
+                    months++;
+
+                    if (total > 0) {
+                        double cumulative = 0;
+                        for (int d = 0; d < MAX_DAYS; d++) {
+                            cumulative += daily[d];
+                            double reached = cumulative / total;
+                            share[d] = shareSeeded ? alpha * reached + (1 - alpha) * share[d] : reached;
+                        }
+                        shareSeeded = true;
+                    }
+                }
+            }
+
+            averageMonthly = average;
+            fittedMonths = months;
+            System.arraycopy(share, 0, cumulativeShare, 0, MAX_DAYS);
+            fittedFor = month;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.BudgetAlertDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Budget alert sink pushing alerts to clients subscribed through Server-Sent Events.
+ * Subscribers only receive alerts of their own tenant (everything for the root tenant).
+ */
+@Component
+public class SseBudgetAlertSink implements BudgetAlertSink {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Register a new subscriber for the current tenant
+     */
+    public SseEmitter subscribe() {
+        Subscriber subscriber = new Subscriber(new SseEmitter(0L), TenantContext.getTenantId());
+        subscribers.add(subscriber);
+        subscriber.emitter().onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter().onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter().onError(error -> subscribers.remove(subscriber));
+        return subscriber.emitter();
+    }
+
+    @Override
+    public void send(BudgetAlertDTO alert) {
+        String alertTenantId = TenantContext.getTenantId();
+        for (Subscriber subscriber : subscribers) {
+            if (!TenantContext.canAccess(subscriber.tenantId(), alertTenantId)) {
+                continue;
+            }
+            try {
+                subscriber.emitter().send(SseEmitter.event().name("budget-alert").data(alert));
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, String tenantId) {
+    }
+}
@@ -0,0 +1,763 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.AdaptiveConcurrencyLimiter;
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.ImportJobDTO;
+import com.example.expensetracker.enums.ImportFormat;
+import com.example.expensetracker.enums.ImportJobStatus;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.AccountBalanceChangedEvent;
+import com.example.expensetracker.event.TransactionBatchImportedEvent;
+import com.example.expensetracker.event.TransactionSnapshot;
+import com.example.expensetracker.event.TransactionsImportedEvent;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Money;
+import com.example.expensetracker.model.Transaction;
+import com.example.expensetracker.repository.AccountRepository;
+import com.example.expensetracker.repository.CategoryMonthlySpendingRepository;
+import com.example.expensetracker.repository.CategoryRepository;
+import com.example.expensetracker.util.LongLongHashMap;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service for importing CSV and OFX/QFX bank statements.
+ *
+ * The uploaded file is split into chunks at record boundaries; each chunk is memory-mapped and parsed on a
+ * worker pool. Rows of a statement imported before are recognised by their import key and skipped; rows
+ * matching other existing transactions are imported and reported as suspected duplicates. Rows are written
+ * in JDBC batches. Each batch applies its aggregated
+ * per-account balance deltas and per-category monthly totals in the same database transaction.
+ * With load shedding on, every batch write takes a slot of the imports concurrency limit, waiting for
+ * one when the limit is reached, so imports back off while the connection pool is backed up.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementImportService {
+
+    private static final int MAX_ERRORS = 50;
+    private static final int MAX_FINISHED_JOBS = 100;
+    private static final int ALIGN_WINDOW_BYTES = 64 * 1024;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    // Order of the unique key of category_monthly_spending
+    private static final Comparator<SpendingCell> SPENDING_CELL_ORDER = Comparator
+        .comparing(SpendingCell::categoryId)
+        .thenComparing(SpendingCell::monthStart)
+        .thenComparing(SpendingCell::currency);
+    private static final long THROTTLE_WAIT_MILLIS = 50;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO transactions (account_id, category_id, amount, transaction_type, transaction_date, " +
+        "description, notes, fingerprint, import_key, created_at, updated_at, tenant_id) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_BALANCE_SQL =
+        "UPDATE accounts SET current_balance = current_balance + ?, updated_at = ? WHERE id = ?";
+
+    private final AccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final CategoryRepository categoryRepository;
+    private final CategoryMonthlySpendingRepository categoryMonthlySpendingRepository;
+    private final DuplicateTransactionService duplicateTransactionService;
+    private final BudgetActualsService budgetActualsService;
+    private final ExchangeRateService exchangeRateService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<AdaptiveConcurrencyLimiter> importConcurrencyLimiter;
+
+    @Value("${expensetracker.import.chunk-size-mb:32}")
+    private int chunkSizeMb;
+
+    @Value("${expensetracker.import.batch-size:1000}")
+    private int batchSize;
+
+    // 0 means one worker per available processor
+    @Value("${expensetracker.import.workers:0}")
+    private int workers;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService workerPool;
+
+    @PostConstruct
+    public void start() {
+        int size = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        workerPool = Executors.newFixedThreadPool(size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * Store the uploaded statement and start importing it in the background
+     *
+     * @param accountId  account for rows without an account column (required for OFX)
+     * @param categoryId category for rows without a category column
+     * @param format     file format, guessed from the file name when null
+     * @param dateFormat CSV date pattern, ISO (yyyy-MM-dd) when null
+     */
+    public ImportJobDTO startImport(MultipartFile file, Long accountId, Long categoryId,
+                                    ImportFormat format, String dateFormat) {
+        if (accountId != null && !shardRouter.onShardOf(accountId, () -> accountRepository.existsById(accountId))) {
+            throw new RuntimeException("Account not found with id: " + accountId);
+        }
+        if (categoryId != null && !categoryRepository.existsById(categoryId)) {
+            throw new RuntimeException("Category not found with id: " + categoryId);
+        }
+        ImportFormat resolvedFormat = format != null ? format : ImportFormat.fromFileName(file.getOriginalFilename());
+        if (resolvedFormat == ImportFormat.OFX && accountId == null) {
+            throw new RuntimeException("accountId is required for OFX imports");
+        }
+        DateTimeFormatter dateFormatter = dateFormat != null
+            ? DateTimeFormatter.ofPattern(dateFormat)
+            : DateTimeFormatter.ISO_LOCAL_DATE;
+
+        Path path;
+        try {
+            path = Files.createTempFile("statement-import-", "." + resolvedFormat.name().toLowerCase());
+            file.transferTo(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store uploaded statement: " + e.getMessage(), e);
+        }
+
+        ImportJob job = new ImportJob(
+            UUID.randomUUID().toString(), file.getOriginalFilename(), resolvedFormat, file.getSize()
+        );
+        pruneFinishedJobs();
+        jobs.put(job.id, job);
+
+        // Lookups and writes run on other threads, on behalf of the submitting tenant
+        Thread.ofVirtual().name("statement-import-" + job.id).start(
+            () -> TenantContext.runAs(job.tenantId, () -> runImport(job, path, accountId, categoryId, dateFormatter))
+        );
+        return job.toDTO();
+    }
+
+    /**
+     * Get import job by ID
+     */
+    public ImportJobDTO getJob(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null || !TenantContext.canAccess(job.tenantId)) {
+            throw new RuntimeException("Import job not found with id: " + id);
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Get all known import jobs, most recent first
+     */
+    public List<ImportJobDTO> getJobs() {
+        return jobs.values().stream()
+            .filter(job -> TenantContext.canAccess(job.tenantId))
+            .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+            .map(ImportJob::toDTO)
+            .toList();
+    }
+
+    private void runImport(ImportJob job, Path path, Long accountId, Long categoryId, DateTimeFormatter dateFormatter) {
+        job.status = ImportJobStatus.RUNNING;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ImportContext context = loadContext(accountId, categoryId);
+
+            StatementParser parser;
+            long dataStart = 0;
+            if (job.format == ImportFormat.CSV) {
+                ByteBuffer window = read(channel, 0);
+                int headerLength = lineLength(window);
+                String header = StandardCharsets.UTF_8.decode(window.slice(0, headerLength)).toString()
+                    .replace("\uFEFF", "")
+                    .trim();
+                parser = CsvStatementParser.fromHeader(header, dateFormatter);
+                dataStart = Math.min(channel.size(), headerLength + 1L);
+            } else {
+                parser = new OfxStatementParser();
+            }
+
+            List<long[]> chunks = planChunks(channel, parser, dataStart);
+            job.chunksTotal = chunks.size();
+            job.bytesProcessed.add(dataStart);
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (long[] chunk : chunks) {
+                futures.add(workerPool.submit(() -> TenantContext.runAs(
+                    job.tenantId, () -> processChunk(job, channel, parser, context, chunk[0], chunk[1])
+                )));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            publishImported(job);
+            job.finish(ImportJobStatus.COMPLETED);
+            log.info("Import {} of {} completed: {} imported ({} suspected duplicates), {} already imported, {} failed",
+                job.id, job.fileName, job.rowsImported.sum(), job.rowsSuspectedDuplicate.sum(),
+                job.rowsDuplicate.sum(), job.rowsFailed.sum());
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Import {} of {} failed", job.id, job.fileName, cause);
+            job.addError("Import failed: " + cause.getMessage());
+            // Batches committed before the failure stay imported, with their balances applied
+            publishImported(job);
+            job.finish(ImportJobStatus.FAILED);
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * Split [dataStart, size) into chunks of about chunk-size-mb, moving each boundary forward to a record start
+     */
+    private List<long[]> planChunks(FileChannel channel, StatementParser parser, long dataStart) throws IOException {
+        long size = channel.size();
+        long chunkSize = chunkSizeMb * 1024L * 1024L;
+        List<long[]> chunks = new ArrayList<>();
+        long start = dataStart;
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+            if (end < size) {
+                end = alignToRecord(channel, parser, end);
+            }
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private long alignToRecord(FileChannel channel, StatementParser parser, long position) throws IOException {
+        long size = channel.size();
+        while (position < size) {
+            ByteBuffer window = read(channel, position);
+            int offset = parser.nextRecordOffset(window);
+            if (offset >= 0) {
+                return position + offset;
+            }
+            if (window.limit() < ALIGN_WINDOW_BYTES) {
+                break;
+            }
+            // Overlap windows so a boundary marker split across two reads is still found
+            position += window.limit() - 16;
+        }
+        return size;
+    }
+
+    private int lineLength(ByteBuffer window) {
+        for (int i = 0; i < window.limit(); i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return window.limit();
+    }
+
+    private ByteBuffer read(FileChannel channel, long position) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(ALIGN_WINDOW_BYTES);
+        while (window.hasRemaining() && channel.read(window, position + window.position()) > 0) {
+            // keep reading until the window is full or the file ends
+        }
+        return window.flip();
+    }
+
+    private void processChunk(ImportJob job, FileChannel channel, StatementParser parser, ImportContext context,
+                              long start, long end) {
+        MappedByteBuffer chunk;
+        try {
+            chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to map import chunk at byte " + start + ": " + e.getMessage(), e);
+        }
+
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        parser.parse(chunk, start, row -> {
+            job.rowsParsed.increment();
+            Transaction transaction = toTransaction(row, context, job);
+            if (transaction != null) {
+                String fingerprint = duplicateTransactionService.fingerprint(transaction);
+                int ordinal = job.nextOrdinal(fingerprint);
+                transaction.setFingerprint(fingerprint);
+                transaction.setImportKey(duplicateTransactionService.importKey(
+                    transaction.getAccountId(), fingerprint, row.externalId(), ordinal
+                ));
+                batch.add(new ImportRow(transaction, ordinal));
+                if (batch.size() >= batchSize) {
+                    writeBatch(job, context, batch);
+                    batch.clear();
+                }
+            }
+        }, error -> {
+            job.rowsParsed.increment();
+            job.rowsFailed.increment();
+            job.addError(error);
+        });
+        if (!batch.isEmpty()) {
+            writeBatch(job, context, batch);
+        }
+
+        job.bytesProcessed.add(end - start);
+        job.chunksCompleted.incrementAndGet();
+    }
+
+    private Transaction toTransaction(StatementRow row, ImportContext context, ImportJob job) {
+        String error = null;
+        Long accountId = context.defaultAccountId();
+        if (row.account() != null) {
+            accountId = context.accountsByName().get(row.account().toLowerCase());
+            if (accountId == null) {
+                error = "unknown account '" + row.account() + "'";
+            }
+        } else if (accountId == null) {
+            error = "no account column and no accountId given";
+        }
+
+        Long categoryId = context.defaultCategoryId();
+        if (row.category() != null) {
+            categoryId = context.categoriesByName().get(row.category().toLowerCase());
+            if (categoryId == null) {
+                error = "unknown category '" + row.category() + "'";
+            }
+        } else if (categoryId == null) {
+            error = "no category column and no categoryId given";
+        }
+
+        if (row.amount().signum() == 0) {
+            error = "amount is zero";
+        }
+
+        if (error != null) {
+            job.rowsFailed.increment();
+            job.addError("Row at byte " + row.offset() + ": " + error);
+            return null;
+        }
+
+        Transaction transaction = new Transaction();
+        transaction.setAccountId(accountId);
+        transaction.setCategoryId(categoryId);
+        transaction.setAmount(row.amount().abs());
+        transaction.setTransactionType(resolveType(row.type(), row.amount()));
+        transaction.setTransactionDate(row.date());
+        transaction.setDescription(truncate(row.description(), 255));
+        transaction.setNotes(row.notes());
+        return transaction;
+    }
+
+    /**
+     * Map a statement type hint to EXPENSE or INCOME, falling back to the sign of the amount
+     */
+    private TransactionType resolveType(String type, BigDecimal amount) {
+        if (type != null) {
+            switch (type.trim().toUpperCase()) {
+                case "INCOME", "CREDIT", "DEP", "DEPOSIT", "INT", "DIV", "DIRECTDEP":
+                    return TransactionType.INCOME;
+                case "EXPENSE", "DEBIT", "PAYMENT", "POS", "ATM", "FEE", "SRVCHG", "CHECK", "DIRECTDEBIT",
+                     "WITHDRAWAL":
+                    return TransactionType.EXPENSE;
+                default:
+                    break;
+            }
+        }
+        return amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+    }
+
+    /**
+     * Write a batch once the imports concurrency limit has room for it
+     */
+    private void writeBatch(ImportJob job, ImportContext context, List<ImportRow> batch) {
+        AdaptiveConcurrencyLimiter limiter = importConcurrencyLimiter.getIfAvailable();
+        if (limiter == null) {
+            writeBatchOnShards(job, context, batch);
+            return;
+        }
+
+        while (!limiter.tryAcquire()) {
+            try {
+                Thread.sleep(THROTTLE_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting to write import batch", e);
+            }
+        }
+        long startNanos = System.nanoTime();
+        try {
+            writeBatchOnShards(job, context, batch);
+        } finally {
+            limiter.release(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Split a batch by the shard of its accounts; each part is written in one transaction on its shard
+     */
+    private void writeBatchOnShards(ImportJob job, ImportContext context, List<ImportRow> batch) {
+        Map<Integer, List<ImportRow>> byShard = new TreeMap<>();
+        for (ImportRow row : batch) {
+            byShard.computeIfAbsent(shardRouter.shardOf(row.transaction().getAccountId()), shard -> new ArrayList<>())
+                .add(row);
+        }
+        byShard.forEach((shard, rows) -> shardRouter.onShard(shard, () -> {
+            writeShardBatch(job, context, rows);
+            return null;
+        }));
+    }
+
+    /**
+     * Insert one batch, retrying when a concurrent import of the same statement committed some of its
+     * rows between the duplicate check and the insert (the unique import key rejects the whole batch),
+     * or when the batch lost a deadlock against a budget actuals recomputation
+     */
+    private void writeShardBatch(ImportJob job, ImportContext context, List<ImportRow> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                tryWriteShardBatch(job, context, batch);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Import {}: batch raced with a concurrent import, filtering it again", job.id);
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Import {}: batch lost a lock race, writing it again", job.id);
+            }
+        }
+    }
+
+    /**
+     * Insert the rows of one batch not imported before, and apply their aggregated balance deltas and
+     * budget actuals in a single transaction. Rows matching other existing transactions are inserted as
+     * well, and reported as suspected duplicates.
+     */
+    private void tryWriteShardBatch(ImportJob job, ImportContext context, List<ImportRow> batch) {
+        Map<String, ImportRow> byImportKey = new LinkedHashMap<>();
+        for (ImportRow row : batch) {
+            // Only a statement repeating its own transaction id yields one key twice
+            byImportKey.putIfAbsent(row.transaction().getImportKey(), row);
+        }
+        for (String existing : duplicateTransactionService.findExistingImportKeys(byImportKey.keySet())) {
+            byImportKey.remove(existing);
+        }
+        if (byImportKey.isEmpty()) {
+            job.rowsDuplicate.add(batch.size());
+            return;
+        }
+
+        List<Transaction> fresh = new ArrayList<>(byImportKey.size());
+        Set<String> fingerprints = new HashSet<>();
+        for (ImportRow row : byImportKey.values()) {
+            fresh.add(row.transaction());
+            fingerprints.add(row.transaction().getFingerprint());
+        }
+        // The statement accounts for as many equal transactions as precede the row in it; any beyond
+        // those were entered otherwise, e.g. by hand or by a recurring schedule
+        Map<String, Long> existingCounts = duplicateTransactionService.countByFingerprint(fingerprints);
+        boolean[] suspected = new boolean[fresh.size()];
+        int i = 0;
+        for (ImportRow row : byImportKey.values()) {
+            suspected[i++] = existingCounts.getOrDefault(row.transaction().getFingerprint(), 0L) > row.ordinal();
+        }
+
+        // Sorted so concurrent batches lock account and spending rows in the same order
+        Map<Long, Money> balanceDeltas = new TreeMap<>();
+        Map<SpendingCell, Money> spending = new TreeMap<>(SPENDING_CELL_ORDER);
+        int unconverted = 0;
+        for (Transaction transaction : fresh) {
+            Money amount = Money.of(transaction.getAmount());
+            Money delta = transaction.getTransactionType() == TransactionType.INCOME ? amount : amount.negate();
+            balanceDeltas.merge(transaction.getAccountId(), delta, Money::plus);
+
+            String currency = context.currencyOf(transaction.getAccountId());
+            Money baseAmount = budgetActualsService.toBaseCurrency(amount, currency, transaction.getTransactionDate());
+            if (baseAmount == null) {
+                // Left out of the actuals until rates change, like single writes
+                unconverted++;
+                continue;
+            }
+            spending.merge(
+                new SpendingCell(transaction.getCategoryId(), transaction.getTransactionDate().withDayOfMonth(1), currency),
+                baseAmount, Money::plus
+            );
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder generatedIds = new GeneratedKeyHolder();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Transaction transaction = fresh.get(i);
+                        statement.setLong(1, transaction.getAccountId());
+                        statement.setLong(2, transaction.getCategoryId());
+                        statement.setBigDecimal(3, transaction.getAmount());
+                        statement.setString(4, transaction.getTransactionType().name());
+                        statement.setDate(5, Date.valueOf(transaction.getTransactionDate()));
+                        statement.setString(6, transaction.getDescription());
+                        statement.setString(7, transaction.getNotes());
+                        statement.setString(8, transaction.getFingerprint());
+                        statement.setString(9, transaction.getImportKey());
+                        statement.setTimestamp(10, now);
+                        statement.setTimestamp(11, now);
+                        statement.setString(12, job.tenantId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return fresh.size();
+                    }
+                },
+                generatedIds
+            );
+            for (Map.Entry<Long, Money> delta : balanceDeltas.entrySet()) {
+                jdbcTemplate.update(UPDATE_BALANCE_SQL, delta.getValue().toBigDecimal(), now, delta.getKey());
+            }
+            for (Map.Entry<SpendingCell, Money> cell : spending.entrySet()) {
+                categoryMonthlySpendingRepository.addSpending(
+                    cell.getKey().categoryId(), cell.getKey().monthStart(), cell.getKey().currency(),
+                    cell.getValue().toBigDecimal()
+                );
+            }
+        });
+        publishBatch(job, context, fresh, generatedIds.getKeyList());
+        for (int j = 0; j < suspected.length; j++) {
+            if (suspected[j]) {
+                job.addSuspectedDuplicate(fresh.get(j).getId());
+            }
+        }
+
+        job.accountIds.addAll(balanceDeltas.keySet());
+        job.rowsImported.add(fresh.size());
+        job.rowsDuplicate.add(batch.size() - fresh.size());
+        if (unconverted > 0) {
+            log.warn("Import {}: {} rows have no exchange rate to {} and are left out of budget actuals until rates change",
+                job.id, unconverted, context.baseCurrency());
+        }
+    }
+
+    /**
+     * Announce a committed batch, so in-memory views apply its rows instead of rescanning the table
+     */
+    private void publishBatch(ImportJob job, ImportContext context, List<Transaction> inserted,
+                              List<Map<String, Object>> generatedIds) {
+        List<TransactionSnapshot> snapshots = new ArrayList<>(inserted.size());
+        for (int i = 0; i < inserted.size(); i++) {
+            Transaction transaction = inserted.get(i);
+            // One generated column per row, named by the driver
+            transaction.setId(((Number) generatedIds.get(i).values().iterator().next()).longValue());
+            snapshots.add(TransactionSnapshot.of(transaction, context.currencyOf(transaction.getAccountId())));
+        }
+        eventPublisher.publishEvent(new TransactionBatchImportedEvent(job.id, snapshots));
+    }
+
+    private void publishImported(ImportJob job) {
+        if (job.accountIds.isEmpty()) {
+            return;
+        }
+        for (Account account : shardRouter.fanOutList(() -> accountRepository.findAllById(job.accountIds))) {
+            eventPublisher.publishEvent(new AccountBalanceChangedEvent(
+                account.getId(), account.getCurrentBalance(), account.getCurrency()
+            ));
+        }
+        eventPublisher.publishEvent(new TransactionsImportedEvent(job.id, Set.copyOf(job.accountIds)));
+    }
+
+    private ImportContext loadContext(Long defaultAccountId, Long defaultCategoryId) {
+        Map<String, Long> accountsByName = new HashMap<>();
+        Map<Long, String> accountCurrencies = new HashMap<>();
+        for (Account account : shardRouter.fanOutList(accountRepository::findAll)) {
+            accountsByName.putIfAbsent(account.getAccountName().toLowerCase(), account.getId());
+            accountCurrencies.put(account.getId(), account.getCurrency());
+        }
+        Map<String, Long> categoriesByName = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoriesByName.putIfAbsent(category.getName().toLowerCase(), category.getId());
+        }
+        return new ImportContext(
+            accountsByName, accountCurrencies, categoriesByName,
+            defaultAccountId, defaultCategoryId, exchangeRateService.getBaseCurrency()
+        );
+    }
+
+    private void pruneFinishedJobs() {
+        List<ImportJob> finished = jobs.values().stream()
+            .filter(job -> job.finishedAt != null)
+            .sorted(Comparator.comparing((ImportJob job) -> job.finishedAt))
+            .toList();
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS + 1; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * Budget actuals row a batch adds to
+     */
+    private record SpendingCell(Long categoryId, LocalDate monthStart, String currency) {
+    }
+
+    /**
+     * Parsed row and its 0-based position among the statement's rows with the same fingerprint
+     */
+    private record ImportRow(Transaction transaction, int ordinal) {
+    }
+
+    /**
+     * Lookup maps resolved once per import, so rows never query accounts or categories
+     */
+    private record ImportContext(
+        Map<String, Long> accountsByName,
+        Map<Long, String> accountCurrencies,
+        Map<String, Long> categoriesByName,
+        Long defaultAccountId,
+        Long defaultCategoryId,
+        String baseCurrency
+    ) {
+        String currencyOf(Long accountId) {
+            String currency = accountCurrencies.get(accountId);
+            return currency != null ? currency : baseCurrency;
+        }
+    }
+
+    /**
+     * Mutable progress of one import, updated concurrently by the chunk workers
+     */
+    private static final class ImportJob {
+
+        private final String id;
+        private final String fileName;
+        private final ImportFormat format;
+        private final long bytesTotal;
+        private final String tenantId = TenantContext.getTenantId();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final LongAdder bytesProcessed = new LongAdder();
+        private final AtomicInteger chunksCompleted = new AtomicInteger();
+        private final LongAdder rowsParsed = new LongAdder();
+        private final LongAdder rowsImported = new LongAdder();
+        private final LongAdder rowsDuplicate = new LongAdder();
+        private final LongAdder rowsSuspectedDuplicate = new LongAdder();
+        private final LongAdder rowsFailed = new LongAdder();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private final List<Long> suspectedDuplicateIds = Collections.synchronizedList(new ArrayList<>());
+        // leading 64 bits of a fingerprint -> rows seen with it; equal rows are interchangeable, so the
+        // order in which chunk workers number them does not matter
+        private final LongLongHashMap ordinals = new LongLongHashMap();
+        private final Set<Long> accountIds = ConcurrentHashMap.newKeySet();
+        private volatile ImportJobStatus status = ImportJobStatus.PENDING;
+        private volatile int chunksTotal;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String id, String fileName, ImportFormat format, long bytesTotal) {
+            this.id = id;
+            this.fileName = fileName;
+            this.format = format;
+            this.bytesTotal = bytesTotal;
+        }
+
+        private void addError(String error) {
+            synchronized (errors) {
+                if (errors.size() < MAX_ERRORS) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        private int nextOrdinal(String fingerprint) {
+            long key = Long.parseUnsignedLong(fingerprint, 0, 16, 16);
+            synchronized (ordinals) {
+                return (int) ordinals.addTo(key, 1) - 1;
+            }
+        }
+
+        private void addSuspectedDuplicate(Long transactionId) {
+            rowsSuspectedDuplicate.increment();
+            synchronized (suspectedDuplicateIds) {
+                if (suspectedDuplicateIds.size() < MAX_ERRORS) {
+                    suspectedDuplicateIds.add(transactionId);
+                }
+            }
+        }
+
+        private void finish(ImportJobStatus finalStatus) {
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private ImportJobDTO toDTO() {
+            List<String> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = List.copyOf(errors);
+            }
+            List<Long> suspectedCopy;
+            synchronized (suspectedDuplicateIds) {
+                suspectedCopy = List.copyOf(suspectedDuplicateIds);
+            }
+            return new ImportJobDTO(
+                id, fileName, format, status, bytesTotal, Math.min(bytesProcessed.sum(), bytesTotal),
+                chunksTotal, chunksCompleted.get(), rowsParsed.sum(), rowsImported.sum(), rowsDuplicate.sum(),
+                rowsSuspectedDuplicate.sum(), suspectedCopy, rowsFailed.sum(), errorsCopy, startedAt, finishedAt
+            );
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.expensetracker.service;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Parses statement records straight out of a (memory-mapped) byte buffer. Files are split into chunks at
+ * record boundaries, so each chunk can be parsed independently.
+ */
+interface StatementParser {
+
+    /**
+     * Index in the window of the first record boundary, or -1 if the window holds none
+     */
+    int nextRecordOffset(ByteBuffer window);
+
+    /**
+     * Parse every record between the buffer's position and limit
+     *
+     * @param fileOffset offset of the buffer's position within the file
+     */
+    void parse(ByteBuffer chunk, long fileOffset, Consumer<StatementRow> rows, Consumer<String> errors);
+}
@@ -0,0 +1,25 @@
+package com.example.expensetracker.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One parsed statement line, before account/category resolution
+ *
+ * @param offset byte offset of the record in the file, for error messages
+ * @param amount signed amount as it appears in the statement
+ * @param type   type hint from the statement (e.g. EXPENSE, DEBIT, CREDIT), or null
+ * @param externalId the statement's own id of the transaction (e.g. the OFX FITID), or null
+ */
+record StatementRow(
+    long offset,
+    LocalDate date,
+    BigDecimal amount,
+    String description,
+    String type,
+    String category,
+    String account,
+    String notes,
+    String externalId
+) {
+}
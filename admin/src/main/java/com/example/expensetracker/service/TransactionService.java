@@ -1,15 +1,26 @@
 package com.example.expensetracker.service;
 
 import com.example.expensetracker.dto.MonthlySpendingDTO;
+import com.example.expensetracker.dto.TransactionViewDTO;
 import com.example.expensetracker.dto.TransferRequest;
 import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionSnapshot;
 import com.example.expensetracker.model.Account;
 import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.Money;
 import com.example.expensetracker.model.Transaction;
 import com.example.expensetracker.repository.TransactionRepository;
+import com.example.expensetracker.util.LongLongHashMap;
+import com.example.expensetracker.util.LongObjectHashMap;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -17,10 +28,14 @@ import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Transaction operations
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
@@ -28,41 +43,87 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
     private final CategoryService categoryService;
+    private final DuplicateTransactionService duplicateTransactionService;
+    private final ExchangeRateService exchangeRateService;
+    private final BudgetActualsService budgetActualsService;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Get all transactions
      */
+    @Transactional(readOnly = true)
     public List<Transaction> getAllTransactions() {
-        return transactionRepository.findAll();
+        return shardRouter.fanOutList(transactionRepository::findAll);
     }
 
     /**
      * Get transaction by ID
      */
+    @Transactional(readOnly = true)
     public Transaction getTransactionById(Long id) {
-        return transactionRepository.findById(id)
+        return shardRouter.onShardOf(id, () -> transactionRepository.findById(id))
             .orElseThrow(() -> new RuntimeException("Transaction not found with id: " + id));
     }
 
     /**
      * Get transactions by account ID
      */
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByAccount(Long accountId) {
-        return transactionRepository.findByAccountId(accountId);
+        return shardRouter.onShardOf(accountId, () -> transactionRepository.findByAccountId(accountId));
     }
 
     /**
      * Get transactions by category ID
      */
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByCategory(Long categoryId) {
-        return transactionRepository.findByCategoryId(categoryId);
+        return shardRouter.fanOutList(() -> transactionRepository.findByCategoryId(categoryId));
     }
 
     /**
      * Get transactions within date range
      */
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return transactionRepository.findByTransactionDateBetween(startDate, endDate);
+        return shardRouter.fanOutList(() -> transactionRepository.findByTransactionDateBetween(startDate, endDate));
+    }
+
+    /**
+     * Stream all transactions to a consumer without loading them all into memory
+     */
+    public void streamAllTransactions(Consumer<Transaction> consumer) {
+        streamFromShards(transactionRepository::streamAll, consumer);
+    }
+
+    /**
+     * Stream transactions within date range to a consumer without loading them all into memory
+     */
+    public void streamTransactionsByDateRange(LocalDate startDate, LocalDate endDate, Consumer<Transaction> consumer) {
+        streamFromShards(() -> transactionRepository.streamByTransactionDateBetween(startDate, endDate), consumer);
+    }
+
+    /**
+     * Stream transactions by account to a consumer without loading them all into memory
+     */
+    @Transactional(readOnly = true)
+    public void streamTransactionsByAccount(Long accountId, Consumer<Transaction> consumer) {
+        shardRouter.onShardOf(accountId, () -> {
+            try (Stream<Transaction> transactions = transactionRepository.streamByAccountId(accountId)) {
+                forEachDetached(transactions, consumer);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Stream transactions by category to a consumer without loading them all into memory
+     */
+    public void streamTransactionsByCategory(Long categoryId, Consumer<Transaction> consumer) {
+        streamFromShards(() -> transactionRepository.streamByCategoryId(categoryId), consumer);
     }
 
     /**
@@ -70,6 +131,20 @@ public class TransactionService {
      */
     @Transactional
     public Transaction createTransaction(Transaction transaction) {
+        return createTransaction(transaction, false);
+    }
+
+    /**
+     * Create new transaction and update account balance
+     *
+     * @param rejectDuplicates fail if a transaction with the same account, amount, date and description exists
+     */
+    @Transactional
+    public Transaction createTransaction(Transaction transaction, boolean rejectDuplicates) {
+        return shardRouter.onShardOf(transaction.getAccountId(), () -> createOnAccountShard(transaction, rejectDuplicates));
+    }
+
+    private Transaction createOnAccountShard(Transaction transaction, boolean rejectDuplicates) {
         // Validate account exists
         Account account = accountService.getAccountById(transaction.getAccountId());
 
@@ -78,12 +153,27 @@ public class TransactionService {
             throw new RuntimeException("Category not found with id: " + transaction.getCategoryId());
         }
 
+        // Identical entries can be legitimate (two equal purchases on one day), so rejecting exact
+        // duplicates (same account, amount, date and description) is up to the caller
+        transaction.setFingerprint(duplicateTransactionService.fingerprint(transaction));
+        if (rejectDuplicates && duplicateTransactionService.isDuplicate(transaction)) {
+            throw new RuntimeException("Duplicate transaction already exists for account id: " +
+                transaction.getAccountId());
+        }
+
         // Save transaction
         Transaction savedTransaction = transactionRepository.save(transaction);
 
         // Update account balance based on transaction type
         updateAccountBalanceForTransaction(account, transaction);
 
+        // Keep per-category budget actuals current
+        budgetActualsService.recordTransaction(savedTransaction, account.getCurrency());
+
+        eventPublisher.publishEvent(TransactionChangedEvent.created(
+            TransactionSnapshot.of(savedTransaction, account.getCurrency())
+        ));
+
         return savedTransaction;
     }
 
@@ -92,11 +182,21 @@ public class TransactionService {
      */
     @Transactional
     public Transaction updateTransaction(Long id, Transaction transactionDetails) {
+        if (shardRouter.shardOf(id) != shardRouter.shardOf(transactionDetails.getAccountId())) {
+            throw new RuntimeException("Cannot move transaction " + id + " to account id: " +
+                transactionDetails.getAccountId() + " on another shard");
+        }
+        return shardRouter.onShardOf(id, () -> updateOnAccountShard(id, transactionDetails));
+    }
+
+    private Transaction updateOnAccountShard(Long id, Transaction transactionDetails) {
         Transaction existingTransaction = getTransactionById(id);
         Account account = accountService.getAccountById(existingTransaction.getAccountId());
+        TransactionSnapshot previous = TransactionSnapshot.of(existingTransaction, account.getCurrency());
 
         // Reverse the effect of the old transaction
         reverseAccountBalanceForTransaction(account, existingTransaction);
+        budgetActualsService.reverseTransaction(existingTransaction, account.getCurrency());
 
         // Update transaction details
         existingTransaction.setAccountId(transactionDetails.getAccountId());
@@ -106,12 +206,18 @@ public class TransactionService {
         existingTransaction.setTransactionDate(transactionDetails.getTransactionDate());
         existingTransaction.setDescription(transactionDetails.getDescription());
         existingTransaction.setNotes(transactionDetails.getNotes());
+        existingTransaction.setFingerprint(duplicateTransactionService.fingerprint(existingTransaction));
 
         Transaction updatedTransaction = transactionRepository.save(existingTransaction);
 
         // Apply the new transaction effect
         Account newAccount = accountService.getAccountById(transactionDetails.getAccountId());
         updateAccountBalanceForTransaction(newAccount, updatedTransaction);
+        budgetActualsService.recordTransaction(updatedTransaction, newAccount.getCurrency());
+
+        eventPublisher.publishEvent(TransactionChangedEvent.updated(
+            previous, TransactionSnapshot.of(updatedTransaction, newAccount.getCurrency())
+        ));
 
         return updatedTransaction;
     }
@@ -121,27 +227,48 @@ public class TransactionService {
      */
     @Transactional
     public void deleteTransaction(Long id) {
-        Transaction transaction = getTransactionById(id);
-        Account account = accountService.getAccountById(transaction.getAccountId());
+        shardRouter.onShardOf(id, () -> {
+            Transaction transaction = getTransactionById(id);
+            Account account = accountService.getAccountById(transaction.getAccountId());
 
-        // Reverse the transaction effect on account balance
-        reverseAccountBalanceForTransaction(account, transaction);
+            // Reverse the transaction effect on account balance
+            reverseAccountBalanceForTransaction(account, transaction);
+            budgetActualsService.reverseTransaction(transaction, account.getCurrency());
 
-        transactionRepository.deleteById(id);
+            transactionRepository.deleteById(id);
+
+            eventPublisher.publishEvent(TransactionChangedEvent.deleted(
+                TransactionSnapshot.of(transaction, account.getCurrency())
+            ));
+            return null;
+        });
     }
 
     /**
      * Handle transfer between accounts
-     * Creates two linked transactions with the same transfer_reference_id
+     * Creates two linked transactions with the same transfer_reference_id.
+     * Accounts on one shard are transferred in one database transaction; across shards the transfer
+     * runs as a saga (debit, then credit, compensating the debit if the credit fails).
      */
-    @Transactional
     public List<Transaction> createTransfer(TransferRequest transferRequest) {
-        // Validate accounts exist
-        Account fromAccount = accountService.getAccountById(transferRequest.getFromAccountId());
+        Long fromAccountId = transferRequest.getFromAccountId();
+        Long toAccountId = transferRequest.getToAccountId();
+        if (shardRouter.shardOf(fromAccountId) == shardRouter.shardOf(toAccountId)) {
+            return transactionTemplate.execute(status ->
+                shardRouter.onShardOf(fromAccountId, () -> transferWithinShard(transferRequest)));
+        }
+        return transferAcrossShards(transferRequest);
+    }
+
+    private List<Transaction> transferWithinShard(TransferRequest transferRequest) {
+        // Validate accounts exist; the source stays locked from the balance check to the debit
+        Account fromAccount = accountService.getAccountForUpdate(transferRequest.getFromAccountId());
         Account toAccount = accountService.getAccountById(transferRequest.getToAccountId());
 
+        BigDecimal amount = transferRequest.getAmount();
+
         // Check sufficient balance in from account
-        if (fromAccount.getCurrentBalance().compareTo(transferRequest.getAmount()) < 0) {
+        if (fromAccount.getCurrentBalance().compareTo(amount) < 0) {
             throw new RuntimeException("Insufficient balance in source account");
         }
 
@@ -149,37 +276,32 @@ public class TransactionService {
         String transferReferenceId = UUID.randomUUID().toString();
 
         // Create outgoing transaction (debit from source account)
-        Transaction outgoingTransaction = new Transaction();
-        outgoingTransaction.setAccountId(transferRequest.getFromAccountId());
-        outgoingTransaction.setCategoryId(transferRequest.getCategoryId());
-        outgoingTransaction.setAmount(transferRequest.getAmount());
-        outgoingTransaction.setTransactionType(TransactionType.TRANSFER);
-        outgoingTransaction.setTransactionDate(transferRequest.getTransactionDate());
-        outgoingTransaction.setDescription(transferRequest.getDescription() + " (Transfer Out)");
-        outgoingTransaction.setNotes(transferRequest.getNotes());
-        outgoingTransaction.setTransferReferenceId(transferReferenceId);
+        Transaction outgoingTransaction = transferLeg(
+            transferRequest, transferRequest.getFromAccountId(), " (Transfer Out)", transferReferenceId
+        );
 
         // Create incoming transaction (credit to destination account)
-        Transaction incomingTransaction = new Transaction();
-        incomingTransaction.setAccountId(transferRequest.getToAccountId());
-        incomingTransaction.setCategoryId(transferRequest.getCategoryId());
-        incomingTransaction.setAmount(transferRequest.getAmount());
-        incomingTransaction.setTransactionType(TransactionType.TRANSFER);
-        incomingTransaction.setTransactionDate(transferRequest.getTransactionDate());
-        incomingTransaction.setDescription(transferRequest.getDescription() + " (Transfer In)");
-        incomingTransaction.setNotes(transferRequest.getNotes());
-        incomingTransaction.setTransferReferenceId(transferReferenceId);
+        Transaction incomingTransaction = transferLeg(
+            transferRequest, transferRequest.getToAccountId(), " (Transfer In)", transferReferenceId
+        );
 
         // Save both transactions
         Transaction savedOutgoing = transactionRepository.save(outgoingTransaction);
         Transaction savedIncoming = transactionRepository.save(incomingTransaction);
 
         // Update account balances
-        fromAccount.setCurrentBalance(fromAccount.getCurrentBalance().subtract(transferRequest.getAmount()));
-        accountService.updateAccountBalance(fromAccount.getId(), fromAccount.getCurrentBalance());
+        accountService.adjustAccountBalance(fromAccount.getId(), amount.negate());
+        accountService.adjustAccountBalance(toAccount.getId(), amount);
+
+        budgetActualsService.recordTransaction(savedOutgoing, fromAccount.getCurrency());
+        budgetActualsService.recordTransaction(savedIncoming, toAccount.getCurrency());
 
-        toAccount.setCurrentBalance(toAccount.getCurrentBalance().add(transferRequest.getAmount()));
-        accountService.updateAccountBalance(toAccount.getId(), toAccount.getCurrentBalance());
+        eventPublisher.publishEvent(TransactionChangedEvent.created(
+            TransactionSnapshot.of(savedOutgoing, fromAccount.getCurrency())
+        ));
+        eventPublisher.publishEvent(TransactionChangedEvent.created(
+            TransactionSnapshot.of(savedIncoming, toAccount.getCurrency())
+        ));
 
         List<Transaction> transferTransactions = new ArrayList<>();
         transferTransactions.add(savedOutgoing);
@@ -188,82 +310,263 @@ public class TransactionService {
         return transferTransactions;
     }
 
+    /**
+     * Each leg commits on its own shard. The debit goes first so a failed balance check needs no
+     * compensation; if the credit fails the debit is reversed. A failed compensation leaves the
+     * outgoing leg in place and is logged with the transfer reference for manual repair.
+     */
+    private List<Transaction> transferAcrossShards(TransferRequest transferRequest) {
+        Long fromAccountId = transferRequest.getFromAccountId();
+        Long toAccountId = transferRequest.getToAccountId();
+        BigDecimal amount = transferRequest.getAmount();
+
+        // Validate the destination before touching the source
+        accountService.getAccountById(toAccountId);
+
+        String transferReferenceId = UUID.randomUUID().toString();
+
+        Transaction savedOutgoing = transactionTemplate.execute(status -> shardRouter.onShardOf(fromAccountId, () -> {
+            Account fromAccount = accountService.getAccountForUpdate(fromAccountId);
+            if (fromAccount.getCurrentBalance().compareTo(amount) < 0) {
+                throw new RuntimeException("Insufficient balance in source account");
+            }
+            return applyTransferLeg(
+                fromAccount, transferLeg(transferRequest, fromAccountId, " (Transfer Out)", transferReferenceId),
+                amount.negate()
+            );
+        }));
+
+        try {
+            Transaction savedIncoming = transactionTemplate.execute(status -> shardRouter.onShardOf(toAccountId, () ->
+                applyTransferLeg(
+                    accountService.getAccountById(toAccountId),
+                    transferLeg(transferRequest, toAccountId, " (Transfer In)", transferReferenceId),
+                    amount
+                )));
+
+            List<Transaction> transferTransactions = new ArrayList<>();
+            transferTransactions.add(savedOutgoing);
+            transferTransactions.add(savedIncoming);
+            return transferTransactions;
+        } catch (RuntimeException e) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    shardRouter.onShardOf(fromAccountId, () -> compensateTransferLeg(savedOutgoing, amount)));
+            } catch (RuntimeException compensationFailure) {
+                log.error("Failed to compensate transfer {} after the credit failed; outgoing transaction {} is left in place",
+                    transferReferenceId, savedOutgoing.getId(), compensationFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Save one leg of a transfer and move its account balance by the given signed amount
+     */
+    private Transaction applyTransferLeg(Account account, Transaction leg, BigDecimal balanceChange) {
+        Transaction savedLeg = transactionRepository.save(leg);
+        accountService.adjustAccountBalance(account.getId(), balanceChange);
+        budgetActualsService.recordTransaction(savedLeg, account.getCurrency());
+        eventPublisher.publishEvent(TransactionChangedEvent.created(
+            TransactionSnapshot.of(savedLeg, account.getCurrency())
+        ));
+        return savedLeg;
+    }
+
+    /**
+     * Undo a committed outgoing leg: restore the balance and remove the transaction
+     */
+    private Transaction compensateTransferLeg(Transaction outgoing, BigDecimal amount) {
+        Account account = accountService.getAccountById(outgoing.getAccountId());
+        accountService.adjustAccountBalance(account.getId(), amount);
+        budgetActualsService.reverseTransaction(outgoing, account.getCurrency());
+        transactionRepository.deleteById(outgoing.getId());
+        eventPublisher.publishEvent(TransactionChangedEvent.deleted(
+            TransactionSnapshot.of(outgoing, account.getCurrency())
+        ));
+        return outgoing;
+    }
+
+    private Transaction transferLeg(TransferRequest transferRequest, Long accountId, String descriptionSuffix,
+                                    String transferReferenceId) {
+        Transaction leg = new Transaction();
+        leg.setAccountId(accountId);
+        leg.setCategoryId(transferRequest.getCategoryId());
+        leg.setAmount(transferRequest.getAmount());
+        leg.setTransactionType(TransactionType.TRANSFER);
+        leg.setTransactionDate(transferRequest.getTransactionDate());
+        leg.setDescription(transferRequest.getDescription() + descriptionSuffix);
+        leg.setNotes(transferRequest.getNotes());
+        leg.setTransferReferenceId(transferReferenceId);
+        leg.setFingerprint(duplicateTransactionService.fingerprint(leg));
+        return leg;
+    }
+
     /**
      * Get monthly spending by category for current month
      */
+    @Transactional(readOnly = true)
     public List<MonthlySpendingDTO> getMonthlySpendingByCategory() {
+        return getMonthlySpendingByCategory(null);
+    }
+
+    /**
+     * Get monthly spending by category for current month in the given currency
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlySpendingDTO> getMonthlySpendingByCategory(String currency) {
         YearMonth currentMonth = YearMonth.now();
         LocalDate startDate = currentMonth.atDay(1);
         LocalDate endDate = currentMonth.atEndOfMonth();
 
-        return getMonthlySpendingByCategory(startDate, endDate);
+        return getMonthlySpendingByCategory(startDate, endDate, currency);
     }
 
     /**
      * Get monthly spending by category for specified date range
      */
+    @Transactional(readOnly = true)
     public List<MonthlySpendingDTO> getMonthlySpendingByCategory(LocalDate startDate, LocalDate endDate) {
-        List<Object[]> results = transactionRepository.getMonthlySpendingByCategory(
-            TransactionType.EXPENSE, startDate, endDate
-        );
+        return getMonthlySpendingByCategory(startDate, endDate, null);
+    }
 
-        List<MonthlySpendingDTO> spendingList = new ArrayList<>();
-        for (Object[] result : results) {
-            Long categoryId = (Long) result[0];
-            BigDecimal totalSpent = (BigDecimal) result[1];
+    /**
+     * Get monthly spending by category for specified date range, converted into the given currency
+     * (defaults to the reporting base currency)
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlySpendingDTO> getMonthlySpendingByCategory(LocalDate startDate, LocalDate endDate,
+                                                                 String currency) {
+        String reportCurrency = exchangeRateService.resolveCurrency(currency);
+
+        // Each shard sums its own accounts; the per-shard rows add up per category
+        LongLongHashMap totals = exchangeRateService.mergeCategoryTotals(
+            shardRouter.fanOutList(() -> transactionRepository.getSpendingByCategoryInCurrency(
+                TransactionType.EXPENSE, reportCurrency, startDate, endDate
+            )),
+            shardRouter.fanOutList(() -> transactionRepository.getDailySpendingByCategoryNotInCurrency(
+                TransactionType.EXPENSE, reportCurrency, startDate, endDate
+            )),
+            reportCurrency
+        );
 
-            Category category = categoryService.getCategoryById(categoryId);
+        LongObjectHashMap<Category> categories = categoryService.getCategoryIndex();
+        List<MonthlySpendingDTO> spendingList = new ArrayList<>(totals.size());
+        totals.forEach((categoryId, totalMinor) -> {
+            Category category = categories.get(categoryId);
+            if (category == null) {
+                throw new RuntimeException("Category not found with id: " + categoryId);
+            }
 
             MonthlySpendingDTO dto = new MonthlySpendingDTO();
             dto.setCategoryId(categoryId);
             dto.setCategoryName(category.getName());
-            dto.setTotalSpent(totalSpent);
+            dto.setTotalSpent(Money.ofMinor(totalMinor).toBigDecimal());
+            dto.setCurrency(reportCurrency);
 
             spendingList.add(dto);
-        }
+        });
 
         return spendingList;
     }
 
+    /**
+     * Stream a query from each shard in turn, each in its own read-only transaction
+     */
+    private void streamFromShards(Supplier<Stream<Transaction>> query, Consumer<Transaction> consumer) {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        if (shardRouter.isSharded()) {
+            readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        shardRouter.forEachShard(shard -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Transaction> transactions = query.get()) {
+                forEachDetached(transactions, consumer);
+            }
+        }));
+    }
+
+    /**
+     * Hand each row to the consumer, then drop it from the persistence context so memory stays flat
+     */
+    private void forEachDetached(Stream<Transaction> transactions, Consumer<Transaction> consumer) {
+        transactions.forEach(transaction -> {
+            consumer.accept(transaction);
+            entityManager.detach(transaction);
+        });
+    }
+
     /**
      * Update account balance based on transaction type
      */
     private void updateAccountBalanceForTransaction(Account account, Transaction transaction) {
-        BigDecimal newBalance = account.getCurrentBalance();
+        BigDecimal balanceChange;
 
         switch (transaction.getTransactionType()) {
             case INCOME:
-                newBalance = newBalance.add(transaction.getAmount());
+                balanceChange = transaction.getAmount();
                 break;
             case EXPENSE:
-                newBalance = newBalance.subtract(transaction.getAmount());
+                balanceChange = transaction.getAmount().negate();
                 break;
-            case TRANSFER:
+            default:
                 // Transfers are handled separately in createTransfer method
                 return;
         }
 
-        accountService.updateAccountBalance(account.getId(), newBalance);
+        accountService.adjustAccountBalance(account.getId(), balanceChange);
     }
 
     /**
      * Reverse the effect of a transaction on account balance
      */
     private void reverseAccountBalanceForTransaction(Account account, Transaction transaction) {
-        BigDecimal newBalance = account.getCurrentBalance();
+        BigDecimal balanceChange;
 
         switch (transaction.getTransactionType()) {
             case INCOME:
-                newBalance = newBalance.subtract(transaction.getAmount());
+                balanceChange = transaction.getAmount().negate();
                 break;
             case EXPENSE:
-                newBalance = newBalance.add(transaction.getAmount());
+                balanceChange = transaction.getAmount();
                 break;
-            case TRANSFER:
+            default:
                 // Transfers should be deleted via special method
                 return;
         }
 
-        accountService.updateAccountBalance(account.getId(), newBalance);
+        accountService.adjustAccountBalance(account.getId(), balanceChange);
+    }
+
+    /**
+     * Get list views of all transactions
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionViewDTO> getAllTransactionViews() {
+        return shardRouter.fanOutList(transactionRepository::findAllViews);
+    }
+
+    /**
+     * Get list views of transactions by account
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionViewDTO> getTransactionViewsByAccount(Long accountId) {
+        return shardRouter.onShardOf(accountId, () -> transactionRepository.findViewsByAccountId(accountId));
+    }
+
+    /**
+     * Get list views of transactions by category
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionViewDTO> getTransactionViewsByCategory(Long categoryId) {
+        return shardRouter.fanOutList(() -> transactionRepository.findViewsByCategoryId(categoryId));
+    }
+
+    /**
+     * Get list views of transactions within date range
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionViewDTO> getTransactionViewsByDateRange(LocalDate startDate, LocalDate endDate) {
+        return shardRouter.fanOutList(() -> transactionRepository.findViewsByTransactionDateBetween(startDate, endDate));
     }
 }
\ No newline at end of file
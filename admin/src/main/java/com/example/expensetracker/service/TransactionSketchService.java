@@ -0,0 +1,569 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.CategoryStatisticsDTO;
+import com.example.expensetracker.dto.MonthlyStatisticsDTO;
+import com.example.expensetracker.enums.TransactionType;
+import com.example.expensetracker.event.ExchangeRatesChangedEvent;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.event.TransactionBatchImportedEvent;
+import com.example.expensetracker.event.TransactionSnapshot;
+import com.example.expensetracker.model.Category;
+import com.example.expensetracker.model.CategoryMonthlySketch;
+import com.example.expensetracker.model.Money;
+import com.example.expensetracker.repository.CategoryMonthlySketchRepository;
+import com.example.expensetracker.util.HyperLogLog;
+import com.example.expensetracker.util.LongObjectHashMap;
+import com.example.expensetracker.util.QuantileSketch;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service maintaining per-category, per-month sketches of transactions so percentile and distinct-count
+ * reports over any range of months read a few small rows instead of scanning transactions.
+ *
+ * Amount quantiles come from a QuantileSketch (relative error 1%, removals supported) and distinct
+ * descriptions from a HyperLogLog (standard error about 1.6%, additions only, so edited or deleted
+ * descriptions still count). Transfers are excluded; amounts are in the base currency, and a transaction
+ * without an exchange rate to it is left out and counted until the rebuild after the next rate change.
+ *
+ * Writes and imported batches only touch in-memory delta sketches. A scheduled flush merges the deltas
+ * into the stored rows and queries merge stored rows with any deltas not yet flushed. Sketches cannot
+ * take back an amount converted at a rate that has since changed, so a rate change rebuilds the sketches
+ * of the months the rate applies to from those months' transactions.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionSketchService {
+
+    private static final double[] DEFAULT_QUANTILES = {0.5, 0.9, 0.99};
+    // toBaseMinor result for an amount without an exchange rate
+    private static final long NO_RATE = Long.MIN_VALUE;
+    private static final int REBUILD_FETCH_SIZE = 10_000;
+    private static final String REBUILD_SQL =
+        "SELECT t.category_id, t.transaction_date, t.amount, t.description, a.currency " +
+        "FROM transactions t JOIN accounts a ON a.id = t.account_id " +
+        "WHERE t.transaction_type <> 'TRANSFER' AND t.transaction_date >= ? AND t.transaction_date < ?";
+    // Bounds of the MySQL DATE range, for rebuilds of all months
+    private static final LocalDate FIRST_MONTH = LocalDate.of(1000, 1, 1);
+    private static final LocalDate END_OF_MONTHS = LocalDate.of(9999, 12, 1);
+
+    private final CategoryMonthlySketchRepository categoryMonthlySketchRepository;
+    private final ExchangeRateService exchangeRateService;
+    private final CategoryService categoryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+
+    // Held shared by writers adding to pending, exclusively to swap pending out
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // Held shared by queries, exclusively while a flush or rebuild changes stored rows
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private volatile Map<SketchKey, SketchDelta> pending = new ConcurrentHashMap<>();
+    private Map<SketchKey, SketchDelta> flushing = Map.of();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicBoolean rebuildAgain = new AtomicBoolean();
+    // Months still to rebuild, requested ranges merged into one; guarded by this
+    private MonthRange rebuildRange;
+
+    /**
+     * Build the sketches from history when none are stored yet
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (categoryMonthlySketchRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            if (!record(event.previous(), event.current())) {
+                TransactionSnapshot current = event.current();
+                log.warn("No exchange rate from {} on {}, transaction {} is left out of sketches until rates change",
+                    current.currency(), current.transactionDate(), current.id());
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Imported rows are added like created ones
+     */
+    @EventListener
+    public void onTransactionBatchImported(TransactionBatchImportedEvent event) {
+        int unconverted = 0;
+        swapLock.readLock().lock();
+        try {
+            for (TransactionSnapshot transaction : event.transactions()) {
+                if (!record(null, transaction)) {
+                    unconverted++;
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (unconverted > 0) {
+            log.warn("Import {}: {} rows have no exchange rate to {} and are left out of sketches until rates change",
+                event.jobId(), unconverted, exchangeRateService.getBaseCurrency());
+        }
+    }
+
+    /**
+     * Rebuild the months whose conversions the changed rate affects
+     */
+    @EventListener
+    public void onExchangeRatesChanged(ExchangeRatesChangedEvent event) {
+        if (event.counterCurrencyOf(exchangeRateService.getBaseCurrency()) == null) {
+            return;
+        }
+        LocalDate untilMonth = event.untilDate() == null
+            ? END_OF_MONTHS
+            : event.untilDate().minusDays(1).withDayOfMonth(1).plusMonths(1);
+        rebuild(event.fromDate().withDayOfMonth(1), untilMonth);
+    }
+
+    /**
+     * Get approximate statistics per category for the whole months covering the date range
+     */
+    public List<CategoryStatisticsDTO> getCategoryStatistics(LocalDate startDate, LocalDate endDate,
+                                                             double[] quantiles) {
+        double[] requested = resolveQuantiles(quantiles);
+        LongObjectHashMap<Category> categories = categoryService.getCategoryIndex();
+        boolean root = TenantContext.isRoot();
+        Map<Long, MergedSketch> byCategory = new TreeMap<>();
+        forEachSketch(startDate, endDate, (key, amounts, descriptions, count) -> {
+            if (root || categories.containsKey(key.categoryId())) {
+                byCategory.computeIfAbsent(key.categoryId(), categoryId -> new MergedSketch())
+                    .merge(amounts, descriptions, count);
+            }
+        });
+
+        List<CategoryStatisticsDTO> statistics = new ArrayList<>();
+        byCategory.forEach((categoryId, merged) -> {
+            Category category = categories.get(categoryId);
+            statistics.add(new CategoryStatisticsDTO(
+                categoryId,
+                category != null ? category.getName() : null,
+                merged.count,
+                merged.quantiles(requested),
+                merged.descriptions.estimate(),
+                exchangeRateService.getBaseCurrency()
+            ));
+        });
+        return statistics;
+    }
+
+    /**
+     * Get approximate statistics per month across all categories
+     */
+    public List<MonthlyStatisticsDTO> getMonthlyStatistics(LocalDate startDate, LocalDate endDate,
+                                                           double[] quantiles) {
+        double[] requested = resolveQuantiles(quantiles);
+        // Sketches are keyed by category, so a tenant's months merge only the categories it owns
+        LongObjectHashMap<Category> categories = TenantContext.isRoot() ? null : categoryService.getCategoryIndex();
+        Map<LocalDate, MergedSketch> byMonth = new TreeMap<>();
+        forEachSketch(startDate, endDate, (key, amounts, descriptions, count) -> {
+            if (categories == null || categories.containsKey(key.categoryId())) {
+                byMonth.computeIfAbsent(key.monthStart(), month -> new MergedSketch())
+                    .merge(amounts, descriptions, count);
+            }
+        });
+
+        List<MonthlyStatisticsDTO> statistics = new ArrayList<>();
+        byMonth.forEach((monthStart, merged) -> statistics.add(new MonthlyStatisticsDTO(
+            monthStart,
+            merged.count,
+            merged.quantiles(requested),
+            merged.descriptions.estimate(),
+            exchangeRateService.getBaseCurrency()
+        )));
+        return statistics;
+    }
+
+    /**
+     * Merge pending deltas into the stored sketches
+     */
+    @Scheduled(fixedDelayString = "${expensetracker.sketches.flush-interval-ms:5000}")
+    public void flush() {
+        if (rebuilding.get()) {
+            return;
+        }
+        flushLock.writeLock().lock();
+        try {
+            swapLock.writeLock().lock();
+            try {
+                flushing = pending;
+                pending = new ConcurrentHashMap<>();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            if (flushing.isEmpty()) {
+                return;
+            }
+
+            Map<SketchKey, SketchDelta> batch = flushing;
+            transactionTemplate.executeWithoutResult(status -> store(batch));
+            flushing = Map.of();
+        } catch (RuntimeException e) {
+            log.warn("Sketch flush failed, keeping {} deltas for the next attempt: {}", flushing.size(), e.getMessage());
+            requeue(flushing);
+            flushing = Map.of();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recompute all sketches from the transactions table in the background
+     */
+    public boolean rebuild() {
+        return rebuild(FIRST_MONTH, END_OF_MONTHS);
+    }
+
+    /**
+     * Recompute the sketches of months from fromMonth up to, but excluding, untilMonth in the background.
+     * Returns false if a rebuild was already running (it will run once more when done).
+     */
+    private boolean rebuild(LocalDate fromMonth, LocalDate untilMonth) {
+        synchronized (this) {
+            rebuildRange = rebuildRange == null
+                ? new MonthRange(fromMonth, untilMonth)
+                : rebuildRange.span(fromMonth, untilMonth);
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            rebuildAgain.set(true);
+            return false;
+        }
+        Thread.ofVirtual().name("transaction-sketch-rebuild").start(() -> {
+            try {
+                do {
+                    rebuildAgain.set(false);
+                    MonthRange range;
+                    synchronized (this) {
+                        range = rebuildRange;
+                        rebuildRange = null;
+                    }
+                    if (range != null) {
+                        rebuildNow(range);
+                    }
+                } while (rebuildAgain.get());
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush sketches on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void rebuildNow(MonthRange range) {
+        try {
+            long startNanos = System.nanoTime();
+            // Deltas so far of the rebuilt months are already committed and will be read by the scan below.
+            // Writes committed while it runs may be counted twice; the next rebuild corrects that.
+            swapLock.writeLock().lock();
+            try {
+                pending.keySet().removeIf(key -> range.contains(key.monthStart()));
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            String baseCurrency = exchangeRateService.getBaseCurrency();
+            Map<SketchKey, SketchDelta> fresh = new HashMap<>();
+            LongAdder unconverted = new LongAdder();
+            shardRouter.forEachShard(shard -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    REBUILD_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+                );
+                statement.setFetchSize(REBUILD_FETCH_SIZE);
+                statement.setObject(1, range.fromMonth());
+                statement.setObject(2, range.untilMonth());
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                LocalDate date = resultSet.getObject(2, LocalDate.class);
+                String currency = resultSet.getString(5);
+                long minor = toBaseMinor(resultSet.getBigDecimal(3), currency, date, baseCurrency);
+                if (minor == NO_RATE) {
+                    unconverted.increment();
+                    return;
+                }
+                fresh.computeIfAbsent(new SketchKey(resultSet.getLong(1), date.withDayOfMonth(1)),
+                    key -> new SketchDelta()).add(minor, resultSet.getString(4));
+            }));
+
+            flushLock.writeLock().lock();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    categoryMonthlySketchRepository.deleteMonths(range.fromMonth(), range.untilMonth());
+                    LocalDateTime now = LocalDateTime.now();
+                    List<CategoryMonthlySketch> rows = new ArrayList<>(fresh.size());
+                    fresh.forEach((key, delta) -> rows.add(new CategoryMonthlySketch(
+                        null, key.categoryId(), key.monthStart(), delta.count,
+                        delta.amounts.toBytes(), delta.descriptions.toBytes(), now
+                    )));
+                    categoryMonthlySketchRepository.saveAll(rows);
+                });
+            } finally {
+                flushLock.writeLock().unlock();
+            }
+            log.info("Rebuilt {} transaction sketches of months from {} in {} ms",
+                fresh.size(), range.fromMonth(), (System.nanoTime() - startNanos) / 1_000_000);
+            if (unconverted.sum() > 0) {
+                log.warn("Transaction sketches leave out {} transactions without an exchange rate to {}",
+                    unconverted.sum(), baseCurrency);
+            }
+        } catch (RuntimeException e) {
+            log.error("Transaction sketch rebuild failed", e);
+        }
+    }
+
+    private void store(Map<SketchKey, SketchDelta> batch) {
+        Set<LocalDate> months = new HashSet<>();
+        batch.keySet().forEach(key -> months.add(key.monthStart()));
+        Map<SketchKey, CategoryMonthlySketch> stored = new HashMap<>();
+        for (CategoryMonthlySketch row : categoryMonthlySketchRepository.findByMonthStartIn(months)) {
+            stored.put(new SketchKey(row.getCategoryId(), row.getMonthStart()), row);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<CategoryMonthlySketch> changed = new ArrayList<>(batch.size());
+        batch.forEach((key, delta) -> {
+            CategoryMonthlySketch row = stored.get(key);
+            if (row == null) {
+                row = new CategoryMonthlySketch(null, key.categoryId(), key.monthStart(), 0L, null, null, now);
+            }
+            synchronized (delta) {
+                QuantileSketch amounts = QuantileSketch.fromBytes(row.getAmountSketch());
+                amounts.merge(delta.amounts);
+                HyperLogLog descriptions = HyperLogLog.fromBytes(row.getDescriptionSketch());
+                descriptions.merge(delta.descriptions);
+                row.setTransactionCount(row.getTransactionCount() + delta.count);
+                row.setAmountSketch(amounts.toBytes());
+                row.setDescriptionSketch(descriptions.toBytes());
+            }
+            row.setUpdatedAt(now);
+            changed.add(row);
+        });
+        categoryMonthlySketchRepository.saveAll(changed);
+    }
+
+    private void requeue(Map<SketchKey, SketchDelta> failed) {
+        swapLock.readLock().lock();
+        try {
+            failed.forEach((key, delta) -> pending.merge(key, delta, SketchDelta::combine));
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void forEachSketch(LocalDate startDate, LocalDate endDate, SketchVisitor visitor) {
+        LocalDate startMonth = startDate.withDayOfMonth(1);
+        LocalDate endMonth = endDate.withDayOfMonth(1);
+        flushLock.readLock().lock();
+        try {
+            for (CategoryMonthlySketch row : categoryMonthlySketchRepository.findByMonthStartBetween(startMonth, endMonth)) {
+                visitor.visit(
+                    new SketchKey(row.getCategoryId(), row.getMonthStart()),
+                    QuantileSketch.fromBytes(row.getAmountSketch()),
+                    HyperLogLog.fromBytes(row.getDescriptionSketch()),
+                    row.getTransactionCount()
+                );
+            }
+            for (Map<SketchKey, SketchDelta> deltas : List.of(flushing, pending)) {
+                deltas.forEach((key, delta) -> {
+                    if (!key.monthStart().isBefore(startMonth) && !key.monthStart().isAfter(endMonth)) {
+                        synchronized (delta) {
+                            visitor.visit(key, delta.amounts, delta.descriptions, delta.count);
+                        }
+                    }
+                });
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Move a write between delta sketches. Must hold the swap lock shared. A state without a rate was
+     * never added (or is left out), so it is neither removed nor added.
+     *
+     * @return false when the new state has no exchange rate and is left out
+     */
+    private boolean record(TransactionSnapshot previous, TransactionSnapshot current) {
+        if (tracked(previous)) {
+            long amount = toBaseMinor(previous);
+            if (amount != NO_RATE) {
+                delta(previous).remove(amount);
+            }
+        }
+        if (tracked(current)) {
+            long amount = toBaseMinor(current);
+            if (amount == NO_RATE) {
+                return false;
+            }
+            delta(current).add(amount, current.description());
+        }
+        return true;
+    }
+
+    private SketchDelta delta(TransactionSnapshot transaction) {
+        SketchKey key = new SketchKey(transaction.categoryId(), transaction.transactionDate().withDayOfMonth(1));
+        return pending.computeIfAbsent(key, k -> new SketchDelta());
+    }
+
+    private boolean tracked(TransactionSnapshot transaction) {
+        return transaction != null && transaction.transactionType() != TransactionType.TRANSFER;
+    }
+
+    private long toBaseMinor(TransactionSnapshot transaction) {
+        return toBaseMinor(transaction.amount(), transaction.currency(), transaction.transactionDate(),
+            exchangeRateService.getBaseCurrency());
+    }
+
+    /**
+     * Amount in base-currency minor units, or NO_RATE when no rate is known for the currency on that date
+     */
+    private long toBaseMinor(BigDecimal amount, String currency, LocalDate date, String baseCurrency) {
+        Money money = Money.of(amount);
+        if (currency == null || currency.equals(baseCurrency)) {
+            return money.minorUnits();
+        }
+        Money converted = exchangeRateService.convertOrNull(money, currency, baseCurrency, date);
+        return converted != null ? converted.minorUnits() : NO_RATE;
+    }
+
+    private double[] resolveQuantiles(double[] quantiles) {
+        double[] requested = quantiles == null || quantiles.length == 0 ? DEFAULT_QUANTILES : quantiles;
+        for (double quantile : requested) {
+            if (quantile < 0 || quantile > 1) {
+                throw new RuntimeException("Quantiles must be between 0 and 1");
+            }
+        }
+        return requested;
+    }
+
+    private static String normalizeDescription(String description) {
+        return description == null ? "" : description.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record SketchKey(Long categoryId, LocalDate monthStart) {
+    }
+
+    /**
+     * Months from fromMonth up to, but excluding, untilMonth
+     */
+    private record MonthRange(LocalDate fromMonth, LocalDate untilMonth) {
+
+        private boolean contains(LocalDate monthStart) {
+            return !monthStart.isBefore(fromMonth) && monthStart.isBefore(untilMonth);
+        }
+
+        private MonthRange span(LocalDate otherFrom, LocalDate otherUntil) {
+            return new MonthRange(
+                otherFrom.isBefore(fromMonth) ? otherFrom : fromMonth,
+                otherUntil.isAfter(untilMonth) ? otherUntil : untilMonth
+            );
+        }
+    }
+
+    @FunctionalInterface
+    private interface SketchVisitor {
+        void visit(SketchKey key, QuantileSketch amounts, HyperLogLog descriptions, long count);
+    }
+
+    /**
+     * Changes to one category and month not yet merged into its stored row
+     */
+    private static final class SketchDelta {
+
+        private final QuantileSketch amounts = new QuantileSketch();
+        private final HyperLogLog descriptions = new HyperLogLog();
+        private long count;
+
+        synchronized void add(long amount, String description) {
+            amounts.add(amount);
+            descriptions.add(normalizeDescription(description));
+            count++;
+        }
+
+        synchronized void remove(long amount) {
+            amounts.add(amount, -1);
+            count--;
+        }
+
+        static SketchDelta combine(SketchDelta target, SketchDelta other) {
+            synchronized (target) {
+                target.amounts.merge(other.amounts);
+                target.descriptions.merge(other.descriptions);
+                target.count += other.count;
+                return target;
+            }
+        }
+    }
+
+    /**
+     * Query-time merge of several sketches
+     */
+    private static final class MergedSketch {
+
+        private final QuantileSketch amounts = new QuantileSketch();
+        private final HyperLogLog descriptions = new HyperLogLog();
+        private long count;
+
+        void merge(QuantileSketch otherAmounts, HyperLogLog otherDescriptions, long otherCount) {
+            amounts.merge(otherAmounts);
+            descriptions.merge(otherDescriptions);
+            count += otherCount;
+        }
+
+        Map<String, BigDecimal> quantiles(double[] requested) {
+            Map<String, BigDecimal> values = new LinkedHashMap<>();
+            for (double quantile : requested) {
+                values.put(String.valueOf(quantile), Money.ofMinor(amounts.quantile(quantile)).toBigDecimal());
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.dto.BudgetAlertDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Budget alert sink posting alerts as JSON to a webhook URL.
+ * Enabled when expensetracker.budget.alert-webhook-url is set.
+ */
+@Component
+@ConditionalOnProperty(name = "expensetracker.budget.alert-webhook-url")
+public class WebhookBudgetAlertSink implements BudgetAlertSink {
+
+    private final RestClient restClient;
+
+    public WebhookBudgetAlertSink(@Value("${expensetracker.budget.alert-webhook-url}") String webhookUrl) {
+        this.restClient = RestClient.builder().baseUrl(webhookUrl).build();
+    }
+
+    @Override
+    public void send(BudgetAlertDTO alert) {
+        restClient.post()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(alert)
+            .retrieve()
+            .toBodilessEntity();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.expensetracker.util;
+
+/**
+ * Table sizing and key mixing shared by the primitive maps
+ */
+final class LongHashing {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private LongHashing() {
+    }
+
+    /**
+     * Spread sequential IDs across the table (Fibonacci hashing, high bits folded down)
+     */
+    static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Power-of-two table size that holds expectedSize keys under the load factor
+     */
+    static int tableSize(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many keys: " + expectedSize);
+        }
+        return Math.max(4, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    static int resizeThreshold(int capacity) {
+        return (int) (capacity * LOAD_FACTOR);
+    }
+
+    static int grownSize(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Primitive map is full");
+        }
+        return capacity * 2;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.expensetracker.util;
+
+/**
+ * Open-addressing map from long keys to long values.
+ * Keys and values live in parallel primitive arrays, so lookups and updates neither box nor
+ * allocate entries. Meant for per-request aggregation keyed by IDs; not thread-safe.
+ */
+public final class LongLongHashMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+    private int resizeAt;
+
+    public LongLongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(LongHashing.tableSize(expectedSize));
+    }
+
+    /**
+     * Get the value for a key, or the default if absent
+     */
+    public long get(long key, long defaultValue) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    public void put(long key, long value) {
+        int slot = slotFor(key);
+        values[slot] = value;
+    }
+
+    /**
+     * Add delta to the value for a key (starting from zero) and return the new value
+     */
+    public long addTo(long key, long delta) {
+        int slot = slotFor(key);
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = LongHashing.mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Slot holding the key, inserting it with a zero value if absent
+     */
+    private int slotFor(long key) {
+        int mask = keys.length - 1;
+        int slot = LongHashing.mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == resizeAt) {
+            grow();
+            return slotFor(key);
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(LongHashing.grownSize(oldKeys.length));
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                int target = LongHashing.mix(oldKeys[slot]) & (keys.length - 1);
+                while (used[target]) {
+                    target = (target + 1) & (keys.length - 1);
+                }
+                used[target] = true;
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        size = 0;
+        resizeAt = LongHashing.resizeThreshold(capacity);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> builder.append(builder.length() > 1 ? ", " : "").append(key).append('=').append(value));
+        return builder.append('}').toString();
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+}
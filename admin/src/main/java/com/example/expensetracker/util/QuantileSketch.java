@@ -0,0 +1,130 @@
+package com.example.expensetracker.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch over non-negative long values with bounded relative error (DDSketch scheme).
+ *
+ * A positive value x falls into bucket ceil(log(x) / log(gamma)) with gamma = (1 + a) / (1 - a), and a
+ * bucket is reported as 2 * gamma^k / (gamma + 1), so every quantile estimate is within a relative
+ * error a of a value of the exact rank. With a = 1% the bucket count grows only with log(max / min):
+ * amounts from 0.01 to 10^9 span under 1,500 buckets. Merging adds bucket counts, so it is exact and
+ * order independent, and a value can be removed again by adding it with a negative weight.
+ */
+public final class QuantileSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+
+    public void add(long value) {
+        add(value, 1);
+    }
+
+    /**
+     * Add a value with a weight; a negative weight removes earlier occurrences
+     */
+    public void add(long value, long weight) {
+        if (value <= 0) {
+            zeroCount += weight;
+        } else {
+            buckets.merge(bucketOf(value), weight, (current, delta) -> current + delta == 0 ? null : current + delta);
+        }
+        count += weight;
+    }
+
+    public void merge(QuantileSketch other) {
+        for (Map.Entry<Integer, Long> bucket : other.buckets.entrySet()) {
+            buckets.merge(bucket.getKey(), bucket.getValue(),
+                (current, delta) -> current + delta == 0 ? null : current + delta);
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count <= 0;
+    }
+
+    /**
+     * Estimate the value at quantile q in [0, 1], or 0 when empty
+     */
+    public long quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count <= 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        long estimate = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            estimate = Math.round(2 * Math.pow(GAMMA, bucket.getKey()) / (GAMMA + 1));
+            seen += bucket.getValue();
+            if (rank < seen) {
+                break;
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Encode as a version byte, the zero count and the buckets as (key delta, count) varints
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + buckets.size() * 3);
+        out.write(FORMAT_VERSION);
+        SketchEncoding.writeSignedVarLong(out, zeroCount);
+        SketchEncoding.writeVarLong(out, buckets.size());
+        int previousKey = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            SketchEncoding.writeSignedVarLong(out, bucket.getKey() - previousKey);
+            SketchEncoding.writeSignedVarLong(out, bucket.getValue());
+            previousKey = bucket.getKey();
+        }
+        return out.toByteArray();
+    }
+
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        if (in.get() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported quantile sketch format");
+        }
+        sketch.zeroCount = SketchEncoding.readSignedVarLong(in);
+        sketch.count = sketch.zeroCount;
+        long bucketCount = SketchEncoding.readVarLong(in);
+        int key = 0;
+        for (long i = 0; i < bucketCount; i++) {
+            key += (int) SketchEncoding.readSignedVarLong(in);
+            long bucketCountValue = SketchEncoding.readSignedVarLong(in);
+            sketch.buckets.put(key, bucketCountValue);
+            sketch.count += bucketCountValue;
+        }
+        return sketch;
+    }
+
+    private static int bucketOf(long value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+}
@@ -0,0 +1,167 @@
+-- Schema as created by Hibernate (ddl-auto=update) before migrations were introduced.
+-- Databases that already have these tables are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and start with V2; constraint names match the ones Hibernate generated there.
+
+CREATE TABLE accounts (
+    id              BIGINT         NOT NULL AUTO_INCREMENT,
+    tenant_id       VARCHAR(64)    NOT NULL DEFAULT 'default',
+    account_name    VARCHAR(100)   NOT NULL,
+    account_type    ENUM ('CASH','CHECKING','CREDIT_CARD','FIXED_DEPOSIT','SAVINGS') NOT NULL,
+    current_balance DECIMAL(15,2)  NOT NULL,
+    currency        VARCHAR(3)     NOT NULL DEFAULT 'USD',
+    is_active       BIT            NOT NULL,
+    created_at      DATETIME(6)    NOT NULL,
+    updated_at      DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_account_tenant_active ON accounts (tenant_id, is_active);
+
+CREATE TABLE categories (
+    id                 BIGINT        NOT NULL AUTO_INCREMENT,
+    tenant_id          VARCHAR(64)   NOT NULL DEFAULT 'default',
+    name               VARCHAR(100)  NOT NULL,
+    type               ENUM ('EXPENSE','INCOME') NOT NULL,
+    parent_category_id BIGINT,
+    color_code         VARCHAR(7),
+    created_at         DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_category_tenant_name UNIQUE (tenant_id, name)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_category_tenant_type ON categories (tenant_id, type);
+CREATE INDEX idx_category_tenant_parent ON categories (tenant_id, parent_category_id);
+
+CREATE TABLE transactions (
+    id                    BIGINT        NOT NULL AUTO_INCREMENT,
+    tenant_id             VARCHAR(64)   NOT NULL DEFAULT 'default',
+    account_id            BIGINT        NOT NULL,
+    category_id           BIGINT        NOT NULL,
+    amount                DECIMAL(15,2) NOT NULL,
+    transaction_type      ENUM ('EXPENSE','INCOME','TRANSFER') NOT NULL,
+    transaction_date      DATE          NOT NULL,
+    description           VARCHAR(255),
+    notes                 TEXT,
+    transfer_reference_id VARCHAR(36),
+    fingerprint           VARCHAR(32),
+    import_key            VARCHAR(32),
+    created_at            DATETIME(6)   NOT NULL,
+    updated_at            DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_transaction_import_key UNIQUE (import_key),
+    CONSTRAINT FK20w7wsg13u9srbq3bd7chfxdh FOREIGN KEY (account_id) REFERENCES accounts (id),
+    CONSTRAINT FKsqqi7sneo04kast0o138h19mv FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_transaction_tenant_date ON transactions (tenant_id, transaction_date);
+CREATE INDEX idx_transfer_reference ON transactions (transfer_reference_id);
+CREATE INDEX idx_transaction_fingerprint ON transactions (fingerprint);
+CREATE INDEX idx_transaction_account_date_amount ON transactions (account_id, transaction_date, amount);
+
+CREATE TABLE budget_allocations (
+    id               BIGINT        NOT NULL AUTO_INCREMENT,
+    tenant_id        VARCHAR(64)   NOT NULL DEFAULT 'default',
+    category_id      BIGINT        NOT NULL,
+    allocated_amount DECIMAL(15,2) NOT NULL,
+    period           ENUM ('MONTHLY','QUARTERLY','YEARLY') NOT NULL DEFAULT 'MONTHLY',
+    rollover_enabled BIT           NOT NULL DEFAULT 0,
+    created_at       DATETIME(6)   NOT NULL,
+    updated_at       DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UK985n51wxq4on2kchsoweqy2it UNIQUE (category_id),
+    CONSTRAINT FKgdhvt0yit3tn258adadixfnv5 FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_budget_allocation_tenant ON budget_allocations (tenant_id);
+
+CREATE TABLE category_monthly_spending (
+    id           BIGINT        NOT NULL AUTO_INCREMENT,
+    category_id  BIGINT        NOT NULL,
+    month_start  DATE          NOT NULL,
+    spent_amount DECIMAL(15,2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_category_month UNIQUE (category_id, month_start)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_category_spending_month ON category_monthly_spending (month_start);
+
+CREATE TABLE category_monthly_sketches (
+    id                 BIGINT      NOT NULL AUTO_INCREMENT,
+    category_id        BIGINT      NOT NULL,
+    month_start        DATE        NOT NULL,
+    transaction_count  BIGINT      NOT NULL,
+    amount_sketch      MEDIUMBLOB  NOT NULL,
+    description_sketch MEDIUMBLOB  NOT NULL,
+    updated_at         DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_sketch_category_month UNIQUE (category_id, month_start)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_sketch_month ON category_monthly_sketches (month_start);
+
+CREATE TABLE exchange_rates (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    base_currency  VARCHAR(3)    NOT NULL,
+    quote_currency VARCHAR(3)    NOT NULL,
+    rate_date      DATE          NOT NULL,
+    rate           DECIMAL(19,8) NOT NULL,
+    created_at     DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_exchange_rate_pair_date UNIQUE (base_currency, quote_currency, rate_date)
+) ENGINE=InnoDB;
+
+CREATE TABLE recurring_transactions (
+    id                   BIGINT        NOT NULL AUTO_INCREMENT,
+    tenant_id            VARCHAR(64)   NOT NULL DEFAULT 'default',
+    account_id           BIGINT        NOT NULL,
+    category_id          BIGINT        NOT NULL,
+    amount               DECIMAL(15,2) NOT NULL,
+    transaction_type     ENUM ('EXPENSE','INCOME','TRANSFER') NOT NULL,
+    description          VARCHAR(255),
+    notes                TEXT,
+    frequency            ENUM ('DAILY','MONTHLY','WEEKLY','YEARLY') NOT NULL,
+    interval_count       INTEGER       NOT NULL,
+    start_date           DATE          NOT NULL,
+    end_date             DATE,
+    occurrence_count     INTEGER       NOT NULL,
+    next_occurrence_date DATE,
+    is_active            BIT           NOT NULL,
+    version              BIGINT,
+    created_at           DATETIME(6)   NOT NULL,
+    updated_at           DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_recurring_next_occurrence ON recurring_transactions (is_active, next_occurrence_date);
+CREATE INDEX idx_recurring_tenant_active ON recurring_transactions (tenant_id, is_active);
+
+CREATE TABLE transaction_anomalies (
+    id              BIGINT        NOT NULL AUTO_INCREMENT,
+    tenant_id       VARCHAR(64)   NOT NULL DEFAULT 'default',
+    transaction_id  BIGINT        NOT NULL,
+    account_id      BIGINT        NOT NULL,
+    category_id     BIGINT        NOT NULL,
+    amount          DECIMAL(15,2) NOT NULL,
+    expected_amount DECIMAL(15,2) NOT NULL,
+    score           FLOAT(53)     NOT NULL,
+    sample_count    BIGINT        NOT NULL,
+    scope           ENUM ('ACCOUNT','ACCOUNT_CATEGORY') NOT NULL,
+    flagged_at      DATETIME(6)   NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_anomaly_tenant_flagged_at ON transaction_anomalies (tenant_id, flagged_at);
+CREATE INDEX idx_anomaly_account ON transaction_anomalies (account_id, flagged_at);
+
+CREATE TABLE anomaly_model_states (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    account_id   BIGINT      NOT NULL,
+    category_id  BIGINT,
+    sample_count BIGINT      NOT NULL,
+    mean         FLOAT(53)   NOT NULL,
+    m2           FLOAT(53)   NOT NULL,
+    updated_at   DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_anomaly_model_account_category ON anomaly_model_states (account_id, category_id);
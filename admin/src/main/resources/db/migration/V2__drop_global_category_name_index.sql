@@ -0,0 +1,19 @@
+-- Category names used to be unique across the whole table. Databases upgraded to tenants with ddl-auto=update
+-- still carry that single-column unique index next to uk_category_tenant_name, so two households could not
+-- use the same category name. Its name was generated by Hibernate, so it is looked up; fresh databases have none.
+SET @global_name_index = (
+    SELECT index_name
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'categories' AND non_unique = 0 AND index_name <> 'PRIMARY'
+    GROUP BY index_name
+    HAVING COUNT(*) = 1 AND MAX(column_name) = 'name'
+    LIMIT 1
+);
+SET @drop_global_name_index = IF(
+    @global_name_index IS NULL,
+    'DO 0',
+    CONCAT('ALTER TABLE categories DROP INDEX `', @global_name_index, '`')
+);
+PREPARE drop_global_name_index FROM @drop_global_name_index;
+EXECUTE drop_global_name_index;
+DEALLOCATE PREPARE drop_global_name_index;
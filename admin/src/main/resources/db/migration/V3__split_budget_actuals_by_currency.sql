@@ -0,0 +1,11 @@
+-- Budget actuals are kept per category, month and source currency, so a rate change recomputes only the
+-- rows of the affected currency and months. The totals are derived data: they are cleared here and rebuilt
+-- from the transactions table when the application starts.
+DELETE FROM category_monthly_spending;
+
+ALTER TABLE category_monthly_spending
+    ADD COLUMN currency VARCHAR(3) NOT NULL AFTER month_start,
+    DROP INDEX uk_category_month,
+    ADD CONSTRAINT uk_category_month_currency UNIQUE (category_id, month_start, currency);
+
+CREATE INDEX idx_category_spending_currency_month ON category_monthly_spending (currency, month_start);
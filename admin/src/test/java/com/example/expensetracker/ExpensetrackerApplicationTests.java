@@ -0,0 +1,30 @@
+package com.example.expensetracker;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Smoke test of the application context against the database named by the DB_* variables (env.sh).
+ * Run on the JVM with mvn test, and as a native image with mvn -PnativeTest test (GraalVM for JDK 21),
+ * which checks that the context and a Hibernate query work with the registered native hints.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DB_CONNECTION_STRING", matches = ".+")
+class ExpensetrackerApplicationTests {
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Test
+	void contextLoadsAndQueriesRepository() {
+		long accounts = TenantContext.callAs(TenantContext.DEFAULT_TENANT, accountRepository::count);
+
+		assertThat(accounts).isGreaterThanOrEqualTo(0);
+	}
+}
@@ -0,0 +1,95 @@
+package com.example.expensetracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Test
+    void rejectsRequestsBeyondTheLimitUntilASlotIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2, 2.0);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(FAST);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void backsOffWhenThePoolIsBackedUpDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 20, 2.0);
+
+        limiter.adjust(true);
+        assertThat(limiter.getLimit()).isEqualTo(15);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.adjust(true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void growsByOneWhileBusyWithoutSlowingDown() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 20, 2.0);
+        limiter.adjust(true);
+
+        runWindow(limiter, 15, FAST);
+        limiter.adjust(false);
+
+        assertThat(limiter.getLimit()).isEqualTo(16);
+    }
+
+    @Test
+    void keepsTheLimitWhenTheWindowWasNotBusy() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 20, 2.0);
+        limiter.adjust(true);
+
+        runWindow(limiter, 3, FAST);
+        limiter.adjust(false);
+
+        assertThat(limiter.getLimit()).isEqualTo(15);
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesAboveTheBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 20, 2.0);
+        runWindow(limiter, 20, FAST);
+        limiter.adjust(false);
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        runWindow(limiter, 20, SLOW);
+        limiter.adjust(false);
+
+        assertThat(limiter.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void ignoresWindowsWithoutCompletedRequests() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 20, 2.0);
+
+        limiter.adjust(false);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    /**
+     * Take the given number of slots at once, then release them all with the given latency
+     */
+    private void runWindow(AdaptiveConcurrencyLimiter limiter, int concurrent, long latencyNanos) {
+        for (int i = 0; i < concurrent; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        for (int i = 0; i < concurrent; i++) {
+            limiter.release(latencyNanos);
+        }
+    }
+}
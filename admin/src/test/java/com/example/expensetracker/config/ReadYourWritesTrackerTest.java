@@ -0,0 +1,103 @@
+package com.example.expensetracker.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesTrackerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(5000, clock);
+
+    @AfterEach
+    void unbind() {
+        tracker.clear();
+    }
+
+    @Test
+    void keepsAClientOnThePrimaryRightAfterItWrote() {
+        tracker.bind("key:a");
+        tracker.markWrite();
+
+        assertThat(tracker.mustReadPrimary()).isTrue();
+    }
+
+    @Test
+    void releasesTheClientOnceTheStickinessWindowPassed() {
+        tracker.bind("key:a");
+        tracker.markWrite();
+
+        clock.advance(4999);
+        assertThat(tracker.mustReadPrimary()).isTrue();
+        clock.advance(1);
+        assertThat(tracker.mustReadPrimary()).isFalse();
+    }
+
+    @Test
+    void leavesOtherClientsOnTheReplica() {
+        tracker.bind("key:a");
+        tracker.markWrite();
+
+        tracker.bind("key:b");
+        assertThat(tracker.mustReadPrimary()).isFalse();
+    }
+
+    @Test
+    void ignoresWritesOutsideARequest() {
+        tracker.markWrite();
+
+        assertThat(tracker.mustReadPrimary()).isFalse();
+        tracker.bind("key:a");
+        assertThat(tracker.mustReadPrimary()).isFalse();
+    }
+
+    @Test
+    void forgetsTheClientOnceUnbound() {
+        tracker.bind("key:a");
+        tracker.markWrite();
+        tracker.clear();
+
+        assertThat(tracker.mustReadPrimary()).isFalse();
+    }
+
+    @Test
+    void pruningKeepsClientsStillInTheirWindow() {
+        tracker.bind("key:a");
+        tracker.markWrite();
+        clock.advance(1000);
+
+        tracker.prune();
+
+        assertThat(tracker.mustReadPrimary()).isTrue();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis = 1_700_000_000_000L;
+
+        void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.expensetracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two embedded H2 databases standing in for the primary and the replica, wired as
+ * ReadReplicaConfig wires them. Each database names itself in a one-row table.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private boolean replicaAvailable = true;
+    private ReadYourWritesTracker tracker;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void createDatabases() {
+        primary = database(ReplicaRoutingDataSource.PRIMARY);
+        replica = database(ReplicaRoutingDataSource.REPLICA);
+        tracker = new ReadYourWritesTracker(60_000);
+
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica) {
+            @Override
+            public boolean isReplicaAvailable() {
+                return replicaAvailable;
+            }
+        };
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(lagMonitor, tracker);
+        routingDataSource.setTargetDataSources(Map.of(
+            ReplicaRoutingDataSource.PRIMARY, primary,
+            ReplicaRoutingDataSource.REPLICA, replica
+        ));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void dropDatabases() {
+        tracker.clear();
+        for (HikariDataSource dataSource : List.of(primary, replica)) {
+            new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+            dataSource.close();
+        }
+    }
+
+    @Test
+    void sendsReadOnlyTransactionsToTheReplica() {
+        assertThat(node(readOnly)).isEqualTo(ReplicaRoutingDataSource.REPLICA);
+    }
+
+    @Test
+    void sendsReadWriteTransactionsToThePrimary() {
+        assertThat(node(readWrite)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void sendsStatementsOutsideATransactionToThePrimary() {
+        assertThat(node()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readsFromThePrimaryWhileTheReplicaLags() {
+        replicaAvailable = false;
+
+        assertThat(node(readOnly)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readsItsOwnWritesFromThePrimary() {
+        tracker.bind("key:a");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+        assertThat(node(readOnly)).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        tracker.bind("key:b");
+        assertThat(node(readOnly)).isEqualTo(ReplicaRoutingDataSource.REPLICA);
+    }
+
+    @Test
+    void filterKeepsAWritingClientOnThePrimaryForItsNextRequest() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(tracker, new ClientKeyResolver());
+        List<String> nodes = new ArrayList<>();
+        FilterChain write = (request, response) ->
+            readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+        FilterChain read = (request, response) -> nodes.add(node(readOnly));
+
+        filter.doFilter(request("writer"), new MockHttpServletResponse(), write);
+        filter.doFilter(request("writer"), new MockHttpServletResponse(), read);
+        filter.doFilter(request("reader"), new MockHttpServletResponse(), read);
+
+        assertThat(nodes).containsExactly(ReplicaRoutingDataSource.PRIMARY, ReplicaRoutingDataSource.REPLICA);
+        assertThat(tracker.mustReadPrimary()).isFalse();
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status -> node());
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        request.addHeader(ClientKeyResolver.API_KEY_HEADER, apiKey);
+        return request;
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:replica-routing-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(16) NOT NULL, writes INT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO node (name, writes) VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.expensetracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Routing over three embedded H2 databases, one per shard
+ */
+class ShardRoutingDataSourceTest {
+
+    private static final int SHARDS = 3;
+
+    private ShardRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createShards() {
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:routing-shard-" + shard + ";DB_CLOSE_DELAY=-1");
+            dataSource.setPoolName("shard-" + shard);
+            new JdbcTemplate(dataSource).execute("CREATE TABLE accounts (id BIGINT PRIMARY KEY, shard INT NOT NULL)");
+            shards.add(dataSource);
+        }
+        routingDataSource = new ShardRoutingDataSource(shards);
+        routingDataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+    }
+
+    @AfterEach
+    void dropShards() {
+        for (HikariDataSource shard : routingDataSource.getShards()) {
+            new JdbcTemplate(shard).execute("DROP ALL OBJECTS");
+        }
+        routingDataSource.close();
+    }
+
+    @Test
+    void writesGoToTheShardBoundToTheThread() {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int target = shard;
+            ShardContext.runOn(target, () ->
+                jdbcTemplate.update("INSERT INTO accounts (id, shard) VALUES (?, ?)", target + 1, target));
+        }
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            List<Integer> rows = new JdbcTemplate(routingDataSource.getShards().get(shard))
+                .queryForList("SELECT shard FROM accounts", Integer.class);
+            assertThat(rows).containsExactly(shard);
+        }
+    }
+
+    @Test
+    void readsSeeOnlyTheirShardsRows() {
+        ShardContext.runOn(1, () -> jdbcTemplate.update("INSERT INTO accounts (id, shard) VALUES (2, 1)"));
+
+        Integer onShard = ShardContext.callOn(1, () ->
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Integer.class));
+        Integer elsewhere = ShardContext.callOn(2, () ->
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Integer.class));
+
+        assertThat(onShard).isEqualTo(1);
+        assertThat(elsewhere).isEqualTo(0);
+    }
+
+    @Test
+    void usesTheHomeShardWhenNoneIsBound() {
+        jdbcTemplate.update("INSERT INTO accounts (id, shard) VALUES (1, 0)");
+
+        Integer home = new JdbcTemplate(routingDataSource.getShards().get(ShardContext.HOME_SHARD))
+            .queryForObject("SELECT COUNT(*) FROM accounts", Integer.class);
+        assertThat(home).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAnUnknownShardInsteadOfFallingBackToTheHomeShard() {
+        assertThatThrownBy(() -> ShardContext.runOn(SHARDS, () ->
+            jdbcTemplate.update("INSERT INTO accounts (id, shard) VALUES (4, 3)")))
+            .isInstanceOf(CannotGetJdbcConnectionException.class)
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+
+        Integer home = new JdbcTemplate(routingDataSource.getShards().get(ShardContext.HOME_SHARD))
+            .queryForObject("SELECT COUNT(*) FROM accounts", Integer.class);
+        assertThat(home).isEqualTo(0);
+    }
+}
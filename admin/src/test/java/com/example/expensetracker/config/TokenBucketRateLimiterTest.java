@@ -0,0 +1,104 @@
+package com.example.expensetracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketRateLimiterTest {
+
+    // One token per hour, so no token refills while a test runs
+    private static final double PER_HOUR = 1.0 / 3600;
+
+    @Test
+    void admitsTheBurstThenReportsTheWait() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(PER_HOUR, 3);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+
+        long wait = limiter.tryAcquire("client");
+        assertThat(wait).isPositive();
+        assertThat(wait).isLessThanOrEqualTo(TimeUnit.HOURS.toNanos(1));
+    }
+
+    @Test
+    void keepsOneBucketPerClient() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(PER_HOUR, 1);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1);
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        long wait = limiter.tryAcquire("client");
+        assertThat(wait).isPositive();
+        assertThat(wait).isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(wait) + 1);
+        assertThat(limiter.tryAcquire("client")).isZero();
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(PER_HOUR, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> clients = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                clients.add(() -> {
+                    int admitted = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (limiter.tryAcquire("shared") == 0) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                });
+            }
+            int admitted = 0;
+            for (Future<Integer> result : executor.invokeAll(clients)) {
+                admitted += result.get();
+            }
+
+            assertThat(admitted).isEqualTo(100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void pruneForgetsOnlyRefilledBuckets() throws InterruptedException {
+        TokenBucketRateLimiter fast = new TokenBucketRateLimiter(1000, 1);
+        fast.tryAcquire("client");
+        Thread.sleep(5);
+        fast.prune();
+        assertThat(fast.size()).isZero();
+
+        TokenBucketRateLimiter slow = new TokenBucketRateLimiter(PER_HOUR, 1);
+        slow.tryAcquire("client");
+        slow.prune();
+        assertThat(slow.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(10, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.expensetracker.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * One read through every controller, with the request filters, against the database named by the DB_*
+ * variables (env.sh), as the anonymous tenant. Run on the JVM with mvn test, and as a native image with
+ * mvn -PnativeTest test, where each response checks the hints for the entities and DTOs it serializes.
+ * The tests only read; the report submission is rejected by validation before a job is created.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "DB_CONNECTION_STRING", matches = ".+")
+class ControllerSmokeTests {
+
+    private static final String START_DATE = LocalDate.now().withDayOfYear(1).toString();
+    private static final String END_DATE = LocalDate.now().toString();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listsAccounts() throws Exception {
+        mockMvc.perform(get("/api/accounts"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+        mockMvc.perform(get("/api/accounts/total-balance"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void listsAccountViews() throws Exception {
+        mockMvc.perform(get("/api/v2/accounts"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void reportsAnalyticsStatus() throws Exception {
+        mockMvc.perform(get("/api/analytics/status"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void listsAnomalies() throws Exception {
+        mockMvc.perform(get("/api/anomalies"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void listsBudgetAlerts() throws Exception {
+        mockMvc.perform(get("/api/budget-alerts"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void listsBudgetAllocationsAndStatus() throws Exception {
+        mockMvc.perform(get("/api/budget-allocations"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+        mockMvc.perform(get("/api/budget-allocations/status"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+        mockMvc.perform(get("/api/budget-allocations/comparison"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void listsBudgetAllocationViews() throws Exception {
+        mockMvc.perform(get("/api/v2/budget-allocations"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void listsCategories() throws Exception {
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void listsCategoryViews() throws Exception {
+        mockMvc.perform(get("/api/v2/categories"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void listsExchangeRates() throws Exception {
+        mockMvc.perform(get("/api/exchange-rates"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void listsForecasts() throws Exception {
+        mockMvc.perform(get("/api/forecast"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void opensTheLiveUpdateStream() throws Exception {
+        mockMvc.perform(get("/api/live-updates/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void listsRecurringTransactions() throws Exception {
+        mockMvc.perform(get("/api/recurring-transactions"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void rejectsAnInvalidReportSpec() throws Exception {
+        mockMvc.perform(post("/api/reports").contentType(MediaType.APPLICATION_JSON).content("{}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listsImportJobs() throws Exception {
+        mockMvc.perform(get("/api/imports"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void reportsStatistics() throws Exception {
+        mockMvc.perform(get("/api/statistics/categories")
+                .param("startDate", START_DATE)
+                .param("endDate", END_DATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+        mockMvc.perform(get("/api/statistics/monthly")
+                .param("startDate", START_DATE)
+                .param("endDate", END_DATE)
+                .param("quantiles", "0.5", "0.9"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void listsTransactions() throws Exception {
+        mockMvc.perform(get("/api/transactions/date-range")
+                .param("startDate", START_DATE)
+                .param("endDate", END_DATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+        mockMvc.perform(get("/api/transactions/monthly-spending"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void streamsTransactions() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/transactions/date-range")
+                .param("startDate", START_DATE)
+                .param("endDate", END_DATE)
+                .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void listsTransactionViews() throws Exception {
+        mockMvc.perform(get("/api/v2/transactions/date-range")
+                .param("startDate", START_DATE)
+                .param("endDate", END_DATE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+}
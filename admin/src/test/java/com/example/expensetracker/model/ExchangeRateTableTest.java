@@ -0,0 +1,59 @@
+package com.example.expensetracker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ExchangeRateTableTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FEB_1 = LocalDate.of(2024, 2, 1);
+
+    private final ExchangeRateTable table = new ExchangeRateTable("USD")
+        .add("USD", "EUR", JAN_1, new BigDecimal("0.90"))
+        .add("USD", "EUR", FEB_1, new BigDecimal("0.80"))
+        .add("GBP", "USD", JAN_1, new BigDecimal("1.25"));
+
+    @Test
+    void usesTheLatestRateOnOrBeforeTheDate() {
+        assertThat(table.getRate("USD", "EUR", JAN_1)).isEqualByComparingTo(new BigDecimal("0.90"));
+        assertThat(table.getRate("USD", "EUR", FEB_1.minusDays(1))).isEqualByComparingTo(new BigDecimal("0.90"));
+        assertThat(table.getRate("USD", "EUR", FEB_1.plusDays(10))).isEqualByComparingTo(new BigDecimal("0.80"));
+    }
+
+    @Test
+    void knowsNoRateBeforeThePairsFirstRate() {
+        assertThat(table.resolveRate("USD", "EUR", JAN_1.minusDays(1))).isNull();
+        assertThatThrownBy(() -> table.getRate("USD", "EUR", JAN_1.minusDays(1)))
+            .hasMessageContaining("No exchange rate available from USD to EUR");
+    }
+
+    @Test
+    void invertsThePairWhenOnlyTheReverseIsKnown() {
+        assertThat(table.getRate("EUR", "USD", FEB_1)).isEqualByComparingTo(new BigDecimal("1.25"));
+    }
+
+    @Test
+    void crossesThroughTheBaseCurrency() {
+        // GBP -> USD -> EUR
+        assertThat(table.getRate("GBP", "EUR", FEB_1)).isEqualByComparingTo(new BigDecimal("1.00"));
+        assertThat(table.getRate("EUR", "GBP", JAN_1)).isCloseTo(new BigDecimal("0.8889"), within(new BigDecimal("0.0001")));
+    }
+
+    @Test
+    void convertsACurrencyIntoItselfAtOne() {
+        assertThat(table.getRate("JPY", "JPY", JAN_1)).isEqualByComparingTo(BigDecimal.ONE);
+    }
+
+    @Test
+    void findsThePairsNextRateDate() {
+        assertThat(table.nextRateDate("USD", "EUR", JAN_1)).isEqualTo(FEB_1);
+        assertThat(table.nextRateDate("USD", "EUR", FEB_1)).isNull();
+        assertThat(table.nextRateDate("USD", "JPY", JAN_1)).isNull();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.expensetracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvStatementParserTest {
+
+    private static final String HEADER = "Date,Amount,Payee,Type,Category,Account,Memo,Transaction ID";
+
+    private final List<StatementRow> rows = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+
+    @Test
+    void mapsColumnsByHeaderNameAndSkipsOthers() {
+        CsvStatementParser parser = parser("\"Posted Date\",Balance,amount,Description");
+
+        parse(parser, "2024-03-01,999.00,-12.50,Coffee\n", 0);
+
+        assertThat(errors).isEmpty();
+        assertThat(rows).hasSize(1);
+        StatementRow row = rows.get(0);
+        assertThat(row.date()).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(row.amount()).isEqualByComparingTo(new BigDecimal("-12.50"));
+        assertThat(row.description()).isEqualTo("Coffee");
+        assertThat(row.type()).isNull();
+        assertThat(row.externalId()).isNull();
+    }
+
+    @Test
+    void requiresDateAndAmountColumns() {
+        assertThatThrownBy(() -> parser("Date,Description"))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("date and amount");
+    }
+
+    @Test
+    void readsEveryMappedColumn() {
+        parse(parser(HEADER), "2024-03-02,45.00,Salary,INCOME,Pay,Checking,March,TX-1\n", 0);
+
+        StatementRow row = rows.get(0);
+        assertThat(row.type()).isEqualTo("INCOME");
+        assertThat(row.category()).isEqualTo("Pay");
+        assertThat(row.account()).isEqualTo("Checking");
+        assertThat(row.notes()).isEqualTo("March");
+        assertThat(row.externalId()).isEqualTo("TX-1");
+    }
+
+    @Test
+    void handlesQuotedFieldsWithCommasAndEscapedQuotes() {
+        parse(parser(HEADER), "2024-03-03,-3.20,\"Cafe \"\"Le Nord\"\", Paris\",,,,\"a, b\",\n", 0);
+
+        assertThat(errors).isEmpty();
+        assertThat(rows.get(0).description()).isEqualTo("Cafe \"Le Nord\", Paris");
+        assertThat(rows.get(0).notes()).isEqualTo("a, b");
+        assertThat(rows.get(0).category()).isNull();
+    }
+
+    @Test
+    void parsesCurrencySymbolsThousandsSeparatorsAndParentheses() {
+        parse(parser("Date,Amount"), "2024-03-04,\"$1,234.50\"\n2024-03-05,(12.00)\n2024-03-06,-5\n", 0);
+
+        assertThat(rows).extracting(StatementRow::amount).containsExactly(
+            new BigDecimal("1234.50"), new BigDecimal("-12.00"), new BigDecimal("-5")
+        );
+    }
+
+    @Test
+    void acceptsCrLfLineEndingsAndSkipsBlankLines() {
+        parse(parser("Date,Amount"), "2024-03-07,1.00\r\n\r\n,\r\n2024-03-08,2.00\r\n", 0);
+
+        assertThat(errors).isEmpty();
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(1).date()).isEqualTo(LocalDate.of(2024, 3, 8));
+    }
+
+    @Test
+    void usesTheGivenDateFormat() {
+        CsvStatementParser parser = CsvStatementParser.fromHeader("Date,Amount", DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+
+        parse(parser, "31/01/2024,10.00\n", 0);
+
+        assertThat(rows.get(0).date()).isEqualTo(LocalDate.of(2024, 1, 31));
+    }
+
+    @Test
+    void reportsBadRowsWithTheirFileOffsetAndKeepsGoing() {
+        String data = "2024-03-09,1.00\nnot-a-date,2.00\n2024-03-10,\n2024-03-11,4.00\n";
+
+        parse(parser("Date,Amount"), data, 1000);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).offset()).isEqualTo(1000L);
+        assertThat(rows.get(1).offset()).isEqualTo(1000L + data.indexOf("2024-03-11"));
+        assertThat(errors).hasSize(2);
+        assertThat(errors.get(0)).startsWith("Row at byte " + (1000 + data.indexOf("not-a-date")));
+        assertThat(errors.get(1)).contains("amount is missing");
+    }
+
+    @Test
+    void findsTheNextRecordBoundary() {
+        CsvStatementParser parser = parser("Date,Amount");
+        ByteBuffer window = ByteBuffer.wrap("24-03-12,1.00\n2024-03-13,2.00\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(parser.nextRecordOffset(window)).isEqualTo(14);
+        assertThat(parser.nextRecordOffset(ByteBuffer.wrap("no line end".getBytes(StandardCharsets.UTF_8))))
+            .isEqualTo(-1);
+    }
+
+    @Test
+    void chunksSplitAtRecordBoundariesParseLikeTheWholeFile() {
+        CsvStatementParser parser = parser(HEADER);
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            data.append("2024-04-").append(String.format("%02d", 1 + i % 28)).append(',')
+                .append(i).append(".25,\"Shop ").append(i).append(", Inc\",,,,,\n");
+        }
+        byte[] bytes = data.toString().getBytes(StandardCharsets.UTF_8);
+
+        List<StatementRow> whole = new ArrayList<>();
+        parser.parse(ByteBuffer.wrap(bytes), 0, whole::add, errors::add);
+
+        // Split the way the importer does: at the first record boundary after a fixed size
+        List<StatementRow> chunked = new ArrayList<>();
+        int start = 0;
+        while (start < bytes.length) {
+            int end = Math.min(start + 1000, bytes.length);
+            if (end < bytes.length) {
+                end += parser.nextRecordOffset(ByteBuffer.wrap(bytes, end, bytes.length - end).slice());
+            }
+            parser.parse(ByteBuffer.wrap(bytes, start, end - start).slice(), start, chunked::add, errors::add);
+            start = end;
+        }
+
+        assertThat(errors).isEmpty();
+        assertThat(whole).hasSize(200);
+        assertThat(chunked).isEqualTo(whole);
+    }
+
+    private CsvStatementParser parser(String header) {
+        return CsvStatementParser.fromHeader(header, DateTimeFormatter.ISO_LOCAL_DATE);
+    }
+
+    private void parse(CsvStatementParser parser, String data, long fileOffset) {
+        parser.parse(ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)), fileOffset, rows::add, errors::add);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.expensetracker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfxStatementParserTest {
+
+    private static final String SGML = """
+        OFXHEADER:100
+        DATA:OFXSGML
+
+        <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+        <STMTTRN>
+        <TRNTYPE>DEBIT
+        <DTPOSTED>20240301120000[-5:EST]
+        <TRNAMT>-12,50
+        <FITID>2024030101
+        <NAME>Cafe &amp; Bar
+        <MEMO>Card 1234
+        <STMTTRN>
+        <TRNTYPE>CREDIT
+        <DTPOSTED>20240302
+        <TRNAMT>1500.00
+        <FITID>2024030201
+        <MEMO>Salary
+        </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+        """;
+
+    private static final String XML = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+        <STMTTRN><TRNTYPE>POS</TRNTYPE><DTPOSTED>20240303</DTPOSTED><TRNAMT>-3.20</TRNAMT>
+        <FITID>X-1</FITID><NAME>Bakery</NAME></STMTTRN>
+        <STMTTRN><TRNTYPE>FEE</TRNTYPE><DTPOSTED>20240304</DTPOSTED><TRNAMT>-1.00</TRNAMT>
+        <FITID>X-2</FITID><NAME>Fee</NAME></STMTTRN>
+        </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+        """;
+
+    private final OfxStatementParser parser = new OfxStatementParser();
+    private final List<StatementRow> rows = new ArrayList<>();
+    private final List<String> errors = new ArrayList<>();
+
+    @Test
+    void parsesSgmlWithUnclosedLeafTags() {
+        parse(SGML, 0);
+
+        assertThat(errors).isEmpty();
+        assertThat(rows).hasSize(2);
+
+        StatementRow debit = rows.get(0);
+        assertThat(debit.date()).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(debit.amount()).isEqualByComparingTo(new BigDecimal("-12.50"));
+        assertThat(debit.type()).isEqualTo("DEBIT");
+        assertThat(debit.description()).isEqualTo("Cafe & Bar");
+        assertThat(debit.notes()).isEqualTo("Card 1234");
+        assertThat(debit.externalId()).isEqualTo("2024030101");
+        assertThat(debit.offset()).isEqualTo((long) SGML.indexOf("<STMTTRN>"));
+
+        // Without NAME the memo describes the transaction
+        StatementRow credit = rows.get(1);
+        assertThat(credit.description()).isEqualTo("Salary");
+        assertThat(credit.notes()).isNull();
+        assertThat(credit.externalId()).isEqualTo("2024030201");
+    }
+
+    @Test
+    void parsesXmlWithClosingTags() {
+        parse(XML, 0);
+
+        assertThat(errors).isEmpty();
+        assertThat(rows).extracting(StatementRow::externalId).containsExactly("X-1", "X-2");
+        assertThat(rows.get(0).description()).isEqualTo("Bakery");
+        assertThat(rows.get(1).amount()).isEqualByComparingTo(new BigDecimal("-1.00"));
+    }
+
+    @Test
+    void reportsTransactionsWithoutDateOrAmountAndKeepsGoing() {
+        String data = "<STMTTRN><TRNAMT>-1.00</STMTTRN>" +
+            "<STMTTRN><DTPOSTED>20240305</STMTTRN>" +
+            "<STMTTRN><DTPOSTED>20240306<TRNAMT>2.00</STMTTRN>";
+
+        parse(data, 500);
+
+        assertThat(rows).hasSize(1);
+        assertThat(errors).hasSize(2);
+        assertThat(errors.get(0)).isEqualTo("Transaction at byte 500: DTPOSTED is missing");
+        assertThat(errors.get(1)).contains("TRNAMT is missing");
+    }
+
+    @Test
+    void findsTheNextTransactionStart() {
+        ByteBuffer window = ByteBuffer.wrap(XML.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(parser.nextRecordOffset(window)).isEqualTo(XML.indexOf("<STMTTRN>"));
+        assertThat(parser.nextRecordOffset(ByteBuffer.wrap("<OFX></OFX>".getBytes(StandardCharsets.UTF_8))))
+            .isEqualTo(-1);
+    }
+
+    @Test
+    void chunksSplitAtTransactionStartsParseLikeTheWholeFile() {
+        byte[] bytes = SGML.getBytes(StandardCharsets.UTF_8);
+        int split = SGML.lastIndexOf("<STMTTRN>");
+
+        List<StatementRow> whole = new ArrayList<>();
+        parser.parse(ByteBuffer.wrap(bytes), 0, whole::add, errors::add);
+        parser.parse(ByteBuffer.wrap(bytes, 0, split).slice(), 0, rows::add, errors::add);
+        parser.parse(ByteBuffer.wrap(bytes, split, bytes.length - split).slice(), split, rows::add, errors::add);
+
+        assertThat(errors).isEmpty();
+        assertThat(rows).isEqualTo(whole);
+    }
+
+    private void parse(String data, long fileOffset) {
+        parser.parse(ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)), fileOffset, rows::add, errors::add);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.ShardContext;
+import com.example.expensetracker.config.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRouterTest {
+
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private final ShardRouter router = new ShardRouter(List.of("jdbc:shard-1", "jdbc:shard-2"), transactionManager);
+    private final ShardRouter unsharded = new ShardRouter(List.of(), transactionManager);
+
+    @AfterEach
+    void shutdown() {
+        router.shutdown();
+        unsharded.shutdown();
+    }
+
+    @Test
+    void mapsIdsToShardsByTheirOffset() {
+        assertThat(router.getShardCount()).isEqualTo(3);
+        assertThat(router.shardOf(1L)).isEqualTo(0);
+        assertThat(router.shardOf(2L)).isEqualTo(1);
+        assertThat(router.shardOf(3L)).isEqualTo(2);
+        assertThat(router.shardOf(4L)).isEqualTo(0);
+        assertThat(router.shardOf(3001L)).isEqualTo(0);
+    }
+
+    @Test
+    void mapsAMissingIdToTheHomeShard() {
+        assertThat(router.shardOf(null)).isEqualTo(ShardContext.HOME_SHARD);
+    }
+
+    @Test
+    void keepsEverythingOnTheHomeShardWhenUnsharded() {
+        assertThat(unsharded.isSharded()).isFalse();
+        assertThat(unsharded.shardOf(7L)).isEqualTo(ShardContext.HOME_SHARD);
+        assertThat(unsharded.nextAccountShard()).isEqualTo(ShardContext.HOME_SHARD);
+        assertThat(unsharded.nextAccountShard()).isEqualTo(ShardContext.HOME_SHARD);
+    }
+
+    @Test
+    void spreadsNewAccountsRoundRobin() {
+        List<Integer> shards = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            shards.add(router.nextAccountShard());
+        }
+
+        assertThat(shards).containsExactly(0, 1, 2, 0, 1, 2);
+    }
+
+    @Test
+    void bindsTheShardOfAnIdOnlyWhileTheWorkRuns() {
+        int shard = router.onShardOf(2L, ShardContext::getShard);
+
+        assertThat(shard).isEqualTo(1);
+        assertThat(ShardContext.getShard()).isEqualTo(ShardContext.HOME_SHARD);
+    }
+
+    @Test
+    void restoresTheOuterShardAfterNestedWork() {
+        int inner = router.onShard(2, () -> router.onShardOf(2L, ShardContext::getShard));
+        int outer = router.onShard(2, () -> {
+            router.onShardOf(2L, ShardContext::getShard);
+            return ShardContext.getShard();
+        });
+
+        assertThat(inner).isEqualTo(1);
+        assertThat(outer).isEqualTo(2);
+    }
+
+    @Test
+    void fansOutToEveryShardWithTheCallersTenant() {
+        List<String> results = TenantContext.callAs("household-1", () ->
+            router.fanOut(() -> ShardContext.getShard() + ":" + TenantContext.getTenantId()));
+
+        assertThat(results).containsExactly("0:household-1", "1:household-1", "2:household-1");
+    }
+
+    @Test
+    void runsTheWorkInlineWhenUnsharded() {
+        Thread caller = Thread.currentThread();
+
+        List<Boolean> results = unsharded.fanOut(() -> Thread.currentThread() == caller);
+
+        assertThat(results).containsExactly(true);
+    }
+
+    @Test
+    void concatenatesListResultsInShardOrder() {
+        List<Integer> merged = router.fanOutList(() -> Collections.nCopies(2, ShardContext.getShard()));
+
+        assertThat(merged).containsExactly(0, 0, 1, 1, 2, 2);
+    }
+
+    @Test
+    void rethrowsTheRuntimeExceptionOfAFailedShard() {
+        IllegalStateException failure = new IllegalStateException("shard 2 is down");
+
+        assertThatThrownBy(() -> router.fanOut(() -> {
+            if (ShardContext.getShard() == 2) {
+                throw failure;
+            }
+            return ShardContext.getShard();
+        })).isSameAs(failure);
+    }
+
+    @Test
+    void visitsShardsInOrderOnTheCallingThread() {
+        Thread caller = Thread.currentThread();
+        List<String> visits = new ArrayList<>();
+
+        router.forEachShard(shard -> visits.add(
+            shard + ":" + ShardContext.getShard() + ":" + (Thread.currentThread() == caller)));
+
+        assertThat(visits).containsExactly("0:0:true", "1:1:true", "2:2:true");
+        assertThat(ShardContext.getShard()).isEqualTo(ShardContext.HOME_SHARD);
+    }
+
+    @Test
+    void startsATransactionPerShardWhenSharded() {
+        List<Integer> shards = new ArrayList<>();
+
+        router.forEachShardInTransaction(shards::add);
+
+        assertThat(shards).containsExactly(0, 1, 2);
+        assertThat(transactionManager.begun).containsExactly(
+            TransactionDefinition.PROPAGATION_REQUIRES_NEW,
+            TransactionDefinition.PROPAGATION_REQUIRES_NEW,
+            TransactionDefinition.PROPAGATION_REQUIRES_NEW
+        );
+        assertThat(transactionManager.commits).isEqualTo(3);
+    }
+
+    @Test
+    void joinsTheCallersTransactionWhenUnsharded() {
+        unsharded.forEachShardInTransaction(shard -> { });
+
+        assertThat(transactionManager.begun).containsExactly(TransactionDefinition.PROPAGATION_REQUIRED);
+    }
+
+    /**
+     * Records the propagation of each transaction begun and counts commits
+     */
+    private static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final List<Integer> begun = new ArrayList<>();
+        private int commits;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            begun.add(definition.getPropagationBehavior());
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.expensetracker.service;
+
+import com.example.expensetracker.config.ShardContext;
+import com.example.expensetracker.config.ShardRoutingDataSource;
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.dto.TransferRequest;
+import com.example.expensetracker.enums.AccountType;
+import com.example.expensetracker.event.TransactionChangedEvent;
+import com.example.expensetracker.model.Account;
+import com.example.expensetracker.model.Transaction;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Transfers over three embedded H2 databases, one per shard: within a shard in one transaction, and
+ * across shards as a saga whose debit is compensated when the credit fails.
+ *
+ * Hibernate creates the schema on every shard; each shard's identity columns then start at its
+ * index and step by the shard count, as auto_increment_offset/increment do on MySQL.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:shard-0;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "expensetracker.sharding.shard-urls=jdbc:h2:mem:shard-1;MODE=MySQL;DB_CLOSE_DELAY=-1,"
+        + "jdbc:h2:mem:shard-2;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ShardedTransferTest {
+
+    private static final long TRANSFER_CATEGORY_ID = 1;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private FailingCredit failingCredit;
+
+    @AfterEach
+    void disarmFailingCredit() {
+        failingCredit.armed = false;
+    }
+
+    @Test
+    void createsAccountsOnTheShardTheirIdMapsTo() {
+        for (int i = 0; i < 3; i++) {
+            Account account = createAccount("100.00");
+
+            assertThat(countOnShard(shardRouter.shardOf(account.getId()),
+                "SELECT COUNT(*) FROM accounts WHERE id = ?", account.getId())).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void transfersWithinAShardInOneTransaction() {
+        Account from = createAccount("100.00");
+        createAccount("0.00");
+        createAccount("0.00");
+        Account to = createAccount("0.00");
+        int shard = shardRouter.shardOf(from.getId());
+        assertThat(shardRouter.shardOf(to.getId())).isEqualTo(shard);
+
+        List<Transaction> legs = transfer(from, to, "40.00");
+
+        assertThat(legs).hasSize(2);
+        assertThat(balanceOf(from)).isEqualByComparingTo(new BigDecimal("60.00"));
+        assertThat(balanceOf(to)).isEqualByComparingTo(new BigDecimal("40.00"));
+        assertThat(countOnShard(shard, "SELECT COUNT(*) FROM transactions WHERE transfer_reference_id = ?",
+            legs.get(0).getTransferReferenceId())).isEqualTo(2);
+    }
+
+    @Test
+    void writesEachLegOfACrossShardTransferOnItsAccountsShard() {
+        Account from = createAccount("100.00");
+        Account to = createAccount("0.00");
+        assertThat(shardRouter.shardOf(to.getId())).isNotEqualTo(shardRouter.shardOf(from.getId()));
+
+        List<Transaction> legs = transfer(from, to, "25.00");
+
+        assertThat(balanceOf(from)).isEqualByComparingTo(new BigDecimal("75.00"));
+        assertThat(balanceOf(to)).isEqualByComparingTo(new BigDecimal("25.00"));
+        for (Transaction leg : legs) {
+            int shard = shardRouter.shardOf(leg.getAccountId());
+            assertThat(shardRouter.shardOf(leg.getId())).isEqualTo(shard);
+            assertThat(countOnShard(shard, "SELECT COUNT(*) FROM transactions WHERE id = ?", leg.getId()))
+                .isEqualTo(1);
+        }
+    }
+
+    @Test
+    void compensatesTheDebitWhenTheCreditFails() {
+        Account from = createAccount("100.00");
+        Account to = createAccount("0.00");
+        failingCredit.armed = true;
+
+        assertThatThrownBy(() -> transfer(from, to, "25.00"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("credit rejected");
+
+        assertThat(balanceOf(from)).isEqualByComparingTo(new BigDecimal("100.00"));
+        assertThat(balanceOf(to)).isEqualByComparingTo(new BigDecimal("0.00"));
+        for (Account account : List.of(from, to)) {
+            assertThat(countOnShard(shardRouter.shardOf(account.getId()),
+                "SELECT COUNT(*) FROM transactions WHERE account_id = ?", account.getId())).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void leavesBothShardsUntouchedWhenTheSourceLacksFunds() {
+        Account from = createAccount("10.00");
+        Account to = createAccount("0.00");
+
+        assertThatThrownBy(() -> transfer(from, to, "25.00"))
+            .hasMessageContaining("Insufficient balance");
+
+        assertThat(balanceOf(from)).isEqualByComparingTo(new BigDecimal("10.00"));
+        assertThat(balanceOf(to)).isEqualByComparingTo(new BigDecimal("0.00"));
+    }
+
+    private Account createAccount(String balance) {
+        Account account = new Account();
+        account.setAccountName("Account");
+        account.setAccountType(AccountType.CHECKING);
+        account.setCurrentBalance(new BigDecimal(balance));
+        return TenantContext.callAs(TenantContext.DEFAULT_TENANT, () -> accountService.createAccount(account));
+    }
+
+    private List<Transaction> transfer(Account from, Account to, String amount) {
+        TransferRequest request = new TransferRequest(from.getId(), to.getId(), TRANSFER_CATEGORY_ID,
+            new BigDecimal(amount), LocalDate.now(), "Savings", null);
+        return TenantContext.callAs(TenantContext.DEFAULT_TENANT, () -> transactionService.createTransfer(request));
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return shardJdbc(shardRouter.shardOf(account.getId()))
+            .queryForObject("SELECT current_balance FROM accounts WHERE id = ?", BigDecimal.class, account.getId());
+    }
+
+    private int countOnShard(int shard, String sql, Object... args) {
+        return shardJdbc(shard).queryForObject(sql, Integer.class, args);
+    }
+
+    private JdbcTemplate shardJdbc(int shard) {
+        return new JdbcTemplate(shardRoutingDataSource.getShards().get(shard));
+    }
+
+    @TestConfiguration
+    static class ShardSchemaConfiguration {
+
+        /**
+         * Runs once the entity manager factory has created the home shard's schema, before the
+         * startup loaders read the shards
+         */
+        @Bean
+        ShardSchemas shardSchemas(EntityManagerFactory entityManagerFactory, ShardRoutingDataSource shards) {
+            int shardCount = shards.getShards().size();
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (shard != ShardContext.HOME_SHARD) {
+                    ShardContext.runOn(shard, () ->
+                        entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true));
+                }
+
+                HikariDataSource dataSource = shards.getShards().get(shard);
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+                List<String> identityTables = jdbcTemplate.queryForList(
+                    "SELECT table_name FROM information_schema.columns "
+                        + "WHERE table_schema = 'PUBLIC' AND column_name = 'ID' AND is_identity = 'YES'", String.class);
+                for (String table : identityTables) {
+                    jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (shard + 1));
+                    jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET INCREMENT BY " + shardCount);
+                }
+
+                // Reference data replicated to every shard
+                jdbcTemplate.update("INSERT INTO categories (id, tenant_id, name, type, created_at) "
+                    + "VALUES (?, 'default', 'Transfers', 'EXPENSE', CURRENT_TIMESTAMP)", TRANSFER_CATEGORY_ID);
+            }
+            return new ShardSchemas(shardCount);
+        }
+
+        @Bean
+        FailingCredit failingCredit() {
+            return new FailingCredit();
+        }
+    }
+
+    record ShardSchemas(int shardCount) {
+    }
+
+    /**
+     * Fails the incoming leg of a transfer while armed, inside the credit's transaction
+     */
+    static class FailingCredit {
+
+        volatile boolean armed;
+
+        @EventListener
+        public void onTransactionChanged(TransactionChangedEvent event) {
+            if (armed && event.current() != null && event.current().description().endsWith("(Transfer In)")) {
+                throw new IllegalStateException("credit rejected");
+            }
+        }
+    }
+}
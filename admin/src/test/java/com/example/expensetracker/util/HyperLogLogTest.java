@@ -0,0 +1,108 @@
+package com.example.expensetracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    @Test
+    void smallCardinalitiesAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            sketch.add("merchant-" + i);
+        }
+
+        assertThat(sketch.estimate()).isBetween(97L, 103L);
+    }
+
+    @Test
+    void largeCardinalitiesStayWithinThreeStandardErrors() {
+        for (int distinct : new int[]{10_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < distinct; i++) {
+                sketch.add("merchant-" + i);
+            }
+
+            assertThat((double) sketch.estimate()).isCloseTo((double) distinct,
+                within(distinct * 3 * HyperLogLog.STANDARD_ERROR));
+        }
+    }
+
+    @Test
+    void repeatedValuesDoNotChangeTheEstimate() {
+        HyperLogLog once = new HyperLogLog();
+        HyperLogLog repeated = new HyperLogLog();
+        for (int i = 0; i < 5_000; i++) {
+            once.add("merchant-" + i);
+            for (int j = 0; j < 3; j++) {
+                repeated.add("merchant-" + i);
+            }
+        }
+
+        assertThat(repeated.toBytes()).isEqualTo(once.toBytes());
+    }
+
+    @Test
+    void mergingEqualsTheSketchOfTheUnion() {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            // Overlapping halves
+            if (i < 12_000) {
+                left.add("merchant-" + i);
+            }
+            if (i >= 8_000) {
+                right.add("merchant-" + i);
+            }
+            union.add("merchant-" + i);
+        }
+
+        left.merge(right);
+
+        assertThat(left.toBytes()).isEqualTo(union.toBytes());
+    }
+
+    @Test
+    void roundTripsSparseAndDenseEncodings() {
+        HyperLogLog sparse = new HyperLogLog();
+        for (int i = 0; i < 50; i++) {
+            sparse.add("merchant-" + i);
+        }
+        HyperLogLog dense = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            dense.add("merchant-" + i);
+        }
+
+        byte[] sparseBytes = sparse.toBytes();
+        byte[] denseBytes = dense.toBytes();
+
+        assertThat(sparseBytes.length).isLessThan(200);
+        assertThat(denseBytes.length).isEqualTo(4097);
+        assertThat(HyperLogLog.fromBytes(sparseBytes).estimate()).isEqualTo(sparse.estimate());
+        assertThat(HyperLogLog.fromBytes(sparseBytes).toBytes()).isEqualTo(sparseBytes);
+        assertThat(HyperLogLog.fromBytes(denseBytes).estimate()).isEqualTo(dense.estimate());
+        assertThat(HyperLogLog.fromBytes(denseBytes).toBytes()).isEqualTo(denseBytes);
+    }
+
+    @Test
+    void decodesMissingBytesAsEmptyAndRejectsUnknownFormats() {
+        assertThat(HyperLogLog.fromBytes(null).estimate()).isZero();
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[]{7}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void hashIsFixed() {
+        // Stored sketches were built with it; a different hash would count every value again
+        assertThat(HyperLogLog.hash("coffee")).isEqualTo(0xEE522BA4A046389BL);
+    }
+}
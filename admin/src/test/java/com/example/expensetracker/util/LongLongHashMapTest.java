@@ -0,0 +1,101 @@
+package com.example.expensetracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongLongHashMapTest {
+
+    @Test
+    void getReturnsDefaultForAbsentKeys() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(1L, 10L);
+
+        assertThat(map.get(1L, -1L)).isEqualTo(10L);
+        assertThat(map.get(2L, -1L)).isEqualTo(-1L);
+        assertThat(map.containsKey(2L)).isFalse();
+    }
+
+    @Test
+    void putReplacesTheValueOfAnExistingKey() {
+        LongLongHashMap map = new LongLongHashMap();
+        map.put(7L, 1L);
+        map.put(7L, 2L);
+
+        assertThat(map.get(7L, 0L)).isEqualTo(2L);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void addToStartsFromZeroAndReturnsTheNewValue() {
+        LongLongHashMap map = new LongLongHashMap();
+
+        assertThat(map.addTo(3L, 5L)).isEqualTo(5L);
+        assertThat(map.addTo(3L, -2L)).isEqualTo(3L);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void zeroNegativeAndExtremeKeysAreOrdinaryKeys() {
+        LongLongHashMap map = new LongLongHashMap();
+        long[] keys = {0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long key : keys) {
+            map.put(key, key ^ 0x5555L);
+        }
+
+        assertThat(map.size()).isEqualTo(keys.length);
+        for (long key : keys) {
+            assertThat(map.get(key, 0L)).isEqualTo(key ^ 0x5555L);
+        }
+    }
+
+    @Test
+    void keepsAllEntriesAcrossResizes() {
+        LongLongHashMap map = new LongLongHashMap(1);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            // Sequential IDs and random keys, repeated so some updates hit existing entries
+            long key = i % 3 == 0 ? random.nextLong() : i / 2;
+            long delta = random.nextInt(1000);
+            map.addTo(key, delta);
+            expected.merge(key, delta, Long::sum);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key, Long.MIN_VALUE)).isEqualTo(value));
+    }
+
+    @Test
+    void forEachVisitsEveryEntryOnce() {
+        LongLongHashMap map = new LongLongHashMap();
+        for (long key = 1; key <= 100; key++) {
+            map.put(key, key * 10);
+        }
+
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach((key, value) -> assertThat(visited.put(key, value)).isNull());
+
+        assertThat(visited).hasSize(100);
+        assertThat(visited).containsEntry(42L, 420L);
+    }
+
+    @Test
+    void emptyMapReportsEmpty() {
+        LongLongHashMap map = new LongLongHashMap(0);
+
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.toString()).isEqualTo("{}");
+    }
+
+    @Test
+    void rejectsSizesBeyondTheMaximumCapacity() {
+        assertThatThrownBy(() -> new LongLongHashMap(Integer.MAX_VALUE))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
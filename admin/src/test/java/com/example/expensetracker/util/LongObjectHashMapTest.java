@@ -0,0 +1,86 @@
+package com.example.expensetracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void getReturnsNullOrTheDefaultForAbsentKeys() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(1L, "one");
+
+        assertThat(map.get(1L)).isEqualTo("one");
+        assertThat(map.get(2L)).isNull();
+        assertThat(map.getOrDefault(2L, "none")).isEqualTo("none");
+        assertThat(map.containsKey(2L)).isFalse();
+    }
+
+    @Test
+    void putReturnsThePreviousValue() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertThat(map.put(5L, "a")).isNull();
+        assertThat(map.put(5L, "b")).isEqualTo("a");
+        assertThat(map.get(5L)).isEqualTo("b");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNullValues() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertThatThrownBy(() -> map.put(1L, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    void zeroNegativeAndExtremeKeysAreOrdinaryKeys() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+        long[] keys = {0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long key : keys) {
+            map.put(key, key);
+        }
+
+        assertThat(map.size()).isEqualTo(keys.length);
+        for (long key : keys) {
+            assertThat(map.get(key)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void keepsAllEntriesAcrossResizes() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(1);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long key = i % 2 == 0 ? random.nextLong() : i;
+            long value = random.nextLong();
+            map.put(key, value);
+            expected.put(key, value);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+    }
+
+    @Test
+    void forEachVisitsEveryEntryOnce() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        for (long key = 1; key <= 100; key++) {
+            map.put(key, "v" + key);
+        }
+
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach((key, value) -> assertThat(visited.put(key, value)).isNull());
+
+        assertThat(visited).hasSize(100);
+        assertThat(visited).containsEntry(42L, "v42");
+    }
+}
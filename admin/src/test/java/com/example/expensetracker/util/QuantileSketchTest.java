@@ -0,0 +1,127 @@
+package com.example.expensetracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 1.0};
+
+    @Test
+    void emptySketchReportsZero() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.quantile(0.5)).isZero();
+    }
+
+    @Test
+    void rejectsQuantilesOutsideZeroToOne() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertThatThrownBy(() -> sketch.quantile(-0.1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sketch.quantile(1.1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void estimatesStayWithinTheRelativeAccuracyOfTheExactRank() {
+        // Amounts in cents spread over seven orders of magnitude, as spending amounts are
+        Random random = new Random(42);
+        long[] values = new long[50_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(Math.exp(random.nextDouble() * Math.log(1e9)));
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertThat(sketch.count()).isEqualTo(values.length);
+        for (double q : QUANTILES) {
+            long exact = values[(int) Math.floor(q * (values.length - 1))];
+            // Estimates are rounded to whole cents
+            assertThat((double) sketch.quantile(q))
+                .isCloseTo((double) exact, within(exact * QuantileSketch.RELATIVE_ACCURACY + 1));
+        }
+    }
+
+    @Test
+    void zeroAndNegativeValuesRankFirstAsZero() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0);
+        sketch.add(-500);
+        sketch.add(10_000);
+
+        assertThat(sketch.quantile(0.0)).isZero();
+        assertThat(sketch.quantile(0.5)).isZero();
+        assertThat((double) sketch.quantile(1.0)).isCloseTo(10_000.0, within(100.0));
+    }
+
+    @Test
+    void negativeWeightsRemoveEarlierValues() {
+        QuantileSketch sketch = new QuantileSketch();
+        QuantileSketch expected = new QuantileSketch();
+        for (long value = 1; value <= 1_000; value++) {
+            sketch.add(value * 37);
+            if (value % 3 != 0) {
+                expected.add(value * 37);
+            }
+        }
+        for (long value = 3; value <= 1_000; value += 3) {
+            sketch.add(value * 37, -1);
+        }
+
+        assertThat(sketch.count()).isEqualTo(expected.count());
+        assertThat(sketch.toBytes()).isEqualTo(expected.toBytes());
+    }
+
+    @Test
+    void mergingEqualsAddingToOneSketch() {
+        Random random = new Random(1);
+        QuantileSketch left = new QuantileSketch();
+        QuantileSketch right = new QuantileSketch();
+        QuantileSketch all = new QuantileSketch();
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong(0, 5_000_000);
+            (i % 2 == 0 ? left : right).add(value);
+            all.add(value);
+        }
+
+        left.merge(right);
+
+        assertThat(left.count()).isEqualTo(all.count());
+        assertThat(left.toBytes()).isEqualTo(all.toBytes());
+    }
+
+    @Test
+    void roundTripsThroughItsEncoding() {
+        Random random = new Random(7);
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0, 3);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add(random.nextLong(1, 100_000_000));
+        }
+
+        byte[] encoded = sketch.toBytes();
+        QuantileSketch decoded = QuantileSketch.fromBytes(encoded);
+
+        assertThat(decoded.count()).isEqualTo(sketch.count());
+        for (double q : QUANTILES) {
+            assertThat(decoded.quantile(q)).isEqualTo(sketch.quantile(q));
+        }
+        assertThat(decoded.toBytes()).isEqualTo(encoded);
+    }
+
+    @Test
+    void decodesMissingBytesAsEmptyAndRejectsUnknownFormats() {
+        assertThat(QuantileSketch.fromBytes(null).isEmpty()).isTrue();
+        assertThat(QuantileSketch.fromBytes(new byte[0]).isEmpty()).isTrue();
+        assertThatThrownBy(() -> QuantileSketch.fromBytes(new byte[]{99}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
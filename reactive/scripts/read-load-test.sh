@@ -0,0 +1,63 @@
+#!/bin/sh
+# Compares latency and thread usage of the blocking admin API and the reactive read API on the same
+# read endpoint, one after the other, with the same load. Needs `hey` (https://github.com/rakyll/hey)
+# and both applications running against the same data.
+#
+# Usage: scripts/read-load-test.sh [requests] [concurrency] [path]
+#   default path: /api/v2/transactions/date-range for the current year
+# Examples:
+#   scripts/read-load-test.sh 2000 50
+#   ACCEPT=application/x-ndjson scripts/read-load-test.sh 2000 200
+#   scripts/read-load-test.sh 5000 100 "/api/transactions/monthly-spending/date-range?startDate=2024-01-01&endDate=2024-12-31"
+#
+# jvm.threads.live counts platform threads only. The admin application serves requests on virtual
+# threads by default; start it with -Dspring.threads.virtual.enabled=false to compare against a
+# thread-per-request pool, and compare the pool metrics (hikaricp.connections.* / r2dbc.pool.*) as well.
+
+REQUESTS=${1:-2000}
+CONCURRENCY=${2:-50}
+YEAR=$(date +%Y)
+PATH_QUERY=${3:-"/api/v2/transactions/date-range?startDate=$YEAR-01-01&endDate=$YEAR-12-31"}
+BLOCKING=${BLOCKING:-http://localhost:8080}
+REACTIVE=${REACTIVE:-http://localhost:8082}
+ACCEPT=${ACCEPT:-application/json}
+# Signed tenant token (admin/scripts/tenant-token.sh); without one both run as the anonymous tenant
+TOKEN=${TOKEN:-}
+AUTH_HEADER=${TOKEN:+"Authorization: Bearer $TOKEN"}
+AUTH_HEADER=${AUTH_HEADER:-"X-Load-Test: 1"}
+
+metric() {
+    curl -fsS "$1/actuator/metrics/$2" 2>/dev/null | sed -n 's/.*"value":\([0-9.E+-]*\).*/\1/p' | head -n 1
+}
+
+run() {
+    NAME=$1
+    BASE=$2
+    echo "== $NAME ($BASE)"
+    if ! curl -fsS -o /dev/null "$BASE/actuator/health"; then
+        echo "not reachable, skipped"
+        return
+    fi
+
+    # Warm up, then sample the live thread count once a second while the load runs
+    hey -n "$CONCURRENCY" -c "$CONCURRENCY" -H "Accept: $ACCEPT" -H "$AUTH_HEADER" "$BASE$PATH_QUERY" > /dev/null
+    SAMPLES="target/threads-$NAME.txt"
+    : > "$SAMPLES"
+    (while :; do metric "$BASE" jvm.threads.live >> "$SAMPLES"; sleep 1; done) &
+    SAMPLER=$!
+
+    hey -n "$REQUESTS" -c "$CONCURRENCY" -H "Accept: $ACCEPT" -H "$AUTH_HEADER" "$BASE$PATH_QUERY" \
+        > "target/hey-$NAME.txt"
+    kill "$SAMPLER" 2>/dev/null
+
+    grep -E "Requests/sec|Average|Slowest" "target/hey-$NAME.txt"
+    grep -E "(50|95|99)%" "target/hey-$NAME.txt"
+    echo "  Peak live threads: $(sort -g "$SAMPLES" | tail -n 1)"
+    grep -A 3 "Status code distribution" "target/hey-$NAME.txt" | tail -n +2
+}
+
+command -v hey > /dev/null || { echo "hey is not installed"; exit 1; }
+mkdir -p target
+echo "$REQUESTS requests, $CONCURRENCY concurrent, Accept: $ACCEPT, $PATH_QUERY"
+run blocking "$BLOCKING"
+run reactive "$REACTIVE"
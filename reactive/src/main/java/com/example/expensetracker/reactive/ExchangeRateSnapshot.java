@@ -0,0 +1,94 @@
+package com.example.expensetracker.reactive;
+
+import com.example.expensetracker.model.ExchangeRateTable;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * In-memory copy of the exchange_rates table, looked up through the admin ExchangeRateTable so both APIs
+ * convert with the same rules.
+ *
+ * Rates are written through the admin application only, so the copy is reloaded on an interval instead
+ * of on change; a rate edit shows up here within refresh-interval-ms.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExchangeRateSnapshot {
+
+    private static final String RATES_SQL = "SELECT base_currency, quote_currency, rate_date, rate FROM exchange_rates";
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${expensetracker.reporting.base-currency:USD}")
+    private String baseCurrency;
+
+    @Value("${expensetracker.reactive.rate-refresh-interval-ms:60000}")
+    private long refreshIntervalMs;
+
+    // Replaced as a whole on reload
+    private volatile ExchangeRateTable rates;
+    private Disposable refresh;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefresh() {
+        refresh = Flux.interval(Duration.ofMillis(refreshIntervalMs), Duration.ofMillis(refreshIntervalMs))
+            .concatMap(tick -> load().onErrorResume(e -> {
+                log.warn("Could not reload exchange rates: {}", e.getMessage());
+                return Mono.empty();
+            }))
+            .subscribe();
+    }
+
+    @PreDestroy
+    public void stopRefresh() {
+        if (refresh != null) {
+            refresh.dispose();
+        }
+    }
+
+    /**
+     * Resolve a requested reporting currency, falling back to the default one
+     */
+    public String resolveCurrency(String currency) {
+        return currency == null || currency.isBlank() ? baseCurrency : currency.toUpperCase();
+    }
+
+    /**
+     * Current rates, loaded on first use
+     */
+    public Mono<ExchangeRateTable> rates() {
+        ExchangeRateTable current = rates;
+        return current != null ? Mono.just(current) : load();
+    }
+
+    private Mono<ExchangeRateTable> load() {
+        return databaseClient.sql(RATES_SQL)
+            .map(row -> new RateRow(
+                row.get("base_currency", String.class),
+                row.get("quote_currency", String.class),
+                row.get("rate_date", LocalDate.class),
+                row.get("rate", BigDecimal.class)
+            ))
+            .all()
+            .collect(() -> new ExchangeRateTable(baseCurrency), (table, rate) ->
+                table.add(rate.baseCurrency(), rate.quoteCurrency(), rate.date(), rate.rate()))
+            .doOnNext(table -> rates = table);
+    }
+
+    private record RateRow(String baseCurrency, String quoteCurrency, LocalDate date, BigDecimal rate) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.expensetracker.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Read-only transaction API on WebFlux and R2DBC, serving the same list and spending views as the
+ * blocking admin application from the same database
+ */
+@SpringBootApplication
+public class ReactiveReadApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveReadApplication.class, args);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.expensetracker.reactive;
+
+import com.example.expensetracker.config.TenantContext;
+import com.example.expensetracker.config.TenantTokenVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves the tenant of the request's signed token into an exchange attribute, with the same rules and
+ * signing key as the admin application's TenantFilter: no token means the anonymous tenant when one is
+ * configured, an invalid token or the unauthenticated X-Tenant-Id header is rejected.
+ * Queries here always name one tenant, so root tokens are not accepted.
+ */
+@Component
+public class TenantWebFilter implements WebFilter {
+
+    public static final String TENANT_ATTRIBUTE = "expensetracker.tenantId";
+
+    private static final String LEGACY_TENANT_HEADER = "X-Tenant-Id";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TenantTokenVerifier tokenVerifier;
+    private final String anonymousTenant;
+
+    public TenantWebFilter(
+        @Value("${expensetracker.tenancy.signing-key:}") String signingKey,
+        @Value("${expensetracker.tenancy.anonymous-tenant:}") String anonymousTenant
+    ) {
+        this.tokenVerifier = new TenantTokenVerifier(signingKey);
+        this.anonymousTenant = anonymousTenant.isBlank() ? null : anonymousTenant;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getPath().value().startsWith("/actuator/")) {
+            return chain.filter(exchange);
+        }
+
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String authorization = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        String tenantId;
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            tenantId = tokenVerifier.verify(authorization.substring(BEARER_PREFIX.length()).trim());
+            if (tenantId == null) {
+                return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired tenant token"));
+            }
+            if (TenantContext.ROOT_TENANT.equals(tenantId)) {
+                return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Root tokens are not accepted here"));
+            }
+        } else if (headers.containsKey(LEGACY_TENANT_HEADER)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                LEGACY_TENANT_HEADER + " is not accepted, send a signed tenant token"));
+        } else if (anonymousTenant != null) {
+            tenantId = anonymousTenant;
+        } else {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Tenant token required"));
+        }
+        exchange.getAttributes().put(TENANT_ATTRIBUTE, tenantId);
+        return chain.filter(exchange);
+    }
+}
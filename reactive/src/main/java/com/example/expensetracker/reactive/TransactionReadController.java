@@ -0,0 +1,72 @@
+package com.example.expensetracker.reactive;
+
+import com.example.expensetracker.dto.MonthlySpendingDTO;
+import com.example.expensetracker.dto.TransactionViewDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Read endpoints at the same paths and in the same shapes as the admin application's
+ * TransactionV2Controller list views and TransactionController monthly spending.
+ *
+ * Lists are written as a JSON array, or as newline-delimited JSON with Accept: application/x-ndjson,
+ * element by element as rows arrive; the response only requests more rows as it drains.
+ */
+@RestController
+@RequiredArgsConstructor
+public class TransactionReadController {
+
+    private final TransactionReadService transactionReadService;
+
+    /**
+     * GET /api/v2/transactions - Get all transactions
+     */
+    @GetMapping(value = "/api/v2/transactions", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TransactionViewDTO> getAllTransactions(@RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenantId) {
+        return transactionReadService.getAllTransactionViews(tenantId);
+    }
+
+    /**
+     * GET /api/v2/transactions/date-range - Get transactions within date range
+     */
+    @GetMapping(value = "/api/v2/transactions/date-range", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TransactionViewDTO> getTransactionsByDateRange(
+        @RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenantId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        return transactionReadService.getTransactionViewsByDateRange(tenantId, startDate, endDate);
+    }
+
+    /**
+     * GET /api/transactions/monthly-spending - Get monthly spending by category for current month
+     */
+    @GetMapping("/api/transactions/monthly-spending")
+    public Flux<MonthlySpendingDTO> getMonthlySpending(
+        @RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenantId,
+        @RequestParam(required = false) String currency
+    ) {
+        return transactionReadService.getMonthlySpendingByCategory(tenantId, currency);
+    }
+
+    /**
+     * GET /api/transactions/monthly-spending/date-range - Get monthly spending by category for date range
+     */
+    @GetMapping("/api/transactions/monthly-spending/date-range")
+    public Flux<MonthlySpendingDTO> getMonthlySpendingByDateRange(
+        @RequestAttribute(TenantWebFilter.TENANT_ATTRIBUTE) String tenantId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(required = false) String currency
+    ) {
+        return transactionReadService.getMonthlySpendingByCategory(tenantId, startDate, endDate, currency);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.expensetracker.reactive;
+
+import com.example.expensetracker.dto.TransactionViewDTO;
+import com.example.expensetracker.enums.TransactionType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Transaction reads over R2DBC, in the shapes of the admin TransactionRepository view and spending queries.
+ * Hibernate adds the tenant restriction there; here every query names tenant_id itself.
+ *
+ * List queries are fetched in batches of fetch-size rows (server-side cursor with useServerPrepareStatement),
+ * so a slow client holds back the next fetch instead of buffering the whole result.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionReadRepository {
+
+    private static final String VIEW_SQL =
+        "SELECT id, account_id, category_id, amount, transaction_type, transaction_date, description, " +
+        "transfer_reference_id FROM transactions WHERE tenant_id = :tenantId";
+
+    private static final String VIEWS_BY_DATE_SQL = VIEW_SQL + " AND transaction_date BETWEEN :startDate AND :endDate";
+
+    private static final String SPENDING_IN_CURRENCY_SQL =
+        "SELECT t.category_id, SUM(t.amount) AS total FROM transactions t JOIN accounts a ON a.id = t.account_id " +
+        "WHERE t.tenant_id = :tenantId AND a.tenant_id = :tenantId " +
+        "AND t.transaction_type = :transactionType AND a.currency = :currency " +
+        "AND t.transaction_date BETWEEN :startDate AND :endDate " +
+        "GROUP BY t.category_id";
+
+    private static final String DAILY_SPENDING_NOT_IN_CURRENCY_SQL =
+        "SELECT t.category_id, a.currency, t.transaction_date, SUM(t.amount) AS total " +
+        "FROM transactions t JOIN accounts a ON a.id = t.account_id " +
+        "WHERE t.tenant_id = :tenantId AND a.tenant_id = :tenantId " +
+        "AND t.transaction_type = :transactionType AND a.currency <> :currency " +
+        "AND t.transaction_date BETWEEN :startDate AND :endDate " +
+        "GROUP BY t.category_id, a.currency, t.transaction_date";
+
+    private static final String CATEGORY_NAMES_SQL = "SELECT id, name FROM categories WHERE tenant_id = :tenantId";
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${expensetracker.reactive.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Stream list views of all transactions of a tenant
+     */
+    public Flux<TransactionViewDTO> findAllViews(String tenantId) {
+        return databaseClient.sql(VIEW_SQL)
+            .filter(statement -> statement.fetchSize(fetchSize))
+            .bind("tenantId", tenantId)
+            .map(TransactionReadRepository::toView)
+            .all();
+    }
+
+    /**
+     * Stream list views of a tenant's transactions within a date range
+     */
+    public Flux<TransactionViewDTO> findViewsByTransactionDateBetween(String tenantId, LocalDate startDate,
+                                                                      LocalDate endDate) {
+        return databaseClient.sql(VIEWS_BY_DATE_SQL)
+            .filter(statement -> statement.fetchSize(fetchSize))
+            .bind("tenantId", tenantId)
+            .bind("startDate", startDate)
+            .bind("endDate", endDate)
+            .map(TransactionReadRepository::toView)
+            .all();
+    }
+
+    /**
+     * Get spending by category for accounts held in the given currency
+     */
+    public Flux<CategoryTotal> getSpendingByCategoryInCurrency(String tenantId, String currency,
+                                                              LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql(SPENDING_IN_CURRENCY_SQL)
+            .bind("tenantId", tenantId)
+            .bind("transactionType", TransactionType.EXPENSE.name())
+            .bind("currency", currency)
+            .bind("startDate", startDate)
+            .bind("endDate", endDate)
+            .map(row -> new CategoryTotal(
+                row.get("category_id", Long.class),
+                row.get("total", BigDecimal.class)
+            ))
+            .all();
+    }
+
+    /**
+     * Get daily spending by category and currency for accounts not held in the given currency
+     */
+    public Flux<DailyCategoryTotal> getDailySpendingByCategoryNotInCurrency(String tenantId, String currency,
+                                                                           LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql(DAILY_SPENDING_NOT_IN_CURRENCY_SQL)
+            .bind("tenantId", tenantId)
+            .bind("transactionType", TransactionType.EXPENSE.name())
+            .bind("currency", currency)
+            .bind("startDate", startDate)
+            .bind("endDate", endDate)
+            .map(row -> new DailyCategoryTotal(
+                row.get("category_id", Long.class),
+                row.get("currency", String.class),
+                row.get("transaction_date", LocalDate.class),
+                row.get("total", BigDecimal.class)
+            ))
+            .all();
+    }
+
+    /**
+     * Get the names of a tenant's categories
+     */
+    public Flux<CategoryName> findCategoryNames(String tenantId) {
+        return databaseClient.sql(CATEGORY_NAMES_SQL)
+            .bind("tenantId", tenantId)
+            .map(row -> new CategoryName(row.get("id", Long.class), row.get("name", String.class)))
+            .all();
+    }
+
+    private static TransactionViewDTO toView(Readable row) {
+        return new TransactionViewDTO(
+            row.get("id", Long.class),
+            row.get("account_id", Long.class),
+            row.get("category_id", Long.class),
+            row.get("amount", BigDecimal.class),
+            TransactionType.valueOf(row.get("transaction_type", String.class)),
+            row.get("transaction_date", LocalDate.class),
+            row.get("description", String.class),
+            row.get("transfer_reference_id", String.class)
+        );
+    }
+
+    public record CategoryTotal(Long categoryId, BigDecimal total) {
+    }
+
+    public record DailyCategoryTotal(Long categoryId, String currency, LocalDate date, BigDecimal total) {
+    }
+
+    public record CategoryName(Long categoryId, String name) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.expensetracker.reactive;
+
+import com.example.expensetracker.dto.MonthlySpendingDTO;
+import com.example.expensetracker.dto.TransactionViewDTO;
+import com.example.expensetracker.model.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of the admin TransactionService read paths
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionReadService {
+
+    private final TransactionReadRepository transactionReadRepository;
+    private final ExchangeRateSnapshot exchangeRateSnapshot;
+
+    /**
+     * Get list views of all transactions
+     */
+    public Flux<TransactionViewDTO> getAllTransactionViews(String tenantId) {
+        return transactionReadRepository.findAllViews(tenantId);
+    }
+
+    /**
+     * Get list views of transactions within date range
+     */
+    public Flux<TransactionViewDTO> getTransactionViewsByDateRange(String tenantId, LocalDate startDate,
+                                                                   LocalDate endDate) {
+        return transactionReadRepository.findViewsByTransactionDateBetween(tenantId, startDate, endDate);
+    }
+
+    /**
+     * Get monthly spending by category for current month in the given currency
+     */
+    public Flux<MonthlySpendingDTO> getMonthlySpendingByCategory(String tenantId, String currency) {
+        YearMonth currentMonth = YearMonth.now();
+        return getMonthlySpendingByCategory(tenantId, currentMonth.atDay(1), currentMonth.atEndOfMonth(), currency);
+    }
+
+    /**
+     * Get monthly spending by category for specified date range, converted into the given currency
+     * (defaults to the reporting base currency). Daily totals in other currencies are converted at that
+     * day's rate and summed in minor units, like the admin service.
+     */
+    public Flux<MonthlySpendingDTO> getMonthlySpendingByCategory(String tenantId, LocalDate startDate,
+                                                                 LocalDate endDate, String currency) {
+        String reportCurrency = exchangeRateSnapshot.resolveCurrency(currency);
+
+        Mono<Map<Long, Long>> inCurrency = transactionReadRepository
+            .getSpendingByCategoryInCurrency(tenantId, reportCurrency, startDate, endDate)
+            .collect(HashMap::new, (totals, row) ->
+                totals.merge(row.categoryId(), Money.of(row.total()).minorUnits(), Long::sum));
+
+        Mono<Map<Long, Long>> converted = exchangeRateSnapshot.rates().flatMap(rates -> transactionReadRepository
+            .getDailySpendingByCategoryNotInCurrency(tenantId, reportCurrency, startDate, endDate)
+            .collect(HashMap::new, (totals, row) -> {
+                Money amount = Money.of(row.total().multiply(rates.getRate(row.currency(), reportCurrency, row.date())));
+                totals.merge(row.categoryId(), amount.minorUnits(), Long::sum);
+            }));
+
+        Mono<Map<Long, String>> categoryNames = transactionReadRepository.findCategoryNames(tenantId)
+            .collectMap(TransactionReadRepository.CategoryName::categoryId, TransactionReadRepository.CategoryName::name);
+
+        return Mono.zip(inCurrency, converted, categoryNames).flatMapMany(results -> {
+            Map<Long, Long> totals = results.getT1();
+            results.getT2().forEach((categoryId, minorUnits) -> totals.merge(categoryId, minorUnits, Long::sum));
+            Map<Long, String> names = results.getT3();
+
+            return Flux.fromIterable(totals.entrySet()).map(total -> {
+                String name = names.get(total.getKey());
+                if (name == null) {
+                    throw new RuntimeException("Category not found with id: " + total.getKey());
+                }
+                return new MonthlySpendingDTO(
+                    total.getKey(), name, Money.ofMinor(total.getValue()).toBigDecimal(), reportCurrency
+                );
+            });
+        });
+    }
+}
@@ -16,3 +16,9 @@ export enum TransactionType {
   INCOME = 'INCOME',
   TRANSFER = 'TRANSFER',
 }
+
+export enum BudgetPeriod {
+  MONTHLY = 'MONTHLY',
+  QUARTERLY = 'QUARTERLY',
+  YEARLY = 'YEARLY',
+}
@@ -1,10 +1,11 @@
-import { AccountType, CategoryType, TransactionType } from './enums';
+import { AccountType, BudgetPeriod, CategoryType, TransactionType } from './enums';
 
 export interface Account {
   id: number;
   accountName: string;
   accountType: AccountType;
   currentBalance: number;
+  currency: string;
   isActive: boolean;
   createdAt: string;
   updatedAt: string;
@@ -37,6 +38,8 @@ export interface BudgetAllocation {
   id: number;
   categoryId: number;
   allocatedAmount: number;
+  period: BudgetPeriod;
+  rolloverEnabled: boolean;
   createdAt: string;
   updatedAt: string;
 }
@@ -45,6 +48,7 @@ export interface MonthlySpendingDTO {
   categoryId: number;
   categoryName: string;
   totalSpent: number;
+  currency: string;
 }
 
 export interface BudgetComparisonDTO {
@@ -54,6 +58,22 @@ export interface BudgetComparisonDTO {
   actualSpent: number;
   remaining: number;
   percentageUsed: number;
+  currency: string;
+}
+
+export interface BudgetStatusDTO {
+  categoryId: number;
+  categoryName: string;
+  period: BudgetPeriod;
+  periodStart: string;
+  periodEnd: string;
+  allocatedAmount: number;
+  rolloverAmount: number;
+  availableAmount: number;
+  actualSpent: number;
+  remaining: number;
+  percentageUsed: number;
+  currency: string;
 }
 
 export interface TransferRequest {
@@ -70,6 +90,7 @@ export interface CreateAccountRequest {
   accountName: string;
   accountType: AccountType;
   currentBalance: number;
+  currency?: string;
   isActive: boolean;
 }
 
@@ -93,4 +114,6 @@ export interface CreateTransactionRequest {
 export interface CreateBudgetAllocationRequest {
   categoryId: number;
   allocatedAmount: number;
+  period?: BudgetPeriod;
+  rolloverEnabled?: boolean;
 }